@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# 실행 방식별 시작 시간과 첫 요청 지연 시간을 비교합니다.
+#
+# 사용법: scripts/startup-benchmark.sh [반복 횟수] [방식...]
+#   방식: jar (기본 실행), faststart (AOT + CDS), native (GraalVM 네이티브 실행 파일)
+#   예) ./gradlew bootJar -PfastStart && scripts/startup-benchmark.sh 5 jar faststart
+#
+# DB, Twilio, OpenAI 설정은 평소처럼 환경 변수(SPRING_DATASOURCE_URL 등)로 넘깁니다.
+# 각 방식마다 다음을 기록합니다.
+#   ready_ms  : 프로세스 시작부터 /actuator/health가 UP을 돌려줄 때까지
+#   first_ms  : 준비 직후 첫 조회 요청(GET /api/members)의 응답 시간
+#   second_ms : 같은 요청을 한 번 더 보냈을 때의 응답 시간 (첫 요청의 초기화 비용 비교용)
+set -euo pipefail
+
+RUNS=${1:-3}
+shift || true
+MODES=("$@")
+[[ ${#MODES[@]} -gt 0 ]] || MODES=(jar faststart)
+
+PORT=${BENCH_PORT:-18080}
+JAVA=${JAVA:-java}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+JAR="$ROOT/build/libs/demo5-0.0.1-SNAPSHOT.jar"
+FASTSTART_DIR="$ROOT/build/faststart"
+NATIVE="$ROOT/build/native/nativeCompile/demo5"
+BASE="http://localhost:$PORT"
+
+now_ms() { date +%s%3N; }
+
+prepare_faststart() {
+    # Dockerfile.faststart와 같은 순서로 jar를 풀고 공유 아카이브를 만듭니다.
+    if [[ -f "$FASTSTART_DIR/application/app.jsa" && "$FASTSTART_DIR/application/app.jsa" -nt "$JAR" ]]; then
+        return
+    fi
+    rm -rf "$FASTSTART_DIR"
+    "$JAVA" -Djarmode=tools -jar "$JAR" extract --destination "$FASTSTART_DIR/application" >/dev/null
+    (cd "$FASTSTART_DIR/application" && "$JAVA" -XX:ArchiveClassesAtExit=app.jsa \
+        -Dspring.context.exit=onRefresh -Dserver.port="$PORT" \
+        -Dsearch.index-dir="$FASTSTART_DIR/training-index" \
+        -jar demo5-0.0.1-SNAPSHOT.jar >/dev/null 2>&1)
+}
+
+start_app() {
+    case "$1" in
+        jar) exec "$JAVA" -jar "$JAR" --server.port="$PORT" ;;
+        faststart) cd "$FASTSTART_DIR/application" && exec "$JAVA" -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true \
+            -jar demo5-0.0.1-SNAPSHOT.jar --server.port="$PORT" ;;
+        native) exec "$NATIVE" --server.port="$PORT" ;;
+        *) echo "알 수 없는 방식: $1" >&2; exit 1 ;;
+    esac
+}
+
+request_ms() {
+    curl -s -o /dev/null -w '%{time_total}' "$BASE/api/members" | awk '{printf "%d", $1 * 1000}'
+}
+
+for mode in "${MODES[@]}"; do
+    case "$mode" in
+        faststart) prepare_faststart ;;
+        native) [[ -x "$NATIVE" ]] || { echo "네이티브 실행 파일이 없습니다: ./gradlew nativeCompile -PfastStart" >&2; exit 1; } ;;
+    esac
+
+    for ((run = 1; run <= RUNS; run++)); do
+        started=$(now_ms)
+        (start_app "$mode") >"$ROOT/build/bench-$mode.log" 2>&1 &
+        pid=$!
+        until curl -sf "$BASE/actuator/health" >/dev/null 2>&1; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$mode 실행 실패: build/bench-$mode.log 참고" >&2
+                exit 1
+            fi
+            sleep 0.05
+        done
+        ready=$(( $(now_ms) - started ))
+        first=$(request_ms)
+        second=$(request_ms)
+        rss_kb=$(ps -o rss= -p "$pid" | tr -d ' ')
+        printf '%-10s run=%d ready_ms=%d first_ms=%d second_ms=%d rss_mb=%d\n' \
+            "$mode" "$run" "$ready" "$first" "$second" $(( ${rss_kb:-0} / 1024 ))
+
+        kill "$pid" 2>/dev/null || true
+        wait "$pid" 2>/dev/null || true
+    done
+done
@@ -1,7 +1,10 @@
 package com.example.demo5.config;
 
+import com.example.demo5.config.routing.RoutingContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -21,4 +24,109 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * 대시보드 API가 서로 독립적인 섹션(분석, 상태, 요약 등)을 동시에 조회할 때 사용하는 풀입니다.
+     * 통화 발신용 taskExecutor와 분리하여 조회 트래픽이 발신을 지연시키지 않도록 합니다.
+     */
+    @Bean(name = "dashboardExecutor")
+    public Executor dashboardExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("Dashboard-");
+        executor.setTaskDecorator(RoutingContext.taskDecorator()); // 요청한 회원 기준으로 복제본/주 DB를 고르도록 전달
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * StreamingResponseBody(대용량 내보내기 등)를 실행하는 MVC 비동기 요청용 풀입니다.
+     * 응답 하나가 스레드 하나를 오래 점유하므로, 동시에 처리할 내보내기 수를 이 풀 크기로 제한합니다.
+     */
+    @Bean(name = "mvcAsyncExecutor")
+    public AsyncTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(0); // 여유가 없으면 대기시키지 않고 바로 거절합니다.
+        executor.setThreadNamePrefix("Mvc-Async-");
+        executor.setTaskDecorator(RoutingContext.taskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 실시간 통화 중계(SSE)에서 구독자별 버퍼를 비우며 전송하는 풀입니다.
+     * 느린 구독자가 있어도 통화 처리 스레드는 버퍼에 넣기만 하고 바로 돌아갑니다.
+     */
+    @Bean(name = "liveCallExecutor")
+    public Executor liveCallExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("Live-Call-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 미디어 스트림 통화의 음성 인식 요청, 발화 처리(LLM), 음성 합성을 실행하는 풀입니다.
+     * 웹소켓 수신 스레드는 음성 프레임을 넘기기만 하고 이 풀에서 느린 작업을 처리합니다.
+     */
+    @Bean(name = "mediaExecutor")
+    public Executor mediaExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(32);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("Media-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 재분석 같은 야간 일괄 작업의 항목을 처리하는 풀입니다. 풀 크기가 곧 동시에 처리하는 항목 수의 상한입니다.
+     * 통화 처리용 풀과 분리하여 일괄 작업이 밀려도 통화 후처리가 기다리지 않도록 합니다.
+     */
+    @Bean(name = "batchExecutor")
+    public Executor batchExecutor(@Value("${batch.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("Batch-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 일괄 작업의 진행(다음 묶음 조회, 체크포인트 기록)을 맡는 스레드입니다. 한 번에 작업 하나만 실행하므로 대기열을 두지 않습니다.
+     */
+    @Bean(name = "batchCoordinatorExecutor")
+    public Executor batchCoordinatorExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("Batch-Coordinator-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 예약 통화의 첫 질문을 미리 만드는 스레드입니다. 준비 작업은 한 번에 하나만 실행하므로 대기열을 두지 않습니다.
+     */
+    @Bean(name = "openingExecutor")
+    public Executor openingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("Opening-");
+        executor.initialize();
+        return executor;
+    }
 }
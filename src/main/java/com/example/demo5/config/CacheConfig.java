@@ -0,0 +1,46 @@
+package com.example.demo5.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 회원 단위 조회 결과 캐시 설정입니다.
+ * 캐시 내용은 통화가 끝날 때마다 한 번 정도만 바뀌므로, 변경 지점(MemberCacheEvictor)에서 명시적으로 무효화하고
+ * TTL은 무효화가 누락되었을 때의 안전장치로만 사용합니다.
+ * 적중률은 /actuator/metrics/cache.gets 등으로 확인할 수 있습니다.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String MEMBER = "member";
+    public static final String MEMBER_ANALYSIS = "memberAnalysis";
+    public static final String MEMBER_STATUS_TAG = "memberStatusTag";
+    public static final String CONVERSATION_SUMMARY = "conversationSummary";
+
+    @Value("${cache.member.max-size:10000}")
+    private long maxSize;
+
+    @Value("${cache.member.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        for (String name : new String[]{MEMBER, MEMBER_ANALYSIS, MEMBER_STATUS_TAG, CONVERSATION_SUMMARY}) {
+            cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                    .recordStats()
+                    .build());
+        }
+        return cacheManager;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo5.config;
+
+import com.example.demo5.config.routing.ReadYourWrites;
+import com.example.demo5.config.routing.ReplicaLagMonitor;
+import com.example.demo5.config.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * 읽기 복제본 라우팅 설정입니다. datasource.replica.url이 있을 때만 켜지며, 없으면 기존처럼 주 DB 하나만 사용합니다.
+ * 애플리케이션이 쓰는 DataSource는 LazyConnectionDataSourceProxy로, 실제 연결을 첫 SQL 실행 시점까지 미룹니다.
+ * 그 사이 트랜잭션이 읽기 전용으로 표시되면 ReplicaRoutingDataSource(복제본 또는 주 DB)에서, 아니면 주 DB에서 연결을 가져옵니다.
+ * AOT 빌드(-PfastStart)에서는 이 설정을 쓸지가 빌드 시점의 datasource.replica.url 유무로 고정됩니다.
+ * 복제본을 쓰려면 빌드할 때 이 속성을 지정해야 하며, 실행 시에는 URL 등 값만 바꿀 수 있습니다.
+ */
+@Configuration(proxyBeanMethods = false)
+// 운영 설정은 환경 변수가 없으면 빈 값이 되므로, 속성 존재가 아니라 값이 비어 있는지로 판단합니다.
+@ConditionalOnExpression("!'${datasource.replica.url:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${datasource.replica.url}") String url,
+                                              @Value("${datasource.replica.username:}") String username,
+                                              @Value("${datasource.replica.password:}") String password,
+                                              @Value("${datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        // 계정을 따로 지정하지 않으면 주 DB 계정을 사용합니다.
+        dataSource.setUsername(username.isBlank() ? properties.determineUsername() : username);
+        dataSource.setPassword(username.isBlank() ? properties.determinePassword() : password);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        // 복제본이 내려가 있어도 앱은 시작하고, 그동안 조회는 주 DB로 보냅니다.
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                               @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${datasource.replica.max-lag-ms:2000}") long maxLagMillis,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, maxLagMillis, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor, ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(
+                primaryDataSource, replicaDataSource, replicaLagMonitor, readYourWrites, meterRegistry));
+        return dataSource;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo5.config;
+
+import com.example.demo5.dto.ChatMessage;
+import com.example.demo5.dto.analysis.AnalysisResponse;
+import com.example.demo5.dto.live.LiveCallEvent;
+import com.twilio.rest.api.v2010.account.Call;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * 빠른 시작 빌드(-PfastStart)의 AOT 처리와 네이티브 이미지에 필요한 리플렉션/리소스 힌트입니다.
+ * JPA 엔티티, 컨트롤러 요청/응답 타입, Spring AI OpenAI 요청/응답, Flyway 마이그레이션은 Spring이 힌트를 만들어 주므로
+ * 여기에는 코드가 직접 리플렉션이나 리소스 로딩으로 사용하는 것만 등록합니다.
+ * 일반 JVM 실행에서는 아무 영향이 없습니다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(RuntimeHintsConfig.AppRuntimeHints.class)
+public class RuntimeHintsConfig {
+
+    static class AppRuntimeHints implements RuntimeHintsRegistrar {
+
+        // CacheConfig의 설정(maximumSize + expireAfterWrite + recordStats)에 맞춰 Caffeine이 이름으로 찾아 생성하는 클래스입니다.
+        // 캐시 설정을 바꾸면 클래스 이름도 바뀌므로 함께 고쳐야 합니다.
+        static final List<String> CAFFEINE_CLASSES = List.of(
+                "com.github.benmanes.caffeine.cache.SSSMSW",
+                "com.github.benmanes.caffeine.cache.PSWMS");
+
+        // Lucene이 속성 인터페이스 이름 + "Impl"로 찾아 생성자를 호출하는 구현 클래스입니다.
+        static final List<String> LUCENE_ATTRIBUTE_IMPLS = List.of(
+                "org.apache.lucene.analysis.tokenattributes.PackedTokenAttributeImpl",
+                "org.apache.lucene.analysis.tokenattributes.CharTermAttributeImpl",
+                "org.apache.lucene.analysis.tokenattributes.KeywordAttributeImpl",
+                "org.apache.lucene.analysis.tokenattributes.FlagsAttributeImpl",
+                "org.apache.lucene.analysis.tokenattributes.PayloadAttributeImpl",
+                "org.apache.lucene.analysis.tokenattributes.BytesTermAttributeImpl",
+                "org.apache.lucene.analysis.tokenattributes.SentenceAttributeImpl",
+                "org.apache.lucene.analysis.ko.tokenattributes.PartOfSpeechAttributeImpl",
+                "org.apache.lucene.analysis.ko.tokenattributes.ReadingAttributeImpl",
+                "org.apache.lucene.search.BoostAttributeImpl",
+                "org.apache.lucene.search.MaxNonCompetitiveBoostAttributeImpl");
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // ObjectMapper로 직접 읽고 쓰는 타입 (통화 원문 JSON, 분석 결과 JSON, 실시간 중계 SSE)
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    ChatMessage.class, AnalysisResponse.class, LiveCallEvent.class);
+
+            // Twilio SDK는 REST 응답을 Jackson으로 Call 리소스에 바인딩합니다.
+            hints.reflection().registerType(Call.class, MemberCategory.values());
+            for (Class<?> nested : Call.class.getDeclaredClasses()) {
+                hints.reflection().registerType(nested, MemberCategory.values());
+            }
+
+            for (String className : CAFFEINE_CLASSES) {
+                hints.reflection().registerType(TypeReference.of(className),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS);
+            }
+            for (String className : LUCENE_ATTRIBUTE_IMPLS) {
+                hints.reflection().registerType(TypeReference.of(className), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+
+            hints.resources()
+                    .registerPattern("risk-phrases.txt")
+                    .registerPattern("org/apache/lucene/analysis/ko/dict/*.dat")
+                    .registerPattern("META-INF/services/org.apache.lucene.*");
+        }
+    }
+}
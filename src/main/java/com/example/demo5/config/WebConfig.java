@@ -1,12 +1,31 @@
 package com.example.demo5.config;
 
+import com.example.demo5.config.routing.ReplicaRoutingInterceptor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final AsyncTaskExecutor mvcAsyncExecutor;
+    private final ReplicaRoutingInterceptor replicaRoutingInterceptor;
+
+    // 스트리밍 응답(내보내기)은 수십 분 걸릴 수 있으므로 비동기 요청 제한 시간을 길게 둡니다.
+    @Value("${export.request-timeout-ms:1800000}")
+    private long asyncRequestTimeoutMs;
+
+    public WebConfig(@Qualifier("mvcAsyncExecutor") AsyncTaskExecutor mvcAsyncExecutor,
+                     ReplicaRoutingInterceptor replicaRoutingInterceptor) {
+        this.mvcAsyncExecutor = mvcAsyncExecutor;
+        this.replicaRoutingInterceptor = replicaRoutingInterceptor;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**") // /api/ 경로 하위의 모든 요청에 대해
@@ -14,4 +33,15 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS") // 허용할 HTTP 메서드
                 .allowedHeaders("*");  // 모든 헤더를 허용
     }
-}
\ No newline at end of file
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(replicaRoutingInterceptor).addPathPatterns("/api/members/**");
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor);
+        configurer.setDefaultTimeout(asyncRequestTimeoutMs);
+    }
+}
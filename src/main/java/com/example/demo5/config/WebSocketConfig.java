@@ -0,0 +1,23 @@
+package com.example.demo5.config;
+
+import com.example.demo5.controller.TwilioMediaStreamHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final TwilioMediaStreamHandler twilioMediaStreamHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // Twilio 미디어 스트림 (conversation.mode=media-stream일 때 통화가 이 주소로 연결됩니다)
+        registry.addHandler(twilioMediaStreamHandler, "/api/twilio/media-stream")
+                .setAllowedOrigins("*");
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo5.config.routing;
+
+import com.example.demo5.event.CallFinalizedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * 회원별 마지막 쓰기 시각을 기억해, 그 회원의 조회를 잠시 주 DB로 보내도록 합니다. (자기 쓰기 읽기)
+ * 보호자가 일정을 바꾸거나 통화가 끝난 직후 대시보드를 열었을 때, 아직 복제되지 않은 이전 값이 보이는 일을 막습니다.
+ * 쓰기는 회원 API 요청(ReplicaRoutingInterceptor), 회원 캐시 무효화(MemberCacheEvictor), 통화 종료 이벤트에서 기록합니다.
+ */
+@Component
+public class ReadYourWrites {
+
+    private final long stickyMillis;
+    private final Cache<String, Long> lastWrites;
+
+    public ReadYourWrites(@Value("${datasource.replica.sticky-ms:5000}") long stickyMillis) {
+        this.stickyMillis = stickyMillis;
+        // 지연이 이보다 길면 라우팅 자체가 주 DB로 돌아가므로, 기록은 넉넉히 1분만 보관합니다.
+        this.lastWrites = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void markWritten(String memberId) {
+        if (memberId != null) {
+            lastWrites.put(memberId, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 마지막 쓰기 이후 (고정 유지 시간 + 현재 복제 지연)이 지나지 않았으면 주 DB에서 읽어야 합니다.
+     */
+    public boolean requiresPrimary(String memberId, long replicaLagMillis) {
+        if (memberId == null) {
+            return false;
+        }
+        Long writtenAt = lastWrites.getIfPresent(memberId);
+        return writtenAt != null && System.currentTimeMillis() - writtenAt < stickyMillis + Math.max(replicaLagMillis, 0);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCallFinalized(CallFinalizedEvent event) {
+        markWritten(event.memberId());
+    }
+}
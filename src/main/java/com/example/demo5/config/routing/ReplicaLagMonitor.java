@@ -0,0 +1,92 @@
+package com.example.demo5.config.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 주 DB에 하트비트(replica_heartbeat)를 기록하고 복제본에서 다시 읽어 복제 지연을 잽니다.
+ * 하트비트는 주 DB의 시계(NOW(6))로 기록하고, 복제본에서 읽은 값도 주 DB에서 읽은 현재 시각과 비교합니다.
+ * 여러 앱 인스턴스가 같은 행을 갱신해도 시각의 기준은 주 DB 하나이므로, 앱 서버 간이나 DB 서버 간 시계 차이의 영향을 받지 않습니다.
+ * 지연이 허용치를 넘거나 복제본에 연결할 수 없으면 읽기 전용 트랜잭션도 주 DB로 보냅니다.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String DB_NOW_MILLIS = "CAST(FLOOR(UNIX_TIMESTAMP(NOW(6)) * 1000) AS SIGNED)";
+    private static final String UPSERT_BEAT = """
+            INSERT INTO replica_heartbeat (heartbeat_id, beat_millis) VALUES (1, %s)
+            ON DUPLICATE KEY UPDATE beat_millis = VALUES(beat_millis)
+            """.formatted(DB_NOW_MILLIS);
+    private static final String SELECT_BEAT = "SELECT beat_millis FROM replica_heartbeat WHERE heartbeat_id = 1";
+    private static final String SELECT_NOW = "SELECT " + DB_NOW_MILLIS;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+
+    private volatile long lagMillis = Long.MAX_VALUE;
+    private volatile boolean replicaReachable;
+
+    public ReplicaLagMonitor(DataSource primaryDataSource, DataSource replicaDataSource, long maxLagMillis, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.maxLagMillis = maxLagMillis;
+        // 측정 전이거나 연결할 수 없으면 -1
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMillis == Long.MAX_VALUE ? -1 : monitor.lagMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.heartbeat-ms:1000}")
+    public void beat() {
+        try {
+            primary.update(UPSERT_BEAT);
+        } catch (Exception e) {
+            log.warn("[ReplicaLagMonitor] 하트비트 기록 실패: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.heartbeat-ms:1000}")
+    public void poll() {
+        boolean wasHealthy = isHealthy();
+        try {
+            List<Long> beats = replica.queryForList(SELECT_BEAT, Long.class);
+            replicaReachable = true;
+            // 하트비트가 아직 복제되지 않았으면 지연을 알 수 없으므로 사용하지 않습니다.
+            lagMillis = beats.isEmpty() ? Long.MAX_VALUE : Math.max(0, primaryNowMillis() - beats.get(0));
+        } catch (Exception e) {
+            replicaReachable = false;
+            lagMillis = Long.MAX_VALUE;
+            log.warn("[ReplicaLagMonitor] 복제본 조회 실패: {}", e.getMessage());
+        }
+        if (wasHealthy != isHealthy()) {
+            log.warn("[ReplicaLagMonitor] 읽기 복제본 {} (지연 {}ms, 허용 {}ms)",
+                    isHealthy() ? "사용 재개" : "사용 중지, 주 DB로 전환", lagMillis == Long.MAX_VALUE ? "알 수 없음" : lagMillis, maxLagMillis);
+        }
+    }
+
+    private long primaryNowMillis() {
+        try {
+            Long now = primary.queryForObject(SELECT_NOW, Long.class);
+            return now != null ? now : Long.MAX_VALUE;
+        } catch (Exception e) {
+            // 주 DB 시각을 모르면 지연도 알 수 없으므로 복제본을 쓰지 않습니다.
+            log.warn("[ReplicaLagMonitor] 주 DB 시각 조회 실패: {}", e.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+
+    public boolean isHealthy() {
+        return replicaReachable && lagMillis <= maxLagMillis;
+    }
+
+    public long lagMillis() {
+        return lagMillis;
+    }
+}
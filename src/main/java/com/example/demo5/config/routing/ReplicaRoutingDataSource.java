@@ -0,0 +1,57 @@
+package com.example.demo5.config.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 읽기 전용 연결을 복제본 또는 주 DB로 보냅니다.
+ * LazyConnectionDataSourceProxy의 읽기 전용 대상으로 쓰이므로, 여기로 오는 요청은 모두 readOnly 트랜잭션입니다.
+ * 복제본이 밀려 있거나 현재 회원이 방금 쓴 값을 읽어야 하면 주 DB를 사용합니다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWrites readYourWrites;
+    private final Counter replicaReads;
+    private final Counter lagFallbacks;
+    private final Counter stickyFallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        this.replicaReads = readCounter(meterRegistry, "replica", "none");
+        this.lagFallbacks = readCounter(meterRegistry, "primary", "lag");
+        this.stickyFallbacks = readCounter(meterRegistry, "primary", "read-your-writes");
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!lagMonitor.isHealthy()) {
+            lagFallbacks.increment();
+            return Target.PRIMARY;
+        }
+        if (readYourWrites.requiresPrimary(RoutingContext.currentMemberId(), lagMonitor.lagMillis())) {
+            stickyFallbacks.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target, String fallbackReason) {
+        return Counter.builder("datasource.readonly.routing")
+                .tag("target", target)
+                .tag("fallback", fallbackReason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo5.config.routing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * 요청 경로의 {memberId}를 RoutingContext에 넣고, 회원 API의 쓰기 요청(POST/PUT/PATCH/DELETE)이 성공하면 쓰기 시각을 기록합니다.
+ * 비동기 요청(SSE 실시간 보기 등)은 요청 스레드에서 afterCompletion이 호출되지 않으므로, 비동기 처리가 시작될 때 비웁니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReplicaRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    private final ReadYourWrites readYourWrites;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RoutingContext.setMemberId(memberId(request));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        try {
+            if (isWrite(request) && ex == null && response.getStatus() < 400) {
+                readYourWrites.markWritten(memberId(request));
+            }
+        } finally {
+            RoutingContext.clear();
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 요청 스레드는 곧 풀로 돌아가 다른 요청을 처리하므로 회원 정보를 남기지 않습니다.
+        RoutingContext.clear();
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        return !(HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String memberId(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables instanceof Map<?, ?> map ? ((Map<String, String>) map).get("memberId") : null;
+    }
+}
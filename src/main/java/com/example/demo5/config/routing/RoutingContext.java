@@ -0,0 +1,54 @@
+package com.example.demo5.config.routing;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * 현재 요청이 어느 회원에 대한 것인지를 스레드에 보관합니다. 읽기 복제본 라우팅이 "자기 쓰기 읽기"를 판단할 때 사용합니다.
+ * 요청 스레드에서는 ReplicaRoutingInterceptor가 채우고, 대시보드처럼 다른 풀에서 이어서 조회하는 작업에는 decorate로 옮겨 줍니다.
+ */
+public final class RoutingContext {
+
+    private static final ThreadLocal<String> MEMBER_ID = new ThreadLocal<>();
+
+    private RoutingContext() {
+    }
+
+    public static void setMemberId(String memberId) {
+        MEMBER_ID.set(memberId);
+    }
+
+    public static String currentMemberId() {
+        return MEMBER_ID.get();
+    }
+
+    public static void clear() {
+        MEMBER_ID.remove();
+    }
+
+    /**
+     * 작업을 제출한 스레드의 회원 정보를 실행 스레드로 옮깁니다. (ThreadPoolTaskExecutor의 TaskDecorator)
+     */
+    public static Runnable decorate(Runnable task) {
+        String memberId = MEMBER_ID.get();
+        if (memberId == null) {
+            return task;
+        }
+        return () -> {
+            String previous = MEMBER_ID.get();
+            MEMBER_ID.set(memberId);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    MEMBER_ID.remove();
+                } else {
+                    MEMBER_ID.set(previous);
+                }
+            }
+        };
+    }
+
+    public static TaskDecorator taskDecorator() {
+        return RoutingContext::decorate;
+    }
+}
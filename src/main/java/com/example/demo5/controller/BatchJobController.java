@@ -0,0 +1,46 @@
+package com.example.demo5.controller;
+
+import com.example.demo5.dto.batch.BatchJobStatusResponse;
+import com.example.demo5.service.batch.BatchJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/batch/jobs")
+public class BatchJobController {
+
+    private final BatchJobService batchJobService;
+
+    /**
+     * 1. 일괄 작업 실행 요청 API (기본: 다음 야간 실행 창에서 처리, runNow=true: 즉시 시작)
+     * [POST] /api/batch/jobs/{jobName}?runNow=false
+     */
+    @PostMapping("/{jobName}")
+    public ResponseEntity<BatchJobStatusResponse> requestRun(
+            @PathVariable String jobName,
+            @RequestParam(defaultValue = "false") boolean runNow
+    ) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(batchJobService.request(jobName, runNow));
+    }
+
+    /**
+     * 2. 일괄 작업 진행 상황 조회 API (처리량, 예상 완료 시각 포함)
+     * [GET] /api/batch/jobs/{jobName}
+     */
+    @GetMapping("/{jobName}")
+    public ResponseEntity<BatchJobStatusResponse> getStatus(@PathVariable String jobName) {
+        return ResponseEntity.ok(batchJobService.getStatus(jobName));
+    }
+
+    /**
+     * 3. 일괄 작업 취소 API
+     * [POST] /api/batch/jobs/{jobName}/cancel
+     */
+    @PostMapping("/{jobName}/cancel")
+    public ResponseEntity<BatchJobStatusResponse> cancel(@PathVariable String jobName) {
+        return ResponseEntity.ok(batchJobService.cancel(jobName));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo5.controller;
+
+import com.example.demo5.dto.call.CallRetryResponse;
+import com.example.demo5.service.retry.CallRetryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/calls/{callLogId}/retries")
+public class CallRetryController {
+
+    private final CallRetryService callRetryService;
+
+    /**
+     * 1. 통화 재시도 내역 조회 API (처음 통화 또는 재시도로 건 통화의 ID 모두 가능)
+     * [GET] /api/calls/{callLogId}/retries
+     */
+    @GetMapping
+    public ResponseEntity<List<CallRetryResponse>> getRetries(@PathVariable Long callLogId) {
+        return ResponseEntity.ok(callRetryService.getRetries(callLogId));
+    }
+
+    /**
+     * 2. 대기 중인 통화 재시도 취소 API
+     * [POST] /api/calls/{callLogId}/retries/cancel
+     */
+    @PostMapping("/cancel")
+    public ResponseEntity<List<CallRetryResponse>> cancel(@PathVariable Long callLogId) {
+        return ResponseEntity.ok(callRetryService.cancel(callLogId));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo5.controller;
+
+import com.example.demo5.dto.campaign.CampaignResponse;
+import com.example.demo5.dto.campaign.CreateCampaignRequest;
+import com.example.demo5.service.CallCampaignService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/campaigns")
+public class CampaignController {
+
+    private final CallCampaignService callCampaignService;
+
+    /**
+     * 1. 캠페인 생성 API (대상 회원 필터 + 주제)
+     * [POST] /api/campaigns
+     */
+    @PostMapping
+    public ResponseEntity<CampaignResponse> createCampaign(@RequestBody CreateCampaignRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(callCampaignService.createCampaign(request));
+    }
+
+    /**
+     * 2. 캠페인 진행 상황 조회 API
+     * [GET] /api/campaigns/{campaignId}
+     */
+    @GetMapping("/{campaignId}")
+    public ResponseEntity<CampaignResponse> getCampaign(@PathVariable Long campaignId) {
+        return ResponseEntity.ok(callCampaignService.getCampaign(campaignId));
+    }
+
+    /**
+     * 3. 캠페인 일시정지 / 재개 / 취소 API
+     * [POST] /api/campaigns/{campaignId}/pause, /resume, /cancel
+     */
+    @PostMapping("/{campaignId}/pause")
+    public ResponseEntity<CampaignResponse> pauseCampaign(@PathVariable Long campaignId) {
+        return ResponseEntity.ok(callCampaignService.pause(campaignId));
+    }
+
+    @PostMapping("/{campaignId}/resume")
+    public ResponseEntity<CampaignResponse> resumeCampaign(@PathVariable Long campaignId) {
+        return ResponseEntity.ok(callCampaignService.resume(campaignId));
+    }
+
+    @PostMapping("/{campaignId}/cancel")
+    public ResponseEntity<CampaignResponse> cancelCampaign(@PathVariable Long campaignId) {
+        return ResponseEntity.ok(callCampaignService.cancel(campaignId));
+    }
+}
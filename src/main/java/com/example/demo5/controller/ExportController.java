@@ -0,0 +1,67 @@
+package com.example.demo5.controller;
+
+import com.example.demo5.dto.export.CallLogExportFilter;
+import com.example.demo5.entity.CallLog;
+import com.example.demo5.service.CallLogExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final CallLogExportService callLogExportService;
+
+    /**
+     * 1. 통화 기록 + 대화 원문 내보내기 API (NDJSON, 선택적으로 gzip)
+     * [GET] /api/export/call-logs?from=2025-11-01&to=2025-12-01&memberId=&status=&gzip=false
+     */
+    @GetMapping("/call-logs")
+    public ResponseEntity<StreamingResponseBody> exportCallLogs(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String memberId,
+            @RequestParam(required = false) CallLog.CallStatus status,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        LocalDate end = to != null ? to : LocalDate.now().plusDays(1);
+        if (!from.isBefore(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from은 to보다 이전 날짜여야 합니다.");
+        }
+        CallLogExportFilter filter = new CallLogExportFilter(from.atStartOfDay(), end.atStartOfDay(), memberId, status);
+        String fileName = "call-logs-" + from + "-" + end + (gzip ? ".ndjson.gz" : ".ndjson");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                // syncFlush를 켜서 flush할 때마다 압축된 내용이 바로 클라이언트로 나가도록 합니다.
+                try (GZIPOutputStream gzipOut = new GZIPOutputStream(out, GZIP_BUFFER_SIZE, true)) {
+                    callLogExportService.export(filter, gzipOut);
+                }
+            } else {
+                callLogExportService.export(filter, out);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+}
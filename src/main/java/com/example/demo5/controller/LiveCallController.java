@@ -0,0 +1,27 @@
+package com.example.demo5.controller;
+
+import com.example.demo5.service.LiveCallBroker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/members")
+public class LiveCallController {
+
+    private final LiveCallBroker liveCallBroker;
+
+    /**
+     * 1. 진행 중인 통화 실시간 중계 API (Server-Sent Events)
+     * [GET] /api/members/{memberId}/calls/live
+     */
+    @GetMapping(value = "/{memberId}/calls/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLiveCalls(@PathVariable String memberId) {
+        return liveCallBroker.subscribe(memberId);
+    }
+}
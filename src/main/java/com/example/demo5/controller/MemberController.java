@@ -1,23 +1,38 @@
 package com.example.demo5.controller;
 
+import com.example.demo5.dto.ResourceVersion;
 import com.example.demo5.dto.analysis.AnalysisResponse;
 import com.example.demo5.dto.call.CreateCallResponse;
+import com.example.demo5.dto.call.CallHistoryCursor;
+import com.example.demo5.dto.call.CallHistoryPageResponse;
 import com.example.demo5.dto.call.CallHistoryResponse;
 import com.example.demo5.dto.call.LatestCallStatusResponse;
 import com.example.demo5.dto.member.CreateMemberRequest;
+import com.example.demo5.dto.member.MemberDashboardResponse;
+import com.example.demo5.dto.member.MemberImportResponse;
+import com.example.demo5.dto.member.MemberOverviewResponse;
 import com.example.demo5.dto.member.MemberResponse;
 import com.example.demo5.dto.member.ConversationSummaryResponse;
 import com.example.demo5.dto.member.MemberStatusTagResponse;
 import com.example.demo5.dto.schedule.ScheduleRequest;
 import com.example.demo5.dto.schedule.CreateScheduleResponse;
 import com.example.demo5.dto.schedule.UpdateScheduleResponse;
+import com.example.demo5.entity.CallLog;
+import com.example.demo5.service.MemberDashboardService;
+import com.example.demo5.service.MemberImportService;
+import com.example.demo5.service.MemberOverviewService;
 import com.example.demo5.service.MemberService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -26,6 +41,9 @@ import java.util.List;
 public class MemberController {
 
     private final MemberService memberService;
+    private final MemberDashboardService memberDashboardService;
+    private final MemberOverviewService memberOverviewService;
+    private final MemberImportService memberImportService;
 
     @Value("${server.base-url}")
     private String baseUrl;
@@ -102,8 +120,14 @@ public class MemberController {
      */
     @GetMapping("/{memberId}/analysis")
     public ResponseEntity<AnalysisResponse> getMemberAnalysis(
-            @PathVariable String memberId
+            @PathVariable String memberId,
+            WebRequest webRequest
     ) {
+        // 변경 시각만 먼저 조회하여, 클라이언트의 ETag와 같으면 본문 없이 304로 응답합니다.
+        ResourceVersion version = memberService.getMemberAnalysisVersion(memberId);
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            return null;
+        }
         AnalysisResponse response = memberService.getMemberAnalysis(memberId);
         return ResponseEntity.ok(response);
     }
@@ -114,8 +138,13 @@ public class MemberController {
      */
     @GetMapping("/{memberId}/status")
     public ResponseEntity<MemberStatusTagResponse> getMemberStatusTag(
-            @PathVariable String memberId
+            @PathVariable String memberId,
+            WebRequest webRequest
     ) {
+        ResourceVersion version = memberService.getMemberStatusTagVersion(memberId);
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            return null;
+        }
         MemberStatusTagResponse response = memberService.getMemberStatusTag(memberId);
         return ResponseEntity.ok(response);
     }
@@ -151,9 +180,81 @@ public class MemberController {
      */
     @GetMapping("/{memberId}/call-history")
     public ResponseEntity<List<CallHistoryResponse>> getCallHistory(
-            @PathVariable String memberId
+            @PathVariable String memberId,
+            WebRequest webRequest
     ) {
+        ResourceVersion version = memberService.getCallHistoryVersion(memberId);
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            return null;
+        }
         List<CallHistoryResponse> response = memberService.getCallHistory(memberId);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * 10. 통화 기록 페이지 조회 API (커서 기반)
+     * [GET] /api/members/{memberId}/call-history/page?cursor=&size=&callType=&status=
+     */
+    @GetMapping("/{memberId}/call-history/page")
+    public ResponseEntity<CallHistoryPageResponse> getCallHistoryPage(
+            @PathVariable String memberId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) CallLog.CallType callType,
+            @RequestParam(required = false) CallLog.CallStatus status
+    ) {
+        CallHistoryCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = CallHistoryCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "유효하지 않은 커서입니다.", e);
+            }
+        }
+        CallHistoryPageResponse response = memberService.getCallHistoryPage(memberId, after, size, callType, status);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 11. 회원 대시보드 조회 API (분석, 상태, 요약, 최근 자동 통화, 최근 통화 기록을 한 번에)
+     * [GET] /api/members/{memberId}/dashboard
+     */
+    @GetMapping("/{memberId}/dashboard")
+    public ResponseEntity<MemberDashboardResponse> getDashboard(
+            @PathVariable String memberId
+    ) {
+        MemberDashboardResponse response = memberDashboardService.getDashboard(memberId);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 12. 전체 회원 목록 조회 API (상태 태그, 최근 자동 통화, 다음 예정 통화 포함)
+     * [GET] /api/members?statusTag=&missedCall=&cursor=&size=
+     */
+    @GetMapping
+    public ResponseEntity<MemberOverviewResponse> getMemberOverview(
+            @RequestParam(required = false) String statusTag,
+            @RequestParam(required = false) Boolean missedCall,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        MemberOverviewResponse response = memberOverviewService.getOverview(statusTag, missedCall, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 13. 회원 일괄 등록 API (CSV 또는 NDJSON)
+     * [POST] /api/members/import
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<MemberImportResponse> importMembers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body // 요청 본문 전체를 메모리에 올리지 않고 줄 단위로 읽습니다.
+    ) {
+        MemberImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? MemberImportService.Format.CSV
+                : MemberImportService.Format.NDJSON;
+        MemberImportResponse response = memberImportService.importMembers(body, format);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,33 @@
+package com.example.demo5.controller;
+
+import com.example.demo5.dto.trend.MemberTrendResponse;
+import com.example.demo5.dto.trend.TrendGranularity;
+import com.example.demo5.service.MemberTrendService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/members")
+public class MemberTrendController {
+
+    private final MemberTrendService memberTrendService;
+
+    /**
+     * 1. 회원 감정/상태 추이 조회 API (일간 또는 주간 집계)
+     * [GET] /api/members/{memberId}/trends?granularity=WEEKLY&days=90
+     */
+    @GetMapping("/{memberId}/trends")
+    public ResponseEntity<MemberTrendResponse> getTrends(
+            @PathVariable String memberId,
+            @RequestParam(defaultValue = "DAILY") TrendGranularity granularity,
+            @RequestParam(defaultValue = "90") int days
+    ) {
+        return ResponseEntity.ok(memberTrendService.getTrends(memberId, granularity, days));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo5.controller;
+
+import com.example.demo5.dto.search.TranscriptSearchResponse;
+import com.example.demo5.service.TranscriptSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api")
+public class TranscriptSearchController {
+
+    private final TranscriptSearchService transcriptSearchService;
+
+    /**
+     * 1. 회원 대화 원문 검색 API (사용자 발화, 최근 통화 순)
+     * [GET] /api/members/{memberId}/search?q=무릎&limit=20
+     */
+    @GetMapping("/members/{memberId}/search")
+    public ResponseEntity<TranscriptSearchResponse> search(
+            @PathVariable String memberId,
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(transcriptSearchService.search(memberId, query, limit));
+    }
+
+    /**
+     * 2. 검색 색인 재구성 API (call_log의 전체 대화 원문으로 다시 색인)
+     * [POST] /api/search/rebuild
+     */
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<Map<String, Long>> rebuild() {
+        return ResponseEntity.ok(Map.of("indexedCalls", transcriptSearchService.rebuild()));
+    }
+}
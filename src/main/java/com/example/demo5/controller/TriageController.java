@@ -0,0 +1,31 @@
+package com.example.demo5.controller;
+
+import com.example.demo5.dto.triage.TriageItemResponse;
+import com.example.demo5.service.RiskTriageIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/triage")
+@RequiredArgsConstructor
+public class TriageController {
+
+    private static final int MAX_LIMIT = 500;
+
+    private final RiskTriageIndex riskTriageIndex;
+
+    /**
+     * 확인이 필요한 회원 목록 조회 API (위험도, 최근 변경 순)
+     * [GET] /api/triage?limit=20
+     */
+    @GetMapping
+    public ResponseEntity<List<TriageItemResponse>> getTriage(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(riskTriageIndex.top(Math.max(1, Math.min(limit, MAX_LIMIT))));
+    }
+}
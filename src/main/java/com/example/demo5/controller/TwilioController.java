@@ -2,6 +2,7 @@ package com.example.demo5.controller;
 
 import com.example.demo5.service.QnaService;
 import com.example.demo5.service.TwilioService;
+import com.example.demo5.service.opening.CallOpeningService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
@@ -15,20 +16,34 @@ public class TwilioController {
 
     private final TwilioService twilioService;
     private final QnaService qnaService; // MemberService -> QnaService로 변경
+    private final CallOpeningService callOpeningService;
 
     @Value("${server.base-url}")
     private String baseUrl;
 
+    // gather: 턴마다 Gather 웹훅으로 대화, media-stream: 웹소켓 미디어 스트림으로 서버에서 음성 인식/합성
+    @Value("${conversation.mode:gather}")
+    private String conversationMode;
+
     /**
      * 수동/자동 통화 시작 시, 첫 음성 안내를 제공하는 TwiML을 생성합니다.
+     * 자동 통화에 미리 준비한 첫 질문(opening)이 있으면 저장된 질문을 그대로 읽어 주며, 이 시점에 LLM을 호출하지 않습니다.
      */
     @PostMapping(value = "/call/welcome", produces = MediaType.APPLICATION_XML_VALUE)
-    public ResponseEntity<String> welcome() {
-        // QnaService의 startSurvey를 호출하여 첫 질문을 생성하도록 변경할 수 있으나,
-        // 현재는 하드코딩된 메시지를 사용하므로 그대로 둡니다.
-        String message = "안녕하세요. 히어포유 전화 에이아이 상담 서비스 입니다. 고민이 있으시거나 질문 사항이 있으시면 질문해주세요.";
-        String twiML = twilioService.createGatherTwiML(message, baseUrl);
-        return ResponseEntity.ok(twiML);
+    public ResponseEntity<String> welcome(
+            @RequestParam(value = "opening", required = false) Long openingId,
+            @RequestParam(value = "CallSid", required = false) String callSid
+    ) {
+        String prepared = openingId != null ? callOpeningService.findQuestion(openingId).orElse(null) : null;
+        if (prepared == null) {
+            String message = "안녕하세요. 히어포유 전화 에이아이 상담 서비스 입니다. 고민이 있으시거나 질문 사항이 있으시면 질문해주세요.";
+            return ResponseEntity.ok(createWelcomeTwiML(message));
+        }
+        // 맞춤 질문에 이어지는 답변을 AI가 이해하도록 대화 기록에 남깁니다. (미디어 스트림은 연결 후 세션이 기록합니다)
+        if (callSid != null && !"media-stream".equals(conversationMode)) {
+            qnaService.startConversation(callSid, prepared);
+        }
+        return ResponseEntity.ok(createWelcomeTwiML(prepared));
     }
 
     /**
@@ -36,8 +51,7 @@ public class TwilioController {
      */
     @PostMapping(value = "/call/custom-welcome", produces = MediaType.APPLICATION_XML_VALUE)
     public ResponseEntity<String> customWelcome(@RequestParam("question") String question) {
-        String twiML = twilioService.createGatherTwiML(question, baseUrl);
-        return ResponseEntity.ok(twiML);
+        return ResponseEntity.ok(createWelcomeTwiML(question));
     }
 
     /**
@@ -65,4 +79,10 @@ public class TwilioController {
         qnaService.handleCallTermination(callSid, callStatus);
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    private String createWelcomeTwiML(String message) {
+        return "media-stream".equals(conversationMode)
+                ? twilioService.createMediaStreamTwiML(baseUrl, message)
+                : twilioService.createGatherTwiML(message, baseUrl);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.demo5.controller;
+
+import com.example.demo5.service.QnaService;
+import com.example.demo5.service.media.MediaCallSession;
+import com.example.demo5.service.media.MediaConversationEngine;
+import com.example.demo5.service.media.MediaSink;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Twilio 미디어 스트림 웹소켓(/api/twilio/media-stream)을 처리합니다.
+ * Twilio가 보내는 JSON 메시지(start, media, mark, stop)를 통화 세션으로 넘기고, 세션이 내보내는 음성을 같은 형식으로 돌려보냅니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TwilioMediaStreamHandler extends TextWebSocketHandler {
+
+    private static final int SEND_TIME_LIMIT_MS = 5_000;
+    private static final int SEND_BUFFER_LIMIT_BYTES = 512 * 1024;
+
+    private final MediaConversationEngine mediaConversationEngine;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        // 음성 전송(작업 스레드)과 표시/비우기(수신 스레드)가 동시에 보내므로 전송을 직렬화합니다.
+        WebSocketSession outbound = new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT_BYTES);
+        Connection connection = new Connection(outbound);
+        connection.callSession = mediaConversationEngine.newSession(connection);
+        connections.put(session.getId(), connection);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        Connection connection = connections.get(session.getId());
+        if (connection == null) {
+            return;
+        }
+        JsonNode root = objectMapper.readTree(message.getPayload());
+        switch (root.path("event").asText()) {
+            case "start" -> {
+                JsonNode start = root.path("start");
+                connection.streamSid = start.path("streamSid").asText();
+                JsonNode question = start.path("customParameters").path("question");
+                connection.callSession.start(start.path("callSid").asText(),
+                        question.isTextual() ? question.asText() : QnaService.DEFAULT_FIRST_QUESTION);
+            }
+            case "media" -> {
+                JsonNode media = root.path("media");
+                if ("inbound".equals(media.path("track").asText("inbound"))) {
+                    connection.callSession.onAudio(Base64.getDecoder().decode(media.path("payload").asText()));
+                }
+            }
+            case "mark" -> connection.callSession.onMark(root.path("mark").path("name").asText());
+            case "stop" -> connection.callSession.stop();
+            default -> {
+                // connected, dtmf 등은 사용하지 않습니다.
+            }
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Connection connection = connections.remove(session.getId());
+        if (connection != null) {
+            connection.callSession.stop();
+        }
+    }
+
+    private final class Connection implements MediaSink {
+
+        private final WebSocketSession outbound;
+        private volatile String streamSid;
+        private MediaCallSession callSession;
+
+        private Connection(WebSocketSession outbound) {
+            this.outbound = outbound;
+        }
+
+        @Override
+        public void sendAudio(byte[] mulawFrame) {
+            send(Map.of("event", "media", "streamSid", streamSid,
+                    "media", Map.of("payload", Base64.getEncoder().encodeToString(mulawFrame))));
+        }
+
+        @Override
+        public void sendMark(String name) {
+            send(Map.of("event", "mark", "streamSid", streamSid, "mark", Map.of("name", name)));
+        }
+
+        @Override
+        public void clearAudio() {
+            send(Map.of("event", "clear", "streamSid", streamSid));
+        }
+
+        private void send(Map<String, Object> payload) {
+            if (!outbound.isOpen()) {
+                return;
+            }
+            try {
+                outbound.sendMessage(new TextMessage(objectMapper.writeValueAsString(payload)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("미디어 스트림 전송 실패: streamSid=" + streamSid, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo5.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 조건부 GET에 사용하는 리소스 버전입니다. 마지막 변경 시각(마이크로초)으로 강한 ETag를 만듭니다.
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+    public static ResourceVersion of(String resource, LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return new ResourceVersion("\"" + resource + "-0\"", -1);
+        }
+        long epochMillis = updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long micros = epochMillis * 1000 + updatedAt.getNano() / 1000 % 1000;
+        return new ResourceVersion("\"" + resource + "-" + Long.toHexString(micros) + "\"", epochMillis);
+    }
+}
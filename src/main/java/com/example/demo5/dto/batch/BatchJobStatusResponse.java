@@ -0,0 +1,31 @@
+package com.example.demo5.dto.batch;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class BatchJobStatusResponse {
+    private final Long runId;
+    private final String jobName;
+    private final String status; // PENDING, RUNNING, PAUSED, COMPLETED, CANCELLED
+
+    // 진행 상황 (lastKey: 마지막으로 기록된 체크포인트)
+    private final int totalCount;
+    private final int processedCount;
+    private final int failedCount;
+    private final int remainingCount;
+    private final String lastKey;
+
+    // 처리량: 실제 처리한 시간 기준 분당 항목 수, 남은 처리 시간(분), 실행 중이면 예상 완료 시각
+    private final double itemsPerMinute;
+    private final Long estimatedRemainingMinutes;
+    private final LocalDateTime estimatedCompletionAt;
+
+    private final LocalDateTime createdAt;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime updatedAt;
+    private final LocalDateTime finishedAt;
+}
@@ -0,0 +1,31 @@
+package com.example.demo5.dto.call;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 통화 기록 페이지 커서. 마지막으로 내려준 행의 (requested_at, call_log_id)를 불투명한 문자열로 감쌉니다.
+ */
+public record CallHistoryCursor(LocalDateTime requestedAt, Long callLogId) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = requestedAt + SEPARATOR + callLogId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CallHistoryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            return new CallHistoryCursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    Long.parseLong(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다: " + cursor, e);
+        }
+    }
+}
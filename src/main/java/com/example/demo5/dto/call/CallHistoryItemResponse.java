@@ -0,0 +1,17 @@
+package com.example.demo5.dto.call;
+
+import com.example.demo5.entity.CallLog;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class CallHistoryItemResponse {
+    private final Long callLogId;
+    private final CallLog.CallType callType;
+    private final CallLog.CallStatus status;
+    private final String summaryQuestion;
+    private final String mood;
+    private final String date;
+    private final String time;
+}
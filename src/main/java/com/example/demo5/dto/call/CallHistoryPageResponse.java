@@ -0,0 +1,14 @@
+package com.example.demo5.dto.call;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CallHistoryPageResponse {
+    private final List<CallHistoryItemResponse> items;
+    private final String nextCursor; // 다음 페이지가 없으면 null
+    private final boolean hasNext;
+}
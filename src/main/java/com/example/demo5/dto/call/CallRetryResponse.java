@@ -0,0 +1,19 @@
+package com.example.demo5.dto.call;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class CallRetryResponse {
+    private final Long retryId;
+    private final int attempt;           // 이 재시도로 건(걸) 통화의 시도 번호
+    private final String outcome;        // 직전 통화의 실패 사유 (no-answer, busy, failed, voicemail 등)
+    private final Long failedCallLogId;  // 실패한 통화
+    private final Long retryCallLogId;   // 재시도로 건 통화 (아직 걸지 않았으면 null)
+    private final String status;         // PENDING, DIALING, DIALED, CANCELLED, FAILED
+    private final LocalDateTime dueAt;
+    private final LocalDateTime updatedAt;
+}
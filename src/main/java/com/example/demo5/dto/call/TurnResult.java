@@ -0,0 +1,16 @@
+package com.example.demo5.dto.call;
+
+/**
+ * 사용자 발화 하나를 처리한 결과입니다. reply는 AI가 이어서 말할 문장이며, endCall이면 말한 뒤 통화를 끝냅니다.
+ * Gather(TwiML) 방식과 미디어 스트림 방식이 같은 대화 로직을 공유하기 위해 사용합니다.
+ */
+public record TurnResult(String reply, boolean endCall) {
+
+    public static TurnResult next(String reply) {
+        return new TurnResult(reply, false);
+    }
+
+    public static TurnResult end(String reply) {
+        return new TurnResult(reply, true);
+    }
+}
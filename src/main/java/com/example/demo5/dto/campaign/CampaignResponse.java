@@ -0,0 +1,35 @@
+package com.example.demo5.dto.campaign;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class CampaignResponse {
+    private final Long campaignId;
+    private final String topic;
+    private final String question;
+    private final String statusTag;
+    private final Boolean missedCall;
+    private final String status; // RUNNING, PAUSED, CANCELLED, COMPLETED
+
+    // 발신 진행 상황
+    private final int totalCount;
+    private final int dialedCount;
+    private final int failedCount;
+    private final int cancelledCount;
+    private final int remainingCount;
+
+    // 발신된 통화의 결과 (통화가 끝나면 상태 콜백으로 갱신됩니다)
+    private final long completedCalls;
+    private final long missedCalls;
+
+    // 처리량: 시작 이후 분당 발신 수와 현재 속도 기준 예상 완료 시각
+    private final double dialsPerMinute;
+    private final LocalDateTime estimatedCompletionAt;
+
+    private final LocalDateTime createdAt;
+    private final LocalDateTime finishedAt;
+}
@@ -0,0 +1,15 @@
+package com.example.demo5.dto.campaign;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CreateCampaignRequest {
+    private String topic;
+    // 대상 회원 필터 (모두 선택, 생략하면 전체 회원)
+    private String statusTag;
+    private Boolean missedCall;
+}
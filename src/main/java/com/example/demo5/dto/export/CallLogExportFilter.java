@@ -0,0 +1,11 @@
+package com.example.demo5.dto.export;
+
+import com.example.demo5.entity.CallLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * 통화 기록 내보내기 조건. from/to는 requested_at 기준 [from, to) 구간이며 파티션 범위를 정합니다.
+ */
+public record CallLogExportFilter(LocalDateTime from, LocalDateTime to, String memberId, CallLog.CallStatus status) {
+}
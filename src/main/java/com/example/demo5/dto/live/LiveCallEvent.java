@@ -0,0 +1,18 @@
+package com.example.demo5.dto.live;
+
+import java.time.LocalDateTime;
+
+/**
+ * 실시간 통화 중계 이벤트. type이 TURN이면 발화 하나, ENDED면 통화 종료(message에 종료 사유)입니다.
+ */
+public record LiveCallEvent(Type type,
+                            String callSid,
+                            String speaker,
+                            String message,
+                            LocalDateTime occurredAt) {
+
+    public enum Type {
+        TURN,
+        ENDED
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo5.dto.member;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대시보드의 한 섹션. 데이터와 함께 언제 기준의 값인지(asOf), 정상적으로 채워졌는지(state)를 담습니다.
+ * 실패한 섹션의 message는 상태별 고정 문구이며, 내부 예외 메시지는 응답에 싣지 않고 로그로만 남깁니다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class DashboardSection<T> {
+
+    public enum State {
+        OK, TIMEOUT, BUSY, ERROR
+    }
+
+    private final T data;
+    private final State state;
+    private final LocalDateTime asOf;
+    private final String message;
+
+    public static <T> DashboardSection<T> ok(T data) {
+        return new DashboardSection<>(data, State.OK, LocalDateTime.now(), null);
+    }
+
+    public static <T> DashboardSection<T> timeout() {
+        return new DashboardSection<>(null, State.TIMEOUT, LocalDateTime.now(), "제한 시간 안에 조회하지 못했습니다.");
+    }
+
+    public static <T> DashboardSection<T> busy() {
+        return new DashboardSection<>(null, State.BUSY, LocalDateTime.now(), "요청이 많아 조회하지 못했습니다.");
+    }
+
+    public static <T> DashboardSection<T> error() {
+        return new DashboardSection<>(null, State.ERROR, LocalDateTime.now(), "조회 중 오류가 발생했습니다.");
+    }
+}
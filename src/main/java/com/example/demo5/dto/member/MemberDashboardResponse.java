@@ -0,0 +1,20 @@
+package com.example.demo5.dto.member;
+
+import com.example.demo5.dto.analysis.AnalysisResponse;
+import com.example.demo5.dto.call.CallHistoryResponse;
+import com.example.demo5.dto.call.LatestCallStatusResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class MemberDashboardResponse {
+    private final String memberId;
+    private final DashboardSection<AnalysisResponse> analysis;
+    private final DashboardSection<MemberStatusTagResponse> status;
+    private final DashboardSection<ConversationSummaryResponse> summary;
+    private final DashboardSection<LatestCallStatusResponse> latestAutoCall;
+    private final DashboardSection<List<CallHistoryResponse>> callHistory;
+}
@@ -0,0 +1,16 @@
+package com.example.demo5.dto.member;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class MemberImportResponse {
+    private final int total;
+    private final int created;
+    private final int duplicated;
+    private final int invalid;
+    private final List<MemberImportRowResult> rows; // 입력 줄 순서
+}
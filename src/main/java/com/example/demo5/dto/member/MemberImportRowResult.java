@@ -0,0 +1,23 @@
+package com.example.demo5.dto.member;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MemberImportRowResult(long line, String phoneNumber, String memberId, Result result, String message) {
+
+    public enum Result {
+        CREATED, DUPLICATE, INVALID
+    }
+
+    public static MemberImportRowResult created(long line, String phoneNumber, String memberId) {
+        return new MemberImportRowResult(line, phoneNumber, memberId, Result.CREATED, null);
+    }
+
+    public static MemberImportRowResult duplicate(long line, String phoneNumber, String message) {
+        return new MemberImportRowResult(line, phoneNumber, null, Result.DUPLICATE, message);
+    }
+
+    public static MemberImportRowResult invalid(long line, String phoneNumber, String message) {
+        return new MemberImportRowResult(line, phoneNumber, null, Result.INVALID, message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.demo5.dto.member;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class MemberOverviewItemResponse {
+    private final String memberId;
+    private final String phoneNumber;
+    private final String statusTag;
+    private final String latestAutoCallResult; // CallLog.CallStatus.resultLabel: "완료", "부재중", "진행 중", "기록 없음"
+    private final LocalDateTime latestAutoCallAt;
+    private final boolean missedLatestAutoCall;
+    private final LocalDateTime nextScheduledCallAt; // 활성 스케줄이 없으면 null
+}
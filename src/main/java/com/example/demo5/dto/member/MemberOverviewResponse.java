@@ -0,0 +1,16 @@
+package com.example.demo5.dto.member;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class MemberOverviewResponse {
+    private final List<MemberOverviewItemResponse> items;
+    private final String nextCursor; // 다음 페이지가 없으면 null
+    private final boolean hasNext;
+    private final Map<String, Long> statusCounts; // 첫 페이지에서만 채워집니다.
+}
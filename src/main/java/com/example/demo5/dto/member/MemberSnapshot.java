@@ -0,0 +1,13 @@
+package com.example.demo5.dto.member;
+
+import com.example.demo5.entity.Member;
+
+/**
+ * 캐시에 보관하는 회원 정보입니다. 영속성 컨텍스트와 분리된 불변 값이므로 스레드 간에 공유해도 안전합니다.
+ */
+public record MemberSnapshot(String memberId, String phoneNumber) {
+
+    public static MemberSnapshot from(Member member) {
+        return new MemberSnapshot(member.getMemberId(), member.getPhoneNumber());
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo5.dto.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * 검색어가 나온 사용자 발화 하나. snippet에는 일치한 부분이 <em>...</em>으로 표시됩니다.
+ */
+public record TranscriptSearchHit(Long callLogId, LocalDateTime requestedAt, int turn, String snippet) {
+}
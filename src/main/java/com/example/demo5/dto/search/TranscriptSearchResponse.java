@@ -0,0 +1,6 @@
+package com.example.demo5.dto.search;
+
+import java.util.List;
+
+public record TranscriptSearchResponse(String query, long totalHits, long tookMillis, List<TranscriptSearchHit> hits) {
+}
@@ -0,0 +1,10 @@
+package com.example.demo5.dto.trend;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record MemberTrendResponse(String memberId,
+                                  TrendGranularity granularity,
+                                  LocalDate from,
+                                  List<TrendPointResponse> points) {
+}
@@ -0,0 +1,17 @@
+package com.example.demo5.dto.trend;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+public enum TrendGranularity {
+    DAILY,
+    WEEKLY;
+
+    /**
+     * 날짜가 속한 집계 구간의 시작일입니다. 주간 구간은 월요일에 시작합니다.
+     */
+    public LocalDate periodStart(LocalDate date) {
+        return this == DAILY ? date : date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo5.dto.trend;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record TrendPointResponse(LocalDate periodStart,
+                                 int callCount,
+                                 int positiveCount,
+                                 int negativeCount,
+                                 int neutralCount,
+                                 int cautionCount,
+                                 int criticalCount,
+                                 String lastStatusTag,
+                                 List<String> topKeywords) {
+}
@@ -0,0 +1,6 @@
+package com.example.demo5.dto.triage;
+
+import java.time.LocalDateTime;
+
+public record TriageItemResponse(String memberId, String statusTag, int severity, LocalDateTime changedAt) {
+}
@@ -0,0 +1,119 @@
+package com.example.demo5.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "call_campaign")
+public class CallCampaign {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "campaign_id")
+    private Long campaignId;
+
+    @Column(nullable = false)
+    private String topic;
+
+    // 주제로 한 번만 생성한 첫 질문. 모든 대상 회원에게 같은 질문을 사용합니다.
+    @Column(nullable = false, length = 1000)
+    private String question;
+
+    // 대상 회원 필터 (null이면 조건 없음)
+    @Column(name = "status_tag", length = 100)
+    private String statusTag;
+
+    @Column(name = "missed_call")
+    private Boolean missedCall;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CampaignStatus status;
+
+    @Column(name = "total_count", nullable = false)
+    private int totalCount;
+
+    @Column(name = "dialed_count", nullable = false)
+    private int dialedCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private int failedCount;
+
+    @Column(name = "cancelled_count", nullable = false)
+    private int cancelledCount;
+
+    // 아직 발신하지 않은 캠페인 call_log는 이 시각을 requested_at으로 가집니다. 발신하면 발신 시각으로 바뀝니다.
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Builder
+    public CallCampaign(String topic, String question, String statusTag, Boolean missedCall, LocalDateTime createdAt) {
+        this.topic = topic;
+        this.question = question;
+        this.statusTag = statusTag;
+        this.missedCall = missedCall;
+        this.createdAt = createdAt;
+        this.status = CampaignStatus.RUNNING;
+        this.startedAt = createdAt;
+    }
+
+    public void setTotalCount(int totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public void recordDials(int dialed, int failed) {
+        this.dialedCount += dialed;
+        this.failedCount += failed;
+    }
+
+    public int getRemainingCount() {
+        return totalCount - dialedCount - failedCount - cancelledCount;
+    }
+
+    public void pause() {
+        requireStatus(CampaignStatus.RUNNING);
+        this.status = CampaignStatus.PAUSED;
+    }
+
+    public void resume() {
+        requireStatus(CampaignStatus.PAUSED);
+        this.status = CampaignStatus.RUNNING;
+    }
+
+    public void cancel(int cancelledCount) {
+        if (status == CampaignStatus.COMPLETED || status == CampaignStatus.CANCELLED) {
+            throw new IllegalStateException("이미 종료된 캠페인입니다: " + status);
+        }
+        this.cancelledCount += cancelledCount;
+        this.status = CampaignStatus.CANCELLED;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public void complete() {
+        this.status = CampaignStatus.COMPLETED;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    private void requireStatus(CampaignStatus expected) {
+        if (status != expected) {
+            throw new IllegalStateException("현재 상태(" + status + ")에서는 변경할 수 없습니다.");
+        }
+    }
+
+    public enum CampaignStatus {
+        RUNNING, PAUSED, CANCELLED, COMPLETED
+    }
+}
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
@@ -20,7 +21,7 @@ public class CallLog {
     @Column(name = "call_log_id")
     private Long callLogId;
 
-    @Column(name = "call_sid", unique = true)
+    @Column(name = "call_sid")
     private String callSid;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -39,8 +40,10 @@ public class CallLog {
     @Column(name = "requested_at", updatable = false)
     private LocalDateTime requestedAt;
 
-    @Column(name = "call_data", columnDefinition = "json")
-    private String callData;
+    // 대화 원문은 별도 테이블에 압축 저장되며, getCallData()를 호출할 때만 로딩됩니다.
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "transcript_id")
+    private CallTranscript transcript;
 
     @Column(name = "call_result_sentiment")
     private String callResultSentiment;
@@ -48,12 +51,40 @@ public class CallLog {
     @Column(name = "simple_summary", length = 50)
     private String simpleSummary;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // 자동 재시도로 건 통화는 2부터 시작하며, retryOf에 처음 시도한 통화의 ID를 남깁니다.
+    @Column(name = "attempt", nullable = false)
+    private int attempt = 1;
+
+    @Column(name = "retry_of")
+    private Long retryOf;
+
     public void setCallSid(String callSid) {
         this.callSid = callSid;
     }
 
+    public String getCallData() {
+        return transcript != null ? transcript.getContent() : null;
+    }
+
     public void setCallData(String callData) {
-        this.callData = callData;
+        if (callData == null) {
+            this.transcript = null;
+        } else if (this.transcript == null) {
+            this.transcript = new CallTranscript(callData);
+        } else {
+            this.transcript.setContent(callData);
+        }
+    }
+
+    /**
+     * 대화 원문을 로딩하지 않고 저장 여부만 확인합니다.
+     */
+    public boolean hasCallData() {
+        return transcript != null;
     }
 
     public void setStatus(CallStatus status) {
@@ -75,11 +106,41 @@ public class CallLog {
         this.status = status;
     }
 
+    /**
+     * 실패한 자동 통화를 다시 거는 통화임을 기록합니다.
+     */
+    public void markRetry(Long originalCallLogId, int attempt) {
+        this.retryOf = originalCallLogId;
+        this.attempt = attempt;
+    }
+
     public enum CallType {
-        MANUAL, AUTO
+        MANUAL, AUTO, CAMPAIGN
     }
 
     public enum CallStatus {
-        QUEUED, COMPLETED, FAILED
+        QUEUED, COMPLETED, FAILED;
+
+        /**
+         * 부재중 여부. 회원 목록의 missedCall 필터(MemberRepository.SEGMENT_FILTER)와 같은 기준입니다.
+         */
+        public boolean isMissed() {
+            return this == FAILED;
+        }
+
+        /**
+         * 최근 통화 결과로 보여 줄 문구. 최근 자동 통화 조회와 회원 목록이 같은 문구를 쓰도록 여기서만 정합니다.
+         * 통화가 없으면(null) "기록 없음"입니다.
+         */
+        public static String resultLabel(CallStatus status) {
+            if (status == null) {
+                return "기록 없음";
+            }
+            return switch (status) {
+                case COMPLETED -> "완료";
+                case FAILED -> "부재중";
+                case QUEUED -> "진행 중";
+            };
+        }
     }
 }
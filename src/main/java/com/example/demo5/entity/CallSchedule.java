@@ -7,6 +7,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
@@ -44,6 +45,42 @@ public class CallSchedule {
         if (isActive != null) this.isActive = isActive;
     }
 
+    /**
+     * 해당 날짜가 이 스케줄의 통화일인지 확인합니다.
+     */
+    public boolean isCallDay(LocalDate date) {
+        if (date.isBefore(startDate)) {
+            return false;
+        }
+        return switch (frequency) {
+            case DAILY -> true;
+            case WEEKLY -> date.getDayOfWeek() == startDate.getDayOfWeek();
+            case MONTHLY -> date.getDayOfMonth() == startDate.getDayOfMonth();
+        };
+    }
+
+    /**
+     * from 이후 가장 가까운 통화 예정 시각을 반환합니다. 비활성 스케줄이면 null을 반환합니다.
+     */
+    public LocalDateTime nextCallAfter(LocalDateTime from) {
+        if (!isActive) {
+            return null;
+        }
+        LocalDate date = from.toLocalDate().isBefore(startDate) ? startDate : from.toLocalDate();
+        // 매월 31일처럼 건너뛰는 달이 있는 경우까지 고려해 세 달 범위를 확인합니다.
+        for (int i = 0; i < 93; i++) {
+            LocalDate candidateDate = date.plusDays(i);
+            if (!isCallDay(candidateDate)) {
+                continue;
+            }
+            LocalDateTime candidate = candidateDate.atTime(callTime);
+            if (candidate.isAfter(from)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
     @Builder
     public CallSchedule(Member member, LocalDate startDate, Frequency frequency, LocalTime callTime, boolean isActive) {
         this.member = member;
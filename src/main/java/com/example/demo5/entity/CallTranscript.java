@@ -0,0 +1,34 @@
+package com.example.demo5.entity;
+
+import com.example.demo5.entity.converter.CompressedTranscriptConverter;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 통화 대화 원문. call_log와 분리하여 필요할 때만 지연 로딩하고, 압축된 형태로 저장합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "call_transcript")
+public class CallTranscript {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "transcript_id")
+    private Long transcriptId;
+
+    @Convert(converter = CompressedTranscriptConverter.class)
+    @Column(name = "content", nullable = false, columnDefinition = "mediumblob")
+    private String content;
+
+    public CallTranscript(String content) {
+        this.content = content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+}
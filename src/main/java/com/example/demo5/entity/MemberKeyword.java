@@ -4,6 +4,9 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "member_keyword")
@@ -23,4 +26,8 @@ public class MemberKeyword {
 
     @Column(name = "keyword", columnDefinition = "json")
     private String keyword; // Stores JSON string like "[]" or ["keyword1", "keyword2"]
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
 }
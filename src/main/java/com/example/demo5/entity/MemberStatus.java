@@ -4,6 +4,12 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "member_status")
@@ -12,6 +18,19 @@ import lombok.Setter;
 @NoArgsConstructor
 public class MemberStatus {
 
+    /**
+     * 상태 태그별 위험도(클수록 심각). 통화 중 상태 상향과 위험 회원 정렬이 같은 순서를 쓰도록 여기서만 정합니다.
+     */
+    private static final Map<String, Integer> SEVERITY = Map.of("안전", 0, "주의", 1, "확인 필요", 2);
+
+    /**
+     * 확인이 필요한(위험도가 0보다 큰) 상태 태그
+     */
+    public static final Set<String> ATTENTION_TAGS = SEVERITY.entrySet().stream()
+            .filter(entry -> entry.getValue() > 0)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toUnmodifiableSet());
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "status_id")
@@ -23,4 +42,15 @@ public class MemberStatus {
 
     @Column(name = "status_tag", nullable = false, length = 100)
     private String statusTag; // Stores "안전", "확인필요" etc.
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * 상태 태그의 위험도. 알 수 없는 태그는 "안전"과 같은 0입니다.
+     */
+    public static int severity(String statusTag) {
+        return statusTag == null ? 0 : SEVERITY.getOrDefault(statusTag, 0);
+    }
 }
@@ -0,0 +1,91 @@
+package com.example.demo5.entity.converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 통화 대화 원문(JSON)을 저장용 바이트로 압축/복원합니다.
+ *
+ * <pre>
+ * [1 byte 버전 헤더][본문]
+ *   0x01 : raw DEFLATE(UTF-8 JSON)
+ * </pre>
+ * 0x01~0x08은 버전 헤더용으로 예약되어 있으며, 그 외의 첫 바이트('[', '{' 등)로 시작하는 값은
+ * 압축 도입 이전에 저장된 평문 JSON으로 간주하여 그대로 읽습니다.
+ */
+public final class TranscriptCodec {
+
+    public static final byte VERSION_DEFLATE = 0x01;
+    private static final byte MAX_RESERVED_VERSION = 0x08;
+
+    private TranscriptCodec() {
+    }
+
+    public static byte[] encode(String transcript) {
+        if (transcript == null) {
+            return null;
+        }
+        byte[] raw = transcript.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 16);
+        out.write(VERSION_DEFLATE);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try (DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater)) {
+            deflaterOut.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException("대화 내용 압축 실패", e);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    public static String decode(byte[] payload) {
+        if (payload == null) {
+            return null;
+        }
+        try (InputStream in = openStream(payload)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("대화 내용 복원 실패", e);
+        }
+    }
+
+    /**
+     * 저장된 바이트를 UTF-8 JSON 스트림으로 엽니다. 전체를 메모리에 풀지 않고 흘려보낼 때 사용합니다.
+     */
+    public static InputStream openStream(byte[] payload) {
+        if (payload.length == 0 || !isVersioned(payload[0])) {
+            return new ByteArrayInputStream(payload);
+        }
+        if (payload[0] == VERSION_DEFLATE) {
+            InputStream body = new ByteArrayInputStream(payload, 1, payload.length - 1);
+            return new InflaterInputStream(body, new Inflater(true)) {
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    inf.end();
+                }
+            };
+        }
+        throw new IllegalStateException("지원하지 않는 대화 내용 저장 형식입니다. version=" + payload[0]);
+    }
+
+    /**
+     * 버전 헤더가 붙은(압축 형식으로 저장된) 값인지 확인합니다. 평문 JSON이면 false입니다.
+     */
+    public static boolean isEncoded(byte[] payload) {
+        return payload != null && payload.length > 0 && isVersioned(payload[0]);
+    }
+
+    private static boolean isVersioned(byte header) {
+        return header >= VERSION_DEFLATE && header <= MAX_RESERVED_VERSION;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demo5.event;
+
+import com.example.demo5.entity.CallLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * 통화가 실패(FAILED)로 마무리되었을 때 발행됩니다. 트랜잭션 커밋 이후에 처리됩니다.
+ *
+ * @param attempt 실패한 통화의 시도 번호 (처음 건 통화는 1)
+ * @param retryOf 재시도로 건 통화면 처음 시도한 통화의 ID, 아니면 null
+ * @param outcome 실패 사유 (Twilio 통화 상태 no-answer, busy, failed, canceled 또는 voicemail, timeout)
+ */
+public record CallAttemptFailedEvent(Long callLogId,
+                                     String memberId,
+                                     CallLog.CallType callType,
+                                     int attempt,
+                                     Long retryOf,
+                                     String outcome,
+                                     LocalDateTime failedAt) {
+}
@@ -0,0 +1,24 @@
+package com.example.demo5.event;
+
+import com.example.demo5.dto.ChatMessage;
+import com.example.demo5.entity.CallLog;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 통화가 마무리되어 대화 원문과 분석 결과가 저장되었을 때 발행됩니다. 트랜잭션 커밋 이후에 처리됩니다.
+ *
+ * @param mood      분석된 감정 ('긍정', '부정', '중립' 등)
+ * @param statusTag 분석 후 저장된 회원 상태 태그
+ * @param keywords  공백으로 구분된 주요 키워드
+ */
+public record CallFinalizedEvent(Long callLogId,
+                                 String memberId,
+                                 LocalDateTime requestedAt,
+                                 CallLog.CallStatus status,
+                                 String mood,
+                                 String statusTag,
+                                 String keywords,
+                                 List<ChatMessage> transcript) {
+}
@@ -0,0 +1,9 @@
+package com.example.demo5.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * 회원의 상태 태그가 저장되었을 때 발행됩니다. 트랜잭션 커밋 이후에 처리됩니다.
+ */
+public record MemberStatusChangedEvent(String memberId, String statusTag, LocalDateTime changedAt) {
+}
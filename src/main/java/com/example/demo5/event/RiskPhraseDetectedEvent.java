@@ -0,0 +1,15 @@
+package com.example.demo5.event;
+
+import com.example.demo5.service.RiskPhraseDictionary;
+
+import java.time.LocalDateTime;
+
+/**
+ * 통화 중 사용자 발화에서 위험 문구가 감지되었을 때 통화 종료를 기다리지 않고 바로 발행됩니다.
+ */
+public record RiskPhraseDetectedEvent(String callSid,
+                                      RiskPhraseDictionary.Category category,
+                                      String phrase,
+                                      String utterance,
+                                      LocalDateTime detectedAt) {
+}
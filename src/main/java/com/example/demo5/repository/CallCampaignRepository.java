@@ -0,0 +1,12 @@
+package com.example.demo5.repository;
+
+import com.example.demo5.entity.CallCampaign;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CallCampaignRepository extends JpaRepository<CallCampaign, Long> {
+    List<CallCampaign> findByStatusOrderByCampaignIdAsc(CallCampaign.CampaignStatus status);
+}
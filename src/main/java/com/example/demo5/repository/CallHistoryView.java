@@ -0,0 +1,18 @@
+package com.example.demo5.repository;
+
+import com.example.demo5.entity.CallLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * 통화 기록 목록 화면에 필요한 컬럼만 조회하기 위한 프로젝션입니다.
+ * 대화 원문(call_data)은 포함하지 않습니다.
+ */
+public interface CallHistoryView {
+    Long getCallLogId();
+    CallLog.CallType getCallType();
+    CallLog.CallStatus getStatus();
+    LocalDateTime getRequestedAt();
+    String getCallResultSentiment();
+    String getSimpleSummary();
+}
@@ -1,15 +1,54 @@
 package com.example.demo5.repository;
 
 import com.example.demo5.entity.CallLog;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface CallLogRepository extends JpaRepository<CallLog, Long> {
-    Optional<CallLog> findByCallSid(String callSid);
+    // Twilio 웹훅은 통화 중이나 직후에 도착하므로, CallSid 조회는 기준 시각에서 이 기간 안의 파티션만 읽습니다.
+    int CALL_SID_LOOKBACK_DAYS = 2;
+
+    // call_log는 requested_at 월별 파티션이므로, 시간 하한을 주어 최근 파티션만 읽도록 합니다.
+    Optional<CallLog> findByCallSidAndRequestedAtAfter(String callSid, LocalDateTime requestedAfter);
+
+    // 분석 경로는 대화 원문을 모두 읽으므로 transcript를 함께 가져와 N+1 조회를 피합니다.
+    @EntityGraph(attributePaths = "transcript")
     List<CallLog> findByMember_MemberIdAndRequestedAtBetween(String memberId, LocalDateTime start, LocalDateTime end);
-    Optional<CallLog> findTopByMember_MemberIdAndCallTypeOrderByRequestedAtDesc(String memberId, CallLog.CallType callType);
-    List<CallLog> findTop3ByMember_MemberIdOrderByRequestedAtDesc(String memberId);
+    Optional<CallLog> findTopByMember_MemberIdAndCallTypeAndRequestedAtAfterOrderByRequestedAtDesc(String memberId, CallLog.CallType callType, LocalDateTime requestedAfter);
+
+    // (requested_at, call_log_id) 커서 기반 키셋 페이지네이션. 커서가 null이면 첫 페이지를 조회합니다.
+    @Query("""
+            SELECT c.callLogId AS callLogId, c.callType AS callType, c.status AS status,
+                   c.requestedAt AS requestedAt, c.callResultSentiment AS callResultSentiment, c.simpleSummary AS simpleSummary
+            FROM CallLog c
+            WHERE c.member.memberId = :memberId
+              AND (:callType IS NULL OR c.callType = :callType)
+              AND (:status IS NULL OR c.status = :status)
+              AND (:cursorRequestedAt IS NULL
+                   OR c.requestedAt < :cursorRequestedAt
+                   OR (c.requestedAt = :cursorRequestedAt AND c.callLogId < :cursorCallLogId))
+            ORDER BY c.requestedAt DESC, c.callLogId DESC
+            """)
+    List<CallHistoryView> findHistoryPage(@Param("memberId") String memberId,
+                                          @Param("callType") CallLog.CallType callType,
+                                          @Param("status") CallLog.CallStatus status,
+                                          @Param("cursorRequestedAt") LocalDateTime cursorRequestedAt,
+                                          @Param("cursorCallLogId") Long cursorCallLogId,
+                                          Limit limit);
+
+    // 해당 시각 이후 그 상태로 바뀐(updated_at) 통화가 있는지 확인합니다. requested_at 하한으로 읽을 파티션을 줄입니다.
+    boolean existsByMember_MemberIdAndStatusAndUpdatedAtAfterAndRequestedAtAfter(String memberId, CallLog.CallStatus status,
+                                                                                LocalDateTime updatedAfter, LocalDateTime requestedAfter);
+
+    // 조건부 GET용. 최근 통화 중 마지막으로 생성/변경된 시각만 조회합니다. 통화가 없으면 null입니다.
+    @Query("SELECT MAX(c.updatedAt) FROM CallLog c WHERE c.member.memberId = :memberId AND c.requestedAt > :requestedAfter")
+    LocalDateTime findLatestUpdatedAt(@Param("memberId") String memberId,
+                                      @Param("requestedAfter") LocalDateTime requestedAfter);
 }
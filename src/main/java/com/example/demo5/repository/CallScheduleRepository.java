@@ -5,11 +5,18 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CallScheduleRepository extends JpaRepository<CallSchedule, Long> {
-    List<CallSchedule> findByIsActive(boolean isActive);
 
-    @Query("SELECT cs FROM CallSchedule cs JOIN FETCH cs.member WHERE cs.isActive = :isActive")
-    List<CallSchedule> findActiveSchedulesWithMember(@Param("isActive") boolean isActive);
+    // 활성 스케줄 중 통화 시각이 [from, to] 구간에 있는 것만 조회합니다. (is_active, call_time) 인덱스를 사용합니다.
+    @Query("SELECT cs FROM CallSchedule cs JOIN FETCH cs.member WHERE cs.isActive = true AND cs.callTime BETWEEN :from AND :to")
+    List<CallSchedule> findActiveSchedulesWithMemberAt(@Param("from") LocalTime from, @Param("to") LocalTime to);
+
+    @Query("SELECT cs FROM CallSchedule cs WHERE cs.isActive = true AND cs.member.memberId IN :memberIds")
+    List<CallSchedule> findActiveByMemberIds(@Param("memberIds") Collection<String> memberIds);
+
+    boolean existsByMember_MemberIdAndIsActiveTrue(String memberId);
 }
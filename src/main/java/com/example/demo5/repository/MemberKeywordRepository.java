@@ -2,11 +2,18 @@ package com.example.demo5.repository;
 
 import com.example.demo5.entity.MemberKeyword;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface MemberKeywordRepository extends JpaRepository<MemberKeyword, Long> {
     Optional<MemberKeyword> findByMember_MemberId(String memberId);
+
+    // 조건부 GET용. 분석 JSON을 읽지 않고 변경 시각만 조회합니다.
+    @Query("SELECT mk.updatedAt FROM MemberKeyword mk WHERE mk.member.memberId = :memberId")
+    Optional<LocalDateTime> findUpdatedAtByMemberId(@Param("memberId") String memberId);
 }
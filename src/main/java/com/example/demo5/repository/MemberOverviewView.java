@@ -0,0 +1,14 @@
+package com.example.demo5.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 회원 목록 화면용 프로젝션. 회원, 상태 태그, 최근 자동 통화 한 건을 한 행으로 묶습니다.
+ */
+public interface MemberOverviewView {
+    String getMemberId();
+    String getPhoneNumber();
+    String getStatusTag();
+    String getLatestAutoCallStatus();
+    LocalDateTime getLatestAutoCallAt();
+}
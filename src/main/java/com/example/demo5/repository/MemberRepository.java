@@ -2,11 +2,60 @@ package com.example.demo5.repository;
 
 import com.example.demo5.entity.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface MemberRepository extends JpaRepository<Member, String> {
 
     // 전화번호로 중복 가입을 방지하기 위한 메서드
     boolean existsByPhoneNumber(String phoneNumber);
-}
\ No newline at end of file
+
+    /**
+     * 회원 세그먼트의 FROM 절. 회원마다 상태 태그와 :since 이후 최근 자동 통화 한 건(c)을 붙입니다.
+     * 최근 자동 통화는 상관 서브쿼리가 (member_id, call_type, requested_at) 인덱스로 회원당 한 행만 읽습니다.
+     * 회원 목록(findOverviewPage)과 캠페인 대상 선정(CallCampaignService)이 같은 정의를 씁니다.
+     */
+    String SEGMENT_FROM = """
+            FROM member m
+            LEFT JOIN member_status ms ON ms.member_id = m.member_id
+            LEFT JOIN call_log c ON c.requested_at > :since AND c.call_log_id = (
+                SELECT c2.call_log_id FROM call_log c2
+                WHERE c2.member_id = m.member_id AND c2.call_type = 'AUTO' AND c2.requested_at > :since
+                ORDER BY c2.requested_at DESC, c2.call_log_id DESC
+                LIMIT 1)
+            """;
+
+    /**
+     * 회원 세그먼트 필터. statusTag: null이면 필터 없음.
+     * missedCall: null이면 필터 없음, true면 최근 자동 통화가 부재중(FAILED)인 회원, false면 그 외 회원.
+     */
+    String SEGMENT_FILTER = """
+            (:statusTag IS NULL OR ms.status_tag = :statusTag)
+              AND (:missedCall IS NULL
+                   OR (:missedCall = TRUE AND c.status = 'FAILED')
+                   OR (:missedCall = FALSE AND (c.status IS NULL OR c.status <> 'FAILED')))
+            """;
+
+    /**
+     * member_id 키셋 기준 회원 목록 한 페이지. 세그먼트 정의는 SEGMENT_FROM / SEGMENT_FILTER를 따릅니다.
+     */
+    @Query(value = """
+            SELECT m.member_id AS memberId, m.phone_number AS phoneNumber, ms.status_tag AS statusTag,
+                   c.status AS latestAutoCallStatus, c.requested_at AS latestAutoCallAt
+            """ + SEGMENT_FROM + """
+            WHERE m.member_id > :afterMemberId
+              AND """ + SEGMENT_FILTER + """
+            ORDER BY m.member_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<MemberOverviewView> findOverviewPage(@Param("afterMemberId") String afterMemberId,
+                                              @Param("statusTag") String statusTag,
+                                              @Param("missedCall") Boolean missedCall,
+                                              @Param("since") LocalDateTime since,
+                                              @Param("limit") int limit);
+}
@@ -2,11 +2,29 @@ package com.example.demo5.repository;
 
 import com.example.demo5.entity.MemberStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MemberStatusRepository extends JpaRepository<MemberStatus, Long> {
     Optional<MemberStatus> findByMember_MemberId(String memberId);
+
+    // 조건부 GET용. 엔티티를 로딩하지 않고 변경 시각만 조회합니다.
+    @Query("SELECT ms.updatedAt FROM MemberStatus ms WHERE ms.member.memberId = :memberId")
+    Optional<LocalDateTime> findUpdatedAtByMemberId(@Param("memberId") String memberId);
+
+    // (status_tag, member_id) 인덱스만 읽는 집계입니다.
+    @Query("SELECT ms.statusTag AS statusTag, COUNT(ms) AS memberCount FROM MemberStatus ms GROUP BY ms.statusTag")
+    List<StatusTagCountView> countByStatusTag();
+
+    // 위험 회원 인덱스 재구성용. (status_tag, member_id) 인덱스로 대상 태그만 범위 조회합니다.
+    @Query("SELECT ms.member.memberId AS memberId, ms.statusTag AS statusTag, ms.updatedAt AS updatedAt "
+            + "FROM MemberStatus ms WHERE ms.statusTag IN :statusTags")
+    List<TriageStatusView> findTriageCandidates(@Param("statusTags") Collection<String> statusTags);
 }
@@ -0,0 +1,6 @@
+package com.example.demo5.repository;
+
+public interface StatusTagCountView {
+    String getStatusTag();
+    long getMemberCount();
+}
@@ -0,0 +1,12 @@
+package com.example.demo5.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 위험 회원 인덱스 재구성에 필요한 컬럼만 조회하는 프로젝션입니다.
+ */
+public interface TriageStatusView {
+    String getMemberId();
+    String getStatusTag();
+    LocalDateTime getUpdatedAt();
+}
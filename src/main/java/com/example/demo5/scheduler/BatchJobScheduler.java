@@ -0,0 +1,25 @@
+package com.example.demo5.scheduler;
+
+import com.example.demo5.service.batch.BatchJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BatchJobScheduler {
+
+    private final BatchJobService batchJobService;
+
+    // 실행 창 안에서만 실제로 시작하며, 작업은 별도 스레드에서 실행되므로 이 주기는 바로 끝납니다.
+    @Scheduled(fixedDelayString = "${batch.check-interval-ms:60000}")
+    public void runDueJobs() {
+        try {
+            batchJobService.runDueJobs();
+        } catch (Exception e) {
+            log.error("일괄 작업 시작 중 오류 발생", e);
+        }
+    }
+}
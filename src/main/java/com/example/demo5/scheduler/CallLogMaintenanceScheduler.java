@@ -0,0 +1,42 @@
+package com.example.demo5.scheduler;
+
+import com.example.demo5.service.CallLogPartitionService;
+import com.example.demo5.service.CallTranscriptArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CallLogMaintenanceScheduler {
+
+    private final CallLogPartitionService callLogPartitionService;
+    private final CallTranscriptArchiveService callTranscriptArchiveService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareOnStartup() {
+        preparePartitions();
+    }
+
+    @Scheduled(cron = "${call-log.partition.cron:0 0 4 * * *}") // 매일 04:00
+    public void preparePartitions() {
+        try {
+            callLogPartitionService.ensureFuturePartitions();
+        } catch (Exception e) {
+            log.error("call_log 파티션 준비 중 오류 발생", e);
+        }
+    }
+
+    @Scheduled(cron = "${call-log.archive.cron:0 30 3 * * *}") // 매일 03:30
+    public void archiveTranscripts() {
+        try {
+            callTranscriptArchiveService.archiveExpiredTranscripts();
+        } catch (Exception e) {
+            log.error("대화 원문 보관 처리 중 오류 발생", e);
+        }
+    }
+}
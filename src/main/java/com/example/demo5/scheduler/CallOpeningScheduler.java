@@ -0,0 +1,25 @@
+package com.example.demo5.scheduler;
+
+import com.example.demo5.service.opening.CallOpeningService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CallOpeningScheduler {
+
+    private final CallOpeningService callOpeningService;
+
+    // 준비 작업은 별도 스레드에서 실행되므로 이 주기는 바로 끝납니다.
+    @Scheduled(fixedDelayString = "${opening.prepare-interval-ms:600000}", initialDelayString = "${opening.initial-delay-ms:60000}")
+    public void prepareOpenings() {
+        try {
+            callOpeningService.requestPreparation();
+        } catch (Exception e) {
+            log.error("첫 질문 준비 시작 중 오류 발생", e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo5.scheduler;
+
+import com.example.demo5.service.retry.CallRetryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CallRetryScheduler {
+
+    private final CallRetryService callRetryService;
+
+    // 메모리의 타이밍 휠만 한 칸씩 옮기며 DB는 조회하지 않습니다. 발신은 비동기로 실행되므로 이 주기는 바로 끝납니다.
+    @Scheduled(fixedDelayString = "${call-retry.tick-ms:1000}")
+    public void advance() {
+        try {
+            callRetryService.advance();
+        } catch (Exception e) {
+            log.error("통화 재시도 실행 중 오류 발생", e);
+        }
+    }
+}
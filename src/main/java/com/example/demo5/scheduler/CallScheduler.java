@@ -36,31 +36,12 @@ public class CallScheduler {
         LocalTime now = LocalTime.now().truncatedTo(ChronoUnit.MINUTES);
         LocalDate today = LocalDate.now();
 
-        List<CallSchedule> activeSchedules = callScheduleRepository.findActiveSchedulesWithMember(true);
+        // 조건 2(시간 확인)는 쿼리에서 처리합니다. 이번 1분 구간에 걸린 활성 스케줄만 가져옵니다.
+        List<CallSchedule> activeSchedules = callScheduleRepository.findActiveSchedulesWithMemberAt(now, now.withSecond(59));
 
         for (CallSchedule schedule : activeSchedules) {
-            // 조건 1: 시작 날짜 확인
-            if (schedule.getStartDate().isAfter(today)) {
-                continue;
-            }
-
-            // 조건 2: 시간 확인
-            if (!schedule.getCallTime().truncatedTo(ChronoUnit.MINUTES).equals(now)) {
-                continue;
-            }
-
-            boolean shouldCall = false;
-            switch (schedule.getFrequency()) {
-                case DAILY:
-                    shouldCall = true;
-                    break;
-                case WEEKLY:
-                    if (today.getDayOfWeek() == schedule.getStartDate().getDayOfWeek()) shouldCall = true;
-                    break;
-                case MONTHLY:
-                    if (today.getDayOfMonth() == schedule.getStartDate().getDayOfMonth()) shouldCall = true;
-                    break;
-            }
+            // 조건 1: 시작 날짜 및 주기(매일/매주/매월) 확인
+            boolean shouldCall = schedule.isCallDay(today);
 
             if (shouldCall) {
                 try {
@@ -0,0 +1,24 @@
+package com.example.demo5.scheduler;
+
+import com.example.demo5.service.CallCampaignService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CampaignDispatchScheduler {
+
+    private final CallCampaignService callCampaignService;
+
+    @Scheduled(fixedDelayString = "${campaign.dispatch-interval-ms:1000}")
+    public void dispatchCampaignCalls() {
+        try {
+            callCampaignService.dispatch();
+        } catch (Exception e) {
+            log.error("캠페인 발신 중 오류 발생", e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo5.scheduler;
+
+import com.example.demo5.service.TranscriptSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TranscriptSearchScheduler {
+
+    private final TranscriptSearchService transcriptSearchService;
+
+    // 통화마다 커밋하지 않고 이 주기마다 모아서 디스크에 반영합니다. (검색에는 색인 직후 바로 반영됩니다)
+    @Scheduled(fixedDelayString = "${search.commit-interval-ms:60000}")
+    public void commitIndex() {
+        try {
+            transcriptSearchService.commitIndex();
+        } catch (Exception e) {
+            log.error("대화 검색 색인 커밋 중 오류 발생", e);
+        }
+    }
+}
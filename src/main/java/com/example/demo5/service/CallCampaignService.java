@@ -0,0 +1,301 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.campaign.CampaignResponse;
+import com.example.demo5.dto.campaign.CreateCampaignRequest;
+import com.example.demo5.entity.CallCampaign;
+import com.example.demo5.entity.CallLog;
+import com.example.demo5.repository.CallCampaignRepository;
+import com.example.demo5.repository.MemberRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 세그먼트 단위 일괄 발신(캠페인)을 관리합니다.
+ * 생성 시 첫 질문을 한 번만 만들고 대상 회원의 call_log를 INSERT ... SELECT 한 번으로 만든 뒤,
+ * 발신은 dispatch()가 주기적으로 정해진 속도(campaign.dials-per-second)만큼 나누어 처리합니다.
+ * 아직 발신하지 않은 call_log는 캠페인 생성 시각을 requested_at으로 가지며(한 파티션에서 대상을 찾기 위함),
+ * 발신하는 순간 requested_at을 실제 발신 시각으로 옮깁니다. CallSid 조회와 분석 기간이 모두 requested_at 기준이기 때문입니다.
+ */
+@Slf4j
+@Service
+public class CallCampaignService {
+
+    private final CallCampaignRepository callCampaignRepository;
+    private final QuestionGenerationService questionGenerationService;
+    private final TwilioService twilioService;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // 발신 주기와 일시정지/취소가 같은 행을 동시에 다루지 않도록 직렬화합니다.
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+
+    @Value("${server.base-url}")
+    private String baseUrl;
+
+    @Value("${campaign.dials-per-second:1}")
+    private double dialsPerSecond;
+
+    @Value("${call-log.hot-window-days:90}")
+    private int hotWindowDays;
+
+    // 마지막 발신 주기 이후 쌓인 발신 허용량 (토큰 버킷)
+    private double dialBudget;
+    private long lastRefillNanos = System.nanoTime();
+
+    public CallCampaignService(CallCampaignRepository callCampaignRepository,
+                               QuestionGenerationService questionGenerationService,
+                               TwilioService twilioService,
+                               NamedParameterJdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate) {
+        this.callCampaignRepository = callCampaignRepository;
+        this.questionGenerationService = questionGenerationService;
+        this.twilioService = twilioService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public CampaignResponse createCampaign(CreateCampaignRequest request) {
+        if (request.getTopic() == null || request.getTopic().isBlank()) {
+            throw new IllegalArgumentException("캠페인 주제를 입력해주세요.");
+        }
+        // LLM 호출은 트랜잭션 밖에서 한 번만 합니다.
+        String question = questionGenerationService.generateQuestionFromTopic(request.getTopic());
+        LocalDateTime now = LocalDateTime.now();
+
+        CallCampaign campaign = transactionTemplate.execute(status -> {
+            CallCampaign saved = callCampaignRepository.save(CallCampaign.builder()
+                    .topic(request.getTopic())
+                    .question(question)
+                    .statusTag(request.getStatusTag())
+                    .missedCall(request.getMissedCall())
+                    .createdAt(now)
+                    .build());
+            int total = insertCampaignCallLogs(saved, now);
+            saved.setTotalCount(total);
+            if (total == 0) {
+                saved.complete();
+            }
+            return saved;
+        });
+        log.info("캠페인 {} 생성: 주제='{}', 대상 {}명", campaign.getCampaignId(), campaign.getTopic(), campaign.getTotalCount());
+        return toResponse(campaign);
+    }
+
+    /**
+     * 대상 회원마다 QUEUED 상태의 call_log를 한 번의 INSERT ... SELECT로 만듭니다.
+     * 대상은 회원 목록 조회와 같은 세그먼트 정의(MemberRepository.SEGMENT_FROM / SEGMENT_FILTER)로 고릅니다.
+     */
+    private int insertCampaignCallLogs(CallCampaign campaign, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("campaignId", campaign.getCampaignId())
+                .addValue("callType", CallLog.CallType.CAMPAIGN.name())
+                .addValue("queued", CallLog.CallStatus.QUEUED.name())
+                .addValue("now", now)
+                .addValue("since", now.minusDays(hotWindowDays))
+                .addValue("statusTag", campaign.getStatusTag())
+                .addValue("missedCall", campaign.getMissedCall());
+        return jdbcTemplate.update("""
+                INSERT INTO call_log (member_id, call_type, status, requested_at, updated_at, campaign_id)
+                SELECT m.member_id, :callType, :queued, :now, :now, :campaignId
+                """ + MemberRepository.SEGMENT_FROM + """
+                WHERE """ + MemberRepository.SEGMENT_FILTER + """
+                ORDER BY m.member_id
+                """, params);
+    }
+
+    /**
+     * 발신 주기마다 호출됩니다. 지난 주기 이후 쌓인 허용량만큼 진행 중인 캠페인들에 나누어 발신합니다.
+     */
+    public void dispatch() {
+        dispatchLock.lock();
+        try {
+            refillBudget();
+            List<CallCampaign> running = callCampaignRepository.findByStatusOrderByCampaignIdAsc(CallCampaign.CampaignStatus.RUNNING);
+            if (running.isEmpty()) {
+                return;
+            }
+            int available = (int) dialBudget;
+            for (int i = 0; i < running.size() && available > 0; i++) {
+                // 남은 허용량을 남은 캠페인 수로 나누어 한 캠페인이 다른 캠페인을 굶기지 않도록 합니다.
+                int share = Math.max(1, available / (running.size() - i));
+                int dialed = dispatchCampaign(running.get(i), share);
+                available -= dialed;
+                dialBudget -= dialed;
+            }
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    private void refillBudget() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+        lastRefillNanos = now;
+        // 최대 1초 분량까지만 쌓아, 쉬는 동안 모인 허용량이 한꺼번에 몰리지 않게 합니다.
+        dialBudget = Math.min(Math.max(dialsPerSecond, 1), dialBudget + elapsedSeconds * dialsPerSecond);
+    }
+
+    private int dispatchCampaign(CallCampaign campaign, int limit) {
+        List<Map<String, Object>> targets = jdbcTemplate.queryForList("""
+                SELECT c.call_log_id, m.phone_number
+                FROM call_log c
+                JOIN member m ON m.member_id = c.member_id
+                WHERE c.campaign_id = :campaignId AND c.requested_at = :requestedAt
+                  AND c.call_sid IS NULL AND c.status = :queued
+                ORDER BY c.call_log_id
+                LIMIT :limit
+                """, new MapSqlParameterSource("campaignId", campaign.getCampaignId())
+                .addValue("requestedAt", campaign.getCreatedAt())
+                .addValue("queued", CallLog.CallStatus.QUEUED.name())
+                .addValue("limit", limit));
+
+        int dialed = 0;
+        int failed = 0;
+        String welcomeUrl = twilioService.buildCustomWelcomeUrl(baseUrl, campaign.getQuestion());
+        for (Map<String, Object> target : targets) {
+            long callLogId = ((Number) target.get("call_log_id")).longValue();
+            // 발신 시각을 requested_at으로 옮깁니다. (행은 해당 월 파티션으로 이동합니다)
+            MapSqlParameterSource params = new MapSqlParameterSource("callLogId", callLogId)
+                    .addValue("requestedAt", campaign.getCreatedAt())
+                    .addValue("dialedAt", LocalDateTime.now());
+            try {
+                String callSid = twilioService.makeCall(
+                        twilioService.formatPhoneNumber((String) target.get("phone_number")), baseUrl, welcomeUrl);
+                jdbcTemplate.update("UPDATE call_log SET call_sid = :callSid, requested_at = :dialedAt, updated_at = :dialedAt "
+                        + "WHERE call_log_id = :callLogId AND requested_at = :requestedAt", params.addValue("callSid", callSid));
+                dialed++;
+            } catch (Exception e) {
+                log.warn("캠페인 {} 발신 실패: callLogId={}", campaign.getCampaignId(), callLogId, e);
+                jdbcTemplate.update("UPDATE call_log SET status = :failed, requested_at = :dialedAt, updated_at = :dialedAt "
+                        + "WHERE call_log_id = :callLogId AND requested_at = :requestedAt",
+                        params.addValue("failed", CallLog.CallStatus.FAILED.name()));
+                failed++;
+            }
+        }
+
+        int dialedCount = dialed;
+        int failedCount = failed;
+        boolean exhausted = targets.size() < limit;
+        updateCampaign(campaign.getCampaignId(), c -> {
+            c.recordDials(dialedCount, failedCount);
+            if (exhausted && c.getRemainingCount() <= 0) {
+                c.complete();
+                log.info("캠페인 {} 발신 완료: 발신 {}건, 실패 {}건", c.getCampaignId(), c.getDialedCount(), c.getFailedCount());
+            }
+        });
+        return dialed + failed;
+    }
+
+    public CampaignResponse pause(Long campaignId) {
+        return control(campaignId, CallCampaign::pause);
+    }
+
+    public CampaignResponse resume(Long campaignId) {
+        return control(campaignId, CallCampaign::resume);
+    }
+
+    /**
+     * 아직 발신하지 않은 통화를 지우고 캠페인을 종료합니다. 이미 연결된 통화는 그대로 진행됩니다.
+     */
+    public CampaignResponse cancel(Long campaignId) {
+        return control(campaignId, campaign -> {
+            int cancelled = jdbcTemplate.update("""
+                    DELETE FROM call_log
+                    WHERE campaign_id = :campaignId AND requested_at = :requestedAt
+                      AND call_sid IS NULL AND status = :queued
+                    """, new MapSqlParameterSource("campaignId", campaign.getCampaignId())
+                    .addValue("requestedAt", campaign.getCreatedAt())
+                    .addValue("queued", CallLog.CallStatus.QUEUED.name()));
+            campaign.cancel(cancelled);
+        });
+    }
+
+    public CampaignResponse getCampaign(Long campaignId) {
+        return toResponse(findCampaign(campaignId));
+    }
+
+    private CampaignResponse control(Long campaignId, Consumer<CallCampaign> action) {
+        dispatchLock.lock();
+        try {
+            return toResponse(updateCampaign(campaignId, action));
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    private CallCampaign updateCampaign(Long campaignId, Consumer<CallCampaign> action) {
+        return transactionTemplate.execute(status -> {
+            CallCampaign campaign = findCampaign(campaignId);
+            action.accept(campaign);
+            return campaign;
+        });
+    }
+
+    private CallCampaign findCampaign(Long campaignId) {
+        return callCampaignRepository.findById(campaignId)
+                .orElseThrow(() -> new EntityNotFoundException("해당 ID의 캠페인을 찾을 수 없습니다: " + campaignId));
+    }
+
+    private CampaignResponse toResponse(CallCampaign campaign) {
+        // 발신된 통화의 최종 결과는 상태 콜백이 call_log에 기록하므로 집계해서 보여줍니다.
+        // 발신된 행은 발신 시각으로 옮겨졌으므로 생성 시각 이후의 파티션을 읽습니다.
+        long completed = 0;
+        long missed = 0;
+        List<Map<String, Object>> outcomes = jdbcTemplate.queryForList("""
+                SELECT status, COUNT(*) AS cnt FROM call_log
+                WHERE campaign_id = :campaignId AND requested_at >= :requestedAt AND call_sid IS NOT NULL
+                GROUP BY status
+                """, new MapSqlParameterSource("campaignId", campaign.getCampaignId())
+                .addValue("requestedAt", campaign.getCreatedAt()));
+        for (Map<String, Object> outcome : outcomes) {
+            long count = ((Number) outcome.get("cnt")).longValue();
+            if (CallLog.CallStatus.COMPLETED.name().equals(outcome.get("status"))) {
+                completed = count;
+            } else if (CallLog.CallStatus.FAILED.name().equals(outcome.get("status"))) {
+                missed = count;
+            }
+        }
+
+        LocalDateTime end = campaign.getFinishedAt() != null ? campaign.getFinishedAt() : LocalDateTime.now();
+        double elapsedMinutes = Math.max(Duration.between(campaign.getStartedAt(), end).toMillis(), 1) / 60_000.0;
+        double dialsPerMinute = (campaign.getDialedCount() + campaign.getFailedCount()) / elapsedMinutes;
+        LocalDateTime estimatedCompletionAt = null;
+        if (campaign.getStatus() == CallCampaign.CampaignStatus.RUNNING && dialsPerMinute > 0) {
+            estimatedCompletionAt = LocalDateTime.now().plus(
+                    (long) (campaign.getRemainingCount() / dialsPerMinute * 60_000), ChronoUnit.MILLIS);
+        }
+
+        return CampaignResponse.builder()
+                .campaignId(campaign.getCampaignId())
+                .topic(campaign.getTopic())
+                .question(campaign.getQuestion())
+                .statusTag(campaign.getStatusTag())
+                .missedCall(campaign.getMissedCall())
+                .status(campaign.getStatus().name())
+                .totalCount(campaign.getTotalCount())
+                .dialedCount(campaign.getDialedCount())
+                .failedCount(campaign.getFailedCount())
+                .cancelledCount(campaign.getCancelledCount())
+                .remainingCount(campaign.getRemainingCount())
+                .completedCalls(completed)
+                .missedCalls(missed)
+                .dialsPerMinute(Math.round(dialsPerMinute * 10) / 10.0)
+                .estimatedCompletionAt(estimatedCompletionAt)
+                .createdAt(campaign.getCreatedAt())
+                .finishedAt(campaign.getFinishedAt())
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo5.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * CallSid 단위로 이벤트(사용자 턴, 상태 콜백, 종료 처리)를 직렬화하는 락 레지스트리입니다.
+ * 같은 통화의 이벤트는 도착 순서대로 하나씩 실행되고, 서로 다른 통화는 서로를 막지 않습니다.
+ * 락은 사용 중인 동안에만 맵에 남아 있으므로 통화가 끝나면 메모리에서 사라집니다.
+ */
+@Component
+public class CallLockRegistry {
+
+    private final ConcurrentHashMap<String, LockEntry> locks = new ConcurrentHashMap<>();
+
+    public <T> T executeWithLock(String callSid, Supplier<T> action) {
+        LockEntry entry = acquire(callSid);
+        entry.lock.lock();
+        try {
+            return action.get();
+        } finally {
+            entry.lock.unlock();
+            release(callSid);
+        }
+    }
+
+    public void executeWithLock(String callSid, Runnable action) {
+        executeWithLock(callSid, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * 현재 보유 중이거나 대기 중인 CallSid 락의 개수입니다. (모니터링 및 테스트용)
+     */
+    public int activeLockCount() {
+        return locks.size();
+    }
+
+    private LockEntry acquire(String callSid) {
+        // compute는 키 단위로 원자적으로 실행되므로 참조 카운트를 안전하게 증가시킬 수 있습니다.
+        return locks.compute(callSid, (key, entry) -> {
+            LockEntry target = entry != null ? entry : new LockEntry();
+            target.holders++;
+            return target;
+        });
+    }
+
+    private void release(String callSid) {
+        // 마지막 사용자가 빠져나가면 엔트리를 제거합니다.
+        locks.computeIfPresent(callSid, (key, entry) -> --entry.holders == 0 ? null : entry);
+    }
+
+    private static final class LockEntry {
+        // 공정 락을 사용하여 같은 통화의 이벤트가 도착한 순서대로 처리되도록 합니다.
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int holders;
+    }
+}
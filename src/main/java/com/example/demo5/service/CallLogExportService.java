@@ -0,0 +1,156 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.export.CallLogExportFilter;
+import com.example.demo5.entity.converter.TranscriptCodec;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 통화 기록과 대화 원문을 NDJSON(한 줄에 통화 하나)으로 내보냅니다.
+ * 결과는 전진 전용 커서로 fetch-size 행씩 받아 바로 쓰고, 대화 원문은 파싱하지 않고 압축만 풀어 그대로 복사하므로
+ * 내보내는 행 수와 관계없이 메모리 사용량이 일정합니다.
+ * 출력 스트림 쓰기는 클라이언트가 읽는 속도에 맞춰 막히므로, 느린 클라이언트에는 DB에서도 그만큼 천천히 읽습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CallLogExportService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${export.fetch-size:500}")
+    private int fetchSize;
+
+    // 클라이언트가 느려 결과 전송이 멈춰 있어도 서버가 연결을 끊지 않도록 세션 단위로 늘립니다. (초)
+    @Value("${export.net-write-timeout-seconds:600}")
+    private int netWriteTimeoutSeconds;
+
+    public long export(CallLogExportFilter filter, OutputStream out) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT c.call_log_id, c.member_id, c.call_type, c.status, c.requested_at,
+                       c.call_result_sentiment, c.simple_summary, c.campaign_id,
+                       COALESCE(t.content, a.content) AS content
+                FROM call_log c
+                LEFT JOIN call_transcript t ON t.transcript_id = c.transcript_id
+                LEFT JOIN call_transcript_archive a ON c.transcript_id IS NULL AND a.call_log_id = c.call_log_id
+                WHERE c.requested_at >= ? AND c.requested_at < ?
+                """);
+        List<Object> params = new ArrayList<>(List.of(Timestamp.valueOf(filter.from()), Timestamp.valueOf(filter.to())));
+        if (filter.memberId() != null) {
+            sql.append(" AND c.member_id = ?");
+            params.add(filter.memberId());
+        }
+        if (filter.status() != null) {
+            sql.append(" AND c.status = ?");
+            params.add(filter.status().name());
+        }
+        sql.append(" ORDER BY c.requested_at, c.call_log_id");
+
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            int previousNetWriteTimeout = getNetWriteTimeout(connection);
+            setNetWriteTimeout(connection, netWriteTimeoutSeconds);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // MariaDB 드라이버는 fetch size가 0보다 크면 결과 전체를 받지 않고 나누어 읽습니다.
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < params.size(); i++) {
+                    statement.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    return writeRows(rs, out);
+                }
+            } finally {
+                setNetWriteTimeout(connection, previousNetWriteTimeout); // 풀로 돌아가는 커넥션은 원래 값으로 되돌립니다.
+            }
+        });
+    }
+
+    private long writeRows(ResultSet rs, OutputStream out) throws SQLException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null); // 줄 구분은 직접 '\n'으로 씁니다.
+            // 생성기 버퍼를 비울 때마다 출력 스트림까지 flush하면 gzip이 행마다 끊겨 압축률이 떨어지므로, flush 시점은 직접 정합니다.
+            generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            while (rs.next()) {
+                generator.writeStartObject();
+                generator.writeNumberField("callLogId", rs.getLong("call_log_id"));
+                generator.writeStringField("memberId", rs.getString("member_id"));
+                generator.writeStringField("callType", rs.getString("call_type"));
+                generator.writeStringField("status", rs.getString("status"));
+                Timestamp requestedAt = rs.getTimestamp("requested_at");
+                generator.writeStringField("requestedAt", requestedAt != null ? requestedAt.toLocalDateTime().toString() : null);
+                generator.writeStringField("callResultSentiment", rs.getString("call_result_sentiment"));
+                generator.writeStringField("simpleSummary", rs.getString("simple_summary"));
+                long campaignId = rs.getLong("campaign_id");
+                if (!rs.wasNull()) {
+                    generator.writeNumberField("campaignId", campaignId);
+                }
+                generator.writeFieldName("callData");
+                writeTranscript(rs.getBytes("content"), generator, out);
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                count++;
+                if (count % fetchSize == 0) {
+                    generator.flush(); // 한 번에 받은 행을 다 쓰면 클라이언트로 내보냅니다.
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("통화 기록 내보내기 중 출력 오류가 발생했습니다.", e);
+        }
+        log.info("통화 기록 {}건 내보내기 완료", count);
+        return count;
+    }
+
+    /**
+     * 저장된 원문은 이미 JSON 배열이므로 객체로 읽지 않고 압축만 풀어 출력에 그대로 복사합니다.
+     */
+    private void writeTranscript(byte[] content, JsonGenerator generator, OutputStream out) throws IOException {
+        if (content == null) {
+            generator.writeNull();
+            return;
+        }
+        // 빈 원시 값을 써서 생성기가 필드 구분자(':')를 출력하게 한 뒤, 원문 바이트를 같은 스트림에 직접 씁니다.
+        generator.writeRawValue("");
+        generator.flush(); // 생성기 버퍼만 비웁니다. (FLUSH_PASSED_TO_STREAM 비활성)
+        try (InputStream transcript = TranscriptCodec.openStream(content)) {
+            transcript.transferTo(out);
+        }
+    }
+
+    private int getNetWriteTimeout(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT @@SESSION.net_write_timeout")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private void setNetWriteTimeout(Connection connection, int seconds) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION net_write_timeout = " + seconds);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo5.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * call_log의 월별 파티션을 관리합니다.
+ * 항상 p_future(MAXVALUE) 파티션을 분할하는 방식으로 앞으로 쓰일 달의 파티션을 미리 만들어 둡니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CallLogPartitionService {
+
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final Pattern MONTH_PARTITION = Pattern.compile("p\\d{6}");
+    private static final DateTimeFormatter PARTITION_NAME_FORMATTER = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${call-log.partition.months-ahead:3}")
+    private int monthsAhead;
+
+    public void ensureFuturePartitions() {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'call_log' AND PARTITION_NAME IS NOT NULL",
+                String.class);
+
+        if (!partitions.contains(FUTURE_PARTITION)) {
+            log.warn("call_log is not partitioned (no {} partition). Skipping partition maintenance.", FUTURE_PARTITION);
+            return;
+        }
+
+        // 파티션 범위는 증가 순서여야 하므로, 가장 마지막 월 파티션 다음 달부터만 추가합니다.
+        YearMonth lastMonth = partitions.stream()
+                .filter(name -> MONTH_PARTITION.matcher(name).matches())
+                .map(name -> YearMonth.parse(name, PARTITION_NAME_FORMATTER))
+                .max(YearMonth::compareTo)
+                .orElse(YearMonth.now().minusMonths(1));
+        YearMonth targetMonth = YearMonth.now().plusMonths(monthsAhead);
+
+        for (YearMonth month = lastMonth.plusMonths(1); !month.isAfter(targetMonth); month = month.plusMonths(1)) {
+            String partitionName = month.format(PARTITION_NAME_FORMATTER);
+            jdbcTemplate.execute("ALTER TABLE call_log REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO ("
+                    + "PARTITION " + partitionName + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "'), "
+                    + "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+            log.info("Created call_log partition {}.", partitionName);
+        }
+    }
+}
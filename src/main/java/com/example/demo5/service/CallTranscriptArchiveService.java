@@ -0,0 +1,75 @@
+package com.example.demo5.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 보관 기간이 지난 대화 원문을 call_transcript에서 call_transcript_archive로 옮깁니다.
+ * call_log 행은 그대로 두므로 통화 기록 목록은 유지되고, 핫 테이블에는 최근 원문만 남습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CallTranscriptArchiveService {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${call-log.archive.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${call-log.archive.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * 보관 대상이 없어질 때까지 배치 단위로 옮기고, 옮긴 원문 수를 반환합니다.
+     */
+    public int archiveExpiredTranscripts() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            total += moved;
+        } while (moved == batchSize);
+
+        log.info("Archived {} call transcripts older than {}.", total, cutoff);
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        // transcript_id 순서는 생성 순서와 같으므로, 아직 옮기지 않은 가장 오래된 원문부터 읽게 됩니다.
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT call_log_id, transcript_id FROM call_log "
+                        + "WHERE transcript_id IS NOT NULL AND requested_at < :cutoff "
+                        + "ORDER BY transcript_id LIMIT :limit",
+                new MapSqlParameterSource("cutoff", cutoff).addValue("limit", batchSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> callLogIds = rows.stream().map(row -> ((Number) row.get("call_log_id")).longValue()).toList();
+        List<Long> transcriptIds = rows.stream().map(row -> ((Number) row.get("transcript_id")).longValue()).toList();
+        MapSqlParameterSource params = new MapSqlParameterSource("callLogIds", callLogIds)
+                .addValue("transcriptIds", transcriptIds);
+
+        jdbcTemplate.update(
+                "INSERT INTO call_transcript_archive (call_log_id, member_id, requested_at, content, archived_at) "
+                        + "SELECT c.call_log_id, c.member_id, c.requested_at, t.content, NOW(6) "
+                        + "FROM call_log c JOIN call_transcript t ON t.transcript_id = c.transcript_id "
+                        + "WHERE c.call_log_id IN (:callLogIds)",
+                params);
+        jdbcTemplate.update("UPDATE call_log SET transcript_id = NULL WHERE call_log_id IN (:callLogIds)", params);
+        jdbcTemplate.update("DELETE FROM call_transcript WHERE transcript_id IN (:transcriptIds)", params);
+        return rows.size();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.ChatMessage;
+import com.example.demo5.entity.converter.TranscriptCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 저장된 모든 통화의 대화 원문(보관된 원문 포함)을 한 건씩 읽어 넘겨줍니다. 색인 재구성 등 전체 재처리용입니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CallTranscriptReader {
+
+    private static final int FETCH_SIZE = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 대화 배열로 읽을 수 있는 통화마다 handler를 호출하고, 넘겨준 통화 수를 반환합니다.
+     */
+    public long forEachCall(CallTranscriptHandler handler) {
+        // 공용 JdbcTemplate 설정을 바꾸지 않도록 전용 템플릿으로 나누어 읽습니다.
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(FETCH_SIZE);
+        long[] calls = {0};
+        streaming.query("""
+                SELECT c.call_log_id, c.member_id, c.requested_at, COALESCE(t.content, a.content) AS content
+                FROM call_log c
+                LEFT JOIN call_transcript t ON t.transcript_id = c.transcript_id
+                LEFT JOIN call_transcript_archive a ON c.transcript_id IS NULL AND a.call_log_id = c.call_log_id
+                WHERE c.member_id IS NOT NULL AND (t.transcript_id IS NOT NULL OR a.call_log_id IS NOT NULL)
+                """, rs -> {
+            List<ChatMessage> transcript = parse(rs.getLong("call_log_id"), rs.getBytes("content"));
+            if (transcript != null) {
+                handler.handle(rs.getLong("call_log_id"), rs.getString("member_id"),
+                        rs.getTimestamp("requested_at").toLocalDateTime(), transcript);
+                calls[0]++;
+            }
+        });
+        return calls[0];
+    }
+
+    private List<ChatMessage> parse(long callLogId, byte[] content) {
+        try {
+            return objectMapper.readValue(TranscriptCodec.decode(content), new TypeReference<List<ChatMessage>>() {});
+        } catch (JsonProcessingException e) {
+            // 직렬화 실패 시 저장된 오류 객체 등 대화 배열이 아닌 원문은 건너뜁니다.
+            log.warn("대화 원문을 읽을 수 없어 건너뜁니다: callLogId={}", callLogId);
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    public interface CallTranscriptHandler {
+        void handle(Long callLogId, String memberId, LocalDateTime requestedAt, List<ChatMessage> transcript);
+    }
+}
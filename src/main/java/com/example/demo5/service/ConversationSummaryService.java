@@ -1,5 +1,6 @@
 package com.example.demo5.service;
 
+import com.example.demo5.config.CacheConfig;
 import com.example.demo5.dto.ChatMessage;
 import com.example.demo5.entity.CallLog;
 import com.example.demo5.repository.CallLogRepository;
@@ -8,6 +9,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +32,8 @@ public class ConversationSummaryService {
             반드시 한국어로 요약해야 합니다. 최대 글자수 제한은 30자 입니다.
             """;
 
+    // 요약은 LLM 호출이므로 캐시합니다. 새 통화의 분석이 저장될 때 무효화되며, LLM 실패 시의 대체 문구는 캐시하지 않습니다.
+    @Cacheable(cacheNames = CacheConfig.CONVERSATION_SUMMARY, unless = "#result == T(com.example.demo5.service.OpenAiService).FALLBACK_RESPONSE")
     @Transactional(readOnly = true)
     public String getConversationSummary(String memberId) {
         LocalDateTime endTime = LocalDateTime.now();
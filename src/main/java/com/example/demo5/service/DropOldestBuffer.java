@@ -0,0 +1,65 @@
+package com.example.demo5.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 크기가 제한된 구독자 버퍼입니다. 가득 차면 가장 오래된 항목을 버리고 버린 개수를 셉니다.
+ * 생산자는 offer가 true를 반환할 때만 소비(drain) 작업을 예약하면 되므로, 구독자마다 소비 작업은 최대 하나만 돕니다.
+ */
+final class DropOldestBuffer<T> {
+
+    private final int capacity;
+    private final ArrayDeque<T> items;
+    private long dropped;
+    private boolean draining;
+
+    DropOldestBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.items = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * 항목을 넣고, 소비 작업을 새로 예약해야 하면 true를 반환합니다.
+     */
+    synchronized boolean offer(T item) {
+        if (items.size() == capacity) {
+            items.pollFirst();
+            dropped++;
+        }
+        items.addLast(item);
+        if (draining) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+
+    /**
+     * 쌓인 항목을 모두 꺼냅니다. 비어 있으면 소비 작업이 끝난 것으로 보고 null을 반환합니다.
+     */
+    synchronized Drained<T> drain() {
+        if (items.isEmpty()) {
+            draining = false;
+            return null;
+        }
+        Drained<T> drained = new Drained<>(new ArrayList<>(items), dropped);
+        items.clear();
+        dropped = 0;
+        return drained;
+    }
+
+    synchronized boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    /**
+     * @param dropped 직전 소비 이후 버퍼가 가득 차서 버려진 항목 수
+     */
+    record Drained<T>(List<T> items, long dropped) {
+    }
+}
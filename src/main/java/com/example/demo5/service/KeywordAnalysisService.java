@@ -1,5 +1,6 @@
 package com.example.demo5.service;
 
+import com.example.demo5.config.CacheConfig;
 import com.example.demo5.dto.ChatMessage;
 import com.example.demo5.dto.analysis.AnalysisResponse;
 import com.example.demo5.entity.CallLog;
@@ -8,14 +9,19 @@ import com.example.demo5.repository.MemberKeywordRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -27,8 +33,31 @@ public class KeywordAnalysisService {
     private final CallLogRepository callLogRepository;
     private final MemberKeywordRepository memberKeywordRepository;
     private final ObjectMapper objectMapper;
+    private final MemberCacheEvictor memberCacheEvictor;
+    private final KoreanKeywordExtractor keywordExtractor;
+    private final KeywordDocumentFrequency keywordDocumentFrequency;
+    private final MeterRegistry meterRegistry;
+
+    // true면 키워드까지 요청하는 기존 프롬프트로 LLM을 호출해 로컬 키워드와의 일치율을 기록합니다. (응답에는 로컬 키워드 사용)
+    @Value("${analysis.keywords.compare-with-llm:false}")
+    private boolean compareWithLlm;
+
+    // 최근 며칠간의 통화를 분석하는지 (재분석 배치도 이 기간에 통화가 있는 회원만 대상으로 합니다)
+    public static final int ANALYSIS_WINDOW_DAYS = 7;
 
     private static final String ANALYSIS_SYSTEM_PROMPT = """
+            "너는 대화 내용을 분석하고 세 가지 항목을 추출하는 전문가야.
+            사용자의 대화 내용이 주어지면 다음 규칙을 반드시 지켜서 결과를 반환해줘.
+
+            1. 대화의 전반적인 분위기나 감정을 '긍정', '부정', '중립' 등 한 단어로 표현.
+            2. 분석 내용을 바탕으로 사용자에게 전달할 격려나 조언의 피드백을 한 문장으로 작성하되, 15글자로 제한한다.
+            3. 전체 대화의 핵심을 관통하는, 안부를 묻는 질문을 한 문장으로 작성하되, 15글자로 제한한다.
+
+            결과는 반드시 ['감정', '피드백 문장', '요약 질문'] 형태의 파싱 가능한 단일 리스트 문자열로만 반환해야 해. 다른 부가적인 설명은 절대 추가하지 마."
+            """;
+
+    // 키워드까지 LLM에 요청하던 기존 프롬프트입니다. 로컬 키워드와 비교할 때만 사용합니다.
+    private static final String KEYWORD_COMPARISON_SYSTEM_PROMPT = """
             "너는 대화 내용을 분석하고 네 가지 항목을 추출하는 전문가야.
             사용자의 대화 내용이 주어지면 다음 규칙을 반드시 지켜서 결과를 반환해줘.
 
@@ -46,7 +75,7 @@ public class KeywordAnalysisService {
     @Transactional(readOnly = true)
     public AnalysisResponse performAnalysis(String memberId) {
         LocalDateTime analysisEndTime = LocalDateTime.now();
-        LocalDateTime analysisStartTime = analysisEndTime.minusDays(7);
+        LocalDateTime analysisStartTime = analysisEndTime.minusDays(ANALYSIS_WINDOW_DAYS);
 
         List<CallLog> recentCallLogs = callLogRepository.findByMember_MemberIdAndRequestedAtBetween(memberId, analysisStartTime, analysisEndTime);
 
@@ -64,11 +93,62 @@ public class KeywordAnalysisService {
             return new AnalysisResponse("유효 대화 없음", "정보 없음", "최근 통화에서 유효한 대화 내용이 없어 분석할 수 없습니다.", "분석 데이터 없음");
         }
 
+        // 키워드는 LLM 없이 로컬에서 추출합니다.
+        Timer.Sample localSample = Timer.start(meterRegistry);
+        String keywords = extractKeywords(aggregatedConversation);
+        localSample.stop(meterRegistry.timer("analysis.keywords.latency", "source", "local"));
+
         List<ChatMessage> messages = List.of(new ChatMessage("User", "대화:\n" + aggregatedConversation));
         log.info("AI 분석을 위해 OpenAI로 데이터를 전송합니다. MemberId: {}", memberId);
+        if (compareWithLlm) {
+            return analyzeWithKeywordComparison(messages, keywords);
+        }
         String aiResponse = openAiService.getChatResponse(messages, ANALYSIS_SYSTEM_PROMPT);
+        String[] parts = parseAiResponse(aiResponse, 3);
+        if (parts == null) {
+            return new AnalysisResponse(keywords, "오류", "AI 응답 형식에 문제가 있습니다.", "분석 실패");
+        }
+        return new AnalysisResponse(keywords, parts[0], parts[1], parts[2]);
+    }
 
-        return parseAiResponse(aiResponse);
+    /**
+     * 최근 대화에서 TF-IDF 점수가 높은 명사를 최대 5개 골라 공백으로 이어 붙입니다.
+     */
+    String extractKeywords(String conversation) {
+        List<String> keywords = keywordExtractor.topKeywords(keywordExtractor.termCounts(conversation),
+                keywordDocumentFrequency::documentFrequency, keywordDocumentFrequency.documentCount(),
+                KoreanKeywordExtractor.MAX_KEYWORDS);
+        return keywords.isEmpty() ? "키워드 없음" : String.join(" ", keywords);
+    }
+
+    private AnalysisResponse analyzeWithKeywordComparison(List<ChatMessage> messages, String localKeywords) {
+        Timer.Sample llmSample = Timer.start(meterRegistry);
+        String aiResponse = openAiService.getChatResponse(messages, KEYWORD_COMPARISON_SYSTEM_PROMPT);
+        llmSample.stop(meterRegistry.timer("analysis.keywords.latency", "source", "llm"));
+
+        String[] parts = parseAiResponse(aiResponse, 4);
+        if (parts == null) {
+            return new AnalysisResponse(localKeywords, "오류", "AI 응답 형식에 문제가 있습니다.", "분석 실패");
+        }
+        double overlap = keywordOverlap(localKeywords, parts[0]);
+        meterRegistry.summary("analysis.keywords.overlap").record(overlap);
+        log.info("키워드 비교 - 로컬: [{}], LLM: [{}], 일치율: {}", localKeywords, parts[0], String.format("%.2f", overlap));
+        return new AnalysisResponse(localKeywords, parts[1], parts[2], parts[3]);
+    }
+
+    /**
+     * 두 키워드 목록의 자카드 유사도입니다. LLM 키워드는 조사가 붙어 있을 수 있어 같은 방식으로 명사만 뽑아 비교합니다.
+     */
+    double keywordOverlap(String localKeywords, String llmKeywords) {
+        Set<String> local = Set.of(localKeywords.split(" "));
+        Set<String> llm = keywordExtractor.termCounts(llmKeywords).keySet();
+        if (local.isEmpty() && llm.isEmpty()) {
+            return 1.0;
+        }
+        Set<String> union = new HashSet<>(local);
+        union.addAll(llm);
+        long intersection = llm.stream().filter(local::contains).count();
+        return (double) intersection / union.size();
     }
 
     /**
@@ -81,6 +161,8 @@ public class KeywordAnalysisService {
             memberKeywordRepository.findByMember_MemberId(memberId).ifPresentOrElse(memberKeyword -> {
                 memberKeyword.setKeyword(analysisJson);
                 memberKeywordRepository.save(memberKeyword);
+                // 요약도 같은 최근 통화에서 만들어지므로 분석이 갱신될 때 함께 무효화합니다.
+                memberCacheEvictor.evict(memberId, CacheConfig.MEMBER_ANALYSIS, CacheConfig.CONVERSATION_SUMMARY);
                 log.info("회원 ID {}의 분석 결과를 member_keyword 테이블에 저장했습니다.", memberId);
             }, () -> {
                 log.error("회원 ID {}에 해당하는 MemberKeyword 엔티티를 찾을 수 없습니다.", memberId);
@@ -107,24 +189,24 @@ public class KeywordAnalysisService {
         }
     }
 
-    private AnalysisResponse parseAiResponse(String aiResponse) {
+    private String[] parseAiResponse(String aiResponse, int expectedParts) {
         if (aiResponse == null || aiResponse.trim().isEmpty()) {
             log.error("AI로부터 비어있는 응답을 받았습니다.");
-            return new AnalysisResponse("분석 실패", "오류", "AI 응답이 없습니다.", "분석 실패");
+            return null;
         }
 
-        // 파싱 로직: ['키워드', '감정', '피드백', '요약 질문']
+        // 파싱 로직: ['감정', '피드백', '요약 질문'] (비교 모드에서는 앞에 '키워드'가 붙습니다)
         String content = aiResponse.trim();
         if (content.startsWith("['") && content.endsWith("']")) {
             content = content.substring(2, content.length() - 2);
-            String[] parts = content.split("', '", 4);
+            String[] parts = content.split("', '", expectedParts);
 
-            if (parts.length == 4) {
-                return new AnalysisResponse(parts[0], parts[1], parts[2], parts[3]);
+            if (parts.length == expectedParts) {
+                return parts;
             }
         }
 
         log.error("AI 응답을 파싱할 수 없습니다. 응답: {}", aiResponse);
-        return new AnalysisResponse("분석 실패", "오류", "AI 응답 형식에 문제가 있습니다.", "분석 실패");
+        return null;
     }
 }
@@ -0,0 +1,119 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.ChatMessage;
+import com.example.demo5.event.CallFinalizedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 명사별로 몇 개의 통화에 등장했는지를 세는 문서 빈도표입니다. (키워드 TF-IDF의 IDF)
+ * DB(keyword_document_frequency)에 누적하고 조회는 메모리 사본으로 처리합니다.
+ * 시작 시 DB에서 불러오며, 비어 있으면 저장된 통화 전체로 한 번 채웁니다. 이후에는 통화가 끝날 때마다 더합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KeywordDocumentFrequency {
+
+    private static final int MAX_TERM_LENGTH = 100;
+    private static final String UPSERT_TERM = """
+            INSERT INTO keyword_document_frequency (term, document_count) VALUES (?, ?)
+            ON DUPLICATE KEY UPDATE document_count = document_count + VALUES(document_count)
+            """;
+    private static final String UPSERT_CORPUS = """
+            INSERT INTO keyword_corpus (corpus_id, document_count) VALUES (1, ?)
+            ON DUPLICATE KEY UPDATE document_count = document_count + VALUES(document_count)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final KoreanKeywordExtractor keywordExtractor;
+    private final CallTranscriptReader callTranscriptReader;
+
+    private final ConcurrentHashMap<String, Integer> frequencies = new ConcurrentHashMap<>();
+    private final AtomicLong documentCount = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Long stored = jdbcTemplate.query("SELECT document_count FROM keyword_corpus WHERE corpus_id = 1",
+                rs -> rs.next() ? rs.getLong(1) : null);
+        if (stored == null) {
+            backfill();
+            return;
+        }
+        jdbcTemplate.query("SELECT term, document_count FROM keyword_document_frequency",
+                rs -> { frequencies.put(rs.getString(1), rs.getInt(2)); });
+        documentCount.set(stored);
+        log.info("키워드 문서 빈도표 불러오기 완료: 통화 {}건, 명사 {}개", stored, frequencies.size());
+    }
+
+    // 롤백된 통화가 빈도에 더해지지 않도록 커밋 이후에 반영합니다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCallFinalized(CallFinalizedEvent event) {
+        try {
+            Set<String> terms = userTerms(event.transcript());
+            persist(terms.stream().collect(Collectors.toMap(term -> term, term -> 1)), 1);
+            terms.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+            documentCount.incrementAndGet();
+        } catch (Exception e) {
+            // 빈도표는 근사치여도 충분하므로 실패해도 통화 처리에 영향을 주지 않습니다.
+            log.error("키워드 문서 빈도 갱신 실패: callLogId={}", event.callLogId(), e);
+        }
+    }
+
+    public int documentFrequency(String term) {
+        return frequencies.getOrDefault(term, 0);
+    }
+
+    public long documentCount() {
+        return documentCount.get();
+    }
+
+    private void backfill() {
+        long start = System.currentTimeMillis();
+        Map<String, Integer> counts = new HashMap<>();
+        long calls = callTranscriptReader.forEachCall((callLogId, memberId, requestedAt, transcript) ->
+                userTerms(transcript).forEach(term -> counts.merge(term, 1, Integer::sum)));
+        persist(counts, calls);
+        frequencies.putAll(counts);
+        documentCount.set(calls);
+        log.info("키워드 문서 빈도표 생성 완료: 통화 {}건, 명사 {}개, {}ms", calls, counts.size(), System.currentTimeMillis() - start);
+    }
+
+    private Set<String> userTerms(List<ChatMessage> transcript) {
+        String userText = transcript.stream()
+                .filter(m -> "User".equalsIgnoreCase(m.speaker()) && m.message() != null)
+                .map(ChatMessage::message)
+                .collect(Collectors.joining("\n"));
+        return keywordExtractor.termCounts(userText).keySet().stream()
+                .filter(term -> term.length() <= MAX_TERM_LENGTH)
+                .collect(Collectors.toSet());
+    }
+
+    private void persist(Map<String, Integer> counts, long calls) {
+        List<Object[]> rows = counts.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue()})
+                .toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_TERM, rows);
+            }
+            jdbcTemplate.update(UPSERT_CORPUS, calls);
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo5.service;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.analysis.ko.KoreanTokenizer;
+import org.apache.lucene.analysis.ko.POS;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * 사용자 발화에서 LLM 없이 키워드를 뽑는 추출기입니다.
+ * 형태소 분석(Nori)으로 일반/고유 명사만 남기고 불용어를 뺀 뒤, 통화 단위 문서 빈도로 TF-IDF 점수를 매깁니다.
+ */
+@Component
+public class KoreanKeywordExtractor {
+
+    public static final int MAX_KEYWORDS = 5;
+
+    // 통화에서 자주 나오지만 안부 확인에 의미가 없는 명사들입니다.
+    private static final Set<String> STOPWORDS = Set.of(
+            "것", "거", "수", "때", "등", "중", "번", "분", "게", "데", "건", "걸", "뭐", "좀", "일", "날",
+            "오늘", "어제", "내일", "요즘", "요새", "지금", "이번", "다음", "그때", "아까", "나중",
+            "정도", "생각", "때문", "얘기", "이야기", "사람", "우리", "자기", "하루", "부분", "경우",
+            "여기", "거기", "저기", "이것", "그것", "저것", "무엇", "조금", "약간", "정말", "진짜", "하나",
+            "네", "예", "응", "감사", "안녕");
+
+    private static final Set<POS.Tag> NON_NOUN_TAGS = EnumSet.complementOf(EnumSet.of(POS.Tag.NNG, POS.Tag.NNP));
+
+    // 분석기는 스레드마다 토크나이저를 재사용하므로 여러 스레드에서 공유해도 안전합니다.
+    private final Analyzer analyzer = new KoreanAnalyzer(null, KoreanTokenizer.DecompoundMode.DISCARD, NON_NOUN_TAGS, false);
+
+    /**
+     * 명사별 등장 횟수를 처음 등장한 순서대로 반환합니다.
+     */
+    public Map<String, Integer> termCounts(String text) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        try (TokenStream stream = analyzer.tokenStream("text", text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                String token = term.toString();
+                if (!STOPWORDS.contains(token)) {
+                    counts.merge(token, 1, Integer::sum);
+                }
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException("키워드 추출 실패", e);
+        }
+        return counts;
+    }
+
+    /**
+     * TF-IDF 점수가 높은 명사를 최대 limit개 반환합니다. 점수가 같으면 먼저 등장한 명사가 앞섭니다.
+     *
+     * @param documentFrequency 명사가 등장한 통화 수
+     * @param documentCount     문서 빈도표에 반영된 전체 통화 수
+     */
+    public List<String> topKeywords(Map<String, Integer> termCounts, ToIntFunction<String> documentFrequency,
+                                   long documentCount, int limit) {
+        record Scored(String term, double score, int order) {
+        }
+        List<Scored> scored = new ArrayList<>(termCounts.size());
+        int order = 0;
+        for (Map.Entry<String, Integer> entry : termCounts.entrySet()) {
+            double tf = 1 + Math.log(entry.getValue());
+            // 평활화한 IDF: 빈도표가 비어 있으면 모든 명사가 같은 가중치를 받아 등장 횟수 순이 됩니다.
+            double idf = Math.log((1.0 + documentCount) / (1.0 + documentFrequency.applyAsInt(entry.getKey()))) + 1;
+            scored.add(new Scored(entry.getKey(), tf * idf, order++));
+        }
+        return scored.stream()
+                .sorted(Comparator.comparingDouble(Scored::score).reversed().thenComparingInt(Scored::order))
+                .limit(limit)
+                .map(Scored::term)
+                .toList();
+    }
+}
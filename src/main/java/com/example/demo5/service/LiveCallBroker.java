@@ -0,0 +1,161 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.live.LiveCallEvent;
+import com.example.demo5.repository.CallLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * 통화 중 발화를 보호자 화면에 SSE로 중계하는 프로세스 내 발행/구독 브로커입니다.
+ * 구독자마다 크기가 제한된 버퍼를 두고 별도 스레드에서 전송하므로, 느린 구독자가 있어도 통화 처리가 늦어지지 않습니다.
+ * 버퍼가 가득 차면 오래된 발화부터 버리고, 다음 전송 때 버린 개수를 gap 이벤트로 알립니다.
+ * 구독자가 없으면 발행은 아무 일도 하지 않습니다.
+ */
+@Slf4j
+@Component
+public class LiveCallBroker {
+
+    private final MemberLookup memberLookup;
+    private final CallLogRepository callLogRepository;
+    private final Executor liveCallExecutor;
+
+    @Value("${live.buffer-size:64}")
+    private int bufferSize = 64;
+
+    @Value("${live.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs = 1_800_000;
+
+    private final ConcurrentHashMap<String, Set<Subscriber>> subscribersByMember = new ConcurrentHashMap<>();
+    // 진행 중인 통화의 회원 ID. 구독자가 있을 때 통화마다 한 번만 조회합니다.
+    private final ConcurrentHashMap<String, String> memberByCall = new ConcurrentHashMap<>();
+
+    public LiveCallBroker(MemberLookup memberLookup, CallLogRepository callLogRepository,
+                          @Qualifier("liveCallExecutor") Executor liveCallExecutor) {
+        this.memberLookup = memberLookup;
+        this.callLogRepository = callLogRepository;
+        this.liveCallExecutor = liveCallExecutor;
+    }
+
+    public SseEmitter subscribe(String memberId) {
+        memberLookup.getOrThrow(memberId);
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(memberId, emitter, new DropOldestBuffer<>(bufferSize));
+        subscribersByMember.computeIfAbsent(memberId, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        log.info("실시간 통화 구독 시작: memberId={}, 구독자 {}명", memberId, subscribersByMember.get(memberId).size());
+        return emitter;
+    }
+
+    /**
+     * 통화의 발화 하나를 해당 회원의 구독자들에게 보냅니다.
+     */
+    public void publishTurn(String callSid, String speaker, String message) {
+        publish(callSid, new LiveCallEvent(LiveCallEvent.Type.TURN, callSid, speaker, message, LocalDateTime.now()));
+    }
+
+    /**
+     * 통화 종료를 알리고, 통화에 대해 기억하던 회원 ID를 지웁니다.
+     */
+    public void publishEnded(String callSid, String reason) {
+        publish(callSid, new LiveCallEvent(LiveCallEvent.Type.ENDED, callSid, null, reason, LocalDateTime.now()));
+        memberByCall.remove(callSid);
+    }
+
+    public int subscriberCount() {
+        return subscribersByMember.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // 프록시가 유휴 연결을 끊지 않도록, 보낼 것이 없는 구독자에게 주석 한 줄을 보냅니다. 끊긴 연결도 이때 정리됩니다.
+    @Scheduled(fixedDelayString = "${live.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        subscribersByMember.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            if (subscriber.buffer().isEmpty()) {
+                enqueue(subscriber, null);
+            }
+        }));
+    }
+
+    private void publish(String callSid, LiveCallEvent event) {
+        if (subscribersByMember.isEmpty()) {
+            return;
+        }
+        String memberId = memberByCall.computeIfAbsent(callSid, this::resolveMemberId);
+        if (memberId == null) {
+            return;
+        }
+        Set<Subscriber> subscribers = subscribersByMember.get(memberId);
+        if (subscribers != null) {
+            subscribers.forEach(subscriber -> enqueue(subscriber, event));
+        }
+    }
+
+    // event가 null이면 하트비트입니다.
+    private void enqueue(Subscriber subscriber, LiveCallEvent event) {
+        if (!subscriber.buffer().offer(event)) {
+            return;
+        }
+        try {
+            liveCallExecutor.execute(() -> drain(subscriber));
+        } catch (TaskRejectedException e) {
+            log.warn("실시간 통화 전송 작업이 거절되어 구독을 종료합니다: memberId={}", subscriber.memberId());
+            subscriber.emitter().complete();
+            unsubscribe(subscriber);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        DropOldestBuffer.Drained<LiveCallEvent> drained;
+        try {
+            while ((drained = subscriber.buffer().drain()) != null) {
+                if (drained.dropped() > 0) {
+                    subscriber.emitter().send(SseEmitter.event().name("gap").data(Map.of("dropped", drained.dropped()), MediaType.APPLICATION_JSON));
+                }
+                for (LiveCallEvent event : drained.items()) {
+                    if (event == null) {
+                        subscriber.emitter().send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        subscriber.emitter().send(SseEmitter.event()
+                                .name(event.type().name().toLowerCase())
+                                .data(event, MediaType.APPLICATION_JSON));
+                    }
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 연결이 끊긴 구독자는 정리합니다. 버퍼에 남은 항목은 함께 버려집니다.
+            log.debug("실시간 통화 구독자 연결 종료: memberId={}", subscriber.memberId());
+            subscriber.emitter().completeWithError(e);
+            unsubscribe(subscriber);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribersByMember.computeIfPresent(subscriber.memberId(), (key, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private String resolveMemberId(String callSid) {
+        return callLogRepository.findByCallSidAndRequestedAtAfter(callSid, LocalDateTime.now().minusDays(CallLogRepository.CALL_SID_LOOKBACK_DAYS))
+                .map(callLog -> callLog.getMember() != null ? callLog.getMember().getMemberId() : null)
+                .orElse(null);
+    }
+
+    private record Subscriber(String memberId, SseEmitter emitter, DropOldestBuffer<LiveCallEvent> buffer) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo5.service;
+
+import com.example.demo5.config.routing.ReadYourWrites;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 회원 단위 캐시를 무효화합니다.
+ * 트랜잭션 안에서 호출되면 커밋 이후에 무효화하여, 커밋 전의 다른 조회가 이전 값을 다시 캐시에 넣는 일을 막습니다.
+ * 같은 시점에 회원의 쓰기 시각도 기록하여, 캐시를 다시 채우는 조회가 아직 복제되지 않은 복제본 대신 주 DB를 읽게 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final ReadYourWrites readYourWrites;
+
+    public void evict(String memberId, String... cacheNames) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(memberId, cacheNames);
+                }
+            });
+        } else {
+            evictNow(memberId, cacheNames);
+        }
+    }
+
+    private void evictNow(String memberId, String... cacheNames) {
+        readYourWrites.markWritten(memberId);
+        for (String cacheName : cacheNames) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(memberId);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.analysis.AnalysisResponse;
+import com.example.demo5.dto.call.CallHistoryResponse;
+import com.example.demo5.dto.call.LatestCallStatusResponse;
+import com.example.demo5.dto.member.ConversationSummaryResponse;
+import com.example.demo5.dto.member.DashboardSection;
+import com.example.demo5.dto.member.MemberDashboardResponse;
+import com.example.demo5.dto.member.MemberStatusTagResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 회원 화면 하나를 그리는 데 필요한 정보를 한 번의 요청으로 모읍니다.
+ * 각 섹션은 서로 독립적이므로 병렬로 조회하고, 느린 섹션(LLM 요약)은 제한 시간이 지나면 비워 둔 채 응답합니다.
+ * 분석, 상태 태그, 요약은 회원 단위 캐시를 거치므로, 캐시가 채워져 있으면 DB는 통화 기록 두 조회만 읽습니다.
+ */
+@Slf4j
+@Service
+public class MemberDashboardService {
+
+    private final MemberLookup memberLookup;
+    private final MemberService memberService;
+    private final ConversationSummaryService conversationSummaryService;
+    private final Executor dashboardExecutor;
+
+    @Value("${dashboard.section-timeout-ms:2000}")
+    private long sectionTimeoutMs;
+
+    @Value("${dashboard.summary-timeout-ms:5000}")
+    private long summaryTimeoutMs;
+
+    public MemberDashboardService(MemberLookup memberLookup,
+                                  MemberService memberService,
+                                  ConversationSummaryService conversationSummaryService,
+                                  @Qualifier("dashboardExecutor") Executor dashboardExecutor) {
+        this.memberLookup = memberLookup;
+        this.memberService = memberService;
+        this.conversationSummaryService = conversationSummaryService;
+        this.dashboardExecutor = dashboardExecutor;
+    }
+
+    public MemberDashboardResponse getDashboard(String memberId) {
+        memberLookup.getOrThrow(memberId);
+        long startedAt = System.nanoTime();
+
+        // 가장 오래 걸리는 요약(LLM)부터 출발시킵니다.
+        Future<ConversationSummaryResponse> summary = submit(
+                () -> new ConversationSummaryResponse(conversationSummaryService.getConversationSummary(memberId)));
+        Future<AnalysisResponse> analysis = submit(() -> memberService.getMemberAnalysis(memberId));
+        Future<MemberStatusTagResponse> status = submit(() -> memberService.getMemberStatusTag(memberId));
+        Future<LatestCallStatusResponse> latestAutoCall = submit(() -> memberService.getLatestAutoCallStatus(memberId));
+        Future<List<CallHistoryResponse>> callHistory = submit(() -> memberService.getCallHistory(memberId));
+
+        return new MemberDashboardResponse(
+                memberId,
+                await(analysis, startedAt, sectionTimeoutMs),
+                await(status, startedAt, sectionTimeoutMs),
+                await(summary, startedAt, summaryTimeoutMs),
+                await(latestAutoCall, startedAt, sectionTimeoutMs),
+                await(callHistory, startedAt, sectionTimeoutMs));
+    }
+
+    private <T> Future<T> submit(Callable<T> loader) {
+        FutureTask<T> task = new FutureTask<>(loader);
+        try {
+            dashboardExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // 풀이 가득 찬 섹션만 BUSY로 비우고 나머지 섹션은 그대로 응답합니다.
+            task.cancel(false);
+        }
+        return task;
+    }
+
+    /**
+     * 요청 시작 시각부터 timeoutMs까지 섹션을 기다립니다. 제한 시간이 지나면 작업을 인터럽트로 취소하여
+     * 응답 후에도 스레드와 커넥션을 붙잡고 있지 않도록 합니다.
+     */
+    private <T> DashboardSection<T> await(Future<T> future, long startedAt, long timeoutMs) {
+        if (future.isCancelled()) {
+            return DashboardSection.busy();
+        }
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs) - (System.nanoTime() - startedAt);
+        try {
+            return DashboardSection.ok(future.get(Math.max(remainingNanos, 0), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return DashboardSection.timeout();
+        } catch (ExecutionException e) {
+            log.error("대시보드 섹션 조회 중 오류 발생", e.getCause());
+            return DashboardSection.error();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return DashboardSection.timeout();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo5.service;
+
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * 회원 ID(URL-safe Base64 5자리)를 무작위로 생성합니다. 중복 확인은 호출하는 쪽에서 합니다.
+ */
+@Component
+public class MemberIdGenerator {
+
+    private static final int ID_LENGTH = 5;
+    private static final SecureRandom random = new SecureRandom();
+    private static final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+    public String generate() {
+        byte[] buffer = new byte[4];
+        random.nextBytes(buffer);
+        return encoder.encodeToString(buffer).substring(0, ID_LENGTH);
+    }
+}
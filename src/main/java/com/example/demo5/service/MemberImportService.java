@@ -0,0 +1,227 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.member.CreateMemberRequest;
+import com.example.demo5.dto.member.MemberImportResponse;
+import com.example.demo5.dto.member.MemberImportRowResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * CSV 또는 NDJSON으로 받은 회원 목록을 한 번에 등록합니다.
+ * 입력을 줄 단위로 읽어 청크마다 전화번호 중복 확인과 ID 발급을 IN 조회 한 번으로 처리하고,
+ * 세 테이블(member, member_keyword, member_status)에 여러 행 INSERT를 한 번씩 실행합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MemberImportService {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MemberIdGenerator memberIdGenerator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${member.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public MemberImportResponse importMembers(InputStream input, Format format) {
+        List<MemberImportRowResult> results = new ArrayList<>();
+        // 같은 파일 안에서 반복된 전화번호는 처음 나온 줄만 등록합니다.
+        Set<String> seenPhoneNumbers = new HashSet<>();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (format == Format.CSV && lineNumber == 1 && isCsvHeader(line))) {
+                    continue;
+                }
+                String phoneNumber;
+                try {
+                    phoneNumber = parsePhoneNumber(line, format);
+                } catch (IllegalArgumentException e) {
+                    results.add(MemberImportRowResult.invalid(lineNumber, null, e.getMessage()));
+                    continue;
+                }
+                if (!seenPhoneNumbers.add(phoneNumber)) {
+                    results.add(MemberImportRowResult.duplicate(lineNumber, phoneNumber, "파일 안에서 중복된 전화번호입니다."));
+                    continue;
+                }
+                chunk.add(new PendingRow(lineNumber, phoneNumber, results.size()));
+                results.add(null); // 청크가 저장되면 채워집니다.
+                if (chunk.size() == chunkSize) {
+                    flush(chunk, results);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("가져오기 입력을 읽는 중 오류가 발생했습니다.", e);
+        }
+        if (!chunk.isEmpty()) {
+            flush(chunk, results);
+        }
+
+        int created = 0;
+        int duplicated = 0;
+        int invalid = 0;
+        for (MemberImportRowResult result : results) {
+            switch (result.result()) {
+                case CREATED -> created++;
+                case DUPLICATE -> duplicated++;
+                case INVALID -> invalid++;
+            }
+        }
+        log.info("회원 일괄 등록 완료: 전체 {}건, 등록 {}건, 중복 {}건, 오류 {}건", results.size(), created, duplicated, invalid);
+        return new MemberImportResponse(results.size(), created, duplicated, invalid, results);
+    }
+
+    private void flush(List<PendingRow> chunk, List<MemberImportRowResult> results) {
+        // 같은 시각에 단건 등록이 끼어들어 키가 충돌하면, 중복 확인과 ID 발급부터 다시 합니다.
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertChunk(chunk, results));
+                return;
+            } catch (DuplicateKeyException e) {
+                if (attempt == MAX_CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("회원 일괄 등록 중 키 충돌, 청크를 다시 시도합니다. (시도 {}회)", attempt);
+            }
+        }
+    }
+
+    private void insertChunk(List<PendingRow> chunk, List<MemberImportRowResult> results) {
+        Set<String> registered = findExisting("SELECT phone_number FROM member WHERE phone_number IN (:values)",
+                chunk.stream().map(PendingRow::phoneNumber).toList());
+
+        List<PendingRow> toInsert = new ArrayList<>(chunk.size());
+        for (PendingRow row : chunk) {
+            if (registered.contains(row.phoneNumber())) {
+                results.set(row.resultIndex(), MemberImportRowResult.duplicate(row.line(), row.phoneNumber(), "이미 등록된 전화번호입니다."));
+            } else {
+                toInsert.add(row);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        List<String> memberIds = allocateMemberIds(toInsert.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        MapSqlParameterSource params = new MapSqlParameterSource("createdAt", now);
+        StringJoiner memberValues = new StringJoiner(", ");
+        StringJoiner keywordValues = new StringJoiner(", ");
+        StringJoiner statusValues = new StringJoiner(", ");
+        for (int i = 0; i < toInsert.size(); i++) {
+            params.addValue("id" + i, memberIds.get(i)).addValue("phone" + i, toInsert.get(i).phoneNumber());
+            memberValues.add("(:id" + i + ", :phone" + i + ", :createdAt)");
+            keywordValues.add("(:id" + i + ", '[]')");
+            statusValues.add("(:id" + i + ", '안전')");
+        }
+
+        jdbcTemplate.update("INSERT INTO member (member_id, phone_number, created_at) VALUES " + memberValues, params);
+        jdbcTemplate.update("INSERT INTO member_keyword (member_id, keyword) VALUES " + keywordValues, params);
+        jdbcTemplate.update("INSERT INTO member_status (member_id, status_tag) VALUES " + statusValues, params);
+
+        for (int i = 0; i < toInsert.size(); i++) {
+            PendingRow row = toInsert.get(i);
+            results.set(row.resultIndex(), MemberImportRowResult.created(row.line(), row.phoneNumber(), memberIds.get(i)));
+        }
+    }
+
+    /**
+     * 후보 ID를 한꺼번에 만들고 이미 쓰이는 ID만 IN 조회 한 번으로 걸러, 모자란 만큼만 다시 만듭니다.
+     * member_id는 대소문자를 구분하지 않는 콜레이션이라 "aB3x"와 "Ab3X"가 같은 키이므로, 소문자로 바꾼 값으로 비교합니다.
+     */
+    private List<String> allocateMemberIds(int count) {
+        Map<String, String> allocated = new LinkedHashMap<>(count * 2);
+        while (allocated.size() < count) {
+            Map<String, String> candidates = new HashMap<>();
+            while (candidates.size() < count - allocated.size()) {
+                String candidate = memberIdGenerator.generate();
+                String key = idKey(candidate);
+                if (!allocated.containsKey(key)) {
+                    candidates.putIfAbsent(key, candidate);
+                }
+            }
+            findExisting("SELECT member_id FROM member WHERE member_id IN (:values)", candidates.values())
+                    .forEach(existing -> candidates.remove(idKey(existing)));
+            allocated.putAll(candidates);
+        }
+        return new ArrayList<>(allocated.values());
+    }
+
+    private static String idKey(String memberId) {
+        return memberId.toLowerCase(Locale.ROOT);
+    }
+
+    private Set<String> findExisting(String sql, Collection<String> values) {
+        return new HashSet<>(jdbcTemplate.queryForList(sql, new MapSqlParameterSource("values", values), String.class));
+    }
+
+    private String parsePhoneNumber(String line, Format format) {
+        String phoneNumber;
+        if (format == Format.NDJSON) {
+            try {
+                phoneNumber = objectMapper.readValue(line, CreateMemberRequest.class).getPhoneNumber();
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("JSON 형식이 올바르지 않습니다.");
+            }
+        } else {
+            int comma = line.indexOf(',');
+            phoneNumber = (comma >= 0 ? line.substring(0, comma) : line).replace("\"", "");
+        }
+        if (phoneNumber == null || phoneNumber.isBlank()) {
+            throw new IllegalArgumentException("전화번호가 비어 있습니다.");
+        }
+        phoneNumber = phoneNumber.trim();
+        if (phoneNumber.length() > 20) {
+            throw new IllegalArgumentException("전화번호가 너무 깁니다.");
+        }
+        return phoneNumber;
+    }
+
+    // 첫 줄에 숫자가 없으면 헤더(예: "phoneNumber")로 봅니다.
+    private boolean isCsvHeader(String line) {
+        return line.chars().noneMatch(Character::isDigit);
+    }
+
+    private record PendingRow(long line, String phoneNumber, int resultIndex) {
+    }
+}
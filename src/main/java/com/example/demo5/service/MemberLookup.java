@@ -0,0 +1,32 @@
+package com.example.demo5.service;
+
+import com.example.demo5.config.CacheConfig;
+import com.example.demo5.dto.member.MemberSnapshot;
+import com.example.demo5.repository.MemberRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * 회원 존재 확인과 전화번호 조회를 캐시를 거쳐 처리합니다.
+ * 존재하지 않는 ID는 캐시하지 않으므로, 방금 생성된 회원도 바로 조회됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberLookup {
+
+    private final MemberRepository memberRepository;
+
+    @Cacheable(cacheNames = CacheConfig.MEMBER, unless = "#result == null")
+    public Optional<MemberSnapshot> find(String memberId) {
+        return memberRepository.findById(memberId).map(MemberSnapshot::from);
+    }
+
+    public MemberSnapshot getOrThrow(String memberId) {
+        return find(memberId)
+                .orElseThrow(() -> new EntityNotFoundException("해당 ID의 회원을 찾을 수 없습니다: " + memberId));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.member.MemberOverviewItemResponse;
+import com.example.demo5.dto.member.MemberOverviewResponse;
+import com.example.demo5.entity.CallLog;
+import com.example.demo5.entity.CallSchedule;
+import com.example.demo5.repository.CallScheduleRepository;
+import com.example.demo5.repository.MemberOverviewView;
+import com.example.demo5.repository.MemberRepository;
+import com.example.demo5.repository.MemberStatusRepository;
+import com.example.demo5.repository.StatusTagCountView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 운영자용 전체 회원 목록. 페이지당 쿼리 수가 회원 수와 무관하도록 집합 단위로 조회합니다.
+ * (목록 1회 + 해당 페이지 회원들의 스케줄 1회 + 첫 페이지의 상태 태그 집계 1회)
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberOverviewService {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final MemberRepository memberRepository;
+    private final MemberStatusRepository memberStatusRepository;
+    private final CallScheduleRepository callScheduleRepository;
+
+    @Value("${call-log.hot-window-days:90}")
+    private int hotWindowDays;
+
+    @Transactional(readOnly = true)
+    public MemberOverviewResponse getOverview(String statusTag, Boolean missedCall, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDateTime now = LocalDateTime.now();
+
+        // 다음 페이지 존재 여부를 알기 위해 한 건을 더 조회합니다.
+        List<MemberOverviewView> rows = memberRepository.findOverviewPage(
+                cursor == null ? "" : cursor,
+                statusTag,
+                missedCall,
+                now.minusDays(hotWindowDays),
+                pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<MemberOverviewView> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        Map<String, LocalDateTime> nextCalls = findNextScheduledCalls(page, now);
+
+        List<MemberOverviewItemResponse> items = page.stream()
+                .map(row -> {
+                    CallLog.CallStatus latestStatus = row.getLatestAutoCallStatus() != null
+                            ? CallLog.CallStatus.valueOf(row.getLatestAutoCallStatus()) : null;
+                    return MemberOverviewItemResponse.builder()
+                            .memberId(row.getMemberId())
+                            .phoneNumber(row.getPhoneNumber())
+                            .statusTag(row.getStatusTag())
+                            .latestAutoCallResult(CallLog.CallStatus.resultLabel(latestStatus))
+                            .latestAutoCallAt(row.getLatestAutoCallAt())
+                            .missedLatestAutoCall(latestStatus != null && latestStatus.isMissed())
+                            .nextScheduledCallAt(nextCalls.get(row.getMemberId()))
+                            .build();
+                })
+                .collect(Collectors.toList());
+
+        String nextCursor = hasNext ? page.get(page.size() - 1).getMemberId() : null;
+        Map<String, Long> statusCounts = cursor == null ? countByStatusTag() : null;
+        return new MemberOverviewResponse(items, nextCursor, hasNext, statusCounts);
+    }
+
+    private Map<String, LocalDateTime> findNextScheduledCalls(List<MemberOverviewView> page, LocalDateTime now) {
+        if (page.isEmpty()) {
+            return Map.of();
+        }
+        List<String> memberIds = page.stream().map(MemberOverviewView::getMemberId).toList();
+        return callScheduleRepository.findActiveByMemberIds(memberIds).stream()
+                .filter(schedule -> schedule.nextCallAfter(now) != null)
+                .collect(Collectors.toMap(
+                        schedule -> schedule.getMember().getMemberId(),
+                        schedule -> schedule.nextCallAfter(now),
+                        (first, second) -> first.isBefore(second) ? first : second));
+    }
+
+    private Map<String, Long> countByStatusTag() {
+        return memberStatusRepository.countByStatusTag().stream()
+                .filter(row -> Objects.nonNull(row.getStatusTag()))
+                .sorted(Comparator.comparing(StatusTagCountView::getStatusTag))
+                .collect(Collectors.toMap(StatusTagCountView::getStatusTag, StatusTagCountView::getMemberCount,
+                        Long::sum, LinkedHashMap::new));
+    }
+}
@@ -1,39 +1,51 @@
 package com.example.demo5.service;
 
+import com.example.demo5.dto.ResourceVersion;
 import com.example.demo5.dto.analysis.AnalysisResponse;
 import com.example.demo5.dto.call.CreateCallResponse;
+import com.example.demo5.dto.call.CallHistoryCursor;
+import com.example.demo5.dto.call.CallHistoryItemResponse;
+import com.example.demo5.dto.call.CallHistoryPageResponse;
 import com.example.demo5.dto.call.CallHistoryResponse;
 import com.example.demo5.dto.call.LatestCallStatusResponse;
 import com.example.demo5.dto.member.CreateMemberRequest;
 import com.example.demo5.dto.member.MemberResponse;
+import com.example.demo5.dto.member.MemberSnapshot;
 import com.example.demo5.dto.member.MemberStatusTagResponse;
 import com.example.demo5.dto.schedule.CreateScheduleResponse;
 import com.example.demo5.dto.schedule.ScheduleRequest;
 import com.example.demo5.dto.schedule.UpdateScheduleResponse;
+import com.example.demo5.config.CacheConfig;
 import com.example.demo5.entity.CallLog;
 import com.example.demo5.entity.CallSchedule;
 import com.example.demo5.entity.Member;
 import com.example.demo5.entity.MemberKeyword;
 import com.example.demo5.entity.MemberStatus;
+import com.example.demo5.repository.CallHistoryView;
 import com.example.demo5.repository.CallLogRepository;
 import com.example.demo5.repository.CallScheduleRepository;
 import com.example.demo5.repository.MemberKeywordRepository;
 import com.example.demo5.repository.MemberRepository;
 import com.example.demo5.repository.MemberStatusRepository;
+import com.example.demo5.service.opening.CallOpeningService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -50,9 +62,19 @@ public class MemberService {
     private final ConversationSummaryService conversationSummaryService;
     private final QuestionGenerationService questionGenerationService; // 의존성 추가
     private final ObjectMapper objectMapper;
+    private final MemberLookup memberLookup;
+    private final MemberCacheEvictor memberCacheEvictor;
+    private final MemberIdGenerator memberIdGenerator;
+    private final CallOpeningService callOpeningService;
 
-    private static final SecureRandom random = new SecureRandom();
-    private static final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 20;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final DateTimeFormatter HISTORY_DATE_FORMATTER = DateTimeFormatter.ofPattern("MM/dd");
+    private static final DateTimeFormatter HISTORY_TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    // 최근 통화 조회는 이 기간 안의 call_log 파티션만 읽습니다.
+    @Value("${call-log.hot-window-days:90}")
+    private int hotWindowDays;
 
 
     @Transactional
@@ -62,7 +84,7 @@ public class MemberService {
         }
         String newMemberId;
         do {
-            newMemberId = generateRandomId(5);
+            newMemberId = memberIdGenerator.generate();
         } while (memberRepository.existsById(newMemberId));
 
         Member newMember = new Member();
@@ -82,9 +104,12 @@ public class MemberService {
         memberStatus.setStatusTag("안전"); // Initial status tag
         memberStatusRepository.save(memberStatus);
 
+        memberCacheEvictor.evict(newMemberId, CacheConfig.MEMBER, CacheConfig.MEMBER_ANALYSIS, CacheConfig.MEMBER_STATUS_TAG,
+                CacheConfig.CONVERSATION_SUMMARY);
         return new MemberResponse(savedMember);
     }
 
+    @Cacheable(cacheNames = CacheConfig.MEMBER_ANALYSIS)
     @Transactional(readOnly = true)
     public AnalysisResponse getMemberAnalysis(String memberId) {
         MemberKeyword memberKeyword = memberKeywordRepository.findByMember_MemberId(memberId)
@@ -105,6 +130,17 @@ public class MemberService {
         }
     }
 
+    /**
+     * 조건부 GET용 버전 조회입니다. 분석 JSON을 읽거나 파싱하지 않습니다.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getMemberAnalysisVersion(String memberId) {
+        LocalDateTime updatedAt = memberKeywordRepository.findUpdatedAtByMemberId(memberId)
+                .orElseThrow(() -> new EntityNotFoundException("해당 ID의 회원 키워드 정보를 찾을 수 없습니다: " + memberId));
+        return ResourceVersion.of("analysis", updatedAt);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.MEMBER_STATUS_TAG)
     @Transactional(readOnly = true)
     public MemberStatusTagResponse getMemberStatusTag(String memberId) {
         MemberStatus memberStatus = memberStatusRepository.findByMember_MemberId(memberId)
@@ -112,72 +148,120 @@ public class MemberService {
         return new MemberStatusTagResponse(memberStatus);
     }
 
+    @Transactional(readOnly = true)
+    public ResourceVersion getMemberStatusTagVersion(String memberId) {
+        LocalDateTime updatedAt = memberStatusRepository.findUpdatedAtByMemberId(memberId)
+                .orElseThrow(() -> new EntityNotFoundException("해당 ID의 회원 상태를 찾을 수 없습니다: " + memberId));
+        return ResourceVersion.of("status", updatedAt);
+    }
+
     @Transactional(readOnly = true)
     public String getConversationSummary(String memberId) {
-        memberRepository.findById(memberId)
-                .orElseThrow(() -> new EntityNotFoundException("해당 ID의 회원을 찾을 수 없습니다: " + memberId));
+        memberLookup.getOrThrow(memberId);
 
         return conversationSummaryService.getConversationSummary(memberId);
     }
 
     @Transactional(readOnly = true)
     public LatestCallStatusResponse getLatestAutoCallStatus(String memberId) {
-        Optional<CallLog> latestAutoCall = callLogRepository.findTopByMember_MemberIdAndCallTypeOrderByRequestedAtDesc(memberId, CallLog.CallType.AUTO);
+        Optional<CallLog> latestAutoCall = callLogRepository.findTopByMember_MemberIdAndCallTypeAndRequestedAtAfterOrderByRequestedAtDesc(
+                memberId, CallLog.CallType.AUTO, LocalDateTime.now().minusDays(hotWindowDays));
 
         if (latestAutoCall.isEmpty()) {
-            return new LatestCallStatusResponse("기록 없음", "");
+            return new LatestCallStatusResponse(CallLog.CallStatus.resultLabel(null), "");
         }
 
         CallLog callLog = latestAutoCall.get();
-        String callResult = callLog.getStatus() == CallLog.CallStatus.COMPLETED ? "완료" : "부재중";
+        String callResult = CallLog.CallStatus.resultLabel(callLog.getStatus());
         String time = callLog.getRequestedAt().format(DateTimeFormatter.ofPattern("HH:mm"));
 
         return new LatestCallStatusResponse(callResult, time);
     }
 
+    // 최근 통화 기록은 새 통화가 생기거나 진행 중인 통화가 갱신될 때만 바뀌므로, 최근 통화의 마지막 변경 시각을 버전으로 씁니다.
     @Transactional(readOnly = true)
-    public List<CallHistoryResponse> getCallHistory(String memberId) {
-        List<CallLog> callLogs = callLogRepository.findTop3ByMember_MemberIdOrderByRequestedAtDesc(memberId);
+    public ResourceVersion getCallHistoryVersion(String memberId) {
+        LocalDateTime updatedAt = callLogRepository.findLatestUpdatedAt(memberId, LocalDateTime.now().minusDays(hotWindowDays));
+        return ResourceVersion.of("call-history", updatedAt);
+    }
 
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MM/dd");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+    @Transactional(readOnly = true)
+    public List<CallHistoryResponse> getCallHistory(String memberId) {
+        List<CallHistoryView> callLogs = callLogRepository.findHistoryPage(memberId, null, null, null, null, Limit.of(3));
 
         return callLogs.stream()
                 .map(callLog -> CallHistoryResponse.builder()
                         .summaryQuestion(Optional.ofNullable(callLog.getCallResultSentiment()).orElse("기록 없음"))
                         .mood(Optional.ofNullable(callLog.getSimpleSummary()).orElse("기록 없음"))
-                        .date(callLog.getRequestedAt().format(dateFormatter))
-                        .time(callLog.getRequestedAt().format(timeFormatter))
+                        .date(callLog.getRequestedAt().format(HISTORY_DATE_FORMATTER))
+                        .time(callLog.getRequestedAt().format(HISTORY_TIME_FORMATTER))
                         .build())
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 통화 기록을 (requested_at, call_log_id) 커서 기준으로 한 페이지씩 조회합니다. after가 null이면 첫 페이지입니다.
+     * 대화 원문은 읽지 않으며, 페이지당 비용은 회원의 전체 통화 수와 무관합니다.
+     */
+    @Transactional(readOnly = true)
+    public CallHistoryPageResponse getCallHistoryPage(String memberId, CallHistoryCursor after, Integer size,
+                                                      CallLog.CallType callType, CallLog.CallStatus status) {
+        memberLookup.getOrThrow(memberId);
+
+        int pageSize = size == null ? DEFAULT_HISTORY_PAGE_SIZE : Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+
+        // 다음 페이지 존재 여부를 알기 위해 한 건을 더 조회합니다.
+        List<CallHistoryView> rows = callLogRepository.findHistoryPage(
+                memberId,
+                callType,
+                status,
+                after != null ? after.requestedAt() : null,
+                after != null ? after.callLogId() : null,
+                Limit.of(pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<CallHistoryView> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        List<CallHistoryItemResponse> items = page.stream()
+                .map(row -> CallHistoryItemResponse.builder()
+                        .callLogId(row.getCallLogId())
+                        .callType(row.getCallType())
+                        .status(row.getStatus())
+                        .summaryQuestion(Optional.ofNullable(row.getCallResultSentiment()).orElse("기록 없음"))
+                        .mood(Optional.ofNullable(row.getSimpleSummary()).orElse("기록 없음"))
+                        .date(row.getRequestedAt().format(HISTORY_DATE_FORMATTER))
+                        .time(row.getRequestedAt().format(HISTORY_TIME_FORMATTER))
+                        .build())
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasNext) {
+            CallHistoryView last = page.get(page.size() - 1);
+            nextCursor = new CallHistoryCursor(last.getRequestedAt(), last.getCallLogId()).encode();
+        }
+        return new CallHistoryPageResponse(items, nextCursor, hasNext);
+    }
+
     @Transactional
     public CreateCallResponse initiateManualCall(String memberId, String baseUrl) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new EntityNotFoundException("해당 ID의 회원을 찾을 수 없습니다: " + memberId));
-        return initiateCall(member, CallLog.CallType.MANUAL, baseUrl, null);
+        MemberSnapshot member = memberLookup.getOrThrow(memberId);
+        return initiateCall(memberRepository.getReferenceById(memberId), member.phoneNumber(),
+                CallLog.CallType.MANUAL, baseUrl, null);
     }
 
     @Transactional
     public CreateCallResponse initiateCustomCall(String memberId, String topic, String baseUrl) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new EntityNotFoundException("해당 ID의 회원을 찾을 수 없습니다: " + memberId));
+        MemberSnapshot member = memberLookup.getOrThrow(memberId);
 
         // 1. AI를 통해 주제를 질문으로 변환
         String generatedQuestion = questionGenerationService.generateQuestionFromTopic(topic);
 
         // 2. 생성된 질문을 포함한 맞춤 URL 생성
-        String customWelcomeUrl;
-        try {
-            String encodedQuestion = java.net.URLEncoder.encode(generatedQuestion, java.nio.charset.StandardCharsets.UTF_8.toString());
-            customWelcomeUrl = baseUrl + "/api/twilio/call/custom-welcome?question=" + encodedQuestion;
-        } catch (java.io.UnsupportedEncodingException e) {
-            throw new RuntimeException("URL 인코딩 실패", e);
-        }
+        String customWelcomeUrl = twilioService.buildCustomWelcomeUrl(baseUrl, generatedQuestion);
 
         // 3. 맞춤 URL로 전화 걸기
-        return initiateCall(member, CallLog.CallType.MANUAL, baseUrl, customWelcomeUrl);
+        return initiateCall(memberRepository.getReferenceById(memberId), member.phoneNumber(),
+                CallLog.CallType.MANUAL, baseUrl, customWelcomeUrl);
     }
 
     @Async("taskExecutor")
@@ -189,18 +273,57 @@ public class MemberService {
                 Thread.currentThread().getName(),
                 schedule.getScheduleId(),
                 schedule.getMember().getMemberId());
-        initiateCall(schedule.getMember(), CallLog.CallType.AUTO, baseUrl, null);
+        // 미리 준비한 첫 질문이 있으면 웰컴 TwiML이 저장된 질문을 읽도록 합니다. (없으면 기본 인사)
+        String preparedWelcomeUrl = callOpeningService.claimOpening(schedule.getScheduleId(), LocalDate.now().atTime(schedule.getCallTime()))
+                .map(openingId -> twilioService.buildPreparedWelcomeUrl(baseUrl, openingId))
+                .orElse(null);
+        initiateCall(schedule.getMember(), schedule.getMember().getPhoneNumber(), CallLog.CallType.AUTO, baseUrl, preparedWelcomeUrl);
     }
 
-    private CreateCallResponse initiateCall(Member member, CallLog.CallType callType, String baseUrl, String customWelcomeUrl) {
+    /**
+     * 실패한 자동 통화를 다시 겁니다. 일반 자동 통화와 같은 발신 경로를 사용하며, 통화 기록에 시도 번호와 처음 시도한 통화를 남깁니다.
+     * 그사이 회원의 자동 통화 스케줄이 모두 꺼졌거나, 실패 이후 대화가 이루어진(COMPLETED) 통화가 있으면 걸지 않고 빈 값을 반환합니다.
+     */
+    @Async("taskExecutor")
+    @Transactional
+    public CompletableFuture<Optional<CreateCallResponse>> initiateRetryCall(String memberId, Long originalCallLogId, int attempt,
+                                                                             LocalDateTime failedAt, String baseUrl) {
+        MemberSnapshot member = memberLookup.getOrThrow(memberId);
+        if (!callScheduleRepository.existsByMember_MemberIdAndIsActiveTrue(memberId)) {
+            log.info("자동 통화 스케줄이 꺼져 재시도하지 않습니다: memberId={}, originalCallLogId={}", memberId, originalCallLogId);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        if (callLogRepository.existsByMember_MemberIdAndStatusAndUpdatedAtAfterAndRequestedAtAfter(memberId,
+                CallLog.CallStatus.COMPLETED, failedAt, failedAt.minusDays(CallLogRepository.CALL_SID_LOOKBACK_DAYS))) {
+            log.info("실패 이후 완료된 통화가 있어 재시도하지 않습니다: memberId={}, originalCallLogId={}", memberId, originalCallLogId);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        log.info("자동 전화 재시도 (Thread: {}): memberId={}, originalCallLogId={}, attempt={}",
+                Thread.currentThread().getName(), memberId, originalCallLogId, attempt);
+        CallLog callLog = CallLog.builder()
+                .member(memberRepository.getReferenceById(memberId))
+                .callType(CallLog.CallType.AUTO)
+                .status(CallLog.CallStatus.QUEUED)
+                .build();
+        callLog.markRetry(originalCallLogId, attempt);
+        return CompletableFuture.completedFuture(Optional.of(dial(callLog, member.phoneNumber(), baseUrl, null)));
+    }
+
+    // member는 FK 연결용 참조이며, 전화번호는 캐시된 값을 받아 회원 행을 다시 읽지 않습니다.
+    private CreateCallResponse initiateCall(Member member, String phoneNumber, CallLog.CallType callType,
+                                            String baseUrl, String customWelcomeUrl) {
         CallLog callLog = CallLog.builder()
                 .member(member)
                 .callType(callType)
                 .status(CallLog.CallStatus.QUEUED)
                 .build();
+        return dial(callLog, phoneNumber, baseUrl, customWelcomeUrl);
+    }
+
+    private CreateCallResponse dial(CallLog callLog, String phoneNumber, String baseUrl, String customWelcomeUrl) {
         CallLog savedCallLog = callLogRepository.save(callLog);
 
-        String formattedPhoneNumber = formatPhoneNumber(member.getPhoneNumber());
+        String formattedPhoneNumber = twilioService.formatPhoneNumber(phoneNumber);
 
         String callSid;
         if (customWelcomeUrl != null) {
@@ -217,8 +340,8 @@ public class MemberService {
 
     @Transactional
     public CreateScheduleResponse createCallSchedule(String memberId, ScheduleRequest request) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new EntityNotFoundException("해당 ID의 회원을 찾을 수 없습니다: " + memberId));
+        memberLookup.getOrThrow(memberId);
+        Member member = memberRepository.getReferenceById(memberId);
 
         CallSchedule schedule = CallSchedule.builder()
                 .member(member)
@@ -248,18 +371,4 @@ public class MemberService {
         );
         return new UpdateScheduleResponse(callScheduleRepository.save(schedule));
     }
-
-    private String formatPhoneNumber(String phoneNumber) {
-        String digitsOnly = phoneNumber.replaceAll("[^0-9]", "");
-        if (digitsOnly.startsWith("0")) {
-            return "+82" + digitsOnly.substring(1);
-        }
-        return digitsOnly;
-    }
-
-    private String generateRandomId(int length) {
-        byte[] buffer = new byte[4];
-        random.nextBytes(buffer);
-        return encoder.encodeToString(buffer).substring(0, length);
-    }
 }
@@ -1,8 +1,10 @@
 package com.example.demo5.service;
 
+import com.example.demo5.config.CacheConfig;
 import com.example.demo5.dto.ChatMessage;
 import com.example.demo5.entity.CallLog;
 import com.example.demo5.entity.MemberStatus;
+import com.example.demo5.event.MemberStatusChangedEvent;
 import com.example.demo5.repository.CallLogRepository;
 import com.example.demo5.repository.MemberStatusRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -10,6 +12,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +30,8 @@ public class MemberStatusAnalysisService {
     private final MemberStatusRepository memberStatusRepository;
     private final CallLogRepository callLogRepository;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MemberCacheEvictor memberCacheEvictor;
 
     private static final String MEMBER_STATUS_SYSTEM_PROMPT = """
             당신은 사용자의 통화 대화를 분석하여 현재 심리 상태를 "안전", "주의", "확인 필요" 중 하나의 태그로 분류하는 전문가입니다.
@@ -40,8 +45,11 @@ public class MemberStatusAnalysisService {
             다른 어떤 추가적인 설명이나 문장 없이 오직 상태 태그 단어 하나만 출력해주세요.
             """;
 
+    /**
+     * 최근 7일 대화로 회원의 상태 태그를 판단해 저장하고, 저장한 태그를 반환합니다.
+     */
     @Transactional
-    public void analyzeAndSaveMemberStatus(String memberId, LocalDateTime analysisEndTime) {
+    public String analyzeAndSaveMemberStatus(String memberId, LocalDateTime analysisEndTime) {
         LocalDateTime analysisStartTime = analysisEndTime.minusDays(7);
 
         // 1. 지난 7일간의 통화 기록 가져오기
@@ -50,7 +58,7 @@ public class MemberStatusAnalysisService {
         if (recentCallLogs.isEmpty()) {
             log.info("No recent call logs found for memberId: {} within the last 7 days. Setting default status '안전'.", memberId);
             updateMemberStatus(memberId, "안전"); // Default to "안전" if no call data
-            return;
+            return "안전";
         }
 
         // 2. 모든 통화 기록에서 전체 대화 추출 및 집계
@@ -71,7 +79,7 @@ public class MemberStatusAnalysisService {
         if (aggregatedConversation.length() == 0) {
             log.info("No valid conversation data found in recent call logs for memberId: {}. Setting default status '안전'.", memberId);
             updateMemberStatus(memberId, "안전"); // Default to "안전" if no valid conversation
-            return;
+            return "안전";
         }
 
         // 3. OpenAI API를 사용하여 상태 분석
@@ -96,6 +104,20 @@ public class MemberStatusAnalysisService {
 
         // 5. MemberStatus 업데이트
         updateMemberStatus(memberId, determinedStatus);
+        return determinedStatus;
+    }
+
+    /**
+     * 통화 중 감지된 위험 문구에 따라 상태를 올립니다. 현재 상태가 같거나 더 심각하면 그대로 둡니다.
+     * 통화가 끝나면 analyzeAndSaveMemberStatus의 분석 결과로 다시 판단됩니다.
+     */
+    @Transactional
+    public void escalateMemberStatus(String memberId, String statusTag) {
+        memberStatusRepository.findByMember_MemberId(memberId).ifPresent(memberStatus -> {
+            if (MemberStatus.severity(statusTag) > MemberStatus.severity(memberStatus.getStatusTag())) {
+                updateMemberStatus(memberId, statusTag);
+            }
+        });
     }
 
     @Transactional
@@ -103,6 +125,8 @@ public class MemberStatusAnalysisService {
         memberStatusRepository.findByMember_MemberId(memberId).ifPresentOrElse(memberStatus -> {
             memberStatus.setStatusTag(statusTag);
             memberStatusRepository.save(memberStatus);
+            memberCacheEvictor.evict(memberId, CacheConfig.MEMBER_STATUS_TAG);
+            eventPublisher.publishEvent(new MemberStatusChangedEvent(memberId, statusTag, LocalDateTime.now()));
             log.info("Updated member status for memberId: {} to '{}'.", memberId, statusTag);
         }, () -> {
             log.error("MemberStatus entry not found for memberId: {}. Cannot update status.", memberId);
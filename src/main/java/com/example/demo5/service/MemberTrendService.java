@@ -0,0 +1,165 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.trend.MemberTrendResponse;
+import com.example.demo5.dto.trend.TrendGranularity;
+import com.example.demo5.dto.trend.TrendPointResponse;
+import com.example.demo5.entity.CallLog;
+import com.example.demo5.event.CallFinalizedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 회원의 감정/상태 추이. 완료된 통화마다 분석 결과를 시계열(member_call_metric)에 한 줄씩 쌓고,
+ * 같은 트랜잭션에서 일간/주간 집계(member_trend_rollup, member_trend_keyword)를 더해 둡니다.
+ * 조회는 집계 테이블만 읽으므로 기간이 길어도 구간 수만큼의 행만 읽습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MemberTrendService {
+
+    private static final int MAX_DAYS = 366;
+    private static final int KEYWORDS_PER_PERIOD = 5;
+    private static final int MAX_KEYWORD_LENGTH = 100;
+    private static final int MAX_KEYWORDS_LENGTH = 255;
+    // 분석이 실패했거나 키워드가 없을 때 채워지는 값은 키워드로 집계하지 않습니다.
+    private static final Set<String> PLACEHOLDER_KEYWORDS = Set.of("키워드 없음", "분석 실패", "통화 기록 없음", "유효 대화 없음");
+
+    private static final String UPSERT_ROLLUP = """
+            INSERT INTO member_trend_rollup (member_id, granularity, period_start, call_count, positive_count, negative_count,
+                                             neutral_count, caution_count, critical_count, last_status_tag, last_call_at)
+            VALUES (?, ?, ?, 1, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                call_count = call_count + 1,
+                positive_count = positive_count + VALUES(positive_count),
+                negative_count = negative_count + VALUES(negative_count),
+                neutral_count = neutral_count + VALUES(neutral_count),
+                caution_count = caution_count + VALUES(caution_count),
+                critical_count = critical_count + VALUES(critical_count),
+                last_status_tag = IF(VALUES(last_call_at) >= last_call_at, COALESCE(VALUES(last_status_tag), last_status_tag), last_status_tag),
+                last_call_at = GREATEST(last_call_at, VALUES(last_call_at))
+            """;
+    private static final String UPSERT_KEYWORD = """
+            INSERT INTO member_trend_keyword (member_id, granularity, period_start, keyword, mention_count)
+            VALUES (?, ?, ?, ?, 1)
+            ON DUPLICATE KEY UPDATE mention_count = mention_count + 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MemberLookup memberLookup;
+
+    // 롤백된 통화가 집계되지 않도록 커밋 이후에 기록합니다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCallFinalized(CallFinalizedEvent event) {
+        // 부재중/통화 중/음성사서함 등 연결되지 않은 통화의 분석 결과는 이번 통화가 아니라 최근 7일 대화에서 나온 값이라,
+        // 집계하면 재시도할 때마다 같은 감정과 키워드가 다시 더해집니다. 대화가 이루어진 통화만 기록합니다.
+        if (event.status() != CallLog.CallStatus.COMPLETED) {
+            return;
+        }
+        try {
+            record(event.callLogId(), event.memberId(), event.requestedAt(), event.mood(), event.statusTag(), event.keywords());
+        } catch (Exception e) {
+            log.error("회원 추이 기록 실패: callLogId={}", event.callLogId(), e);
+        }
+    }
+
+    /**
+     * 통화 하나의 분석 결과를 기록합니다. 이미 기록된 통화면 아무것도 하지 않으므로 여러 번 호출해도 집계가 중복되지 않습니다.
+     */
+    public void record(Long callLogId, String memberId, LocalDateTime requestedAt, String mood, String statusTag, String keywords) {
+        List<String> keywordList = splitKeywords(keywords);
+        transactionTemplate.executeWithoutResult(status -> {
+            int inserted = jdbcTemplate.update("""
+                            INSERT IGNORE INTO member_call_metric (member_id, requested_at, call_log_id, mood, status_tag, keywords)
+                            VALUES (?, ?, ?, ?, ?, ?)
+                            """, memberId, requestedAt, callLogId, mood, statusTag,
+                    keywordList.isEmpty() ? null : truncate(String.join(" ", keywordList), MAX_KEYWORDS_LENGTH));
+            if (inserted == 0) {
+                return;
+            }
+            String trimmedMood = mood != null ? mood.trim() : "";
+            for (TrendGranularity granularity : TrendGranularity.values()) {
+                LocalDate periodStart = granularity.periodStart(requestedAt.toLocalDate());
+                jdbcTemplate.update(UPSERT_ROLLUP, memberId, granularity.name(), periodStart,
+                        flag("긍정".equals(trimmedMood)), flag("부정".equals(trimmedMood)), flag("중립".equals(trimmedMood)),
+                        flag("주의".equals(statusTag)), flag("확인 필요".equals(statusTag)), statusTag, requestedAt);
+                if (!keywordList.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPSERT_KEYWORD, keywordList.stream()
+                            .map(keyword -> new Object[]{memberId, granularity.name(), periodStart, keyword})
+                            .toList());
+                }
+            }
+        });
+    }
+
+    /**
+     * 최근 days일의 구간별 추이를 오래된 구간부터 반환합니다. 통화가 없던 구간은 포함하지 않습니다.
+     */
+    public MemberTrendResponse getTrends(String memberId, TrendGranularity granularity, int days) {
+        memberLookup.getOrThrow(memberId);
+        int window = Math.max(1, Math.min(days, MAX_DAYS));
+        LocalDate from = granularity.periodStart(LocalDate.now().minusDays(window - 1L));
+
+        Map<LocalDate, List<String>> keywordsByPeriod = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT period_start, keyword
+                FROM member_trend_keyword
+                WHERE member_id = ? AND granularity = ? AND period_start >= ?
+                ORDER BY period_start, mention_count DESC, keyword
+                """, rs -> {
+            List<String> keywords = keywordsByPeriod.computeIfAbsent(rs.getDate(1).toLocalDate(), key -> new ArrayList<>());
+            if (keywords.size() < KEYWORDS_PER_PERIOD) {
+                keywords.add(rs.getString(2));
+            }
+        }, memberId, granularity.name(), from);
+
+        List<TrendPointResponse> points = jdbcTemplate.query("""
+                SELECT period_start, call_count, positive_count, negative_count, neutral_count,
+                       caution_count, critical_count, last_status_tag
+                FROM member_trend_rollup
+                WHERE member_id = ? AND granularity = ? AND period_start >= ?
+                ORDER BY period_start
+                """, (rs, rowNum) -> {
+            LocalDate periodStart = rs.getDate("period_start").toLocalDate();
+            return new TrendPointResponse(periodStart, rs.getInt("call_count"),
+                    rs.getInt("positive_count"), rs.getInt("negative_count"), rs.getInt("neutral_count"),
+                    rs.getInt("caution_count"), rs.getInt("critical_count"), rs.getString("last_status_tag"),
+                    keywordsByPeriod.getOrDefault(periodStart, List.of()));
+        }, memberId, granularity.name(), from);
+
+        return new MemberTrendResponse(memberId, granularity, from, points);
+    }
+
+    private static List<String> splitKeywords(String keywords) {
+        if (keywords == null || keywords.isBlank() || PLACEHOLDER_KEYWORDS.contains(keywords.trim())) {
+            return List.of();
+        }
+        return Arrays.stream(keywords.trim().split("\\s+"))
+                .map(keyword -> truncate(keyword, MAX_KEYWORD_LENGTH))
+                .distinct()
+                .toList();
+    }
+
+    private static int flag(boolean condition) {
+        return condition ? 1 : 0;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
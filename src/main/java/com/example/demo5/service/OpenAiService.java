@@ -24,6 +24,13 @@ public class OpenAiService {
             너무 말은 딱딱하게 하지 말고 부드럽게 답변해줘.
             답변은 항상 한국어로, 두문장에서 세문장 정도로 대답하며 상황에 따라 공감하고 조언을 할 수도 있고 그에 대한 질문도 던질 수 있어.
             """;
+    private static final String MEMORY_PROMPT = """
+
+            아래는 이 회원과 지난 통화에서 나눈 이야기를 요약한 것입니다.
+            안부를 자연스럽게 이어가는 데 참고하되, 한꺼번에 나열하지 말고 회원이 먼저 꺼내지 않은 이야기는 가볍게 물어보는 정도로만 언급하세요.
+            """;
+    // 호출이 실패했을 때 돌려주는 기본 응답. 요약처럼 응답을 저장하는 쪽에서 실패를 구분할 때 사용합니다.
+    public static final String FALLBACK_RESPONSE = "죄송합니다. 시스템에 오류가 발생하여 답변을 드릴 수 없습니다. 잠시 후 다시 시도해주세요.";
 
     public OpenAiService(ChatModel chatModel) {
         this.chatModel = chatModel;
@@ -48,6 +55,15 @@ public class OpenAiService {
         return getChatResponse(history, null); // Call new method with null systemPrompt
     }
 
+    /**
+     * 기본 상담 시스템 프롬프트 뒤에 회원의 장기 기억을 붙인 시스템 프롬프트를 만듭니다.
+     * @param memory 회원 기억 (MemberMemoryService.render 결과)
+     * @return getChatResponse(history, customSystemPrompt)에 넘길 시스템 프롬프트
+     */
+    public String systemPromptWithMemory(String memory) {
+        return SYSTEM_PROMPT + MEMORY_PROMPT + memory;
+    }
+
     /**
      * 주어진 시스템 프롬프트와 전체 대화 기록을 바탕으로 AI의 다음 응답을 생성합니다.
      * @param history 현재까지의 대화 기록
@@ -91,7 +107,7 @@ public class OpenAiService {
         } catch (Exception e) {
             System.err.println("OpenAI API 호출 중 오류 발생: " + e.getMessage());
             // 비상 시를 대비한 기본 응답
-            return "죄송합니다. 시스템에 오류가 발생하여 답변을 드릴 수 없습니다. 잠시 후 다시 시도해주세요.";
+            return FALLBACK_RESPONSE;
         }
     }
 }
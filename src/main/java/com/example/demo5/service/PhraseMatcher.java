@@ -0,0 +1,140 @@
+package com.example.demo5.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * 여러 문구를 한 번에 찾는 Aho-Corasick 매처입니다. 문장 길이에 비례하는 시간에 모든 문구의 등장 위치를 찾습니다.
+ * 음성 인식 결과는 띄어쓰기가 일정하지 않으므로 공백을 무시하고, 대소문자를 구분하지 않습니다.
+ * 생성 후에는 변경되지 않으므로 여러 스레드에서 공유해도 안전합니다.
+ */
+public final class PhraseMatcher<T> {
+
+    private static final int ROOT = 0;
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final List<Integer> failures = new ArrayList<>();
+    // 상태별로 그 상태에서 끝나는 문구 번호들 (실패 링크를 따라 도달하는 문구 포함)
+    private final List<int[]> outputs = new ArrayList<>();
+    private final List<String> phrases = new ArrayList<>();
+    private final List<T> values = new ArrayList<>();
+
+    private PhraseMatcher() {
+        newState();
+    }
+
+    /**
+     * 문구와 그 문구에 연결할 값으로 매처를 만듭니다. 공백만 다른 문구는 같은 문구로 취급합니다.
+     */
+    public static <T> PhraseMatcher<T> compile(Map<String, T> phraseValues) {
+        PhraseMatcher<T> matcher = new PhraseMatcher<>();
+        phraseValues.forEach(matcher::insert);
+        matcher.linkFailures();
+        return matcher;
+    }
+
+    public int size() {
+        return phrases.size();
+    }
+
+    /**
+     * 문장에 등장하는 모든 문구를 등장 순서대로 반환합니다. 겹치거나 포함 관계인 문구도 모두 반환합니다.
+     */
+    public List<Match<T>> findAll(CharSequence text) {
+        List<Match<T>> matches = new ArrayList<>(0);
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            state = next(state, Character.toLowerCase(c));
+            for (int phrase : outputs.get(state)) {
+                matches.add(new Match<>(phrases.get(phrase), values.get(phrase), i + 1));
+            }
+        }
+        return matches;
+    }
+
+    private void insert(String phrase, T value) {
+        int state = ROOT;
+        for (int i = 0; i < phrase.length(); i++) {
+            char c = phrase.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            char key = Character.toLowerCase(c);
+            Integer target = transitions.get(state).get(key);
+            if (target == null) {
+                target = newState();
+                transitions.get(state).put(key, target);
+            }
+            state = target;
+        }
+        if (state == ROOT) {
+            return; // 공백뿐인 문구는 무시합니다.
+        }
+        phrases.add(phrase);
+        values.add(value);
+        int[] current = outputs.get(state);
+        int[] extended = Arrays.copyOf(current, current.length + 1);
+        extended[current.length] = phrases.size() - 1;
+        outputs.set(state, extended);
+    }
+
+    // 너비 우선으로 실패 링크를 만들고, 실패 링크 쪽에서 끝나는 문구를 각 상태의 출력에 합쳐 둡니다.
+    private void linkFailures() {
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : transitions.get(ROOT).values()) {
+            failures.set(child, ROOT);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions.get(state).entrySet()) {
+                int child = edge.getValue();
+                int failure = next(failures.get(state), edge.getKey());
+                failures.set(child, failure);
+                int[] own = outputs.get(child);
+                int[] inherited = outputs.get(failure);
+                if (inherited.length > 0) {
+                    int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+                    System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+                    outputs.set(child, merged);
+                }
+                queue.add(child);
+            }
+        }
+    }
+
+    private int next(int state, char c) {
+        while (true) {
+            Integer target = transitions.get(state).get(c);
+            if (target != null) {
+                return target;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = failures.get(state);
+        }
+    }
+
+    private int newState() {
+        transitions.add(new HashMap<>());
+        failures.add(ROOT);
+        outputs.add(new int[0]);
+        return transitions.size() - 1;
+    }
+
+    /**
+     * @param end 문장에서 문구가 끝나는 위치 (해당 글자 다음 인덱스)
+     */
+    public record Match<T>(String phrase, T value, int end) {
+    }
+}
@@ -2,18 +2,27 @@ package com.example.demo5.service;
 
 import com.example.demo5.dto.ChatMessage;
 import com.example.demo5.dto.analysis.AnalysisResponse;
+import com.example.demo5.dto.call.TurnResult;
 import com.example.demo5.entity.CallLog;
+import com.example.demo5.event.CallAttemptFailedEvent;
+import com.example.demo5.event.CallFinalizedEvent;
+import com.example.demo5.event.RiskPhraseDetectedEvent;
 import com.example.demo5.repository.CallLogRepository;
+import com.example.demo5.service.memory.MemberMemoryService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
@@ -25,6 +34,8 @@ public class QnaService {
     private static final String FINAL_MESSAGE = "오늘 함께 이야기 나눌 수 있어서 의미 있는 시간이었습니다. 편안한 하루 보내시고, 다음에 또 뵙겠습니다.";
     private static final String TIMEOUT_MESSAGE = "응답이 없어 통화를 종료합니다.";
     private static final String HANGUP_MESSAGE = "요청에 따라 통화를 종료합니다.";
+    private static final String VOICEMAIL_MESSAGE = "음성 사서함이 감지되어 통화를 종료합니다.";
+    public static final String DEFAULT_FIRST_QUESTION = "안녕하세요, AI 상담가입니다. 오늘 어떤 이야기를 나누고 싶으신가요?";
 
     private final TwilioService twilioService;
     private final OpenAiService openAiService;
@@ -32,18 +43,33 @@ public class QnaService {
     private final ObjectMapper objectMapper;
     private final KeywordAnalysisService keywordAnalysisService;
     private final MemberStatusAnalysisService memberStatusAnalysisService; // New injection
+    private final CallLockRegistry callLockRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RiskPhraseDictionary riskPhraseDictionary;
+    private final LiveCallBroker liveCallBroker;
+    private final MemberMemoryService memberMemoryService;
 
 
     // 데이터베이스 대신 인-메모리 맵을 사용하여 통화별 대화 내용 저장
+    // (같은 CallSid에 대한 접근은 CallLockRegistry로 직렬화되므로 리스트 자체는 동기화하지 않습니다)
     private final Map<String, List<ChatMessage>> conversationStorage = new ConcurrentHashMap<>();
+    // 통화별 시스템 프롬프트. 회원 기억은 통화마다 한 번만 읽어 둡니다. (기억이 없으면 빈 문자열 → 기본 프롬프트)
+    private final Map<String, String> systemPrompts = new ConcurrentHashMap<>();
 
-    public QnaService(TwilioService twilioService, OpenAiService openAiService, CallLogRepository callLogRepository, ObjectMapper objectMapper, KeywordAnalysisService keywordAnalysisService, MemberStatusAnalysisService memberStatusAnalysisService) {
+    public QnaService(TwilioService twilioService, OpenAiService openAiService, CallLogRepository callLogRepository, ObjectMapper objectMapper, KeywordAnalysisService keywordAnalysisService, MemberStatusAnalysisService memberStatusAnalysisService, CallLockRegistry callLockRegistry, TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher, RiskPhraseDictionary riskPhraseDictionary, LiveCallBroker liveCallBroker, MemberMemoryService memberMemoryService) {
         this.twilioService = twilioService;
         this.openAiService = openAiService;
         this.callLogRepository = callLogRepository;
         this.objectMapper = objectMapper;
         this.keywordAnalysisService = keywordAnalysisService;
         this.memberStatusAnalysisService = memberStatusAnalysisService; // Assign new service
+        this.callLockRegistry = callLockRegistry;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.riskPhraseDictionary = riskPhraseDictionary;
+        this.liveCallBroker = liveCallBroker;
+        this.memberMemoryService = memberMemoryService;
     }
 
     /**
@@ -52,73 +78,118 @@ public class QnaService {
      */
     public String startSurvey(String callSid, String baseUrl) {
         // 하드코딩된 첫 인사말로 변경
-        String firstQuestion = "안녕하세요, AI 상담가입니다. 오늘 어떤 이야기를 나누고 싶으신가요?";
+        String firstQuestion = startConversation(callSid, DEFAULT_FIRST_QUESTION);
+        return twilioService.createGatherTwiML(firstQuestion, baseUrl);
+    }
+
+    /**
+     * 통화의 대화 기록을 AI의 첫 질문으로 초기화하고, 첫 질문을 반환합니다. (Gather, 미디어 스트림 공용)
+     */
+    public String startConversation(String callSid, String firstQuestion) {
         log.info("AI First Question (CallSid: {}): {}", callSid, firstQuestion);
 
         // 대화 기록 초기화 및 AI의 첫 질문 저장
-        List<ChatMessage> history = new ArrayList<>();
-        history.add(new ChatMessage("AI", firstQuestion));
-        conversationStorage.put(callSid, history);
-
-        return twilioService.createGatherTwiML(firstQuestion, baseUrl);
+        callLockRegistry.executeWithLock(callSid, () -> {
+            List<ChatMessage> history = new ArrayList<>();
+            history.add(new ChatMessage("AI", firstQuestion));
+            conversationStorage.put(callSid, history);
+            systemPromptFor(callSid);
+            liveCallBroker.publishTurn(callSid, "AI", firstQuestion);
+        });
+        return firstQuestion;
     }
 
     /**
      * 사용자의 답변을 처리하고 AI의 다음 질문을 받거나 통화를 종료합니다.
+     * 같은 통화의 상태 콜백과 동시에 실행되지 않도록 CallSid 단위로 직렬화됩니다.
      */
     public String processSurveyResponse(String callSid, String speechResult, String baseUrl) {
+        TurnResult result = processTurn(callSid, speechResult);
+        return result.endCall()
+                ? twilioService.createHangupTwiML(result.reply())
+                : twilioService.createGatherTwiML(result.reply(), baseUrl);
+    }
+
+    /**
+     * 사용자 발화 하나를 처리하고 AI가 이어서 말할 내용을 반환합니다. 통화를 끝내야 하면 통화 기록을 저장한 뒤 종료 결과를 반환합니다.
+     * 음성 입출력 방식(Gather TwiML, 미디어 스트림)과 무관한 대화 로직이며, CallSid 단위로 직렬화됩니다.
+     */
+    public TurnResult processTurn(String callSid, String speechResult) {
+        return callLockRegistry.executeWithLock(callSid, () -> doProcessTurn(callSid, speechResult));
+    }
+
+    private TurnResult doProcessTurn(String callSid, String speechResult) {
         // 1. 타임아웃 처리
         if (!StringUtils.hasText(speechResult)) {
             log.info("Call timed out (CallSid: {}).", callSid);
-            finalizeAndSaveCallLog(callSid, CallLog.CallStatus.FAILED, "응답 시간 초과");
-            return twilioService.createHangupTwiML(TIMEOUT_MESSAGE);
+            return endCall(callSid, TIMEOUT_MESSAGE, CallLog.CallStatus.FAILED, "응답 시간 초과", "timeout");
         }
 
         log.info("User Response (CallSid: {}): {}", callSid, speechResult);
-        List<ChatMessage> history = conversationStorage.getOrDefault(callSid, new ArrayList<>());
+        List<ChatMessage> history = conversationStorage.computeIfAbsent(callSid, key -> new ArrayList<>());
         history.add(new ChatMessage("User", speechResult));
+        liveCallBroker.publishTurn(callSid, "User", speechResult);
 
-        // 2. 음성 사서함 감지 (첫 응답인 경우)
+        // 2. 음성 사서함 감지 (첫 응답인 경우) 및 위험 문구 감지
         long userTurns = history.stream().filter(m -> "User".equalsIgnoreCase(m.speaker())).count();
-        if (userTurns == 1) {
-            if (speechResult.contains("음성사서함") || speechResult.contains("소리샘") || speechResult.contains("남겨주세요")) {
-                log.info("Voicemail detected. Ending call (CallSid: {}).", callSid);
-                finalizeAndSaveCallLog(callSid, CallLog.CallStatus.FAILED, "음성 사서함 감지");
-                return twilioService.createHangupTwiML("음성 사서함이 감지되어 통화를 종료합니다.");
-            }
+        List<PhraseMatcher.Match<RiskPhraseDictionary.Category>> matches = riskPhraseDictionary.match(speechResult);
+        if (userTurns == 1 && matches.stream().anyMatch(m -> m.value() == RiskPhraseDictionary.Category.VOICEMAIL)) {
+            log.info("Voicemail detected. Ending call (CallSid: {}).", callSid);
+            return endCall(callSid, VOICEMAIL_MESSAGE, CallLog.CallStatus.FAILED, "음성 사서함 감지", "voicemail");
         }
+        publishRiskPhrases(callSid, speechResult, matches);
 
         // 3. 사용자의 종료 요청 처리
         if (speechResult.contains(HANGUP_KEYWORD)) {
             log.info("User requested to end the call (CallSid: {}).", callSid);
-            finalizeAndSaveCallLog(callSid, CallLog.CallStatus.COMPLETED, "사용자 요청");
-            return twilioService.createHangupTwiML(HANGUP_MESSAGE);
+            return endCall(callSid, HANGUP_MESSAGE, CallLog.CallStatus.COMPLETED, "사용자 요청", null);
         }
 
         // 4. 정상 답변 처리
         if (userTurns < MAX_TURNS) {
             // 5. 다음 질문 생성 (10턴 미만)
-            String nextQuestion = openAiService.getChatResponse(history);
+            String nextQuestion = openAiService.getChatResponse(history, systemPromptFor(callSid));
             log.info("AI Question #{} (CallSid: {}): {}", userTurns + 1, callSid, nextQuestion);
             history.add(new ChatMessage("AI", nextQuestion));
-            conversationStorage.put(callSid, history); // 맵에 다시 저장
-            return twilioService.createGatherTwiML(nextQuestion, baseUrl);
+            liveCallBroker.publishTurn(callSid, "AI", nextQuestion);
+            return TurnResult.next(nextQuestion);
         } else {
             // 6. 마지막 인사 및 통화 종료 (10턴 도달)
             log.info("Max turns reached. Ending call (CallSid: {}).", callSid);
-            finalizeAndSaveCallLog(callSid, CallLog.CallStatus.COMPLETED, "최대 대화 도달");
-            return twilioService.createHangupTwiML(FINAL_MESSAGE);
+            return endCall(callSid, FINAL_MESSAGE, CallLog.CallStatus.COMPLETED, "최대 대화 도달", null);
         }
     }
 
+    /**
+     * 마지막 안내 멘트로 통화를 끝냅니다. 진행 중인 통화면 실시간 구독자에게 멘트를 종료 이벤트보다 먼저 AI 발화로 보냅니다.
+     * (저장되는 대화 기록에는 기존과 같이 종료 사유만 남깁니다)
+     */
+    private TurnResult endCall(String callSid, String closingMessage, CallLog.CallStatus finalStatus, String reason, String outcome) {
+        if (conversationStorage.containsKey(callSid)) {
+            liveCallBroker.publishTurn(callSid, "AI", closingMessage);
+        }
+        finalizeAndSaveCallLog(callSid, finalStatus, reason, outcome);
+        return TurnResult.end(closingMessage);
+    }
+
     /**
      * 통화가 종료될 때 대화 기록을 DB에 저장하고 저장소에서 삭제합니다.
      * @param callSid 통화 식별자
      * @param finalStatus 통화의 최종 상태
      * @param reason 종료 사유
      */
-    @Transactional
     public void finalizeAndSaveCallLog(String callSid, CallLog.CallStatus finalStatus, String reason) {
+        finalizeAndSaveCallLog(callSid, finalStatus, reason, null);
+    }
+
+    // outcome: 실패 사유 코드 (재시도 판단용, CallAttemptFailedEvent 참고)
+    private void finalizeAndSaveCallLog(String callSid, CallLog.CallStatus finalStatus, String reason, String outcome) {
+        // 트랜잭션 커밋까지 락 안에서 끝내야 다음 이벤트가 저장된 결과를 볼 수 있습니다.
+        callLockRegistry.executeWithLock(callSid, () ->
+                transactionTemplate.executeWithoutResult(status -> doFinalizeAndSaveCallLog(callSid, finalStatus, reason, outcome)));
+    }
+
+    private void doFinalizeAndSaveCallLog(String callSid, CallLog.CallStatus finalStatus, String reason, String outcome) {
         List<ChatMessage> history = conversationStorage.get(callSid);
         if (history == null) {
             history = new ArrayList<>();
@@ -127,7 +198,12 @@ public class QnaService {
 
         final List<ChatMessage> effectivelyFinalHistory = history;
 
-        callLogRepository.findByCallSid(callSid).ifPresentOrElse(callLog -> {
+        findRecentCallLog(callSid).ifPresentOrElse(callLog -> {
+            // 이미 다른 이벤트가 통화를 마무리했다면 분석을 다시 수행하지 않습니다.
+            if (callLog.hasCallData()) {
+                log.info("Call log for {} already finalized. Skipping duplicate finalization.", callSid);
+                return;
+            }
             try {
                 // 1. 대화 내용을 JSON으로 변환하여 CallLog에 설정
                 String callDataJson = objectMapper.writeValueAsString(effectivelyFinalHistory);
@@ -151,7 +227,17 @@ public class QnaService {
                 keywordAnalysisService.saveKeywords(memberId, analysisResult);
 
                 // 5-2. MemberStatus 테이블 업데이트
-                memberStatusAnalysisService.analyzeAndSaveMemberStatus(memberId, callLog.getRequestedAt());
+                String statusTag = memberStatusAnalysisService.analyzeAndSaveMemberStatus(memberId, callLog.getRequestedAt());
+
+                // 6. 검색 색인, 추이 집계 등 후속 처리는 커밋 이후 이벤트로 넘깁니다.
+                eventPublisher.publishEvent(new CallFinalizedEvent(callLog.getCallLogId(), memberId,
+                        callLog.getRequestedAt(), finalStatus, analysisResult.getCurrentMood(), statusTag,
+                        analysisResult.getKeywords(), List.copyOf(effectivelyFinalHistory)));
+                if (finalStatus == CallLog.CallStatus.FAILED) {
+                    eventPublisher.publishEvent(new CallAttemptFailedEvent(callLog.getCallLogId(), memberId,
+                            callLog.getCallType(), callLog.getAttempt(), callLog.getRetryOf(),
+                            outcome != null ? outcome : "failed", LocalDateTime.now()));
+                }
 
             } catch (JsonProcessingException e) {
                 log.error("Failed to serialize call data for CallSid: {}", callSid, e);
@@ -168,8 +254,10 @@ public class QnaService {
             log.error("Could not find CallLog entry for CallSid: {}", callSid);
         });
 
-        // 메모리에서 대화 내용 삭제
-        conversationStorage.remove(callSid);
+        // 메모리에서 대화 내용 삭제 (진행 중이던 통화면 실시간 구독자에게 종료를 알립니다)
+        if (clearConversation(callSid)) {
+            liveCallBroker.publishEnded(callSid, reason);
+        }
     }
 
     /**
@@ -177,16 +265,21 @@ public class QnaService {
      * @param callSid 통화 식별자
      * @param callStatus Twilio가 보낸 통화 상태
      */
-    @Transactional
     public void handleCallTermination(String callSid, String callStatus) {
         log.info("Received status callback for CallSid: {}. Status: {}", callSid, callStatus);
+        callLockRegistry.executeWithLock(callSid, () ->
+                transactionTemplate.executeWithoutResult(status -> doHandleCallTermination(callSid, callStatus)));
+    }
 
-        callLogRepository.findByCallSid(callSid).ifPresent(callLog -> {
+    private void doHandleCallTermination(String callSid, String callStatus) {
+        findRecentCallLog(callSid).ifPresent(callLog -> {
             // 이미 callData가 저장되었다면(정상 종료된 경우), 아무것도 하지 않음
-            if (StringUtils.hasText(callLog.getCallData())) {
+            if (callLog.hasCallData()) {
                 log.info("Call log for {} already finalized. Ignoring status callback.", callSid);
                 // 최종 상태 업데이트가 필요한 경우를 위해 메모리만 정리하고 종료
-                conversationStorage.remove(callSid);
+                if (clearConversation(callSid)) {
+                    liveCallBroker.publishEnded(callSid, "Call status: " + callStatus);
+                }
                 return;
             }
 
@@ -198,7 +291,48 @@ public class QnaService {
             };
 
             log.warn("Call {} terminated unexpectedly with status {}. Saving conversation log.", callSid, callStatus);
-            finalizeAndSaveCallLog(callSid, finalStatus, "Unexpected termination: " + callStatus);
+            doFinalizeAndSaveCallLog(callSid, finalStatus, "Unexpected termination: " + callStatus, callStatus);
         });
     }
-}
\ No newline at end of file
+
+    // 회원 기억을 붙인 시스템 프롬프트를 통화당 한 번만 만듭니다. 같은 CallSid는 락 안에서만 호출되므로 get/put으로 충분합니다.
+    private String systemPromptFor(String callSid) {
+        String prompt = systemPrompts.get(callSid);
+        if (prompt == null) {
+            prompt = loadSystemPrompt(callSid);
+            systemPrompts.put(callSid, prompt);
+        }
+        return prompt.isEmpty() ? null : prompt;
+    }
+
+    // 기억을 읽지 못해도 기본 프롬프트로 대화를 이어갑니다.
+    private String loadSystemPrompt(String callSid) {
+        try {
+            return findRecentCallLog(callSid)
+                    .flatMap(callLog -> memberMemoryService.render(callLog.getMember().getMemberId()))
+                    .map(openAiService::systemPromptWithMemory)
+                    .orElse("");
+        } catch (Exception e) {
+            log.warn("Failed to load member memory (CallSid: {}). Using default prompt.", callSid, e);
+            return "";
+        }
+    }
+
+    private boolean clearConversation(String callSid) {
+        systemPrompts.remove(callSid);
+        return conversationStorage.remove(callSid) != null;
+    }
+
+    // 가장 심각한 분류의 문구 하나만 알립니다. 상태 갱신은 리스너가 별도 스레드에서 처리합니다.
+    private void publishRiskPhrases(String callSid, String speechResult, List<PhraseMatcher.Match<RiskPhraseDictionary.Category>> matches) {
+        matches.stream()
+                .filter(m -> m.value() != RiskPhraseDictionary.Category.VOICEMAIL)
+                .max(Comparator.comparing(PhraseMatcher.Match::value))
+                .ifPresent(m -> eventPublisher.publishEvent(new RiskPhraseDetectedEvent(
+                        callSid, m.value(), m.phrase(), speechResult, LocalDateTime.now())));
+    }
+
+    private Optional<CallLog> findRecentCallLog(String callSid) {
+        return callLogRepository.findByCallSidAndRequestedAtAfter(callSid, LocalDateTime.now().minusDays(CallLogRepository.CALL_SID_LOOKBACK_DAYS));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo5.service;
+
+import com.example.demo5.event.RiskPhraseDetectedEvent;
+import com.example.demo5.repository.CallLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * 통화 중 감지된 위험 문구로 회원 상태를 즉시 올립니다. 통화 종료 후 LLM 분석을 기다리지 않습니다.
+ * Twilio 응답이 늦어지지 않도록 별도 스레드에서 처리합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RiskEscalationService {
+
+    private final CallLogRepository callLogRepository;
+    private final MemberStatusAnalysisService memberStatusAnalysisService;
+
+    @Async("taskExecutor")
+    @EventListener
+    public void onRiskPhraseDetected(RiskPhraseDetectedEvent event) {
+        String statusTag = event.category().statusTag();
+        if (statusTag == null) {
+            return;
+        }
+        callLogRepository.findByCallSidAndRequestedAtAfter(event.callSid(), event.detectedAt().minusDays(CallLogRepository.CALL_SID_LOOKBACK_DAYS))
+                .ifPresentOrElse(callLog -> {
+                    String memberId = callLog.getMember().getMemberId();
+                    log.warn("통화 중 위험 문구 감지: memberId={}, callSid={}, 분류={}, 문구='{}'",
+                            memberId, event.callSid(), event.category(), event.phrase());
+                    memberStatusAnalysisService.escalateMemberStatus(memberId, statusTag);
+                }, () -> log.error("위험 문구가 감지된 통화의 기록을 찾을 수 없습니다: callSid={}", event.callSid()));
+    }
+}
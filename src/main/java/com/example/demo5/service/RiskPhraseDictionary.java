@@ -0,0 +1,123 @@
+package com.example.demo5.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 통화 중 사용자 발화에서 찾을 위험 문구와 음성 사서함 안내 문구 사전입니다.
+ * 사전 파일(risk-phrases.location)을 미리 매처로 컴파일해 두고, 파일이 바뀌면 통화를 멈추지 않고 새 매처로 교체합니다.
+ *
+ * <pre>
+ * # 주석
+ * [CRITICAL]
+ * 죽고 싶
+ * [VOICEMAIL]
+ * 음성 사서함
+ * </pre>
+ */
+@Slf4j
+@Component
+public class RiskPhraseDictionary {
+
+    public enum Category {
+        VOICEMAIL(null),
+        CAUTION("주의"),
+        CRITICAL("확인 필요");
+
+        private final String statusTag;
+
+        Category(String statusTag) {
+            this.statusTag = statusTag;
+        }
+
+        /**
+         * 이 분류의 문구가 감지되었을 때 회원에게 매길 상태 태그입니다. (음성 사서함은 null)
+         */
+        public String statusTag() {
+            return statusTag;
+        }
+    }
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+
+    private volatile PhraseMatcher<Category> matcher;
+    private volatile long loadedModified;
+
+    public RiskPhraseDictionary(ResourceLoader resourceLoader,
+                                @Value("${risk-phrases.location:classpath:risk-phrases.txt}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+        reload();
+    }
+
+    public List<PhraseMatcher.Match<Category>> match(String utterance) {
+        return matcher.findAll(utterance);
+    }
+
+    /**
+     * 사전 파일이 마지막으로 읽은 뒤 수정되었으면 다시 읽습니다. 수정 시각을 알 수 없는 위치(jar 내부 등)는 건너뜁니다.
+     */
+    @Scheduled(fixedDelayString = "${risk-phrases.reload-interval-ms:30000}")
+    public void reloadIfModified() {
+        try {
+            if (resourceLoader.getResource(location).lastModified() != loadedModified) {
+                reload();
+            }
+        } catch (IOException e) {
+            log.debug("위험 문구 사전의 수정 시각을 확인할 수 없습니다: {}", location);
+        } catch (RuntimeException e) {
+            // 잘못 편집된 파일 때문에 감지가 멈추지 않도록 기존 사전을 계속 사용합니다.
+            log.error("위험 문구 사전을 다시 읽지 못해 기존 사전을 유지합니다: {}", location, e);
+        }
+    }
+
+    public synchronized void reload() {
+        Resource resource = resourceLoader.getResource(location);
+        Map<String, Category> phrases = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            Category category = null;
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith("[") && line.endsWith("]")) {
+                    category = Category.valueOf(line.substring(1, line.length() - 1).strip());
+                } else if (category == null) {
+                    throw new IllegalStateException("분류가 지정되지 않은 문구입니다 (" + lineNumber + "행): " + line);
+                } else {
+                    phrases.put(line, category);
+                }
+            }
+            loadedModified = lastModifiedOf(resource);
+        } catch (IOException e) {
+            throw new IllegalStateException("위험 문구 사전을 읽을 수 없습니다: " + location, e);
+        }
+        matcher = PhraseMatcher.compile(phrases);
+        log.info("위험 문구 사전 로드 완료: {} ({}개)", location, matcher.size());
+    }
+
+    private static long lastModifiedOf(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.triage.TriageItemResponse;
+import com.example.demo5.entity.MemberStatus;
+import com.example.demo5.event.MemberStatusChangedEvent;
+import com.example.demo5.repository.MemberStatusRepository;
+import com.example.demo5.repository.TriageStatusView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 확인이 필요한 회원을 위험도(확인 필요 > 주의)와 최근 변경 순으로 정렬해 메모리에 유지하는 인덱스입니다.
+ * 시작 시 DB에서 한 번 재구성하고, 이후에는 상태 변경 이벤트로만 갱신하므로 조회 시 DB를 사용하지 않습니다.
+ * 상위 k명 조회는 정렬된 집합의 앞에서부터 k개만 읽습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RiskTriageIndex {
+
+    private static final Comparator<Entry> PRIORITY = Comparator
+            .comparingInt(Entry::severity).reversed()
+            .thenComparing(Entry::changedAt, Comparator.reverseOrder())
+            .thenComparing(Entry::memberId);
+
+    private final MemberStatusRepository memberStatusRepository;
+
+    private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(PRIORITY);
+    private final ConcurrentHashMap<String, Entry> byMember = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<TriageStatusView> candidates = memberStatusRepository.findTriageCandidates(MemberStatus.ATTENTION_TAGS);
+        synchronized (this) {
+            ranking.clear();
+            byMember.clear();
+            for (TriageStatusView candidate : candidates) {
+                apply(candidate.getMemberId(), candidate.getStatusTag(), candidate.getUpdatedAt());
+            }
+        }
+        log.info("위험 회원 인덱스 재구성 완료: {}명", byMember.size());
+    }
+
+    // 롤백된 변경이 반영되지 않도록 커밋 이후에 갱신합니다. 트랜잭션 밖에서 발행된 경우 즉시 반영합니다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(MemberStatusChangedEvent event) {
+        update(event.memberId(), event.statusTag(), event.changedAt());
+    }
+
+    public synchronized void update(String memberId, String statusTag, LocalDateTime changedAt) {
+        apply(memberId, statusTag, changedAt);
+    }
+
+    public List<TriageItemResponse> top(int limit) {
+        List<TriageItemResponse> result = new ArrayList<>(Math.min(limit, byMember.size()));
+        Iterator<Entry> iterator = ranking.iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            result.add(new TriageItemResponse(entry.memberId(), entry.statusTag(), entry.severity(), entry.changedAt()));
+        }
+        return result;
+    }
+
+    public int size() {
+        return byMember.size();
+    }
+
+    // 호출자가 this 모니터를 잡고 있어야 합니다. (두 자료구조를 함께 바꾸기 위함)
+    private void apply(String memberId, String statusTag, LocalDateTime changedAt) {
+        Entry previous = byMember.remove(memberId);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        int severity = MemberStatus.severity(statusTag);
+        if (severity == 0) {
+            return; // "안전" 등 확인이 필요 없는 상태는 인덱스에서 제외합니다.
+        }
+        Entry entry = new Entry(memberId, statusTag, severity, changedAt != null ? changedAt : LocalDateTime.now());
+        byMember.put(memberId, entry);
+        ranking.add(entry);
+    }
+
+    private record Entry(String memberId, String statusTag, int severity, LocalDateTime changedAt) {
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.ChatMessage;
+import com.example.demo5.dto.search.TranscriptSearchHit;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 대화 원문 중 사용자 발화만 한국어 형태소 분석(Nori)으로 색인하는 프로세스 내 역색인입니다.
+ * 문서 하나가 발화 하나이며, 같은 통화의 문서는 callLogId로 묶여 통째로 교체됩니다.
+ * 통화 단위 갱신은 커밋(fsync) 없이 NRT 리더로 바로 검색에 반영하고, 디스크 커밋은 commit()을 주기적으로 호출해 묶어서 합니다.
+ * 커밋 전에 프로세스가 죽으면 마지막 커밋 이후의 통화가 색인에서 빠질 수 있으며, 재구성으로 복구합니다.
+ */
+@Slf4j
+@Component
+public class TranscriptSearchIndex {
+
+    private static final String CALL_LOG_ID = "callLogId";
+    private static final String MEMBER_ID = "memberId";
+    private static final String REQUESTED_AT = "requestedAt";
+    private static final String TURN = "turn";
+    private static final String TEXT = "text";
+    private static final String USER_SPEAKER = "User";
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    @Value("${search.index-dir:./data/transcript-index}")
+    private Path indexDir;
+
+    private Directory directory;
+    private Analyzer analyzer;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    @PostConstruct
+    public void open() throws IOException {
+        directory = FSDirectory.open(indexDir);
+        analyzer = new KoreanAnalyzer();
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+        log.info("대화 검색 색인 열기: {} (문서 {}개)", indexDir.toAbsolutePath(), writer.getDocStats().numDocs);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    public boolean isEmpty() {
+        return writer.getDocStats().numDocs == 0;
+    }
+
+    /**
+     * 통화 하나의 사용자 발화를 색인합니다. 이미 색인된 통화면 교체하므로 여러 번 호출해도 안전합니다.
+     */
+    public void indexCall(Long callLogId, String memberId, LocalDateTime requestedAt, List<ChatMessage> transcript) {
+        try {
+            writer.updateDocuments(new Term(CALL_LOG_ID, callLogId.toString()),
+                    toDocuments(callLogId, memberId, requestedAt, transcript));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("대화 검색 색인 갱신 실패: callLogId=" + callLogId, e);
+        }
+    }
+
+    /**
+     * 마지막 커밋 이후의 변경을 디스크에 반영합니다. 변경이 없으면 아무것도 하지 않습니다.
+     */
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("대화 검색 색인 커밋 실패", e);
+        }
+    }
+
+    /**
+     * 색인을 비우고 처음부터 다시 만듭니다. loader가 indexer로 모든 통화를 넘겨줍니다.
+     */
+    public long rebuild(Consumer<CallIndexer> loader) {
+        long[] calls = {0};
+        try {
+            writer.deleteAll();
+            loader.accept((callLogId, memberId, requestedAt, transcript) -> {
+                try {
+                    writer.addDocuments(toDocuments(callLogId, memberId, requestedAt, transcript));
+                    calls[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("대화 검색 색인 재구성 실패", e);
+        }
+        return calls[0];
+    }
+
+    /**
+     * 회원의 사용자 발화 중 검색어와 일치하는 것을 최근 통화 순으로 반환합니다.
+     */
+    public SearchResult search(String memberId, String queryText, int limit) {
+        Query textQuery;
+        try {
+            QueryParser parser = new QueryParser(TEXT, analyzer);
+            parser.setDefaultOperator(QueryParser.Operator.AND);
+            textQuery = parser.parse(QueryParser.escape(queryText));
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("검색어를 해석할 수 없습니다: " + queryText, e);
+        }
+        Query query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(MEMBER_ID, memberId)), BooleanClause.Occur.FILTER)
+                .add(textQuery, BooleanClause.Occur.MUST)
+                .build();
+        Sort recentFirst = new Sort(new SortField(REQUESTED_AT, SortField.Type.LONG, true), new SortField(TURN, SortField.Type.INT));
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, limit, recentFirst);
+                // 발화 원문에 섞인 태그가 그대로 화면에 그려지지 않도록 하이라이트 외의 내용은 HTML 이스케이프합니다.
+                UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                        .withFormatter(new DefaultPassageFormatter("<em>", "</em>", "…", true))
+                        .build();
+                String[] snippets = highlighter.highlight(TEXT, query, topDocs);
+
+                List<TranscriptSearchHit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+                for (int i = 0; i < topDocs.scoreDocs.length; i++) {
+                    Document doc = searcher.storedFields().document(topDocs.scoreDocs[i].doc);
+                    hits.add(new TranscriptSearchHit(
+                            Long.parseLong(doc.get(CALL_LOG_ID)),
+                            LocalDateTime.ofInstant(Instant.ofEpochMilli(doc.getField(REQUESTED_AT).numericValue().longValue()), ZONE),
+                            doc.getField(TURN).numericValue().intValue(),
+                            snippets[i] != null ? snippets[i] : HtmlUtils.htmlEscape(doc.get(TEXT))));
+                }
+                return new SearchResult(topDocs.totalHits.value, hits);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("대화 검색 실패", e);
+        }
+    }
+
+    private List<Document> toDocuments(Long callLogId, String memberId, LocalDateTime requestedAt, List<ChatMessage> transcript) {
+        long requestedAtMillis = requestedAt.atZone(ZONE).toInstant().toEpochMilli();
+        List<Document> documents = new ArrayList<>();
+        for (int turn = 0; turn < transcript.size(); turn++) {
+            ChatMessage message = transcript.get(turn);
+            if (!USER_SPEAKER.equals(message.speaker()) || message.message() == null || message.message().isBlank()) {
+                continue;
+            }
+            Document doc = new Document();
+            doc.add(new StringField(CALL_LOG_ID, callLogId.toString(), Field.Store.YES));
+            doc.add(new StringField(MEMBER_ID, memberId, Field.Store.NO));
+            doc.add(new NumericDocValuesField(REQUESTED_AT, requestedAtMillis));
+            doc.add(new StoredField(REQUESTED_AT, requestedAtMillis));
+            doc.add(new NumericDocValuesField(TURN, turn));
+            doc.add(new StoredField(TURN, turn));
+            doc.add(new TextField(TEXT, message.message(), Field.Store.YES));
+            documents.add(doc);
+        }
+        return documents;
+    }
+
+    @FunctionalInterface
+    public interface CallIndexer {
+        void add(Long callLogId, String memberId, LocalDateTime requestedAt, List<ChatMessage> transcript);
+    }
+
+    public record SearchResult(long totalHits, List<TranscriptSearchHit> hits) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.search.TranscriptSearchResponse;
+import com.example.demo5.event.CallFinalizedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 대화 원문 검색. 통화가 마무리될 때마다 색인을 갱신하고, 색인이 비어 있으면 시작 시 call_log에서 다시 만듭니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TranscriptSearchService {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final TranscriptSearchIndex transcriptSearchIndex;
+    private final MemberLookup memberLookup;
+    private final CallTranscriptReader callTranscriptReader;
+
+    public TranscriptSearchResponse search(String memberId, String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("검색어를 입력해주세요.");
+        }
+        memberLookup.getOrThrow(memberId);
+        long start = System.nanoTime();
+        TranscriptSearchIndex.SearchResult result =
+                transcriptSearchIndex.search(memberId, query.trim(), Math.max(1, Math.min(limit, MAX_LIMIT)));
+        long tookMillis = (System.nanoTime() - start) / 1_000_000;
+        return new TranscriptSearchResponse(query, result.totalHits(), tookMillis, result.hits());
+    }
+
+    // 롤백된 통화가 검색되지 않도록 커밋 이후에 색인합니다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCallFinalized(CallFinalizedEvent event) {
+        try {
+            transcriptSearchIndex.indexCall(event.callLogId(), event.memberId(), event.requestedAt(), event.transcript());
+        } catch (Exception e) {
+            // 검색 색인 실패가 통화 처리에 영향을 주지 않도록 로그만 남깁니다. (재구성으로 복구 가능)
+            log.error("대화 검색 색인 실패: callLogId={}", event.callLogId(), e);
+        }
+    }
+
+    public void commitIndex() {
+        transcriptSearchIndex.commit();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (transcriptSearchIndex.isEmpty()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * call_log의 모든 대화 원문(보관된 원문 포함)으로 색인을 다시 만들고, 색인한 통화 수를 반환합니다.
+     */
+    public long rebuild() {
+        long start = System.currentTimeMillis();
+        long calls = transcriptSearchIndex.rebuild(indexer -> callTranscriptReader.forEachCall(indexer::add));
+        log.info("대화 검색 색인 재구성 완료: 통화 {}건, {}ms", calls, System.currentTimeMillis() - start);
+        return calls;
+    }
+}
@@ -4,14 +4,19 @@ import com.twilio.Twilio;
 import com.twilio.rest.api.v2010.account.Call;
 import com.twilio.type.PhoneNumber;
 import com.twilio.twiml.VoiceResponse;
+import com.twilio.twiml.voice.Connect;
 import com.twilio.twiml.voice.Gather;
 import com.twilio.twiml.voice.Hangup;
+import com.twilio.twiml.voice.Parameter;
 import com.twilio.twiml.voice.Say;
+import com.twilio.twiml.voice.Stream;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @Service
@@ -55,6 +60,31 @@ public class TwilioService {
         return call.getSid();
     }
 
+    /**
+     * 첫 질문을 쿼리 파라미터로 전달하는 맞춤 Welcome URL을 만듭니다.
+     */
+    public String buildCustomWelcomeUrl(String ngrokUrl, String question) {
+        return ngrokUrl + "/api/twilio/call/custom-welcome?question=" + URLEncoder.encode(question, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 미리 준비한 첫 질문(call_opening)을 읽어 안내하는 Welcome URL을 만듭니다.
+     */
+    public String buildPreparedWelcomeUrl(String ngrokUrl, long openingId) {
+        return ngrokUrl + "/api/twilio/call/welcome?opening=" + openingId;
+    }
+
+    /**
+     * 국내 전화번호(010-1234-5678)를 E.164 형식(+821012345678)으로 바꿉니다.
+     */
+    public String formatPhoneNumber(String phoneNumber) {
+        String digitsOnly = phoneNumber.replaceAll("[^0-9]", "");
+        if (digitsOnly.startsWith("0")) {
+            return "+82" + digitsOnly.substring(1);
+        }
+        return digitsOnly;
+    }
+
     /**
      * 메시지를 말하고, 사용자의 음성 입력을 받는 TwiML을 생성합니다.
      */
@@ -81,4 +111,24 @@ public class TwilioService {
         Say say = new Say.Builder(message).voice(Say.Voice.POLLY_SEOYEON_NEURAL).build();
         return new VoiceResponse.Builder().say(say).hangup(new Hangup.Builder().build()).build().toXml();
     }
-}
\ No newline at end of file
+
+    /**
+     * 통화 음성을 웹소켓 미디어 스트림으로 연결하는 TwiML을 생성합니다. 첫 질문은 스트림 파라미터로 전달합니다.
+     */
+    public String createMediaStreamTwiML(String ngrokUrl, String firstQuestion) {
+        String streamUrl = ngrokUrl.replaceFirst("^http", "ws") + "/api/twilio/media-stream";
+        Stream.Builder stream = new Stream.Builder().url(streamUrl);
+        if (firstQuestion != null) {
+            stream.parameter(new Parameter.Builder().name("question").value(firstQuestion).build());
+        }
+        Connect connect = new Connect.Builder().stream(stream.build()).build();
+        return new VoiceResponse.Builder().connect(connect).build().toXml();
+    }
+
+    /**
+     * 진행 중인 통화를 끊습니다. (미디어 스트림 통화는 TwiML로 끊을 수 없으므로 REST API를 사용합니다)
+     */
+    public void endCall(String callSid) {
+        Call.updater(callSid).setStatus(Call.UpdateStatus.COMPLETED).update();
+    }
+}
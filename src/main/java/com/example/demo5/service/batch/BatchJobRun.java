@@ -0,0 +1,35 @@
+package com.example.demo5.service.batch;
+
+import java.time.LocalDateTime;
+
+/**
+ * batch_job_run 행 하나입니다.
+ */
+public record BatchJobRun(
+        long runId,
+        String jobName,
+        Status status,
+        String lastKey,
+        int totalCount,
+        int processedCount,
+        int failedCount,
+        long activeMillis,
+        LocalDateTime createdAt,
+        LocalDateTime startedAt,
+        LocalDateTime updatedAt,
+        LocalDateTime finishedAt
+) {
+
+    public enum Status {
+        // PENDING: 다음 실행 창을 기다림, PAUSED: 창이 끝나거나 재시작으로 멈춤 (다음 창에서 이어서 처리)
+        PENDING, RUNNING, PAUSED, COMPLETED, CANCELLED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == CANCELLED;
+        }
+    }
+
+    public int remainingCount() {
+        return Math.max(totalCount - processedCount - failedCount, 0);
+    }
+}
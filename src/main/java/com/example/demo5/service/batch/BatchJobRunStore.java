@@ -0,0 +1,101 @@
+package com.example.demo5.service.batch;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 일괄 작업 실행 기록(batch_job_run)을 읽고 씁니다. 체크포인트는 묶음이 끝날 때마다 한 번의 UPDATE로 기록합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchJobRunStore {
+
+    private static final RowMapper<BatchJobRun> ROW_MAPPER = (rs, rowNum) -> new BatchJobRun(
+            rs.getLong("run_id"),
+            rs.getString("job_name"),
+            BatchJobRun.Status.valueOf(rs.getString("status")),
+            rs.getString("last_key"),
+            rs.getInt("total_count"),
+            rs.getInt("processed_count"),
+            rs.getInt("failed_count"),
+            rs.getLong("active_millis"),
+            toLocalDateTime(rs.getTimestamp("created_at")),
+            toLocalDateTime(rs.getTimestamp("started_at")),
+            toLocalDateTime(rs.getTimestamp("updated_at")),
+            toLocalDateTime(rs.getTimestamp("finished_at")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BatchJobRun create(String jobName, int totalCount) {
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("""
+                    INSERT INTO batch_job_run (job_name, status, total_count, created_at, updated_at)
+                    VALUES (?, ?, ?, ?, ?)
+                    """, Statement.RETURN_GENERATED_KEYS);
+            statement.setString(1, jobName);
+            statement.setString(2, BatchJobRun.Status.PENDING.name());
+            statement.setInt(3, totalCount);
+            statement.setTimestamp(4, Timestamp.valueOf(now));
+            statement.setTimestamp(5, Timestamp.valueOf(now));
+            return statement;
+        }, keyHolder);
+        return find(keyHolder.getKey().longValue()).orElseThrow();
+    }
+
+    public Optional<BatchJobRun> find(long runId) {
+        return jdbcTemplate.query("SELECT * FROM batch_job_run WHERE run_id = ?", ROW_MAPPER, runId).stream().findFirst();
+    }
+
+    public Optional<BatchJobRun> findLatest(String jobName) {
+        List<BatchJobRun> runs = jdbcTemplate.query(
+                "SELECT * FROM batch_job_run WHERE job_name = ? ORDER BY run_id DESC LIMIT 1", ROW_MAPPER, jobName);
+        return runs.stream().findFirst();
+    }
+
+    public void markRunning(long runId) {
+        jdbcTemplate.update("""
+                UPDATE batch_job_run SET status = ?, started_at = COALESCE(started_at, ?), updated_at = ?
+                WHERE run_id = ?
+                """, BatchJobRun.Status.RUNNING.name(), LocalDateTime.now(), LocalDateTime.now(), runId);
+    }
+
+    /**
+     * 묶음 하나를 끝냈음을 기록합니다. 재시작하면 lastKey 다음부터 처리합니다.
+     */
+    public void recordChunk(long runId, String lastKey, int processed, int failed, long elapsedMillis) {
+        jdbcTemplate.update("""
+                UPDATE batch_job_run
+                SET last_key = ?, processed_count = processed_count + ?, failed_count = failed_count + ?,
+                    active_millis = active_millis + ?, updated_at = ?
+                WHERE run_id = ?
+                """, lastKey, processed, failed, elapsedMillis, LocalDateTime.now(), runId);
+    }
+
+    /**
+     * 이미 끝난(완료, 취소) 실행의 상태는 바꾸지 않습니다. 취소된 뒤 실행기가 멈추면서 PAUSED로 덮어쓰는 일을 막습니다.
+     */
+    public void updateStatus(long runId, BatchJobRun.Status status) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("""
+                UPDATE batch_job_run SET status = ?, updated_at = ?, finished_at = ?
+                WHERE run_id = ? AND status NOT IN ('COMPLETED', 'CANCELLED')
+                """, status.name(), now, status.isFinished() ? now : null, runId);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.demo5.service.batch;
+
+import com.example.demo5.dto.batch.BatchJobStatusResponse;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 일괄 작업의 실행 요청, 야간 실행 창 관리, 진행 상황 조회를 담당합니다.
+ * 실행을 요청하면 PENDING으로 기록해 두었다가 실행 창(batch.window-start ~ batch.window-end)에 처리하고,
+ * 창이 끝나면 체크포인트에서 멈췄다가 다음 날 밤 이어서 처리합니다. 서버가 재시작되어도 같은 방식으로 이어갑니다.
+ */
+@Slf4j
+@Service
+public class BatchJobService {
+
+    private final Map<String, ChunkedJob> jobs;
+    private final BatchJobRunStore runStore;
+    private final ChunkedJobRunner runner;
+    private final Executor coordinatorExecutor;
+
+    // 이 서버에서 실행 중인 작업과 중지 요청 여부
+    private final Map<String, AtomicBoolean> running = new ConcurrentHashMap<>();
+
+    private final LocalTime windowStart;
+    private final LocalTime windowEnd;
+
+    public BatchJobService(List<ChunkedJob> jobs, BatchJobRunStore runStore, ChunkedJobRunner runner,
+                           @Qualifier("batchCoordinatorExecutor") Executor coordinatorExecutor,
+                           @Value("${batch.window-start:01:00}") String windowStart,
+                           @Value("${batch.window-end:06:00}") String windowEnd) {
+        this.jobs = jobs.stream().collect(Collectors.toMap(ChunkedJob::name, Function.identity()));
+        this.runStore = runStore;
+        this.runner = runner;
+        this.coordinatorExecutor = coordinatorExecutor;
+        this.windowStart = LocalTime.parse(windowStart);
+        this.windowEnd = LocalTime.parse(windowEnd);
+    }
+
+    /**
+     * 전체 대상을 처음부터 다시 처리하도록 요청합니다. runNow면 실행 창을 기다리지 않고 바로 시작해 끝까지 처리합니다.
+     * 끝나지 않은 실행이 있으면 새로 만들지 않으며, runNow인 경우 그 실행을 지금 이어서 처리합니다.
+     */
+    public BatchJobStatusResponse request(String jobName, boolean runNow) {
+        ChunkedJob job = findJob(jobName);
+        BatchJobRun unfinished = runStore.findLatest(jobName).filter(run -> !run.status().isFinished()).orElse(null);
+        if (unfinished != null) {
+            if (!runNow) {
+                throw new IllegalStateException("이미 진행 중인 실행이 있습니다: #" + unfinished.runId() + " (" + unfinished.status() + ")");
+            }
+            launch(job, unfinished.runId(), false);
+            return toResponse(unfinished);
+        }
+        BatchJobRun run = runStore.create(jobName, job.countItems());
+        log.info("[Batch] {} #{} 실행 요청: 대상 {}건, 즉시 실행={}", jobName, run.runId(), run.totalCount(), runNow);
+        if (runNow) {
+            launch(job, run.runId(), false);
+        }
+        return toResponse(run);
+    }
+
+    /**
+     * 진행 중인 실행을 취소합니다. 처리 중인 묶음은 마치고 멈춥니다.
+     */
+    public BatchJobStatusResponse cancel(String jobName) {
+        findJob(jobName);
+        BatchJobRun run = runStore.findLatest(jobName)
+                .filter(latest -> !latest.status().isFinished())
+                .orElseThrow(() -> new IllegalStateException("진행 중인 실행이 없습니다: " + jobName));
+        AtomicBoolean stop = running.get(jobName);
+        if (stop != null) {
+            stop.set(true);
+        }
+        runStore.updateStatus(run.runId(), BatchJobRun.Status.CANCELLED);
+        return toResponse(runStore.find(run.runId()).orElseThrow());
+    }
+
+    public BatchJobStatusResponse getStatus(String jobName) {
+        findJob(jobName);
+        return runStore.findLatest(jobName)
+                .map(this::toResponse)
+                .orElseThrow(() -> new EntityNotFoundException("실행 기록이 없습니다: " + jobName));
+    }
+
+    /**
+     * 주기적으로 호출됩니다. 실행 창 안이면 끝나지 않은 실행(대기, 일시 중지, 재시작으로 끊긴 실행)을 이어서 처리합니다.
+     */
+    public void runDueJobs() {
+        if (!inWindow(LocalTime.now())) {
+            return;
+        }
+        for (ChunkedJob job : jobs.values()) {
+            if (running.containsKey(job.name())) {
+                continue;
+            }
+            runStore.findLatest(job.name())
+                    .filter(run -> !run.status().isFinished())
+                    .ifPresent(run -> launch(job, run.runId(), true));
+        }
+    }
+
+    /**
+     * 서버가 실행 도중 종료되어 RUNNING으로 남은 실행을 PAUSED로 돌려 놓습니다. 다음 실행 창에서 체크포인트부터 이어갑니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverInterruptedRuns() {
+        for (ChunkedJob job : jobs.values()) {
+            runStore.findLatest(job.name())
+                    .filter(run -> run.status() == BatchJobRun.Status.RUNNING && !running.containsKey(job.name()))
+                    .ifPresent(run -> {
+                        runStore.updateStatus(run.runId(), BatchJobRun.Status.PAUSED);
+                        log.info("[Batch] {} #{}: 재시작 전 마지막 키 {} 다음부터 이어서 처리합니다.", job.name(), run.runId(), run.lastKey());
+                    });
+        }
+    }
+
+    @PreDestroy
+    void stopAll() {
+        // 진행 중인 묶음을 마치고 체크포인트를 남긴 뒤 멈추도록 합니다.
+        running.values().forEach(stop -> stop.set(true));
+    }
+
+    boolean inWindow(LocalTime time) {
+        if (windowStart.isBefore(windowEnd)) {
+            return !time.isBefore(windowStart) && time.isBefore(windowEnd);
+        }
+        // 자정을 넘는 창 (예: 23:00 ~ 05:00)
+        return !time.isBefore(windowStart) || time.isBefore(windowEnd);
+    }
+
+    private void launch(ChunkedJob job, long runId, boolean withinWindow) {
+        AtomicBoolean stop = new AtomicBoolean();
+        if (running.putIfAbsent(job.name(), stop) != null) {
+            return;
+        }
+        try {
+            coordinatorExecutor.execute(() -> {
+                try {
+                    runner.run(job, runId, () -> stop.get() || (withinWindow && !inWindow(LocalTime.now())));
+                } catch (Exception e) {
+                    log.error("[Batch] {} #{} 실행 중 오류", job.name(), runId, e);
+                    runStore.updateStatus(runId, BatchJobRun.Status.PAUSED);
+                } finally {
+                    running.remove(job.name());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // 다른 작업이 실행 중이면 다음 주기에 다시 시도합니다.
+            running.remove(job.name());
+            log.info("[Batch] 다른 작업이 실행 중이어서 {} #{}의 시작을 미룹니다.", job.name(), runId);
+        }
+    }
+
+    private ChunkedJob findJob(String jobName) {
+        ChunkedJob job = jobs.get(jobName);
+        if (job == null) {
+            throw new IllegalArgumentException("알 수 없는 작업입니다: " + jobName);
+        }
+        return job;
+    }
+
+    private BatchJobStatusResponse toResponse(BatchJobRun run) {
+        int done = run.processedCount() + run.failedCount();
+        double itemsPerMinute = run.activeMillis() > 0 ? done / (run.activeMillis() / 60_000.0) : 0;
+        Long remainingMinutes = null;
+        LocalDateTime estimatedCompletionAt = null;
+        if (!run.status().isFinished() && itemsPerMinute > 0) {
+            remainingMinutes = (long) Math.ceil(run.remainingCount() / itemsPerMinute);
+            if (run.status() == BatchJobRun.Status.RUNNING) {
+                estimatedCompletionAt = LocalDateTime.now().plus(
+                        (long) (run.remainingCount() / itemsPerMinute * 60_000), ChronoUnit.MILLIS);
+            }
+        }
+
+        return BatchJobStatusResponse.builder()
+                .runId(run.runId())
+                .jobName(run.jobName())
+                .status(run.status().name())
+                .totalCount(run.totalCount())
+                .processedCount(run.processedCount())
+                .failedCount(run.failedCount())
+                .remainingCount(run.remainingCount())
+                .lastKey(run.lastKey())
+                .itemsPerMinute(Math.round(itemsPerMinute * 10) / 10.0)
+                .estimatedRemainingMinutes(remainingMinutes)
+                .estimatedCompletionAt(estimatedCompletionAt)
+                .createdAt(run.createdAt())
+                .startedAt(run.startedAt())
+                .updatedAt(run.updatedAt())
+                .finishedAt(run.finishedAt())
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo5.service.batch;
+
+import java.util.List;
+
+/**
+ * 키 순서로 묶음(chunk) 단위로 나누어 처리하는 일괄 작업입니다.
+ * 항목 처리는 여러 번 실행되어도 결과가 같아야 합니다. (재시작하면 마지막으로 기록되지 않은 묶음을 다시 처리합니다)
+ */
+public interface ChunkedJob {
+
+    String name();
+
+    int chunkSize();
+
+    /**
+     * 항목 하나를 처리하기 전에 허용량을 받는 예산입니다. (LLM 호출 속도 제한 등)
+     */
+    RateBudget rateBudget();
+
+    int countItems();
+
+    /**
+     * afterKey(null이면 처음)보다 큰 키를 오름차순으로 최대 size개 돌려줍니다.
+     */
+    List<String> nextChunk(String afterKey, int size);
+
+    void process(String key);
+}
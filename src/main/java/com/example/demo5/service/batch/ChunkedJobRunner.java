@@ -0,0 +1,92 @@
+package com.example.demo5.service.batch;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 일괄 작업 하나를 체크포인트부터 이어서 실행합니다.
+ * 묶음 안의 항목은 batchExecutor에서 동시에 처리하고(풀 크기만큼), 항목마다 작업의 속도 예산을 받은 뒤 실행합니다.
+ * 묶음이 모두 끝나야 체크포인트를 기록하므로, 중간에 멈추면 그 묶음은 다음 실행에서 처음부터 다시 처리합니다.
+ * 실패한 항목은 건너뛰고 개수만 기록합니다. (다음 실행 요청 때 다시 대상이 됩니다)
+ */
+@Slf4j
+@Component
+public class ChunkedJobRunner {
+
+    private final BatchJobRunStore runStore;
+    private final Executor batchExecutor;
+    private final MeterRegistry meterRegistry;
+
+    public ChunkedJobRunner(BatchJobRunStore runStore, @Qualifier("batchExecutor") Executor batchExecutor,
+                            MeterRegistry meterRegistry) {
+        this.runStore = runStore;
+        this.batchExecutor = batchExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * stopRequested가 true가 되면 진행 중인 묶음을 마친 뒤 PAUSED로 멈춥니다.
+     * 반환 값은 이번 실행이 끝난 시점의 기록입니다.
+     */
+    public BatchJobRun run(ChunkedJob job, long runId, BooleanSupplier stopRequested) {
+        BatchJobRun run = runStore.find(runId).orElseThrow();
+        runStore.markRunning(runId);
+        String lastKey = run.lastKey();
+        log.info("[Batch] {} #{} 시작: 마지막 키={}, 처리 {}/{}", job.name(), runId, lastKey, run.processedCount(), run.totalCount());
+
+        while (!stopRequested.getAsBoolean()) {
+            List<String> chunk = job.nextChunk(lastKey, job.chunkSize());
+            if (chunk.isEmpty()) {
+                runStore.updateStatus(runId, BatchJobRun.Status.COMPLETED);
+                BatchJobRun completed = runStore.find(runId).orElseThrow();
+                log.info("[Batch] {} #{} 완료: 성공 {}건, 실패 {}건", job.name(), runId, completed.processedCount(), completed.failedCount());
+                return completed;
+            }
+
+            long startedAt = System.currentTimeMillis();
+            AtomicInteger failed = new AtomicInteger();
+            AtomicBoolean interrupted = new AtomicBoolean();
+            CompletableFuture.allOf(chunk.stream()
+                    .map(key -> CompletableFuture.runAsync(() -> processItem(job, key, failed, interrupted), batchExecutor))
+                    .toArray(CompletableFuture[]::new)).join();
+
+            if (interrupted.get()) {
+                // 종료 중에 끊긴 항목이 있으면 이 묶음은 기록하지 않고 다음 실행에서 다시 처리합니다.
+                break;
+            }
+            lastKey = chunk.get(chunk.size() - 1);
+            int failedCount = failed.get();
+            runStore.recordChunk(runId, lastKey, chunk.size() - failedCount, failedCount, System.currentTimeMillis() - startedAt);
+            meterRegistry.counter("batch.items", "job", job.name(), "result", "success").increment(chunk.size() - failedCount);
+            meterRegistry.counter("batch.items", "job", job.name(), "result", "failure").increment(failedCount);
+        }
+
+        runStore.updateStatus(runId, BatchJobRun.Status.PAUSED);
+        BatchJobRun paused = runStore.find(runId).orElseThrow();
+        log.info("[Batch] {} #{} 일시 중지: 마지막 키={}, 처리 {}/{}", job.name(), runId, paused.lastKey(),
+                paused.processedCount() + paused.failedCount(), paused.totalCount());
+        return paused;
+    }
+
+    private void processItem(ChunkedJob job, String key, AtomicInteger failed, AtomicBoolean interrupted) {
+        try {
+            job.rateBudget().acquire();
+            job.process(key);
+        } catch (InterruptedException e) {
+            interrupted.set(true);
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.warn("[Batch] {} 항목 처리 실패: key={}", job.name(), key, e);
+        }
+    }
+}
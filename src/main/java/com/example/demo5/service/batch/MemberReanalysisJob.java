@@ -0,0 +1,81 @@
+package com.example.demo5.service.batch;
+
+import com.example.demo5.dto.analysis.AnalysisResponse;
+import com.example.demo5.service.KeywordAnalysisService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 분석 프롬프트나 항목이 바뀌었을 때 회원 분석(member_keyword)을 다시 만드는 작업입니다.
+ * 통화 종료 시와 같은 분석(KeywordAnalysisService)을 실행하며, 분석 기간 안에 통화가 있는 회원만 대상으로 합니다.
+ * 항목당 LLM을 한 번 호출하므로 속도 예산은 분당 LLM 호출 수입니다.
+ */
+@Component
+public class MemberReanalysisJob implements ChunkedJob {
+
+    public static final String NAME = "member-reanalysis";
+
+    private final KeywordAnalysisService keywordAnalysisService;
+    private final JdbcTemplate jdbcTemplate;
+    private final RateBudget rateBudget;
+    private final int chunkSize;
+
+    public MemberReanalysisJob(KeywordAnalysisService keywordAnalysisService, JdbcTemplate jdbcTemplate,
+                               @Value("${batch.reanalysis.llm-calls-per-minute:60}") double llmCallsPerMinute,
+                               @Value("${batch.reanalysis.chunk-size:50}") int chunkSize) {
+        this.keywordAnalysisService = keywordAnalysisService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.rateBudget = new RateBudget(llmCallsPerMinute);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public RateBudget rateBudget() {
+        return rateBudget;
+    }
+
+    @Override
+    public int countItems() {
+        Integer count = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM member m
+                WHERE EXISTS (SELECT 1 FROM call_log c WHERE c.member_id = m.member_id AND c.requested_at >= ?)
+                """, Integer.class, analysisSince());
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public List<String> nextChunk(String afterKey, int size) {
+        // 회원 ID(기본 키) 순서의 키셋 조회이므로 진행 위치와 관계없이 묶음마다 비용이 같습니다.
+        return jdbcTemplate.queryForList("""
+                SELECT m.member_id FROM member m
+                WHERE m.member_id > ?
+                  AND EXISTS (SELECT 1 FROM call_log c WHERE c.member_id = m.member_id AND c.requested_at >= ?)
+                ORDER BY m.member_id
+                LIMIT ?
+                """, String.class, afterKey != null ? afterKey : "", analysisSince(), size);
+    }
+
+    @Override
+    public void process(String memberId) {
+        AnalysisResponse response = keywordAnalysisService.performAnalysis(memberId);
+        keywordAnalysisService.saveKeywords(memberId, response);
+    }
+
+    private LocalDateTime analysisSince() {
+        return LocalDateTime.now().minusDays(KeywordAnalysisService.ANALYSIS_WINDOW_DAYS);
+    }
+}
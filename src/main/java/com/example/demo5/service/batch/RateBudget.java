@@ -0,0 +1,48 @@
+package com.example.demo5.service.batch;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 분당 허용 횟수를 고르게 나누어 주는 속도 제한입니다.
+ * 허용 시각을 차례로 예약하므로 여러 스레드가 동시에 요청해도 간격이 지켜지고, 쉬는 동안 허용량이 쌓이지 않습니다.
+ */
+public class RateBudget {
+
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private long nextPermitNanos;
+
+    public RateBudget(double permitsPerMinute) {
+        this(permitsPerMinute, System::nanoTime);
+    }
+
+    RateBudget(double permitsPerMinute, LongSupplier nanoClock) {
+        if (permitsPerMinute <= 0) {
+            throw new IllegalArgumentException("분당 허용 횟수는 0보다 커야 합니다: " + permitsPerMinute);
+        }
+        this.intervalNanos = (long) (TimeUnit.MINUTES.toNanos(1) / permitsPerMinute);
+        this.nanoClock = nanoClock;
+        this.nextPermitNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * 다음 허용 시각까지 기다립니다.
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * 허용 시각 하나를 예약하고, 그때까지 기다려야 하는 시간을 돌려줍니다.
+     */
+    synchronized long reserve() {
+        long now = nanoClock.getAsLong();
+        long permitAt = Math.max(now, nextPermitNanos);
+        nextPermitNanos = permitAt + intervalNanos;
+        return permitAt - now;
+    }
+}
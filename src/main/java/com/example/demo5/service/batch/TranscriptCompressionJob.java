@@ -0,0 +1,85 @@
+package com.example.demo5.service.batch;
+
+import com.example.demo5.entity.converter.TranscriptCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 압축 도입 전(V2 이관)에 평문 JSON으로 옮겨진 call_transcript를 압축 형식으로 다시 기록하는 작업입니다.
+ * 대화 원문은 통화가 끝난 뒤 다시 저장되지 않으므로, 이 작업을 실행해야 기존 행이 압축됩니다.
+ * 버전 헤더(0x01~0x08)로 시작하지 않는 행만 대상으로 하며, 이미 압축된 행은 건너뛰므로 여러 번 실행해도 결과가 같습니다.
+ */
+@Component
+public class TranscriptCompressionJob implements ChunkedJob {
+
+    public static final String NAME = "transcript-compression";
+
+    // 첫 바이트가 버전 헤더가 아닌 행 = 평문 JSON
+    private static final String LEGACY_CONDITION = "ASCII(content) NOT BETWEEN 1 AND 8";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RateBudget rateBudget;
+    private final int chunkSize;
+
+    public TranscriptCompressionJob(JdbcTemplate jdbcTemplate,
+                                    @Value("${batch.transcript-compression.rows-per-minute:6000}") double rowsPerMinute,
+                                    @Value("${batch.transcript-compression.chunk-size:200}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rateBudget = new RateBudget(rowsPerMinute);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public RateBudget rateBudget() {
+        return rateBudget;
+    }
+
+    @Override
+    public int countItems() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM call_transcript WHERE " + LEGACY_CONDITION, Integer.class);
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public List<String> nextChunk(String afterKey, int size) {
+        // 키는 문자열로 기록되지만 숫자 기본 키 순서로 이어서 읽습니다.
+        long after = afterKey != null ? Long.parseLong(afterKey) : 0L;
+        return jdbcTemplate.queryForList("""
+                SELECT transcript_id FROM call_transcript
+                WHERE transcript_id > ? AND %s
+                ORDER BY transcript_id
+                LIMIT ?
+                """.formatted(LEGACY_CONDITION), Long.class, after, size)
+                .stream()
+                .map(String::valueOf)
+                .toList();
+    }
+
+    @Override
+    public void process(String key) {
+        long transcriptId = Long.parseLong(key);
+        List<byte[]> rows = jdbcTemplate.queryForList(
+                "SELECT content FROM call_transcript WHERE transcript_id = ?", byte[].class, transcriptId);
+        if (rows.isEmpty() || TranscriptCodec.isEncoded(rows.get(0))) {
+            return;
+        }
+        byte[] encoded = TranscriptCodec.encode(TranscriptCodec.decode(rows.get(0)));
+        // 그 사이 다른 저장으로 이미 압축되었다면 덮어쓰지 않습니다.
+        jdbcTemplate.update("UPDATE call_transcript SET content = ? WHERE transcript_id = ? AND " + LEGACY_CONDITION,
+                encoded, transcriptId);
+    }
+}
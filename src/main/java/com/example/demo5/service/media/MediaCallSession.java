@@ -0,0 +1,185 @@
+package com.example.demo5.service.media;
+
+import com.example.demo5.dto.call.TurnResult;
+import com.example.demo5.service.QnaService;
+import com.example.demo5.service.TwilioService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 미디어 스트림 통화 하나의 대화 진행 상태입니다.
+ * 들어온 음성은 음성 인식기로 넘기고, 인식된 발화는 QnaService의 대화 로직으로 처리한 뒤 합성한 음성을 바로 내보냅니다.
+ * AI가 말하는 중에 사용자가 말하기 시작하면 남은 음성을 버리고 사용자의 말을 듣습니다. (끼어들기)
+ * 발화 처리와 음성 합성은 통화마다 순서대로 별도 스레드에서 실행되므로 음성 수신이 막히지 않습니다.
+ * AI가 말을 마친 뒤 사용자가 정해진 시간(conversation.media.no-speech-timeout-ms) 동안 말하지 않으면,
+ * Gather 방식의 무응답과 같이 빈 발화로 턴을 처리해 통화를 "timeout"으로 마무리합니다.
+ * 미디어 스트림은 무음 구간에도 20ms마다 프레임을 보내므로, 시간은 받은 프레임 수로 잽니다.
+ */
+@Slf4j
+public class MediaCallSession implements SpeechToText.Listener {
+
+    private final QnaService qnaService;
+    private final TwilioService twilioService;
+    private final SpeechToText speechToText;
+    private final TextToSpeech textToSpeech;
+    private final Executor executor;
+    private final MediaSink sink;
+    private final int noSpeechTimeoutFrames;
+
+    // 말하기마다 증가합니다. 끼어들기나 다음 말하기가 시작되면 진행 중이던 말하기는 자신의 번호가 바뀐 것을 보고 멈춥니다.
+    private final AtomicInteger playback = new AtomicInteger();
+    private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+    private String callSid;
+    private SpeechToText.Session recognizer;
+    private volatile boolean speaking;
+    private volatile String pendingMark;
+    private volatile boolean endAfterPlayback;
+    private volatile boolean closed;
+    // AI가 말을 마치고 사용자의 발화를 기다리는 중인지와, 그동안 받은 무음 프레임 수
+    private volatile boolean awaitingSpeech;
+    private volatile int silentFrames;
+
+    MediaCallSession(QnaService qnaService, TwilioService twilioService, SpeechToText speechToText,
+                     TextToSpeech textToSpeech, Executor executor, MediaSink sink, long noSpeechTimeoutMs) {
+        this.qnaService = qnaService;
+        this.twilioService = twilioService;
+        this.speechToText = speechToText;
+        this.textToSpeech = textToSpeech;
+        this.executor = executor;
+        this.sink = sink;
+        this.noSpeechTimeoutFrames = (int) Math.max(1, noSpeechTimeoutMs / MulawCodec.FRAME_MILLIS);
+    }
+
+    public void start(String callSid, String firstQuestion) {
+        this.callSid = callSid;
+        this.recognizer = speechToText.open(this);
+        log.info("Media stream started (CallSid: {}).", callSid);
+        enqueue(() -> speak(qnaService.startConversation(callSid, firstQuestion), false));
+    }
+
+    public void onAudio(byte[] mulawFrame) {
+        if (recognizer == null || closed) {
+            return;
+        }
+        recognizer.accept(mulawFrame);
+        if (awaitingSpeech && ++silentFrames >= noSpeechTimeoutFrames) {
+            awaitingSpeech = false;
+            log.info("No speech within timeout (CallSid: {}).", callSid);
+            // 빈 발화는 대화 로직에서 무응답으로 처리되어 통화 기록이 저장되고 종료 안내가 돌아옵니다.
+            respondTo("");
+        }
+    }
+
+    /**
+     * 보낸 음성이 재생을 마쳤다는 표시가 돌아왔습니다.
+     */
+    public void onMark(String name) {
+        if (!name.equals(pendingMark)) {
+            return;
+        }
+        pendingMark = null;
+        speaking = false;
+        if (endAfterPlayback) {
+            endCall();
+        } else {
+            awaitSpeech();
+        }
+    }
+
+    public void stop() {
+        closed = true;
+        awaitingSpeech = false;
+        playback.incrementAndGet();
+        if (recognizer != null) {
+            recognizer.close();
+        }
+        log.info("Media stream stopped (CallSid: {}).", callSid);
+    }
+
+    @Override
+    public void onSpeechStarted() {
+        awaitingSpeech = false;
+        if (!speaking) {
+            return;
+        }
+        // 끼어들기: 합성 중인 음성을 멈추고 이미 보낸 음성도 버립니다.
+        playback.incrementAndGet();
+        speaking = false;
+        pendingMark = null;
+        sink.clearAudio();
+        log.info("Barge-in detected (CallSid: {}).", callSid);
+        if (endAfterPlayback) {
+            endCall(); // 마지막 인사 중이었다면 대화는 이미 저장되었으므로 바로 끊습니다.
+        }
+    }
+
+    @Override
+    public void onTranscript(String transcript) {
+        if (closed) {
+            return;
+        }
+        if (transcript == null || transcript.isBlank()) {
+            // 잡음 등으로 인식된 내용이 없으면 계속 듣습니다. AI가 말하는 중이 아니면 무응답 시간을 다시 잽니다.
+            if (!speaking && pendingMark == null) {
+                awaitSpeech();
+            }
+            return;
+        }
+        respondTo(transcript);
+    }
+
+    private void respondTo(String transcript) {
+        enqueue(() -> {
+            TurnResult result = qnaService.processTurn(callSid, transcript);
+            speak(result.reply(), result.endCall());
+        });
+    }
+
+    private void awaitSpeech() {
+        silentFrames = 0;
+        awaitingSpeech = true;
+    }
+
+    private void speak(String text, boolean endCall) {
+        int current = playback.incrementAndGet();
+        awaitingSpeech = false;
+        speaking = true;
+        endAfterPlayback = endCall;
+        try (Stream<byte[]> frames = textToSpeech.synthesize(text)) {
+            Iterator<byte[]> iterator = frames.iterator();
+            while (iterator.hasNext()) {
+                if (playback.get() != current || closed) {
+                    return; // 끼어들기로 취소되었습니다. 스트림을 닫아 남은 합성도 취소합니다.
+                }
+                sink.sendAudio(iterator.next());
+            }
+        }
+        if (playback.get() == current && !closed) {
+            String mark = "reply-" + current;
+            pendingMark = mark;
+            sink.sendMark(mark);
+        }
+    }
+
+    private void endCall() {
+        endAfterPlayback = false;
+        try {
+            twilioService.endCall(callSid);
+        } catch (Exception e) {
+            log.error("Failed to end call (CallSid: {}).", callSid, e);
+        }
+    }
+
+    private synchronized void enqueue(Runnable task) {
+        tail = tail.thenRunAsync(task, executor).exceptionally(e -> {
+            log.error("Media conversation task failed (CallSid: {}).", callSid, e);
+            return null;
+        });
+    }
+}
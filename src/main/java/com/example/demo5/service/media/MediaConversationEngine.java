@@ -0,0 +1,40 @@
+package com.example.demo5.service.media;
+
+import com.example.demo5.service.QnaService;
+import com.example.demo5.service.TwilioService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 미디어 스트림(웹소켓) 방식의 대화 엔진입니다. Gather 웹훅을 왕복하지 않고 음성 인식, 대화 로직, 음성 합성을 서버에서 바로 잇습니다.
+ * 음성 인식기와 합성기는 인터페이스로 주입되므로 다른 구현(또는 테스트용 가짜 구현)으로 바꿀 수 있습니다.
+ */
+@Service
+public class MediaConversationEngine {
+
+    private final QnaService qnaService;
+    private final TwilioService twilioService;
+    private final SpeechToText speechToText;
+    private final TextToSpeech textToSpeech;
+    private final Executor mediaExecutor;
+    private final long noSpeechTimeoutMs;
+
+    public MediaConversationEngine(QnaService qnaService, TwilioService twilioService, SpeechToText speechToText,
+                                   TextToSpeech textToSpeech, @Qualifier("mediaExecutor") Executor mediaExecutor,
+                                   @Value("${conversation.media.no-speech-timeout-ms:5000}") long noSpeechTimeoutMs) {
+        this.qnaService = qnaService;
+        this.twilioService = twilioService;
+        this.speechToText = speechToText;
+        this.textToSpeech = textToSpeech;
+        this.mediaExecutor = mediaExecutor;
+        this.noSpeechTimeoutMs = noSpeechTimeoutMs;
+    }
+
+    public MediaCallSession newSession(MediaSink sink) {
+        return new MediaCallSession(qnaService, twilioService, speechToText, textToSpeech, mediaExecutor, sink,
+                noSpeechTimeoutMs);
+    }
+}
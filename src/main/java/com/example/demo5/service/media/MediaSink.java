@@ -0,0 +1,19 @@
+package com.example.demo5.service.media;
+
+/**
+ * 통화 상대에게 음성을 내보내는 출력 채널입니다. (Twilio 미디어 스트림 웹소켓 등)
+ */
+public interface MediaSink {
+
+    void sendAudio(byte[] mulawFrame);
+
+    /**
+     * 지금까지 보낸 음성이 모두 재생되면 같은 이름으로 알려달라고 표시합니다.
+     */
+    void sendMark(String name);
+
+    /**
+     * 보냈지만 아직 재생되지 않은 음성을 버립니다. (끼어들기)
+     */
+    void clearAudio();
+}
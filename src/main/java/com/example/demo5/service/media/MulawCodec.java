@@ -0,0 +1,100 @@
+package com.example.demo5.service.media;
+
+/**
+ * 전화망 음성 형식(G.711 μ-law, 8kHz, 모노)과 16비트 PCM 사이의 변환입니다.
+ * Twilio 미디어 스트림은 20ms(160바이트) 단위의 μ-law 프레임을 주고받습니다.
+ */
+public final class MulawCodec {
+
+    public static final int SAMPLE_RATE = 8000;
+    public static final int FRAME_BYTES = 160; // 20ms
+    public static final int FRAME_MILLIS = 20;
+
+    private static final int BIAS = 0x84;
+    private static final int CLIP = 32635;
+
+    private MulawCodec() {
+    }
+
+    public static byte encode(int sample) {
+        int sign = (sample >> 8) & 0x80;
+        if (sign != 0) {
+            sample = -sample;
+        }
+        if (sample > CLIP) {
+            sample = CLIP;
+        }
+        sample += BIAS;
+        int exponent = 7;
+        for (int mask = 0x4000; (sample & mask) == 0 && exponent > 0; mask >>= 1) {
+            exponent--;
+        }
+        int mantissa = (sample >> (exponent + 3)) & 0x0F;
+        return (byte) ~(sign | (exponent << 4) | mantissa);
+    }
+
+    public static short decode(byte mulaw) {
+        int value = ~mulaw & 0xFF;
+        int sign = value & 0x80;
+        int exponent = (value >> 4) & 0x07;
+        int mantissa = value & 0x0F;
+        int sample = (((mantissa << 3) + BIAS) << exponent) - BIAS;
+        return (short) (sign != 0 ? -sample : sample);
+    }
+
+    /**
+     * 프레임의 평균 에너지(RMS)입니다. 음성 구간 감지에 사용합니다.
+     */
+    public static double rms(byte[] mulawFrame) {
+        if (mulawFrame.length == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (byte b : mulawFrame) {
+            double sample = decode(b);
+            sum += sample * sample;
+        }
+        return Math.sqrt(sum / mulawFrame.length);
+    }
+
+    /**
+     * μ-law 오디오를 16비트 PCM WAV 파일로 감쌉니다. (파일 단위 음성 인식 API 전달용)
+     */
+    public static byte[] toWav(byte[] mulaw) {
+        int dataLength = mulaw.length * 2;
+        byte[] wav = new byte[44 + dataLength];
+        writeAscii(wav, 0, "RIFF");
+        writeInt(wav, 4, 36 + dataLength);
+        writeAscii(wav, 8, "WAVE");
+        writeAscii(wav, 12, "fmt ");
+        writeInt(wav, 16, 16);
+        writeShort(wav, 20, 1); // PCM
+        writeShort(wav, 22, 1); // 모노
+        writeInt(wav, 24, SAMPLE_RATE);
+        writeInt(wav, 28, SAMPLE_RATE * 2);
+        writeShort(wav, 32, 2);
+        writeShort(wav, 34, 16);
+        writeAscii(wav, 36, "data");
+        writeInt(wav, 40, dataLength);
+        for (int i = 0; i < mulaw.length; i++) {
+            writeShort(wav, 44 + i * 2, decode(mulaw[i]));
+        }
+        return wav;
+    }
+
+    private static void writeAscii(byte[] target, int offset, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            target[offset + i] = (byte) value.charAt(i);
+        }
+    }
+
+    private static void writeInt(byte[] target, int offset, int value) {
+        writeShort(target, offset, value);
+        writeShort(target, offset + 2, value >> 16);
+    }
+
+    private static void writeShort(byte[] target, int offset, int value) {
+        target[offset] = (byte) value;
+        target[offset + 1] = (byte) (value >> 8);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo5.service.media;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.audio.transcription.AudioTranscriptionPrompt;
+import org.springframework.ai.openai.OpenAiAudioTranscriptionModel;
+import org.springframework.ai.openai.OpenAiAudioTranscriptionOptions;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * OpenAI 음성 인식을 사용하는 기본 구현입니다. 발화 구간은 서버에서 프레임 에너지로 나누고,
+ * 발화가 끝나는 즉시 그 구간만 인식 API로 보냅니다. (인식 API가 파일 단위이므로 발화 단위로 스트리밍합니다)
+ * 한 통화의 발화들은 앞 발화의 인식이 끝난 뒤에 차례로 인식하므로, 대화 턴이 말한 순서대로 전달됩니다.
+ */
+@Slf4j
+@Component
+public class OpenAiSpeechToText implements SpeechToText {
+
+    // 발화 시작 판정 전의 소리도 인식되도록 직전 프레임 일부를 함께 보냅니다.
+    private static final int PREROLL_FRAMES = 10;
+
+    private final OpenAiAudioTranscriptionModel transcriptionModel;
+    private final Executor mediaExecutor;
+    private final OpenAiAudioTranscriptionOptions options = OpenAiAudioTranscriptionOptions.builder()
+            .language("ko")
+            .build();
+
+    @Value("${conversation.media.vad-threshold:400}")
+    private double vadThreshold;
+
+    @Value("${conversation.media.speech-start-ms:60}")
+    private int speechStartMs;
+
+    @Value("${conversation.media.speech-end-ms:700}")
+    private int speechEndMs;
+
+    public OpenAiSpeechToText(OpenAiAudioTranscriptionModel transcriptionModel,
+                              @Qualifier("mediaExecutor") Executor mediaExecutor) {
+        this.transcriptionModel = transcriptionModel;
+        this.mediaExecutor = mediaExecutor;
+    }
+
+    @Override
+    public Session open(Listener listener) {
+        VoiceActivityDetector detector = new VoiceActivityDetector(vadThreshold, speechStartMs / 20, speechEndMs / 20);
+        return new Session() {
+            private final ArrayDeque<byte[]> preroll = new ArrayDeque<>(PREROLL_FRAMES);
+            private ByteArrayOutputStream utterance;
+            // 이 통화에서 마지막으로 맡긴 인식 작업. 다음 발화는 이 작업 뒤에 이어 붙입니다.
+            private CompletableFuture<Void> transcriptions = CompletableFuture.completedFuture(null);
+
+            @Override
+            public void accept(byte[] mulawFrame) {
+                VoiceActivityDetector.Event event = detector.accept(mulawFrame);
+                if (event == VoiceActivityDetector.Event.SPEECH_STARTED) {
+                    utterance = new ByteArrayOutputStream();
+                    preroll.forEach(utterance::writeBytes);
+                    listener.onSpeechStarted();
+                }
+                if (utterance != null) {
+                    utterance.writeBytes(mulawFrame);
+                } else {
+                    if (preroll.size() == PREROLL_FRAMES) {
+                        preroll.pollFirst();
+                    }
+                    preroll.addLast(mulawFrame);
+                }
+                if (event == VoiceActivityDetector.Event.SPEECH_ENDED) {
+                    byte[] audio = utterance.toByteArray();
+                    utterance = null;
+                    preroll.clear();
+                    transcriptions = transcriptions
+                            .thenRunAsync(() -> listener.onTranscript(transcribe(audio)), mediaExecutor)
+                            .exceptionally(e -> {
+                                log.error("발화 처리 실패", e);
+                                return null;
+                            });
+                }
+            }
+
+            @Override
+            public void close() {
+                utterance = null;
+            }
+        };
+    }
+
+    private String transcribe(byte[] mulaw) {
+        try {
+            ByteArrayResource wav = new ByteArrayResource(MulawCodec.toWav(mulaw)) {
+                @Override
+                public String getFilename() {
+                    return "utterance.wav"; // 인식 API가 파일 이름으로 형식을 판단합니다.
+                }
+            };
+            String text = transcriptionModel.call(new AudioTranscriptionPrompt(wav, options)).getResult().getOutput();
+            return text != null ? text.trim() : "";
+        } catch (Exception e) {
+            log.error("음성 인식 실패 ({} bytes)", mulaw.length, e);
+            return "";
+        }
+    }
+}
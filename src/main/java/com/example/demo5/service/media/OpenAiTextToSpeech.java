@@ -0,0 +1,99 @@
+package com.example.demo5.service.media;
+
+import org.springframework.ai.openai.OpenAiAudioSpeechModel;
+import org.springframework.ai.openai.OpenAiAudioSpeechOptions;
+import org.springframework.ai.openai.api.OpenAiAudioApi;
+import org.springframework.ai.openai.audio.speech.SpeechPrompt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * OpenAI 음성 합성을 사용하는 기본 구현입니다. 24kHz PCM으로 스트리밍 받아 받는 대로 8kHz μ-law 프레임으로 바꿉니다.
+ */
+@Component
+public class OpenAiTextToSpeech implements TextToSpeech {
+
+    private static final int SOURCE_RATE = 24000;
+    private static final int DECIMATION = SOURCE_RATE / MulawCodec.SAMPLE_RATE;
+
+    private final OpenAiAudioSpeechModel speechModel;
+    private final OpenAiAudioSpeechOptions options;
+
+    public OpenAiTextToSpeech(OpenAiAudioSpeechModel speechModel,
+                              @Value("${conversation.media.tts-voice:nova}") String voice) {
+        this.speechModel = speechModel;
+        this.options = OpenAiAudioSpeechOptions.builder()
+                .voice(voice)
+                .responseFormat(OpenAiAudioApi.SpeechRequest.AudioResponseFormat.PCM)
+                .build();
+    }
+
+    @Override
+    public Stream<byte[]> synthesize(String text) {
+        FrameConverter converter = new FrameConverter();
+        return Flux.concat(
+                        speechModel.stream(new SpeechPrompt(text, options))
+                                .map(response -> converter.push(response.getResult().getOutput())),
+                        Flux.defer(() -> Flux.just(converter.flush())))
+                .flatMapIterable(frames -> frames)
+                .toStream();
+    }
+
+    /**
+     * 24kHz 16비트 PCM 조각을 8kHz μ-law 20ms 프레임으로 바꿉니다. 조각 경계에 걸친 바이트와 샘플은 다음 조각으로 넘깁니다.
+     */
+    static final class FrameConverter {
+
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private byte[] carry = new byte[0];
+
+        List<byte[]> push(byte[] pcm) {
+            byte[] data = new byte[carry.length + pcm.length];
+            System.arraycopy(carry, 0, data, 0, carry.length);
+            System.arraycopy(pcm, 0, data, carry.length, pcm.length);
+
+            int bytesPerOutputSample = DECIMATION * 2;
+            int usable = data.length - data.length % bytesPerOutputSample;
+            for (int i = 0; i < usable; i += bytesPerOutputSample) {
+                int sum = 0;
+                for (int j = 0; j < DECIMATION; j++) {
+                    sum += (short) ((data[i + j * 2] & 0xFF) | (data[i + j * 2 + 1] << 8));
+                }
+                // 구간 평균으로 고주파를 줄인 뒤 샘플을 솎아냅니다.
+                pending.write(MulawCodec.encode(sum / DECIMATION));
+            }
+            carry = Arrays.copyOfRange(data, usable, data.length);
+            return drainFrames(false);
+        }
+
+        List<byte[]> flush() {
+            return drainFrames(true);
+        }
+
+        private List<byte[]> drainFrames(boolean includePartial) {
+            byte[] buffered = pending.toByteArray();
+            List<byte[]> frames = new ArrayList<>();
+            int offset = 0;
+            while (buffered.length - offset >= MulawCodec.FRAME_BYTES) {
+                frames.add(Arrays.copyOfRange(buffered, offset, offset + MulawCodec.FRAME_BYTES));
+                offset += MulawCodec.FRAME_BYTES;
+            }
+            pending.reset();
+            if (offset < buffered.length) {
+                if (includePartial) {
+                    frames.add(Arrays.copyOfRange(buffered, offset, buffered.length));
+                } else {
+                    pending.write(buffered, offset, buffered.length - offset);
+                }
+            }
+            return frames;
+        }
+    }
+}
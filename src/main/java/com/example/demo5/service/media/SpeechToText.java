@@ -0,0 +1,30 @@
+package com.example.demo5.service.media;
+
+/**
+ * 통화 음성을 실시간으로 받아 텍스트로 바꾸는 음성 인식기입니다.
+ * 통화마다 세션을 열어 20ms μ-law 프레임을 순서대로 넣으면, 발화가 시작될 때와 발화 하나가 인식될 때 리스너를 호출합니다.
+ */
+public interface SpeechToText {
+
+    Session open(Listener listener);
+
+    interface Session {
+
+        void accept(byte[] mulawFrame);
+
+        void close();
+    }
+
+    interface Listener {
+
+        /**
+         * 사용자가 말하기 시작했습니다. AI가 말하는 중이면 끼어들기로 처리합니다.
+         */
+        void onSpeechStarted();
+
+        /**
+         * 발화 하나가 인식되었습니다. 빈 문자열이면 인식된 내용이 없는 것입니다.
+         */
+        void onTranscript(String transcript);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.demo5.service.media;
+
+import java.util.stream.Stream;
+
+/**
+ * 문장을 전화로 보낼 음성(8kHz μ-law, 20ms 프레임)으로 합성합니다.
+ * 합성되는 대로 프레임을 내보내므로 첫 프레임을 바로 보낼 수 있고, 스트림을 닫으면 남은 합성을 취소합니다.
+ */
+public interface TextToSpeech {
+
+    Stream<byte[]> synthesize(String text);
+}
@@ -0,0 +1,58 @@
+package com.example.demo5.service.media;
+
+/**
+ * 프레임 에너지로 발화 시작과 끝을 찾는 간단한 음성 구간 감지기입니다.
+ * 일정 시간 이상 소리가 이어지면 발화 시작, 발화 중 일정 시간 이상 조용하면 발화 끝으로 봅니다.
+ * 한 통화의 수신 스레드에서만 사용하므로 동기화하지 않습니다.
+ */
+public class VoiceActivityDetector {
+
+    public enum Event {
+        NONE,
+        SPEECH_STARTED,
+        SPEECH_ENDED
+    }
+
+    private final double threshold;
+    private final int startFrames;
+    private final int endFrames;
+
+    private boolean inSpeech;
+    private int loudRun;
+    private int quietRun;
+
+    /**
+     * @param threshold   소리로 볼 프레임 RMS (16비트 PCM 기준)
+     * @param startFrames 발화 시작으로 볼 연속된 소리 프레임 수
+     * @param endFrames   발화 끝으로 볼 연속된 조용한 프레임 수
+     */
+    public VoiceActivityDetector(double threshold, int startFrames, int endFrames) {
+        this.threshold = threshold;
+        this.startFrames = startFrames;
+        this.endFrames = endFrames;
+    }
+
+    public Event accept(byte[] mulawFrame) {
+        boolean loud = MulawCodec.rms(mulawFrame) >= threshold;
+        if (!inSpeech) {
+            loudRun = loud ? loudRun + 1 : 0;
+            if (loudRun >= startFrames) {
+                inSpeech = true;
+                quietRun = 0;
+                return Event.SPEECH_STARTED;
+            }
+            return Event.NONE;
+        }
+        quietRun = loud ? 0 : quietRun + 1;
+        if (quietRun >= endFrames) {
+            inSpeech = false;
+            loudRun = 0;
+            return Event.SPEECH_ENDED;
+        }
+        return Event.NONE;
+    }
+
+    public boolean inSpeech() {
+        return inSpeech;
+    }
+}
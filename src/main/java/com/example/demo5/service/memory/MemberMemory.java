@@ -0,0 +1,28 @@
+package com.example.demo5.service.memory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 회원의 장기 기억. 최근 통화 요약(recentEpisodes)과 그보다 오래된 통화를 합친 요약(longTermSummary) 두 단계로 구성됩니다.
+ *
+ * @param recentEpisodes 반영한 순서대로 정렬된 통화별 한 줄 요약 ("MM-dd: 요약")
+ * @param episodeCount   지금까지 기억에 반영된 통화 수
+ * @param lastCallLogId  마지막으로 반영한 통화. 통화는 call_log_id 순서대로 끝나지 않으므로 가장 큰 ID라는 보장은 없습니다.
+ * @param lastCallAt     반영한 통화 중 가장 늦게 요청된 통화의 요청 시각
+ */
+public record MemberMemory(String memberId,
+                           String longTermSummary,
+                           List<String> recentEpisodes,
+                           int episodeCount,
+                           long lastCallLogId,
+                           LocalDateTime lastCallAt) {
+
+    public static MemberMemory empty(String memberId) {
+        return new MemberMemory(memberId, null, List.of(), 0, 0L, null);
+    }
+
+    public boolean isEmpty() {
+        return episodeCount == 0;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.demo5.service.memory;
+
+import com.example.demo5.dto.ChatMessage;
+import com.example.demo5.event.CallFinalizedEvent;
+import com.example.demo5.service.CallLockRegistry;
+import com.example.demo5.service.OpenAiService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 회원별 장기 기억. 통화가 끝날 때마다 그 통화를 한 문장으로 요약해 최근 통화 목록에 더하고,
+ * 목록이 개수나 토큰 상한을 넘으면 가장 오래된 요약을 장기 요약에 합칩니다.
+ * 단계마다 토큰 상한이 있으므로 통화가 쌓여도 대화 프롬프트에 들어가는 기억의 크기는 일정합니다.
+ */
+@Slf4j
+@Service
+public class MemberMemoryService {
+
+    private static final DateTimeFormatter EPISODE_DATE = DateTimeFormatter.ofPattern("MM-dd");
+    // 같은 회원의 기억은 한 번에 하나씩 갱신합니다. (CallSid와 겹치지 않는 키)
+    private static final String LOCK_PREFIX = "member-memory:";
+
+    private static final String EPISODE_PROMPT = """
+            당신은 상담 통화 기록을 정리하는 요약가입니다.
+            주어진 통화에서 다음 통화 때 이어서 이야기할 만한 회원의 사실(건강, 가족, 일정, 걱정거리, 관심사)만 한 문장으로 요약하세요.
+            인사말과 상담가의 말은 요약하지 말고, 반드시 한국어로 %d자 이내로 작성하세요.
+            """;
+    private static final String FOLD_PROMPT = """
+            당신은 상담 회원에 대한 장기 기억을 관리합니다.
+            [기존 기억]과 [오래된 통화 요약]을 하나로 합쳐, 회원에 대해 오래 기억할 만한 사실만 남기세요.
+            겹치는 내용은 합치고, 바뀐 내용은 최신 통화 기준으로 고치세요.
+            반드시 한국어로, 목록 없이 %d자 이내의 문장으로만 작성하세요.
+            """;
+
+    private final MemberMemoryStore memoryStore;
+    private final OpenAiService openAiService;
+    private final CallLockRegistry callLockRegistry;
+    private final int episodeTokens;
+    private final int recentEpisodes;
+    private final int recentTokens;
+    private final int longTermTokens;
+
+    public MemberMemoryService(MemberMemoryStore memoryStore,
+                               OpenAiService openAiService,
+                               CallLockRegistry callLockRegistry,
+                               @Value("${memory.episode-tokens:60}") int episodeTokens,
+                               @Value("${memory.recent-episodes:5}") int recentEpisodes,
+                               @Value("${memory.recent-tokens:250}") int recentTokens,
+                               @Value("${memory.long-term-tokens:250}") int longTermTokens) {
+        if (episodeTokens > recentTokens) {
+            throw new IllegalArgumentException("memory.episode-tokens는 memory.recent-tokens보다 클 수 없습니다.");
+        }
+        this.memoryStore = memoryStore;
+        this.openAiService = openAiService;
+        this.callLockRegistry = callLockRegistry;
+        this.episodeTokens = episodeTokens;
+        this.recentEpisodes = recentEpisodes;
+        this.recentTokens = recentTokens;
+        this.longTermTokens = longTermTokens;
+    }
+
+    // 요약에 LLM을 두 번까지 호출하므로 통화 처리 스레드를 붙잡지 않도록 비동기로 처리합니다.
+    @Async("taskExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCallFinalized(CallFinalizedEvent event) {
+        try {
+            remember(event.memberId(), event.callLogId(), event.requestedAt(), event.transcript());
+        } catch (Exception e) {
+            log.error("회원 기억 갱신 실패: callLogId={}", event.callLogId(), e);
+        }
+    }
+
+    /**
+     * 통화 하나를 기억에 반영합니다. 이미 반영한 통화거나 회원의 발화가 없는 통화는 건너뜁니다.
+     */
+    public void remember(String memberId, Long callLogId, LocalDateTime requestedAt, List<ChatMessage> transcript) {
+        callLockRegistry.executeWithLock(LOCK_PREFIX + memberId, () -> doRemember(memberId, callLogId, requestedAt, transcript));
+    }
+
+    private void doRemember(String memberId, Long callLogId, LocalDateTime requestedAt, List<ChatMessage> transcript) {
+        // 캠페인 통화와 재시도는 call_log_id 순서와 다르게 끝나므로, 반영 여부는 통화마다 기록한 것으로 판단합니다.
+        if (memoryStore.isApplied(callLogId)) {
+            log.debug("Call {} is already in memory of member {}.", callLogId, memberId);
+            return;
+        }
+        MemberMemory current = memoryStore.find(memberId).orElseGet(() -> MemberMemory.empty(memberId));
+        if (transcript.stream().noneMatch(m -> "User".equalsIgnoreCase(m.speaker()))) {
+            return;
+        }
+
+        String episode = summarize(EPISODE_PROMPT.formatted(episodeTokens), toText(transcript), episodeTokens);
+        if (episode == null) {
+            log.warn("Skipping memory update for member {}: episode summary failed (callLogId={}).", memberId, callLogId);
+            return;
+        }
+
+        List<String> recent = new ArrayList<>(current.recentEpisodes());
+        recent.add(requestedAt.format(EPISODE_DATE) + ": " + episode);
+        String longTerm = current.longTermSummary();
+
+        int overflow = overflowCount(recent);
+        if (overflow > 0) {
+            List<String> oldest = recent.subList(0, overflow);
+            String folded = fold(longTerm, oldest);
+            if (folded != null) {
+                longTerm = folded;
+                oldest.clear();
+            }
+        }
+        // 합치기에 실패했더라도 상한은 지킵니다. 이 경우 가장 오래된 요약부터 버립니다.
+        while (recent.size() > 1 && TokenEstimator.estimate(String.join("\n", recent)) > recentTokens) {
+            recent.remove(0);
+        }
+
+        LocalDateTime lastCallAt = current.lastCallAt() != null && current.lastCallAt().isAfter(requestedAt)
+                ? current.lastCallAt() : requestedAt;
+        memoryStore.save(new MemberMemory(memberId, longTerm, List.copyOf(recent), current.episodeCount() + 1,
+                callLogId, lastCallAt));
+    }
+
+    /**
+     * 대화 프롬프트에 넣을 기억을 반환합니다. 기억이 없으면 비어 있습니다.
+     * 크기는 장기 요약(memory.long-term-tokens)과 최근 통화(memory.recent-tokens) 상한의 합을 넘지 않습니다.
+     */
+    public Optional<String> render(String memberId) {
+        return memoryStore.find(memberId)
+                .filter(memory -> !memory.isEmpty())
+                .map(memory -> {
+                    StringBuilder text = new StringBuilder();
+                    if (StringUtils.hasText(memory.longTermSummary())) {
+                        text.append("예전 통화에서 알게 된 내용: ").append(memory.longTermSummary()).append('\n');
+                    }
+                    if (!memory.recentEpisodes().isEmpty()) {
+                        text.append("최근 통화:\n");
+                        memory.recentEpisodes().forEach(episode -> text.append("- ").append(episode).append('\n'));
+                    }
+                    return text.toString().strip();
+                })
+                .filter(StringUtils::hasText);
+    }
+
+    // 개수 상한과 토큰 상한을 모두 만족하려면 앞에서부터 몇 개를 장기 요약으로 옮겨야 하는지 계산합니다.
+    private int overflowCount(List<String> recent) {
+        int overflow = Math.max(0, recent.size() - recentEpisodes);
+        while (overflow < recent.size() - 1
+                && TokenEstimator.estimate(String.join("\n", recent.subList(overflow, recent.size()))) > recentTokens) {
+            overflow++;
+        }
+        return overflow;
+    }
+
+    private String fold(String longTerm, List<String> oldest) {
+        String content = "[기존 기억]\n" + (StringUtils.hasText(longTerm) ? longTerm : "없음")
+                + "\n\n[오래된 통화 요약]\n" + String.join("\n", oldest);
+        return summarize(FOLD_PROMPT.formatted(longTermTokens), content, longTermTokens);
+    }
+
+    // LLM 응답을 상한에 맞춰 자릅니다. 호출이 실패하면 null을 반환하여 기존 기억을 그대로 둡니다.
+    private String summarize(String systemPrompt, String content, int maxTokens) {
+        String response = openAiService.getChatResponse(List.of(new ChatMessage("User", content)), systemPrompt);
+        if (!StringUtils.hasText(response) || OpenAiService.FALLBACK_RESPONSE.equals(response)) {
+            return null;
+        }
+        return TokenEstimator.truncate(response.strip().replaceAll("\\s+", " "), maxTokens);
+    }
+
+    private static String toText(List<ChatMessage> transcript) {
+        return transcript.stream()
+                .filter(m -> !"System".equalsIgnoreCase(m.speaker()))
+                .map(m -> ("AI".equalsIgnoreCase(m.speaker()) ? "상담가" : "회원") + ": " + m.message())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo5.service.memory;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 회원 장기 기억(member_memory)을 읽고 씁니다. 회원당 한 행이며 통화가 끝날 때마다 통째로 덮어씁니다.
+ * 기억에 반영한 통화는 member_memory_call에 따로 남겨, 같은 통화가 두 번 반영되지 않게 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberMemoryStore {
+
+    private static final RowMapper<MemberMemory> ROW_MAPPER = (rs, rowNum) -> new MemberMemory(
+            rs.getString("member_id"),
+            rs.getString("long_term_summary"),
+            splitEpisodes(rs.getString("recent_episodes")),
+            rs.getInt("episode_count"),
+            rs.getLong("last_call_log_id"),
+            rs.getTimestamp("last_call_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<MemberMemory> find(String memberId) {
+        return jdbcTemplate.query("SELECT * FROM member_memory WHERE member_id = ?", ROW_MAPPER, memberId)
+                .stream().findFirst();
+    }
+
+    public boolean isApplied(long callLogId) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM member_memory_call WHERE call_log_id = ?", Integer.class, callLogId)
+                .isEmpty();
+    }
+
+    /**
+     * 기억을 저장하고, 그 기억에 마지막으로 반영한 통화(lastCallLogId)를 반영한 통화로 기록합니다.
+     */
+    @Transactional
+    public void save(MemberMemory memory) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("""
+                        INSERT INTO member_memory (member_id, long_term_summary, recent_episodes, episode_count,
+                                                   last_call_log_id, last_call_at, updated_at)
+                        VALUES (?, ?, ?, ?, ?, ?, ?)
+                        ON DUPLICATE KEY UPDATE
+                            long_term_summary = VALUES(long_term_summary),
+                            recent_episodes = VALUES(recent_episodes),
+                            episode_count = VALUES(episode_count),
+                            last_call_log_id = VALUES(last_call_log_id),
+                            last_call_at = VALUES(last_call_at),
+                            updated_at = VALUES(updated_at)
+                        """,
+                memory.memberId(), memory.longTermSummary(),
+                memory.recentEpisodes().isEmpty() ? null : String.join("\n", memory.recentEpisodes()),
+                memory.episodeCount(), memory.lastCallLogId(), Timestamp.valueOf(memory.lastCallAt()),
+                Timestamp.valueOf(now));
+        jdbcTemplate.update("INSERT INTO member_memory_call (call_log_id, member_id, applied_at) VALUES (?, ?, ?)",
+                memory.lastCallLogId(), memory.memberId(), Timestamp.valueOf(now));
+    }
+
+    private static List<String> splitEpisodes(String episodes) {
+        if (!StringUtils.hasText(episodes)) {
+            return List.of();
+        }
+        return episodes.lines().filter(StringUtils::hasText).toList();
+    }
+}
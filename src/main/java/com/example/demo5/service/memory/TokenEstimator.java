@@ -0,0 +1,57 @@
+package com.example.demo5.service.memory;
+
+/**
+ * 프롬프트에 넣을 기억의 크기를 토큰 수로 어림합니다. 토크나이저를 따로 두지 않고,
+ * 한글 음절은 한 글자에 1토큰, 그 밖의 문자는 네 글자에 1토큰으로 셉니다. (GPT 계열 토크나이저보다 약간 크게 잡힙니다)
+ */
+final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    static int estimate(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int quarters = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            quarters += weight(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return (quarters + 3) / 4;
+    }
+
+    /**
+     * 어림한 토큰 수가 maxTokens를 넘지 않도록 뒤를 자릅니다. 가능하면 단어 경계에서 자릅니다.
+     */
+    static String truncate(String text, int maxTokens) {
+        if (text == null || estimate(text) <= maxTokens) {
+            return text;
+        }
+        int budget = maxTokens * 4;
+        int quarters = 0;
+        int end = 0;
+        int lastSpace = -1;
+        while (end < text.length()) {
+            int codePoint = text.codePointAt(end);
+            if (quarters + weight(codePoint) > budget) {
+                break;
+            }
+            quarters += weight(codePoint);
+            if (Character.isWhitespace(codePoint)) {
+                lastSpace = end;
+            }
+            end += Character.charCount(codePoint);
+        }
+        int cut = lastSpace > end / 2 ? lastSpace : end;
+        return text.substring(0, cut).strip();
+    }
+
+    private static int weight(int codePoint) {
+        if (Character.isWhitespace(codePoint)) {
+            return 0;
+        }
+        return Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HANGUL ? 4 : 1;
+    }
+}
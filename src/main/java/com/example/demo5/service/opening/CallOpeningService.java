@@ -0,0 +1,181 @@
+package com.example.demo5.service.opening;
+
+import com.example.demo5.dto.ChatMessage;
+import com.example.demo5.entity.CallSchedule;
+import com.example.demo5.repository.CallScheduleRepository;
+import com.example.demo5.service.OpenAiService;
+import com.example.demo5.service.batch.RateBudget;
+import com.example.demo5.service.memory.MemberMemoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * 예약 통화의 첫 질문을 미리 만들어 둡니다. 앞으로 opening.look-ahead-hours 안에 걸릴 자동 통화를 찾아
+ * 회원 기억을 바탕으로 첫 질문을 만들고, 발신 시에는 저장된 질문을 그대로 사용하므로 연결 시점에 LLM을 호출하지 않습니다.
+ * 생성은 분당 opening.llm-calls-per-minute 이하로 나눠 실행하므로, 같은 시각에 몰린 통화도 미리 조금씩 준비됩니다.
+ */
+@Slf4j
+@Service
+public class CallOpeningService {
+
+    // 오래된 질문은 발신 기록 확인용으로 잠시 남겨 두었다가 지웁니다.
+    private static final int RETENTION_DAYS = 7;
+    private static final int MAX_QUESTION_LENGTH = 300;
+
+    private static final String OPENING_PROMPT = """
+            당신은 정기적으로 안부 전화를 거는 AI 상담가입니다.
+            아래는 이 회원과 지난 통화에서 나눈 이야기를 요약한 것입니다.
+            오늘 통화를 시작할 때 건넬 첫 인사와 질문을 한국어로 두 문장 이내로 만들어 주세요.
+            지난 이야기 중 하나를 자연스럽게 이어 묻고, 반드시 의문형으로 끝내세요. 인사와 질문 외의 설명은 쓰지 마세요.
+            """;
+
+    private final CallScheduleRepository callScheduleRepository;
+    private final CallOpeningStore openingStore;
+    private final MemberMemoryService memberMemoryService;
+    private final OpenAiService openAiService;
+    private final Executor openingExecutor;
+    private final int lookAheadHours;
+    private final RateBudget rateBudget;
+
+    public CallOpeningService(CallScheduleRepository callScheduleRepository,
+                              CallOpeningStore openingStore,
+                              MemberMemoryService memberMemoryService,
+                              OpenAiService openAiService,
+                              @Qualifier("openingExecutor") Executor openingExecutor,
+                              @Value("${opening.look-ahead-hours:6}") int lookAheadHours,
+                              @Value("${opening.llm-calls-per-minute:30}") double llmCallsPerMinute) {
+        if (lookAheadHours < 1 || lookAheadHours > 23) {
+            throw new IllegalArgumentException("opening.look-ahead-hours는 1~23 사이여야 합니다: " + lookAheadHours);
+        }
+        this.callScheduleRepository = callScheduleRepository;
+        this.openingStore = openingStore;
+        this.memberMemoryService = memberMemoryService;
+        this.openAiService = openAiService;
+        this.openingExecutor = openingExecutor;
+        this.lookAheadHours = lookAheadHours;
+        this.rateBudget = new RateBudget(llmCallsPerMinute);
+    }
+
+    /**
+     * 준비 작업을 별도 스레드에서 시작합니다. 이전 준비가 아직 진행 중이면 이번 요청은 건너뜁니다.
+     */
+    public void requestPreparation() {
+        try {
+            openingExecutor.execute(() -> {
+                try {
+                    prepareUpcoming(LocalDateTime.now());
+                } catch (Exception e) {
+                    log.error("첫 질문 준비 중 오류 발생", e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.debug("Opening preparation is still running. Skipping this round.");
+        }
+    }
+
+    /**
+     * now 이후 look-ahead 구간에 예정된 통화 중 질문이 없는 것을 이른 순서대로 준비합니다.
+     * @return 새로 준비한 질문 수
+     */
+    public int prepareUpcoming(LocalDateTime now) {
+        LocalDateTime horizon = now.plusHours(lookAheadHours);
+        openingStore.deleteBefore(now.minusDays(RETENTION_DAYS));
+
+        Set<String> prepared = openingStore.findPreparedKeys(now, horizon);
+        List<UpcomingCall> pending = findUpcomingCalls(now, horizon).stream()
+                .filter(call -> !prepared.contains(CallOpeningStore.key(call.scheduleId(), call.callAt())))
+                .sorted(Comparator.comparing(UpcomingCall::callAt))
+                .toList();
+
+        int created = 0;
+        for (UpcomingCall call : pending) {
+            // 예정 시각이 이미 지났으면 발신 시점에 쓰이지 않으므로 건너뜁니다.
+            if (!call.callAt().isAfter(LocalDateTime.now())) {
+                continue;
+            }
+            Optional<String> question;
+            try {
+                question = generate(call.memberId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (question.isPresent()) {
+                openingStore.save(call.scheduleId(), call.memberId(), call.callAt(), question.get());
+                created++;
+            }
+        }
+        if (created > 0) {
+            log.info("Prepared {} opening questions for calls until {}.", created, horizon);
+        }
+        return created;
+    }
+
+    /**
+     * 자동 발신 시 사용할 준비된 질문의 ID입니다. 찾으면 사용 시각을 기록합니다.
+     */
+    public Optional<Long> claimOpening(long scheduleId, LocalDateTime callAt) {
+        Optional<Long> openingId = openingStore.findOpeningId(scheduleId, callAt);
+        openingId.ifPresent(openingStore::markUsed);
+        return openingId;
+    }
+
+    public Optional<String> findQuestion(long openingId) {
+        return openingStore.findQuestion(openingId);
+    }
+
+    // 시각 조건은 (is_active, call_time) 인덱스로 거르고, 날짜(주기) 조건은 스케줄에서 계산합니다.
+    List<UpcomingCall> findUpcomingCalls(LocalDateTime now, LocalDateTime horizon) {
+        LocalTime from = now.toLocalTime();
+        LocalTime to = horizon.toLocalTime();
+        List<CallSchedule> schedules = new ArrayList<>();
+        if (from.isBefore(to)) {
+            schedules.addAll(callScheduleRepository.findActiveSchedulesWithMemberAt(from, to));
+        } else {
+            // 자정을 넘는 구간은 둘로 나눠 조회합니다.
+            schedules.addAll(callScheduleRepository.findActiveSchedulesWithMemberAt(from, LocalTime.MAX));
+            schedules.addAll(callScheduleRepository.findActiveSchedulesWithMemberAt(LocalTime.MIN, to));
+        }
+
+        List<UpcomingCall> calls = new ArrayList<>();
+        for (CallSchedule schedule : schedules) {
+            LocalDateTime callAt = schedule.nextCallAfter(now);
+            if (callAt != null && !callAt.isAfter(horizon)) {
+                calls.add(new UpcomingCall(schedule.getScheduleId(), schedule.getMember().getMemberId(), callAt));
+            }
+        }
+        return calls;
+    }
+
+    // 기억이 없는 회원(첫 통화 등)은 맞춤 질문을 만들 근거가 없으므로 기본 인사를 사용합니다.
+    private Optional<String> generate(String memberId) throws InterruptedException {
+        Optional<String> memory = memberMemoryService.render(memberId);
+        if (memory.isEmpty()) {
+            return Optional.empty();
+        }
+        rateBudget.acquire();
+        String response = openAiService.getChatResponse(List.of(new ChatMessage("User", memory.get())), OPENING_PROMPT);
+        if (!StringUtils.hasText(response) || OpenAiService.FALLBACK_RESPONSE.equals(response)) {
+            log.warn("Failed to generate opening question for member {}.", memberId);
+            return Optional.empty();
+        }
+        String question = response.strip().replaceAll("\\s+", " ");
+        return Optional.of(question.length() > MAX_QUESTION_LENGTH ? question.substring(0, MAX_QUESTION_LENGTH) : question);
+    }
+
+    record UpcomingCall(long scheduleId, String memberId, LocalDateTime callAt) {
+    }
+}
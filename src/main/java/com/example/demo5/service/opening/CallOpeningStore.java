@@ -0,0 +1,68 @@
+package com.example.demo5.service.opening;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 예약 통화별로 미리 만든 첫 질문(call_opening)을 읽고 씁니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CallOpeningStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 같은 예약 통화에 대해 이미 만든 질문이 있으면 덮어쓰지 않습니다.
+     */
+    public void save(long scheduleId, String memberId, LocalDateTime callAt, String question) {
+        jdbcTemplate.update("""
+                        INSERT IGNORE INTO call_opening (schedule_id, member_id, call_at, question, generated_at)
+                        VALUES (?, ?, ?, ?, ?)
+                        """,
+                scheduleId, memberId, Timestamp.valueOf(callAt), question, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * [from, to] 구간에 예정된 통화 중 질문이 이미 준비된 것의 "scheduleId@callAt" 키입니다.
+     */
+    public Set<String> findPreparedKeys(LocalDateTime from, LocalDateTime to) {
+        Set<String> keys = new HashSet<>();
+        jdbcTemplate.query("SELECT schedule_id, call_at FROM call_opening WHERE call_at BETWEEN ? AND ?",
+                rs -> {
+                    keys.add(key(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime()));
+                },
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+        return keys;
+    }
+
+    public Optional<Long> findOpeningId(long scheduleId, LocalDateTime callAt) {
+        return jdbcTemplate.queryForList("SELECT opening_id FROM call_opening WHERE schedule_id = ? AND call_at = ?",
+                Long.class, scheduleId, Timestamp.valueOf(callAt)).stream().findFirst();
+    }
+
+    public Optional<String> findQuestion(long openingId) {
+        return jdbcTemplate.queryForList("SELECT question FROM call_opening WHERE opening_id = ?", String.class, openingId)
+                .stream().findFirst();
+    }
+
+    public void markUsed(long openingId) {
+        jdbcTemplate.update("UPDATE call_opening SET used_at = ? WHERE opening_id = ?",
+                Timestamp.valueOf(LocalDateTime.now()), openingId);
+    }
+
+    public int deleteBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM call_opening WHERE call_at < ?", Timestamp.valueOf(cutoff));
+    }
+
+    static String key(long scheduleId, LocalDateTime callAt) {
+        return scheduleId + "@" + callAt;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo5.service.retry;
+
+import java.time.LocalDateTime;
+
+/**
+ * 실패한 자동 통화 하나에 대한 재시도 (call_retry 한 행).
+ *
+ * @param attempt     이 재시도로 걸게 될 통화의 시도 번호
+ * @param retryCallId 재시도로 건 통화의 ID (아직 걸지 않았으면 null)
+ */
+public record CallRetry(long retryId,
+                        long failedCallId,
+                        long originalCallId,
+                        String memberId,
+                        int attempt,
+                        String outcome,
+                        LocalDateTime dueAt,
+                        Status status,
+                        Long retryCallId,
+                        LocalDateTime createdAt,
+                        LocalDateTime updatedAt) {
+
+    public enum Status {
+        PENDING, DIALING, DIALED, CANCELLED, FAILED
+    }
+}
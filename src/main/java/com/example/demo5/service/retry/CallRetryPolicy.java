@@ -0,0 +1,102 @@
+package com.example.demo5.service.retry;
+
+import com.example.demo5.entity.CallLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+
+/**
+ * 실패한 자동 통화를 언제 다시 걸지 정합니다. 시도 횟수 상한, 지수 백오프, 방해 금지 시간을 적용합니다.
+ * 방해 금지 시간에 걸린 재시도는 끝나는 시각 이후 일정 구간에 무작위로 흩어, 아침에 한꺼번에 걸리지 않게 합니다.
+ */
+@Component
+public class CallRetryPolicy {
+
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final double backoffMultiplier;
+    private final Duration maxBackoff;
+    private final LocalTime quietStart;
+    private final LocalTime quietEnd;
+    private final Duration quietSpread;
+    private final Set<String> retryOn;
+    private final RandomGenerator random;
+
+    @Autowired
+    public CallRetryPolicy(@Value("${call-retry.enabled:true}") boolean enabled,
+                           @Value("${call-retry.max-attempts:3}") int maxAttempts,
+                           @Value("${call-retry.initial-backoff-minutes:10}") long initialBackoffMinutes,
+                           @Value("${call-retry.backoff-multiplier:3}") double backoffMultiplier,
+                           @Value("${call-retry.max-backoff-minutes:180}") long maxBackoffMinutes,
+                           @Value("${call-retry.quiet-start:21:00}") String quietStart,
+                           @Value("${call-retry.quiet-end:08:00}") String quietEnd,
+                           @Value("${call-retry.quiet-spread-minutes:60}") long quietSpreadMinutes,
+                           @Value("${call-retry.retry-on:no-answer,busy,failed,voicemail}") String retryOn) {
+        this(enabled, maxAttempts, initialBackoffMinutes, backoffMultiplier, maxBackoffMinutes, quietStart, quietEnd,
+                quietSpreadMinutes, retryOn, new Random());
+    }
+
+    CallRetryPolicy(boolean enabled, int maxAttempts, long initialBackoffMinutes, double backoffMultiplier,
+                    long maxBackoffMinutes, String quietStart, String quietEnd, long quietSpreadMinutes, String retryOn,
+                    RandomGenerator random) {
+        this.enabled = enabled;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMinutes(initialBackoffMinutes);
+        this.backoffMultiplier = backoffMultiplier;
+        this.maxBackoff = Duration.ofMinutes(maxBackoffMinutes);
+        this.quietStart = LocalTime.parse(quietStart);
+        this.quietEnd = LocalTime.parse(quietEnd);
+        this.quietSpread = Duration.ofMinutes(quietSpreadMinutes);
+        this.retryOn = Arrays.stream(retryOn.split(","))
+                .map(String::trim)
+                .filter(outcome -> !outcome.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.random = random;
+    }
+
+    /**
+     * 실패한 통화를 다시 걸 시각을 반환합니다. 재시도 대상이 아니거나 시도 횟수를 다 썼으면 비어 있습니다.
+     * @param failedAttempt 실패한 통화의 시도 번호
+     */
+    public Optional<LocalDateTime> nextAttemptAt(CallLog.CallType callType, int failedAttempt, String outcome, LocalDateTime failedAt) {
+        if (!enabled || callType != CallLog.CallType.AUTO || !retryOn.contains(outcome) || failedAttempt >= maxAttempts) {
+            return Optional.empty();
+        }
+        long delayMillis = (long) Math.min(initialBackoff.toMillis() * Math.pow(backoffMultiplier, failedAttempt - 1),
+                maxBackoff.toMillis());
+        return Optional.of(outsideQuietHours(failedAt.plus(Duration.ofMillis(delayMillis))));
+    }
+
+    // 방해 금지 시간에 걸리면 끝나는 시각부터 quiet-spread-minutes 안의 무작위 시각으로 미룹니다. (21:00~08:00처럼 자정을 넘는 구간도 처리)
+    LocalDateTime outsideQuietHours(LocalDateTime dueAt) {
+        if (!inQuietHours(dueAt.toLocalTime())) {
+            return dueAt;
+        }
+        LocalDateTime end = dueAt.toLocalDate().atTime(quietEnd);
+        if (!end.isAfter(dueAt)) {
+            end = end.plusDays(1);
+        }
+        return quietSpread.isZero() ? end : end.plus(Duration.ofMillis(random.nextLong(quietSpread.toMillis())));
+    }
+
+    private boolean inQuietHours(LocalTime time) {
+        if (quietStart.equals(quietEnd)) {
+            return false;
+        }
+        if (quietStart.isBefore(quietEnd)) {
+            return !time.isBefore(quietStart) && time.isBefore(quietEnd);
+        }
+        return !time.isBefore(quietStart) || time.isBefore(quietEnd);
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.demo5.service.retry;
+
+import com.example.demo5.dto.call.CallRetryResponse;
+import com.example.demo5.event.CallAttemptFailedEvent;
+import com.example.demo5.service.MemberService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 실패한 자동 통화의 재시도. 재시도는 call_retry에 저장한 뒤 메모리의 타이밍 휠에 올리고,
+ * 휠이 만료시킨 재시도만 일반 자동 통화와 같은 발신 경로로 다시 겁니다. 예정 시각을 찾으려고 DB를 주기적으로 조회하지 않으며,
+ * DB는 서버가 뜰 때 대기 중인 재시도를 휠에 다시 올리는 데만 읽습니다.
+ * 예정 시각이 된 재시도는 발신 대기열에 모아 초당 call-retry.dials-per-second건까지만 겁니다.
+ * 같은 시각에 몰린 재시도나 서버가 멈춘 동안 밀린 재시도가 한꺼번에 걸리지 않습니다.
+ */
+@Slf4j
+@Service
+public class CallRetryService {
+
+    private static final int WHEEL_SIZE = 64;
+
+    private final CallRetryStore retryStore;
+    private final CallRetryPolicy retryPolicy;
+    private final MemberService memberService;
+    private final String baseUrl;
+    private final double dialsPerSecond;
+    private final TimingWheel<Long> wheel;
+    // 취소용 핸들. 휠과 함께 this로 동기화합니다.
+    private final Map<Long, TimingWheel.Timeout<Long>> timeouts = new HashMap<>();
+    // 예정 시각이 되어 발신 허용량을 기다리는 재시도. 예정 시각 순서대로 겁니다. (this로 동기화)
+    private final Deque<Long> ready = new ArrayDeque<>();
+
+    // 마지막 틱 이후 쌓인 발신 허용량 (토큰 버킷)
+    private double dialBudget;
+    private long lastRefillNanos = System.nanoTime();
+
+    public CallRetryService(CallRetryStore retryStore,
+                            CallRetryPolicy retryPolicy,
+                            MemberService memberService,
+                            MeterRegistry meterRegistry,
+                            @Value("${server.base-url}") String baseUrl,
+                            @Value("${call-retry.tick-ms:1000}") long tickMillis,
+                            @Value("${call-retry.dials-per-second:2}") double dialsPerSecond) {
+        this.retryStore = retryStore;
+        this.retryPolicy = retryPolicy;
+        this.memberService = memberService;
+        this.baseUrl = baseUrl;
+        this.dialsPerSecond = dialsPerSecond;
+        this.wheel = new TimingWheel<>(tickMillis, WHEEL_SIZE, System.currentTimeMillis());
+        Gauge.builder("call.retry.pending", this, CallRetryService::pendingCount)
+                .description("Retries waiting in the timing wheel or for dial budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 서버가 뜰 때 대기 중인 재시도를 휠에 올립니다. 예정 시각이 지난 것은 발신 대기열에 넣어 다음 틱부터 겁니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPending() {
+        int interrupted = retryStore.failInterrupted();
+        if (interrupted > 0) {
+            log.warn("{} retries were interrupted while dialing and are marked FAILED.", interrupted);
+        }
+        List<Long> overdue = new ArrayList<>();
+        retryStore.forEachPending((retryId, dueMillis) -> {
+            if (!enqueue(retryId, dueMillis)) {
+                overdue.add(retryId);
+            }
+        });
+        overdue.forEach(this::markReady);
+        log.info("Loaded {} pending call retries ({} overdue).", pendingCount(), overdue.size());
+    }
+
+    // 롤백된 통화는 재시도하지 않도록 커밋 이후에, 통화 처리 스레드와 분리된 스레드에서 등록합니다.
+    @Async("taskExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCallAttemptFailed(CallAttemptFailedEvent event) {
+        try {
+            schedule(event);
+        } catch (Exception e) {
+            log.error("통화 재시도 등록 실패: callLogId={}", event.callLogId(), e);
+        }
+    }
+
+    /**
+     * 정책에 따라 재시도를 등록합니다. 재시도 대상이 아니거나 이미 등록된 실패 통화면 비어 있습니다.
+     */
+    public Optional<CallRetry> schedule(CallAttemptFailedEvent event) {
+        Optional<LocalDateTime> dueAt = retryPolicy.nextAttemptAt(event.callType(), event.attempt(), event.outcome(), event.failedAt());
+        if (dueAt.isEmpty()) {
+            return Optional.empty();
+        }
+        long originalCallId = event.retryOf() != null ? event.retryOf() : event.callLogId();
+        Optional<CallRetry> retry = retryStore.create(event.callLogId(), originalCallId, event.memberId(),
+                event.attempt() + 1, event.outcome(), dueAt.get());
+        retry.ifPresent(created -> {
+            log.info("Call {} ({}) will be retried at {} (attempt {}).",
+                    event.callLogId(), event.outcome(), created.dueAt(), created.attempt());
+            if (!enqueue(created.retryId(), toEpochMillis(created.dueAt()))) {
+                markReady(created.retryId());
+            }
+        });
+        return retry;
+    }
+
+    /**
+     * 휠의 시계를 현재 시각까지 옮기고, 만료된 재시도를 발신 허용량만큼 겁니다. (CallRetryScheduler가 틱마다 호출)
+     * 허용량을 넘는 재시도는 대기열에 남아 다음 틱에 겁니다.
+     */
+    public void advance() {
+        List<Long> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advanceTo(System.currentTimeMillis(), retryId -> {
+                timeouts.remove(retryId);
+                ready.addLast(retryId);
+            });
+            refillBudget();
+            while (dialBudget >= 1 && !ready.isEmpty()) {
+                due.add(ready.pollFirst());
+                dialBudget--;
+            }
+        }
+        due.forEach(this::fire);
+    }
+
+    /**
+     * 통화에 이어진 재시도 목록입니다. callLogId는 처음 통화나 재시도로 건 통화 어느 것이어도 됩니다.
+     */
+    public List<CallRetryResponse> getRetries(long callLogId) {
+        return retryStore.findChain(callLogId).stream().map(CallRetryService::toResponse).toList();
+    }
+
+    /**
+     * 통화에 이어진 대기 중인 재시도를 모두 취소합니다.
+     */
+    public List<CallRetryResponse> cancel(long callLogId) {
+        List<CallRetry> chain = retryStore.findChain(callLogId);
+        if (!chain.isEmpty()) {
+            for (Long retryId : retryStore.findPendingIds(chain.get(0).originalCallId())) {
+                if (retryStore.transition(retryId, CallRetry.Status.PENDING, CallRetry.Status.CANCELLED)) {
+                    synchronized (this) {
+                        TimingWheel.Timeout<Long> timeout = timeouts.remove(retryId);
+                        if (timeout != null) {
+                            timeout.cancel();
+                        }
+                        ready.remove(retryId);
+                    }
+                }
+            }
+        }
+        return getRetries(callLogId);
+    }
+
+    public synchronized int pendingCount() {
+        return wheel.pendingCount() + ready.size();
+    }
+
+    // 이미 휠에 있는 재시도는 다시 올리지 않습니다. 예정 시각이 지났으면 false를 반환합니다.
+    private synchronized boolean enqueue(long retryId, long dueMillis) {
+        if (timeouts.containsKey(retryId)) {
+            return true;
+        }
+        TimingWheel.Timeout<Long> timeout = wheel.add(retryId, dueMillis);
+        if (timeout == null) {
+            return false;
+        }
+        timeouts.put(retryId, timeout);
+        return true;
+    }
+
+    private synchronized void markReady(long retryId) {
+        if (!ready.contains(retryId)) {
+            ready.addLast(retryId);
+        }
+    }
+
+    private void refillBudget() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+        lastRefillNanos = now;
+        // 최대 1초 분량까지만 쌓아, 쉬는 동안 모인 허용량이 한꺼번에 몰리지 않게 합니다.
+        dialBudget = Math.min(Math.max(dialsPerSecond, 1), dialBudget + elapsedSeconds * dialsPerSecond);
+    }
+
+    // DIALING으로 먼저 바꾼 쪽만 겁니다. 발신은 비동기이며 결과는 call_retry에 기록합니다.
+    // 더 걸 필요가 없어진 재시도(스케줄 꺼짐, 이후 통화 완료)는 CANCELLED로 남깁니다.
+    private void fire(long retryId) {
+        try {
+            if (!retryStore.transition(retryId, CallRetry.Status.PENDING, CallRetry.Status.DIALING)) {
+                return;
+            }
+            CallRetry retry = retryStore.find(retryId).orElseThrow();
+            // 재시도는 실패한 통화가 커밋된 직후 등록되므로 등록 시각을 실패 시각으로 봅니다.
+            memberService.initiateRetryCall(retry.memberId(), retry.originalCallId(), retry.attempt(), retry.createdAt(), baseUrl)
+                    .whenComplete((response, error) -> {
+                        if (error != null) {
+                            log.error("통화 재시도 발신 실패: retryId={}", retryId, error);
+                            retryStore.transition(retryId, CallRetry.Status.DIALING, CallRetry.Status.FAILED);
+                        } else if (response.isEmpty()) {
+                            retryStore.transition(retryId, CallRetry.Status.DIALING, CallRetry.Status.CANCELLED);
+                        } else {
+                            retryStore.markDialed(retryId, response.get().getCallLogId());
+                        }
+                    });
+        } catch (Exception e) {
+            log.error("통화 재시도 실행 중 오류 발생: retryId={}", retryId, e);
+            retryStore.transition(retryId, CallRetry.Status.DIALING, CallRetry.Status.FAILED);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static CallRetryResponse toResponse(CallRetry retry) {
+        return CallRetryResponse.builder()
+                .retryId(retry.retryId())
+                .attempt(retry.attempt())
+                .outcome(retry.outcome())
+                .failedCallLogId(retry.failedCallId())
+                .retryCallLogId(retry.retryCallId())
+                .status(retry.status().name())
+                .dueAt(retry.dueAt())
+                .updatedAt(retry.updatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.demo5.service.retry;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * 재시도 기록(call_retry)을 읽고 씁니다. 상태 변경은 이전 상태를 조건으로 걸어 한 번만 성공하도록 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CallRetryStore {
+
+    private static final RowMapper<CallRetry> ROW_MAPPER = (rs, rowNum) -> new CallRetry(
+            rs.getLong("retry_id"),
+            rs.getLong("failed_call_id"),
+            rs.getLong("original_call_id"),
+            rs.getString("member_id"),
+            rs.getInt("attempt"),
+            rs.getString("outcome"),
+            rs.getTimestamp("due_at").toLocalDateTime(),
+            CallRetry.Status.valueOf(rs.getString("status")),
+            rs.getObject("retry_call_id", Long.class),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getTimestamp("updated_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 재시도를 등록합니다. 같은 실패 통화에 대한 재시도가 이미 있으면 등록하지 않고 비어 있는 값을 반환합니다.
+     */
+    public Optional<CallRetry> create(long failedCallId, long originalCallId, String memberId, int attempt,
+                                      String outcome, LocalDateTime dueAt) {
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int inserted = jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("""
+                    INSERT IGNORE INTO call_retry (failed_call_id, original_call_id, member_id, attempt, outcome, due_at,
+                                                   status, created_at, updated_at)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """, Statement.RETURN_GENERATED_KEYS);
+            statement.setLong(1, failedCallId);
+            statement.setLong(2, originalCallId);
+            statement.setString(3, memberId);
+            statement.setInt(4, attempt);
+            statement.setString(5, outcome);
+            statement.setTimestamp(6, Timestamp.valueOf(dueAt));
+            statement.setString(7, CallRetry.Status.PENDING.name());
+            statement.setTimestamp(8, Timestamp.valueOf(now));
+            statement.setTimestamp(9, Timestamp.valueOf(now));
+            return statement;
+        }, keyHolder);
+        if (inserted == 0) {
+            return Optional.empty();
+        }
+        return find(keyHolder.getKey().longValue());
+    }
+
+    public Optional<CallRetry> find(long retryId) {
+        return jdbcTemplate.query("SELECT * FROM call_retry WHERE retry_id = ?", ROW_MAPPER, retryId).stream().findFirst();
+    }
+
+    /**
+     * 대기 중인 재시도를 하나씩 읽어 (retryId, 예정 시각 epoch millis)로 넘깁니다. 결과를 메모리에 모아 두지 않습니다.
+     */
+    public void forEachPending(ObjLongConsumer<Long> consumer) {
+        jdbcTemplate.query("SELECT retry_id, due_at FROM call_retry WHERE status = ?",
+                rs -> {
+                    consumer.accept(rs.getLong(1), rs.getTimestamp(2).getTime());
+                },
+                CallRetry.Status.PENDING.name());
+    }
+
+    /**
+     * 처음 시도한 통화 기준으로 이어진 재시도를 시도 순서대로 반환합니다. callLogId는 재시도 사슬 안의 어떤 통화여도 됩니다.
+     */
+    public List<CallRetry> findChain(long callLogId) {
+        return jdbcTemplate.query("""
+                        SELECT * FROM call_retry
+                        WHERE original_call_id = COALESCE(
+                            (SELECT original_call_id FROM call_retry WHERE retry_call_id = ? LIMIT 1), ?)
+                        ORDER BY attempt
+                        """, ROW_MAPPER, callLogId, callLogId);
+    }
+
+    public List<Long> findPendingIds(long originalCallId) {
+        return jdbcTemplate.queryForList("SELECT retry_id FROM call_retry WHERE original_call_id = ? AND status = ?",
+                Long.class, originalCallId, CallRetry.Status.PENDING.name());
+    }
+
+    /**
+     * 상태를 from에서 to로 바꿉니다. 다른 곳에서 먼저 바꿨으면 false를 반환합니다.
+     */
+    public boolean transition(long retryId, CallRetry.Status from, CallRetry.Status to) {
+        return jdbcTemplate.update("UPDATE call_retry SET status = ?, updated_at = ? WHERE retry_id = ? AND status = ?",
+                to.name(), Timestamp.valueOf(LocalDateTime.now()), retryId, from.name()) == 1;
+    }
+
+    public void markDialed(long retryId, long retryCallId) {
+        jdbcTemplate.update("UPDATE call_retry SET status = ?, retry_call_id = ?, updated_at = ? WHERE retry_id = ?",
+                CallRetry.Status.DIALED.name(), retryCallId, Timestamp.valueOf(LocalDateTime.now()), retryId);
+    }
+
+    /**
+     * 발신 도중 서버가 멈춰 DIALING에 남은 재시도를 실패로 돌립니다. (전화가 이미 걸렸을 수 있으므로 다시 걸지 않습니다)
+     */
+    public int failInterrupted() {
+        return jdbcTemplate.update("UPDATE call_retry SET status = ?, updated_at = ? WHERE status = ?",
+                CallRetry.Status.FAILED.name(), Timestamp.valueOf(LocalDateTime.now()), CallRetry.Status.DIALING.name());
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.demo5.service.retry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이밍 휠. 가장 아래 단계는 칸 하나가 tickMillis이고, 위 단계로 갈수록 칸 하나가 아래 단계 한 바퀴만큼 깁니다.
+ * 등록은 만료 시각으로 단계와 칸을 계산해 넣기만 하고, 만료는 시계를 한 칸씩 옮기며 해당 칸을 비우므로
+ * 대기 중인 작업이 아무리 많아도 등록과 만료에 드는 비용이 작업 수와 무관합니다.
+ * 위 단계의 칸은 시작 시각이 되면 아래 단계로 다시 나눠 넣습니다. 필요한 만큼 위 단계를 늘리므로 먼 미래도 등록할 수 있습니다.
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 동기화합니다.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    // 마지막으로 처리한 틱 번호 (epoch millis / tickMillis)
+    private long currentTick;
+    private int pendingCount;
+
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMillis는 0보다 크고 wheelSize는 2 이상이어야 합니다.");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+        this.levels.add(new Level<>(1, wheelSize));
+    }
+
+    /**
+     * 작업을 등록합니다. 만료 시각이 이미 지났으면 등록하지 않고 null을 반환하므로 호출하는 쪽에서 바로 실행합니다.
+     */
+    public Timeout<T> add(T task, long expirationMillis) {
+        // 만료 시각보다 일찍 실행되지 않도록 올림한 틱에 넣습니다.
+        Timeout<T> timeout = new Timeout<>(this, task, Math.ceilDiv(expirationMillis, tickMillis));
+        if (!place(timeout)) {
+            return null;
+        }
+        pendingCount++;
+        return timeout;
+    }
+
+    /**
+     * 시계를 nowMillis까지 한 틱씩 옮기며 만료된 작업을 expired에 넘깁니다.
+     */
+    public void advanceTo(long nowMillis, Consumer<T> expired) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < targetTick) {
+            currentTick++;
+            // 위 단계부터 이 틱에 시작하는 칸을 아래 단계로 내립니다. 이 틱에 만료되는 작업은 바로 넘깁니다.
+            for (int i = levels.size() - 1; i >= 1; i--) {
+                Level<T> level = levels.get(i);
+                if (currentTick % level.span == 0) {
+                    ArrayDeque<Timeout<T>> bucket = level.bucket(currentTick / level.span);
+                    for (Timeout<T> timeout = bucket.poll(); timeout != null; timeout = bucket.poll()) {
+                        if (!timeout.cancelled && !place(timeout)) {
+                            expire(timeout, expired);
+                        }
+                    }
+                }
+            }
+            ArrayDeque<Timeout<T>> bucket = levels.get(0).bucket(currentTick);
+            for (Timeout<T> timeout = bucket.poll(); timeout != null; timeout = bucket.poll()) {
+                if (!timeout.cancelled) {
+                    expire(timeout, expired);
+                }
+            }
+        }
+    }
+
+    /**
+     * 만료되지도 취소되지도 않은 작업 수입니다.
+     */
+    public int pendingCount() {
+        return pendingCount;
+    }
+
+    int levelCount() {
+        return levels.size();
+    }
+
+    // 만료 틱과 현재 틱이 같은 칸 범위 안에 들어오는 가장 아래 단계에 넣습니다.
+    private boolean place(Timeout<T> timeout) {
+        if (timeout.expirationTick <= currentTick) {
+            return false;
+        }
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                levels.add(new Level<>(Math.multiplyExact(levels.get(i - 1).span, (long) wheelSize), wheelSize));
+            }
+            Level<T> level = levels.get(i);
+            if (timeout.expirationTick / level.span - currentTick / level.span < wheelSize) {
+                level.bucket(timeout.expirationTick / level.span).add(timeout);
+                return true;
+            }
+        }
+    }
+
+    private void expire(Timeout<T> timeout, Consumer<T> expired) {
+        timeout.expired = true;
+        pendingCount--;
+        expired.accept(timeout.task);
+    }
+
+    private static final class Level<T> {
+        private final long span; // 칸 하나가 차지하는 틱 수
+        private final ArrayDeque<Timeout<T>>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        private Level(long span, int wheelSize) {
+            this.span = span;
+            this.buckets = new ArrayDeque[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+        }
+
+        private ArrayDeque<Timeout<T>> bucket(long slot) {
+            return buckets[(int) (slot % buckets.length)];
+        }
+    }
+
+    /**
+     * 등록된 작업. 취소하면 칸에 남아 있다가 차례가 왔을 때 버려집니다.
+     */
+    public static final class Timeout<T> {
+        private final TimingWheel<T> wheel;
+        private final T task;
+        private final long expirationTick;
+        private boolean cancelled;
+        private boolean expired;
+
+        private Timeout(TimingWheel<T> wheel, T task, long expirationTick) {
+            this.wheel = wheel;
+            this.task = task;
+            this.expirationTick = expirationTick;
+        }
+
+        public T task() {
+            return task;
+        }
+
+        /**
+         * @return 대기 중이던 작업을 취소했으면 true
+         */
+        public boolean cancel() {
+            if (cancelled || expired) {
+                return false;
+            }
+            cancelled = true;
+            wheel.pendingCount--;
+            return true;
+        }
+    }
+}
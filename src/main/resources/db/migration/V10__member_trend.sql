@@ -0,0 +1,55 @@
+-- 통화별 분석 결과(감정, 상태 태그, 키워드)를 덮어쓰지 않고 쌓아 두는 시계열입니다.
+CREATE TABLE member_call_metric (
+    member_id    VARCHAR(10)  NOT NULL,
+    requested_at DATETIME(6)  NOT NULL,
+    call_log_id  BIGINT       NOT NULL,
+    mood         VARCHAR(50)  NULL,
+    status_tag   VARCHAR(20)  NULL,
+    keywords     VARCHAR(255) NULL,
+    PRIMARY KEY (member_id, requested_at, call_log_id)
+);
+
+-- 회원별 일간(DAILY)/주간(WEEKLY, 월요일 시작) 집계. 추이 API는 이 테이블만 읽습니다.
+CREATE TABLE member_trend_rollup (
+    member_id       VARCHAR(10) NOT NULL,
+    granularity     VARCHAR(10) NOT NULL,
+    period_start    DATE        NOT NULL,
+    call_count      INT         NOT NULL,
+    positive_count  INT         NOT NULL,
+    negative_count  INT         NOT NULL,
+    neutral_count   INT         NOT NULL,
+    caution_count   INT         NOT NULL,
+    critical_count  INT         NOT NULL,
+    last_status_tag VARCHAR(20) NULL,
+    last_call_at    DATETIME(6) NOT NULL,
+    PRIMARY KEY (member_id, granularity, period_start)
+);
+
+CREATE TABLE member_trend_keyword (
+    member_id     VARCHAR(10)  NOT NULL,
+    granularity   VARCHAR(10)  NOT NULL,
+    period_start  DATE         NOT NULL,
+    keyword       VARCHAR(100) NOT NULL,
+    mention_count INT          NOT NULL,
+    PRIMARY KEY (member_id, granularity, period_start, keyword)
+);
+
+-- 기존 통화는 call_log.simple_summary에 남아 있는 감정만 채웁니다. (당시 상태 태그와 키워드는 남아 있지 않습니다)
+INSERT INTO member_call_metric (member_id, requested_at, call_log_id, mood)
+SELECT member_id, requested_at, call_log_id, simple_summary
+FROM call_log
+WHERE member_id IS NOT NULL AND simple_summary IS NOT NULL;
+
+INSERT INTO member_trend_rollup (member_id, granularity, period_start, call_count, positive_count, negative_count,
+                                 neutral_count, caution_count, critical_count, last_status_tag, last_call_at)
+SELECT member_id, 'DAILY', DATE(requested_at), COUNT(*),
+       SUM(mood = '긍정'), SUM(mood = '부정'), SUM(mood = '중립'), 0, 0, NULL, MAX(requested_at)
+FROM member_call_metric
+GROUP BY member_id, DATE(requested_at);
+
+INSERT INTO member_trend_rollup (member_id, granularity, period_start, call_count, positive_count, negative_count,
+                                 neutral_count, caution_count, critical_count, last_status_tag, last_call_at)
+SELECT member_id, 'WEEKLY', DATE(requested_at) - INTERVAL WEEKDAY(requested_at) DAY, COUNT(*),
+       SUM(mood = '긍정'), SUM(mood = '부정'), SUM(mood = '중립'), 0, 0, NULL, MAX(requested_at)
+FROM member_call_metric
+GROUP BY member_id, DATE(requested_at) - INTERVAL WEEKDAY(requested_at) DAY;
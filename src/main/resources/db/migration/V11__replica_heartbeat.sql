@@ -0,0 +1,7 @@
+-- 읽기 복제본 지연 측정용 하트비트. 앱이 주 DB에 주기적으로 현재 시각(ms)을 기록하고,
+-- 복제본에서 읽은 값과의 차이로 복제 지연을 계산합니다. 행은 heartbeat_id = 1 하나만 사용합니다.
+CREATE TABLE replica_heartbeat (
+    heartbeat_id TINYINT NOT NULL,
+    beat_millis  BIGINT  NOT NULL,
+    PRIMARY KEY (heartbeat_id)
+);
@@ -0,0 +1,18 @@
+-- 야간 일괄 작업(재분석 등)의 실행 기록과 체크포인트.
+-- 항목은 키 순서로 묶음 단위 처리하며, 묶음이 끝날 때마다 마지막 키(last_key)를 기록해 재시작 후 그 다음부터 이어갑니다.
+CREATE TABLE batch_job_run (
+    run_id          BIGINT       NOT NULL AUTO_INCREMENT,
+    job_name        VARCHAR(50)  NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    last_key        VARCHAR(100) NULL,
+    total_count     INT          NOT NULL DEFAULT 0,
+    processed_count INT          NOT NULL DEFAULT 0,
+    failed_count    INT          NOT NULL DEFAULT 0,
+    active_millis   BIGINT       NOT NULL DEFAULT 0, -- 실제로 처리한 시간의 합 (처리량 계산용, 창 밖에서 쉬는 시간 제외)
+    created_at      DATETIME(6)  NOT NULL,
+    started_at      DATETIME(6)  NULL,
+    updated_at      DATETIME(6)  NOT NULL,
+    finished_at     DATETIME(6)  NULL,
+    PRIMARY KEY (run_id),
+    INDEX idx_batch_job_run_job (job_name, run_id)
+);
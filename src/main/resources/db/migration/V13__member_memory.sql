@@ -0,0 +1,10 @@
+-- 회원별 장기 기억. 통화마다 한 줄 요약을 recent_episodes에 쌓고, 오래된 요약은 long_term_summary로 합쳐 크기를 고정합니다.
+CREATE TABLE member_memory (
+    member_id         VARCHAR(10) NOT NULL PRIMARY KEY,
+    long_term_summary TEXT        NULL,
+    recent_episodes   TEXT        NULL, -- 줄마다 "MM-dd: 요약"
+    episode_count     INT         NOT NULL,
+    last_call_log_id  BIGINT      NOT NULL,
+    last_call_at      DATETIME(6) NOT NULL,
+    updated_at        DATETIME(6) NOT NULL
+);
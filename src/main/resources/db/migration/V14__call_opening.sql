@@ -0,0 +1,12 @@
+-- 예약 통화(스케줄 + 예정 시각)별로 미리 만들어 둔 첫 질문. 발신할 때 웰컴 URL에 opening_id를 실어 보내고, 웰컴 TwiML은 이 값을 읽기만 합니다.
+CREATE TABLE call_opening (
+    opening_id   BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    schedule_id  BIGINT       NOT NULL,
+    member_id    VARCHAR(10)  NOT NULL,
+    call_at      DATETIME(6)  NOT NULL,
+    question     VARCHAR(500) NOT NULL,
+    generated_at DATETIME(6)  NOT NULL,
+    used_at      DATETIME(6)  NULL,
+    UNIQUE KEY uk_call_opening_schedule_call_at (schedule_id, call_at),
+    KEY idx_call_opening_call_at (call_at)
+);
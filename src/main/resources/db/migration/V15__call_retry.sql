@@ -0,0 +1,23 @@
+-- 자동 통화 재시도. call_log에는 몇 번째 시도인지와 처음 시도한 통화를 남기고,
+-- 대기 중인 재시도는 call_retry에 저장합니다. (서버가 뜰 때 PENDING 행을 메모리의 타이밍 휠로 다시 올립니다)
+ALTER TABLE call_log
+    ADD COLUMN attempt  INT    NOT NULL DEFAULT 1,
+    ADD COLUMN retry_of BIGINT NULL;
+
+CREATE TABLE call_retry (
+    retry_id          BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    failed_call_id    BIGINT       NOT NULL, -- 실패한 통화 (call_log_id)
+    original_call_id  BIGINT       NOT NULL, -- 처음 시도한 통화
+    member_id         VARCHAR(10)  NOT NULL,
+    attempt           INT          NOT NULL, -- 이 재시도로 걸게 될 통화의 시도 번호 (2부터)
+    outcome           VARCHAR(20)  NOT NULL, -- 실패 사유 (no-answer, busy, failed, voicemail 등)
+    due_at            DATETIME(6)  NOT NULL,
+    status            VARCHAR(20)  NOT NULL, -- PENDING, DIALING, DIALED, CANCELLED, FAILED
+    retry_call_id     BIGINT       NULL,     -- 재시도로 건 통화 (call_log_id)
+    created_at        DATETIME(6)  NOT NULL,
+    updated_at        DATETIME(6)  NOT NULL,
+    UNIQUE KEY uk_call_retry_failed_call (failed_call_id),
+    KEY idx_call_retry_status_due (status, due_at),
+    KEY idx_call_retry_original (original_call_id),
+    KEY idx_call_retry_retry_call (retry_call_id)
+);
@@ -0,0 +1,14 @@
+-- 회원 기억에 반영한 통화. 캠페인 통화나 재시도는 call_log_id 순서와 다르게 끝나므로,
+-- "가장 큰 call_log_id보다 작으면 반영한 것"으로 판단하지 않고 반영한 통화를 하나씩 기록합니다.
+CREATE TABLE member_memory_call (
+    call_log_id BIGINT      NOT NULL PRIMARY KEY,
+    member_id   VARCHAR(10) NOT NULL,
+    applied_at  DATETIME(6) NOT NULL,
+    KEY idx_member_memory_call_member (member_id)
+);
+
+-- 기존 기억은 마지막으로 반영한 통화만 알고 있으므로 그 통화부터 기록합니다.
+INSERT INTO member_memory_call (call_log_id, member_id, applied_at)
+SELECT last_call_log_id, member_id, updated_at
+FROM member_memory
+WHERE last_call_log_id > 0;
@@ -0,0 +1,51 @@
+-- JPA 엔티티 기준 초기 스키마입니다.
+-- 이미 테이블이 존재하는 DB는 spring.flyway.baseline-version=1 로 이 단계를 건너뜁니다.
+CREATE TABLE member (
+    member_id    VARCHAR(10) NOT NULL,
+    phone_number VARCHAR(20) NOT NULL,
+    created_at   DATETIME(6) NULL,
+    PRIMARY KEY (member_id),
+    CONSTRAINT uk_member_phone_number UNIQUE (phone_number)
+);
+
+CREATE TABLE member_keyword (
+    keyword_id BIGINT      NOT NULL AUTO_INCREMENT,
+    member_id  VARCHAR(10) NOT NULL,
+    keyword    JSON        NULL,
+    PRIMARY KEY (keyword_id),
+    CONSTRAINT fk_member_keyword_member FOREIGN KEY (member_id) REFERENCES member (member_id)
+);
+
+CREATE TABLE member_status (
+    status_id  BIGINT       NOT NULL AUTO_INCREMENT,
+    member_id  VARCHAR(10)  NOT NULL,
+    status_tag VARCHAR(100) NOT NULL,
+    PRIMARY KEY (status_id),
+    CONSTRAINT fk_member_status_member FOREIGN KEY (member_id) REFERENCES member (member_id)
+);
+
+CREATE TABLE call_log (
+    call_log_id           BIGINT       NOT NULL AUTO_INCREMENT,
+    call_sid              VARCHAR(255) NULL,
+    member_id             VARCHAR(10)  NULL,
+    call_type             VARCHAR(20)  NOT NULL,
+    status                VARCHAR(20)  NOT NULL,
+    requested_at          DATETIME(6)  NULL,
+    call_data             JSON         NULL,
+    call_result_sentiment VARCHAR(255) NULL,
+    simple_summary        VARCHAR(50)  NULL,
+    PRIMARY KEY (call_log_id),
+    CONSTRAINT uk_call_log_call_sid UNIQUE (call_sid),
+    CONSTRAINT fk_call_log_member FOREIGN KEY (member_id) REFERENCES member (member_id)
+);
+
+CREATE TABLE call_schedule (
+    schedule_id BIGINT      NOT NULL AUTO_INCREMENT,
+    member_id   VARCHAR(10) NOT NULL,
+    start_date  DATE        NOT NULL,
+    frequency   VARCHAR(20) NOT NULL,
+    call_time   TIME        NOT NULL,
+    is_active   BOOLEAN     NULL,
+    PRIMARY KEY (schedule_id),
+    CONSTRAINT fk_call_schedule_member FOREIGN KEY (member_id) REFERENCES member (member_id)
+);
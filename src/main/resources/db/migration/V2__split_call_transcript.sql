@@ -0,0 +1,20 @@
+-- call_log.call_data(json)를 압축 저장되는 call_transcript 테이블로 분리합니다.
+CREATE TABLE call_transcript (
+    transcript_id BIGINT NOT NULL AUTO_INCREMENT,
+    content       MEDIUMBLOB NOT NULL,
+    PRIMARY KEY (transcript_id)
+);
+
+ALTER TABLE call_log
+    ADD COLUMN transcript_id BIGINT NULL,
+    ADD CONSTRAINT uk_call_log_transcript UNIQUE (transcript_id),
+    ADD CONSTRAINT fk_call_log_transcript FOREIGN KEY (transcript_id) REFERENCES call_transcript (transcript_id);
+
+-- 기존 JSON은 평문 그대로 옮깁니다. TranscriptCodec은 버전 헤더가 없는 평문을 그대로 읽고,
+-- 다음 저장 시점에 압축 형식으로 다시 기록합니다.
+INSERT INTO call_transcript (transcript_id, content)
+SELECT call_log_id, call_data FROM call_log WHERE call_data IS NOT NULL;
+
+UPDATE call_log SET transcript_id = call_log_id WHERE call_data IS NOT NULL;
+
+ALTER TABLE call_log DROP COLUMN call_data;
@@ -0,0 +1,14 @@
+-- 자주 실행되는 조회 경로에 필요한 인덱스입니다.
+
+-- findByMember_MemberIdAndRequestedAtBetween, findHistoryPage (InnoDB는 PK를 뒤에 붙이므로 call_log_id 정렬까지 커버)
+CREATE INDEX idx_call_log_member_requested ON call_log (member_id, requested_at);
+
+-- findTopByMember_MemberIdAndCallTypeOrderByRequestedAtDesc, callType 필터가 있는 findHistoryPage
+CREATE INDEX idx_call_log_member_type_requested ON call_log (member_id, call_type, requested_at);
+
+-- CallScheduler가 매 분 실행하는 findActiveSchedulesWithMemberAt
+CREATE INDEX idx_call_schedule_active_time ON call_schedule (is_active, call_time);
+
+-- findByMember_MemberId 는 회원당 한 행을 가정하므로 유일 인덱스로 보장합니다.
+CREATE UNIQUE INDEX uk_member_keyword_member ON member_keyword (member_id);
+CREATE UNIQUE INDEX uk_member_status_member ON member_status (member_id);
@@ -0,0 +1,76 @@
+-- call_log를 requested_at 기준 월별 RANGE 파티션으로 전환하고, 오래된 대화 원문을 옮겨 둘 콜드 테이블을 만듭니다.
+-- MariaDB 파티션 테이블은 외래 키를 가질 수 없고, 모든 유일 키에 파티션 컬럼이 포함되어야 합니다.
+
+-- 1. call_log의 외래 키 제거 (기존 DB는 Hibernate가 만든 이름을 사용하므로 이름을 조회해서 삭제)
+SET @fk = (SELECT CONSTRAINT_NAME FROM information_schema.KEY_COLUMN_USAGE
+           WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'call_log' AND COLUMN_NAME = 'member_id'
+             AND REFERENCED_TABLE_NAME IS NOT NULL LIMIT 1);
+SET @ddl = IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE call_log DROP FOREIGN KEY `', @fk, '`'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @fk = (SELECT CONSTRAINT_NAME FROM information_schema.KEY_COLUMN_USAGE
+           WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'call_log' AND COLUMN_NAME = 'transcript_id'
+             AND REFERENCED_TABLE_NAME IS NOT NULL LIMIT 1);
+SET @ddl = IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE call_log DROP FOREIGN KEY `', @fk, '`'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 2. call_sid, transcript_id 유일 키를 일반 인덱스로 교체
+SET @uk = (SELECT INDEX_NAME FROM information_schema.STATISTICS
+           WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'call_log' AND COLUMN_NAME = 'call_sid'
+             AND NON_UNIQUE = 0 LIMIT 1);
+SET @ddl = IF(@uk IS NULL, 'DO 0', CONCAT('ALTER TABLE call_log DROP INDEX `', @uk, '`'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @uk = (SELECT INDEX_NAME FROM information_schema.STATISTICS
+           WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'call_log' AND COLUMN_NAME = 'transcript_id'
+             AND NON_UNIQUE = 0 LIMIT 1);
+SET @ddl = IF(@uk IS NULL, 'DO 0', CONCAT('ALTER TABLE call_log DROP INDEX `', @uk, '`'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+CREATE INDEX idx_call_log_call_sid ON call_log (call_sid);
+CREATE INDEX idx_call_log_transcript ON call_log (transcript_id);
+
+-- 3. 파티션 키는 NOT NULL이어야 하며 기본 키에 포함되어야 합니다.
+UPDATE call_log SET requested_at = NOW(6) WHERE requested_at IS NULL;
+ALTER TABLE call_log
+    MODIFY requested_at DATETIME(6) NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (call_log_id, requested_at);
+
+-- 4. 월별 파티션. 이후 달의 파티션은 CallLogPartitionService가 p_future를 분할하여 미리 만들어 둡니다.
+ALTER TABLE call_log PARTITION BY RANGE COLUMNS (requested_at) (
+    PARTITION p_history VALUES LESS THAN ('2025-11-01'),
+    PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+    PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
+-- 5. 보관 기간이 지난 대화 원문을 옮겨 두는 콜드 테이블 (content는 TranscriptCodec 형식 그대로)
+CREATE TABLE call_transcript_archive (
+    call_log_id  BIGINT      NOT NULL,
+    member_id    VARCHAR(10) NULL,
+    requested_at DATETIME(6) NOT NULL,
+    content      MEDIUMBLOB  NOT NULL,
+    archived_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (call_log_id)
+);
@@ -0,0 +1,3 @@
+-- 회원 목록의 상태 태그 필터 (status_tag = ? AND member_id > ? ORDER BY member_id)와
+-- 상태 태그별 회원 수 집계를 인덱스만으로 처리합니다.
+CREATE INDEX idx_member_status_tag_member ON member_status (status_tag, member_id);
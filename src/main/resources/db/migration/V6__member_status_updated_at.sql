@@ -0,0 +1,7 @@
+-- 상태 태그가 마지막으로 바뀐 시각. 위험 회원 우선순위(최근 변경 순) 정렬에 사용합니다.
+ALTER TABLE member_status
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+-- 위험 회원 인덱스 재구성 쿼리가 테이블을 읽지 않도록 updated_at까지 포함하는 커버링 인덱스로 교체합니다.
+DROP INDEX idx_member_status_tag_member ON member_status;
+CREATE INDEX idx_member_status_tag_member ON member_status (status_tag, member_id, updated_at);
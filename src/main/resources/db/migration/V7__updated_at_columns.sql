@@ -0,0 +1,10 @@
+-- 조건부 GET(ETag/Last-Modified)용 변경 시각.
+-- ON UPDATE를 함께 두어 JPA를 거치지 않는 JDBC 일괄 갱신도 변경 시각에 반영되도록 합니다.
+ALTER TABLE member_status
+    MODIFY COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+ALTER TABLE member_keyword
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+ALTER TABLE call_log
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
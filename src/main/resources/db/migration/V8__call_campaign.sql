@@ -0,0 +1,23 @@
+-- 세그먼트 단위 일괄 발신(캠페인). 캠페인 통화는 call_log.campaign_id로 묶입니다.
+CREATE TABLE call_campaign (
+    campaign_id     BIGINT        NOT NULL AUTO_INCREMENT,
+    topic           VARCHAR(255)  NOT NULL,
+    question        VARCHAR(1000) NOT NULL,
+    status_tag      VARCHAR(100)  NULL,
+    missed_call     BOOLEAN       NULL,
+    status          VARCHAR(20)   NOT NULL,
+    total_count     INT           NOT NULL DEFAULT 0,
+    dialed_count    INT           NOT NULL DEFAULT 0,
+    failed_count    INT           NOT NULL DEFAULT 0,
+    cancelled_count INT           NOT NULL DEFAULT 0,
+    created_at      DATETIME(6)   NOT NULL,
+    started_at      DATETIME(6)   NULL,
+    finished_at     DATETIME(6)   NULL,
+    PRIMARY KEY (campaign_id),
+    INDEX idx_call_campaign_status (status)
+);
+
+-- 아직 발신하지 않은 캠페인 통화는 캠페인 생성 시각을 requested_at으로 가지므로, 한 파티션 안에서 이 인덱스로 다음 발신 대상을 찾습니다.
+-- 발신하거나 발신에 실패한 통화는 requested_at이 발신 시각으로 바뀝니다.
+ALTER TABLE call_log ADD COLUMN campaign_id BIGINT NULL;
+CREATE INDEX idx_call_log_campaign ON call_log (campaign_id, call_sid, call_log_id);
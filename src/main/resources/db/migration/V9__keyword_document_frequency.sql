@@ -0,0 +1,13 @@
+-- 로컬 키워드 추출(TF-IDF)용 문서 빈도표. 문서 하나는 통화 하나의 사용자 발화 전체입니다.
+CREATE TABLE keyword_document_frequency (
+    term           VARCHAR(100) NOT NULL,
+    document_count INT          NOT NULL,
+    PRIMARY KEY (term)
+);
+
+-- 빈도표에 반영된 전체 통화 수(IDF의 분모). 행은 corpus_id = 1 하나만 사용합니다.
+CREATE TABLE keyword_corpus (
+    corpus_id      TINYINT NOT NULL,
+    document_count BIGINT  NOT NULL,
+    PRIMARY KEY (corpus_id)
+);
@@ -0,0 +1,60 @@
+package com.example.demo5.config;
+
+import com.example.demo5.dto.ChatMessage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.twilio.rest.api.v2010.account.Call;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RuntimeHintsConfigTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new RuntimeHintsConfig.AppRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registersTypesBoundByJacksonAndTwilio() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(ChatMessage.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Call.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Call.Status.class)).accepts(hints);
+    }
+
+    @Test
+    void registersResourcesLoadedByName() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("risk-phrases.txt")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("org/apache/lucene/analysis/ko/dict/ConnectionCosts.dat")).accepts(hints);
+    }
+
+    @Test
+    void registeredClassNamesExist() throws ClassNotFoundException {
+        for (String className : RuntimeHintsConfig.AppRuntimeHints.LUCENE_ATTRIBUTE_IMPLS) {
+            Class.forName(className);
+        }
+    }
+
+    @Test
+    void caffeineClassesMatchCacheConfig() {
+        // CacheConfig와 같은 설정으로 만들었을 때 Caffeine이 고르는 내부 클래스가 힌트 목록과 같아야 합니다.
+        Cache<Object, Object> cache = Caffeine.newBuilder()
+                .maximumSize(10)
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .recordStats()
+                .build();
+        Object localCache = ReflectionTestUtils.getField(cache, "cache");
+        Object nodeFactory = ReflectionTestUtils.getField(localCache, "nodeFactory");
+
+        assertThat(RuntimeHintsConfig.AppRuntimeHints.CAFFEINE_CLASSES)
+                .containsExactly(localCache.getClass().getName(), nodeFactory.getClass().getName());
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.demo5.config.routing;
+
+import com.example.demo5.support.MariaDbTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 서로 독립된 두 데이터베이스를 주 DB와 복제본으로 두고, 하트비트 복제를 직접 흉내 내며 라우팅을 확인합니다.
+ * 각 DB의 이름이 다르므로 SELECT DATABASE()로 어느 쪽에서 읽었는지 알 수 있습니다.
+ */
+class ReplicaRoutingDataSourceTest extends MariaDbTestSupport {
+
+    private static DataSource primaryDataSource;
+    private static DataSource replicaDataSource;
+
+    private ReplicaLagMonitor lagMonitor;
+    private ReadYourWrites readYourWrites;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeAll
+    static void migrate() {
+        primaryDataSource = migratedDatabase("primary_db").dataSource();
+        replicaDataSource = migratedDatabase("replica_db").dataSource();
+    }
+
+    @BeforeEach
+    void setUp() {
+        new JdbcTemplate(primaryDataSource).update("DELETE FROM replica_heartbeat");
+        new JdbcTemplate(replicaDataSource).update("DELETE FROM replica_heartbeat");
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        lagMonitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource, 2_000, meterRegistry);
+        readYourWrites = new ReadYourWrites(5_000);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(
+                primaryDataSource, replicaDataSource, lagMonitor, readYourWrites, meterRegistry));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoutingContext.clear();
+    }
+
+    @Test
+    void readsPrimaryUntilHeartbeatReachesReplica() {
+        lagMonitor.beat();
+        lagMonitor.poll();
+
+        assertThat(lagMonitor.isHealthy()).isFalse();
+        assertThat(readOnlyDatabase()).isEqualTo("primary_db");
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicaWhenCaughtUp() {
+        lagMonitor.beat();
+        replicateHeartbeat();
+        lagMonitor.poll();
+
+        assertThat(lagMonitor.isHealthy()).isTrue();
+        assertThat(readOnlyDatabase()).isEqualTo("replica_db");
+        String writeDatabase = writeTransaction.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+        assertThat(writeDatabase).isEqualTo("primary_db");
+        assertThat(jdbcTemplate.queryForObject("SELECT DATABASE()", String.class)).isEqualTo("primary_db");
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicaLags() {
+        new JdbcTemplate(replicaDataSource).update("""
+                INSERT INTO replica_heartbeat (heartbeat_id, beat_millis)
+                VALUES (1, CAST(FLOOR(UNIX_TIMESTAMP(NOW(6)) * 1000) AS SIGNED) - 10000)
+                """);
+        lagMonitor.poll();
+
+        assertThat(lagMonitor.lagMillis()).isGreaterThanOrEqualTo(10_000);
+        assertThat(readOnlyDatabase()).isEqualTo("primary_db");
+
+        // 복제가 따라잡으면 다시 복제본을 사용합니다.
+        lagMonitor.beat();
+        replicateHeartbeat();
+        lagMonitor.poll();
+        assertThat(readOnlyDatabase()).isEqualTo("replica_db");
+    }
+
+    @Test
+    void memberReadsOwnWritesFromPrimary() {
+        lagMonitor.beat();
+        replicateHeartbeat();
+        lagMonitor.poll();
+        readYourWrites.markWritten("m0001");
+
+        RoutingContext.setMemberId("m0001");
+        assertThat(readOnlyDatabase()).isEqualTo("primary_db");
+
+        RoutingContext.setMemberId("m0002");
+        assertThat(readOnlyDatabase()).isEqualTo("replica_db");
+    }
+
+    @Test
+    void unreachableReplicaIsNotUsed() {
+        DriverManagerDataSource unreachable = new DriverManagerDataSource("jdbc:mariadb://localhost:1/none?connectTimeout=500", "none", "none");
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primaryDataSource, unreachable, 2_000, new SimpleMeterRegistry());
+
+        monitor.beat();
+        monitor.poll();
+
+        assertThat(monitor.isHealthy()).isFalse();
+    }
+
+    private String readOnlyDatabase() {
+        return readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+
+    // 실제 복제 대신 주 DB의 하트비트를 복제본에 옮겨 적습니다.
+    private void replicateHeartbeat() {
+        Long beat = new JdbcTemplate(primaryDataSource).queryForObject(
+                "SELECT beat_millis FROM replica_heartbeat WHERE heartbeat_id = 1", Long.class);
+        new JdbcTemplate(replicaDataSource).update("""
+                INSERT INTO replica_heartbeat (heartbeat_id, beat_millis) VALUES (1, ?)
+                ON DUPLICATE KEY UPDATE beat_millis = VALUES(beat_millis)
+                """, beat);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo5.config.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingInterceptorTest {
+
+    private final ReplicaRoutingInterceptor interceptor = new ReplicaRoutingInterceptor(new ReadYourWrites(5_000));
+
+    @AfterEach
+    void tearDown() {
+        RoutingContext.clear();
+    }
+
+    @Test
+    void clearsContextWhenAsyncHandlingStarts() {
+        // SSE 실시간 보기처럼 비동기로 넘어가는 요청은 요청 스레드에서 afterCompletion이 호출되지 않습니다.
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/members/m1/calls/live");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("memberId", "m1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, new Object());
+        assertThat(RoutingContext.currentMemberId()).isEqualTo("m1");
+
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+        assertThat(RoutingContext.currentMemberId()).isNull();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo5.controller;
+
+import com.example.demo5.dto.call.CallHistoryCursor;
+import com.example.demo5.dto.call.CallHistoryPageResponse;
+import com.example.demo5.service.MemberDashboardService;
+import com.example.demo5.service.MemberImportService;
+import com.example.demo5.service.MemberOverviewService;
+import com.example.demo5.service.MemberService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MemberControllerCallHistoryPageTest {
+
+    private MemberService memberService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        memberService = mock(MemberService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new MemberController(
+                memberService, mock(MemberDashboardService.class), mock(MemberOverviewService.class),
+                mock(MemberImportService.class)))
+                .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+                .build();
+    }
+
+    @Test
+    void rejectsMalformedCursorWithBadRequest() throws Exception {
+        mockMvc.perform(get("/api/members/m1/call-history/page").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(memberService, never()).getCallHistoryPage(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void passesDecodedCursorToService() throws Exception {
+        CallHistoryCursor cursor = new CallHistoryCursor(LocalDateTime.of(2025, 11, 20, 19, 0), 42L);
+        when(memberService.getCallHistoryPage(eq("m1"), eq(cursor), isNull(), isNull(), isNull()))
+                .thenReturn(new CallHistoryPageResponse(List.of(), null, false));
+
+        mockMvc.perform(get("/api/members/m1/call-history/page").param("cursor", cursor.encode()).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+}
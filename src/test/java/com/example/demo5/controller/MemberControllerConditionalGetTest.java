@@ -0,0 +1,68 @@
+package com.example.demo5.controller;
+
+import com.example.demo5.dto.ResourceVersion;
+import com.example.demo5.dto.member.MemberStatusTagResponse;
+import com.example.demo5.entity.MemberStatus;
+import com.example.demo5.service.MemberDashboardService;
+import com.example.demo5.service.MemberImportService;
+import com.example.demo5.service.MemberOverviewService;
+import com.example.demo5.service.MemberService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MemberControllerConditionalGetTest {
+
+    private static final ResourceVersion VERSION =
+            ResourceVersion.of("status", LocalDateTime.of(2025, 11, 21, 10, 20, 0, 123_456_000));
+
+    private MemberService memberService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        memberService = mock(MemberService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new MemberController(
+                memberService, mock(MemberDashboardService.class), mock(MemberOverviewService.class),
+                mock(MemberImportService.class)))
+                .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+                .build();
+        when(memberService.getMemberStatusTagVersion("m1")).thenReturn(VERSION);
+    }
+
+    @Test
+    void returnsBodyWithEtagWhenClientHasNoCopy() throws Exception {
+        MemberStatus memberStatus = new MemberStatus();
+        memberStatus.setStatusTag("주의");
+        when(memberService.getMemberStatusTag("m1")).thenReturn(new MemberStatusTagResponse(memberStatus));
+
+        mockMvc.perform(get("/api/members/m1/status").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", VERSION.etag()))
+                .andExpect(jsonPath("$.memberStatus").value("주의"));
+    }
+
+    @Test
+    void returnsNotModifiedWithoutLoadingWhenEtagMatches() throws Exception {
+        mockMvc.perform(get("/api/members/m1/status").header("If-None-Match", VERSION.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(memberService, never()).getMemberStatusTag("m1");
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.demo5.controller;
+
+import com.example.demo5.dto.call.TurnResult;
+import com.example.demo5.service.QnaService;
+import com.example.demo5.service.TwilioService;
+import com.example.demo5.service.media.MediaConversationEngine;
+import com.example.demo5.service.media.MulawCodec;
+import com.example.demo5.service.media.SpeechToText;
+import com.example.demo5.service.media.TextToSpeech;
+import com.example.demo5.service.media.VoiceActivityDetector;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 합성한 발화 모양의 신호(사인파 + 배음, 앞뒤 무음)를 Twilio 미디어 스트림 메시지로 흘려보내,
+ * 미디어 스트림 처리(발화 구간 감지 -> 턴 전달 -> 음성 송출 -> 끼어들기 -> 종료)의 흐름을 확인합니다.
+ * 실제 녹음이 아니며, 음성 인식/합성은 가짜 구현이고 대화 로직(QnaService)은 목으로 대체하므로
+ * 인식 정확도나 대화 내용은 검증하지 않습니다.
+ */
+class TwilioMediaStreamHandlerTest {
+
+    private static final String CALL_SID = "CA0001";
+    private static final String STREAM_SID = "MZ0001";
+    private static final int TTS_FRAMES_PER_CHAR = 1;
+    private static final int NO_SPEECH_TIMEOUT_MS = 2000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> sent = Collections.synchronizedList(new ArrayList<>());
+
+    private QnaService qnaService;
+    private TwilioService twilioService;
+    private FakeTextToSpeech textToSpeech;
+    private TwilioMediaStreamHandler handler;
+    private WebSocketSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        qnaService = mock(QnaService.class);
+        when(qnaService.startConversation(eq(CALL_SID), anyString())).thenAnswer(invocation -> invocation.getArgument(1));
+        when(qnaService.processTurn(CALL_SID, "무릎이 아파요")).thenReturn(TurnResult.next("저런, 병원에는 가보셨어요? 요즘 날이 추워서 더 아프실 것 같아요."));
+        when(qnaService.processTurn(CALL_SID, "이제 종료할게요")).thenReturn(TurnResult.end("요청에 따라 통화를 종료합니다."));
+        when(qnaService.processTurn(CALL_SID, "")).thenReturn(TurnResult.end("응답이 없어 통화를 종료합니다."));
+        twilioService = mock(TwilioService.class);
+
+        textToSpeech = new FakeTextToSpeech();
+        FakeSpeechToText speechToText = new FakeSpeechToText(List.of("무릎이 아파요", "이제 종료할게요"));
+        // 작업을 호출한 스레드에서 바로 실행해 순서를 결정적으로 만듭니다.
+        MediaConversationEngine engine = new MediaConversationEngine(qnaService, twilioService, speechToText, textToSpeech, Runnable::run,
+                NO_SPEECH_TIMEOUT_MS);
+        handler = new TwilioMediaStreamHandler(engine, objectMapper);
+
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("ws-1");
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            sent.add(objectMapper.readTree(invocation.<TextMessage>getArgument(0).getPayload()));
+            return null;
+        }).when(session).sendMessage(any());
+        handler.afterConnectionEstablished(session);
+    }
+
+    @Test
+    void drivesTurnsFromSyntheticSpeechSignalWithBargeInAndHangup() throws Exception {
+        receive(Map.of("event", "connected", "protocol", "Call"));
+        receive(Map.of("event", "start", "streamSid", STREAM_SID, "start", Map.of(
+                "callSid", CALL_SID, "streamSid", STREAM_SID, "customParameters", Map.of("question", "안녕하세요, 오늘 어떠세요?"))));
+
+        // 1. 첫 질문을 합성해 보내고, 재생이 끝나면 알려달라는 표시를 붙입니다.
+        assertThat(mediaFrames()).hasSize("안녕하세요, 오늘 어떠세요?".length() * TTS_FRAMES_PER_CHAR);
+        String firstMark = lastMark();
+        receive(Map.of("event", "mark", "streamSid", STREAM_SID, "mark", Map.of("name", firstMark)));
+        sent.clear();
+
+        // 2. 사용자 발화(합성 신호) -> 발화 끝 감지 -> 준비된 문장으로 턴 전달(목) -> 답변 송출
+        stream(syntheticUtterance(300, 800, 900));
+        verify(qnaService).processTurn(CALL_SID, "무릎이 아파요");
+        assertThat(events()).doesNotContain("clear");
+        assertThat(mediaFrames()).isNotEmpty();
+        assertThat(events()).last().isEqualTo("mark");
+
+        // 3. 답변 재생이 끝나기 전에 사용자가 말하기 시작하면 남은 음성을 버립니다. (끼어들기)
+        sent.clear();
+        stream(syntheticUtterance(0, 600, 900));
+        assertThat(events()).startsWith("clear");
+        verify(qnaService).processTurn(CALL_SID, "이제 종료할게요");
+
+        // 4. 종료 인사가 재생을 마치면 통화를 끊습니다.
+        verify(twilioService, never()).endCall(anyString());
+        receive(Map.of("event", "mark", "streamSid", STREAM_SID, "mark", Map.of("name", lastMark())));
+        verify(twilioService).endCall(CALL_SID);
+
+        var order = inOrder(qnaService);
+        order.verify(qnaService).startConversation(CALL_SID, "안녕하세요, 오늘 어떠세요?");
+        order.verify(qnaService).processTurn(CALL_SID, "무릎이 아파요");
+        order.verify(qnaService).processTurn(CALL_SID, "이제 종료할게요");
+        assertThat(textToSpeech.spoken).containsExactly("안녕하세요, 오늘 어떠세요?",
+                "저런, 병원에는 가보셨어요? 요즘 날이 추워서 더 아프실 것 같아요.", "요청에 따라 통화를 종료합니다.");
+
+        receive(Map.of("event", "stop", "streamSid", STREAM_SID));
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+    }
+
+    @Test
+    void endsCallAsTimeoutWhenUserStaysSilentAfterQuestion() throws Exception {
+        receive(Map.of("event", "start", "streamSid", STREAM_SID, "start", Map.of("callSid", CALL_SID, "streamSid", STREAM_SID)));
+
+        // 질문이 재생되는 동안의 무음은 세지 않습니다.
+        stream(syntheticUtterance(NO_SPEECH_TIMEOUT_MS, 0, 0));
+        verify(qnaService, never()).processTurn(CALL_SID, "");
+
+        receive(Map.of("event", "mark", "streamSid", STREAM_SID, "mark", Map.of("name", lastMark())));
+        stream(syntheticUtterance(NO_SPEECH_TIMEOUT_MS - MulawCodec.FRAME_MILLIS, 0, 0));
+        verify(qnaService, never()).processTurn(CALL_SID, "");
+
+        // 제한 시간이 지나면 Gather 방식과 같이 빈 발화로 턴을 넘겨 무응답으로 통화 기록을 남깁니다.
+        sent.clear();
+        stream(syntheticUtterance(MulawCodec.FRAME_MILLIS, 0, 0));
+        verify(qnaService).processTurn(CALL_SID, "");
+        assertThat(textToSpeech.spoken).last().isEqualTo("응답이 없어 통화를 종료합니다.");
+
+        // 안내가 재생을 마치면 통화를 끊습니다.
+        receive(Map.of("event", "mark", "streamSid", STREAM_SID, "mark", Map.of("name", lastMark())));
+        verify(twilioService).endCall(CALL_SID);
+    }
+
+    @Test
+    void outboundMessagesUseTwilioMediaFormat() throws Exception {
+        receive(Map.of("event", "start", "streamSid", STREAM_SID, "start", Map.of("callSid", CALL_SID, "streamSid", STREAM_SID)));
+
+        verify(qnaService).startConversation(CALL_SID, QnaService.DEFAULT_FIRST_QUESTION);
+        JsonNode media = sent.get(0);
+        assertThat(media.path("streamSid").asText()).isEqualTo(STREAM_SID);
+        assertThat(Base64.getDecoder().decode(media.path("media").path("payload").asText())).hasSize(MulawCodec.FRAME_BYTES);
+    }
+
+    private void receive(Map<String, Object> message) throws Exception {
+        handler.handleTextMessage(session, new TextMessage(objectMapper.writeValueAsString(message)));
+    }
+
+    // 음성 신호를 Twilio처럼 20ms 프레임으로 나누어 보냅니다.
+    private void stream(byte[] audio) throws Exception {
+        for (int offset = 0; offset < audio.length; offset += MulawCodec.FRAME_BYTES) {
+            byte[] frame = Arrays.copyOfRange(audio, offset, offset + MulawCodec.FRAME_BYTES);
+            receive(Map.of("event", "media", "streamSid", STREAM_SID, "media", Map.of(
+                    "track", "inbound", "payload", Base64.getEncoder().encodeToString(frame))));
+        }
+    }
+
+    /**
+     * 앞 무음, 발화 대신 쓰는 합성 신호(220Hz 사인파에 660Hz 배음을 섞은 파형), 뒤 무음으로 된 8kHz μ-law 신호입니다.
+     * 에너지 기반 발화 구간 감지만 통과하면 되므로 실제 음성일 필요는 없습니다.
+     */
+    private static byte[] syntheticUtterance(int leadingSilenceMs, int speechMs, int trailingSilenceMs) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IntStream.range(0, leadingSilenceMs * 8).forEach(i -> out.write(MulawCodec.encode(0)));
+        for (int i = 0; i < speechMs * 8; i++) {
+            double t = i / (double) MulawCodec.SAMPLE_RATE;
+            double sample = 6000 * Math.sin(2 * Math.PI * 220 * t) + 2500 * Math.sin(2 * Math.PI * 660 * t);
+            out.write(MulawCodec.encode((int) sample));
+        }
+        IntStream.range(0, trailingSilenceMs * 8).forEach(i -> out.write(MulawCodec.encode(0)));
+        return out.toByteArray();
+    }
+
+    private List<String> events() {
+        synchronized (sent) {
+            return sent.stream().map(node -> node.path("event").asText()).toList();
+        }
+    }
+
+    private List<JsonNode> mediaFrames() {
+        synchronized (sent) {
+            return sent.stream().filter(node -> "media".equals(node.path("event").asText())).toList();
+        }
+    }
+
+    private String lastMark() {
+        synchronized (sent) {
+            return sent.stream().filter(node -> "mark".equals(node.path("event").asText()))
+                    .reduce((first, second) -> second).orElseThrow()
+                    .path("mark").path("name").asText();
+        }
+    }
+
+    /**
+     * 발화 구간은 실제 구현과 같은 에너지 기반 감지기로 찾고, 발화가 끝날 때마다 준비된 문장을 차례로 돌려주는 가짜 인식기입니다.
+     */
+    private static final class FakeSpeechToText implements SpeechToText {
+
+        private final Deque<String> script;
+
+        private FakeSpeechToText(List<String> script) {
+            this.script = new ArrayDeque<>(script);
+        }
+
+        @Override
+        public Session open(Listener listener) {
+            VoiceActivityDetector detector = new VoiceActivityDetector(400, 3, 35);
+            return new Session() {
+                @Override
+                public void accept(byte[] mulawFrame) {
+                    switch (detector.accept(mulawFrame)) {
+                        case SPEECH_STARTED -> listener.onSpeechStarted();
+                        case SPEECH_ENDED -> listener.onTranscript(script.isEmpty() ? "" : script.poll());
+                        default -> {
+                        }
+                    }
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+
+    /**
+     * 글자마다 440Hz 사인파 프레임 하나(20ms)를 만드는 가짜 합성기입니다.
+     */
+    private static final class FakeTextToSpeech implements TextToSpeech {
+
+        private final List<String> spoken = new ArrayList<>();
+
+        @Override
+        public Stream<byte[]> synthesize(String text) {
+            spoken.add(text);
+            return IntStream.range(0, text.length() * TTS_FRAMES_PER_CHAR)
+                    .mapToObj(FakeTextToSpeech::toneFrame);
+        }
+
+        private static byte[] toneFrame(int index) {
+            byte[] frame = new byte[MulawCodec.FRAME_BYTES];
+            for (int i = 0; i < frame.length; i++) {
+                frame[i] = MulawCodec.encode((int) (3000 * Math.sin(2 * Math.PI * 440 * (index * frame.length + i) / MulawCodec.SAMPLE_RATE)));
+            }
+            return frame;
+        }
+    }
+}
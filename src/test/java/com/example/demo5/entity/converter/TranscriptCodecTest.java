@@ -0,0 +1,104 @@
+package com.example.demo5.entity.converter;
+
+import com.example.demo5.dto.ChatMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TranscriptCodecTest {
+
+    private static final String[] SUBJECTS = {"오늘은", "요즘", "어제", "아침에", "저녁에는", "주말에"};
+    private static final String[] TOPICS = {"무릎이 조금 아파서", "손주가 놀러 와서", "시장에 다녀와서", "병원에 갔다가", "산책을 하고", "밥을 해 먹고"};
+    private static final String[] ENDINGS = {"기분이 좋았어요.", "조금 피곤하네요.", "그냥 그랬어요.", "마음이 편했어요.", "외롭기도 했어요."};
+    private static final String[] AI_LINES = {
+            "그러셨군요. 오늘 하루 어떤 점이 가장 기억에 남으세요?",
+            "몸은 좀 괜찮으신가요? 무리하지 않으셨으면 좋겠어요.",
+            "좋은 시간을 보내셨네요. 누구와 함께 하셨어요?"
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void roundTripsTranscript() {
+        String json = syntheticTranscript(new Random(1));
+
+        byte[] encoded = TranscriptCodec.encode(json);
+
+        assertThat(encoded[0]).isEqualTo(TranscriptCodec.VERSION_DEFLATE);
+        assertThat(TranscriptCodec.decode(encoded)).isEqualTo(json);
+    }
+
+    @Test
+    void readsLegacyPlainJsonWithoutHeader() {
+        String json = "[{\"speaker\":\"User\",\"message\":\"안녕하세요\"}]";
+
+        assertThat(TranscriptCodec.decode(json.getBytes(StandardCharsets.UTF_8))).isEqualTo(json);
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        assertThatThrownBy(() -> TranscriptCodec.decode(new byte[]{0x07, 0x00}))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void distinguishesEncodedFromLegacyPayload() {
+        String json = "[{\"speaker\":\"User\",\"message\":\"안녕하세요\"}]";
+
+        assertThat(TranscriptCodec.isEncoded(TranscriptCodec.encode(json))).isTrue();
+        assertThat(TranscriptCodec.isEncoded(json.getBytes(StandardCharsets.UTF_8))).isFalse();
+        assertThat(TranscriptCodec.isEncoded(new byte[0])).isFalse();
+    }
+
+    /**
+     * 합성 말뭉치가 평문 JSON 대비 35% 미만으로 줄어들고, 모두 원문 그대로 복원되는지 확인합니다.
+     */
+    @Test
+    void compressesSyntheticKoreanCorpus() {
+        Random random = new Random(42);
+        List<String> corpus = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            corpus.add(syntheticTranscript(random));
+        }
+
+        long rawBytes = 0;
+        long encodedBytes = 0;
+        List<byte[]> encoded = new ArrayList<>(corpus.size());
+
+        for (String json : corpus) {
+            byte[] payload = TranscriptCodec.encode(json);
+            encoded.add(payload);
+            rawBytes += json.getBytes(StandardCharsets.UTF_8).length;
+            encodedBytes += payload.length;
+        }
+
+        for (int i = 0; i < encoded.size(); i++) {
+            assertThat(TranscriptCodec.decode(encoded.get(i))).isEqualTo(corpus.get(i));
+        }
+
+        double ratio = (double) encodedBytes / rawBytes;
+        assertThat(ratio).isLessThan(0.35);
+    }
+
+    private String syntheticTranscript(Random random) {
+        List<ChatMessage> messages = new ArrayList<>();
+        for (int turn = 0; turn < 10; turn++) {
+            messages.add(new ChatMessage("AI", AI_LINES[random.nextInt(AI_LINES.length)]));
+            messages.add(new ChatMessage("User", SUBJECTS[random.nextInt(SUBJECTS.length)] + " "
+                    + TOPICS[random.nextInt(TOPICS.length)] + " " + ENDINGS[random.nextInt(ENDINGS.length)]));
+        }
+        messages.add(new ChatMessage("System", "Call ended. Reason: 최대 대화 도달"));
+        try {
+            return objectMapper.writeValueAsString(messages);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.demo5.repository;
+
+import com.example.demo5.entity.CallCampaign;
+import com.example.demo5.entity.CallLog;
+import com.example.demo5.support.MariaDbTestSupport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.Repository;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 모든 리포지토리 쿼리를 현실적인 데이터량에서 실제로 실행하고, Hibernate/Spring Data가 만든 SQL을
+ * 바인딩 값 그대로 EXPLAIN 하여 풀 테이블 스캔이 없는지 확인합니다.
+ * SQL은 DataSource 프록시에서 가로채므로 엔티티 매핑이나 @Query가 바뀌면 검사 대상도 함께 바뀝니다.
+ * 리포지토리에 쿼리 메서드를 추가하면 INVOCATIONS에 호출을 추가해야 이 테스트가 통과합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RepositoryQueryPlanTest extends MariaDbTestSupport {
+
+    private static final int MEMBERS = 5_000;
+    private static final int CALLS_PER_MEMBER = 20;
+    private static final Set<String> OWN_TABLES = Set.of(
+            "member", "member_keyword", "member_status", "call_log", "call_schedule", "call_transcript");
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            CallCampaignRepository.class,
+            CallLogRepository.class,
+            CallScheduleRepository.class,
+            MemberKeywordRepository.class,
+            MemberRepository.class,
+            MemberStatusRepository.class);
+
+    private static final LocalDateTime SINCE = LocalDateTime.of(2025, 3, 1, 0, 0);
+    private static final LocalDateTime CURSOR = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+    // 이 테스트가 실행한 PreparedStatement (SQL과 바인딩 호출)
+    private static final List<CapturedStatement> CAPTURED = new ArrayList<>();
+
+    @Autowired
+    private CallCampaignRepository callCampaignRepository;
+    @Autowired
+    private CallLogRepository callLogRepository;
+    @Autowired
+    private CallScheduleRepository callScheduleRepository;
+    @Autowired
+    private MemberKeywordRepository memberKeywordRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private MemberStatusRepository memberStatusRepository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> database().url());
+        registry.add("spring.datasource.username", () -> database().username());
+        registry.add("spring.datasource.password", () -> database().password());
+        // 마이그레이션은 MariaDbTestSupport가 적용하고, 시드 데이터는 @BeforeAll에서 넣습니다.
+        registry.add("spring.flyway.enabled", () -> "false");
+    }
+
+    @BeforeAll
+    static void seedAndAnalyze() throws SQLException {
+        try (Connection connection = database().connect()) {
+            connection.setAutoCommit(false);
+            seed(connection);
+            connection.commit();
+            try (Statement statement = connection.createStatement()) {
+                for (String table : OWN_TABLES) {
+                    statement.execute("ANALYZE TABLE " + table);
+                }
+            }
+        }
+    }
+
+    /**
+     * 리포지토리 메서드 -> 시드 데이터 값으로 실행하는 호출. 선택 조건이 있는 쿼리는 조건 조합별로 나누어 검사합니다.
+     * (키의 [ ] 부분은 조합 이름)
+     */
+    private Map<String, Runnable> invocations() {
+        Map<String, Runnable> invocations = new LinkedHashMap<>();
+        invocations.put("MemberRepository.existsByPhoneNumber",
+                () -> memberRepository.existsByPhoneNumber("010-0000-0100"));
+        invocations.put("MemberRepository.findOverviewPage[all]",
+                () -> memberRepository.findOverviewPage("m1000", null, null, SINCE, 51));
+        invocations.put("MemberRepository.findOverviewPage[statusTag]",
+                () -> memberRepository.findOverviewPage("m1000", "주의", null, SINCE, 51));
+        invocations.put("MemberRepository.findOverviewPage[missedCall]",
+                () -> memberRepository.findOverviewPage("", null, true, SINCE, 51));
+        invocations.put("MemberStatusRepository.countByStatusTag",
+                () -> memberStatusRepository.countByStatusTag());
+        invocations.put("MemberStatusRepository.findTriageCandidates",
+                () -> memberStatusRepository.findTriageCandidates(List.of("주의", "확인 필요")));
+        invocations.put("MemberKeywordRepository.findByMember_MemberId",
+                () -> memberKeywordRepository.findByMember_MemberId("m0100"));
+        invocations.put("MemberKeywordRepository.findUpdatedAtByMemberId",
+                () -> memberKeywordRepository.findUpdatedAtByMemberId("m0100"));
+        invocations.put("MemberStatusRepository.findUpdatedAtByMemberId",
+                () -> memberStatusRepository.findUpdatedAtByMemberId("m0100"));
+        invocations.put("MemberStatusRepository.findByMember_MemberId",
+                () -> memberStatusRepository.findByMember_MemberId("m0100"));
+        invocations.put("CallLogRepository.findByCallSidAndRequestedAtAfter",
+                () -> callLogRepository.findByCallSidAndRequestedAtAfter("CA0000100", LocalDateTime.of(2025, 1, 1, 0, 0)));
+        invocations.put("CallLogRepository.findByMember_MemberIdAndRequestedAtBetween",
+                () -> callLogRepository.findByMember_MemberIdAndRequestedAtBetween("m0100",
+                        LocalDateTime.of(2025, 6, 1, 0, 0), LocalDateTime.of(2025, 6, 8, 0, 0)));
+        invocations.put("CallLogRepository.findTopByMember_MemberIdAndCallTypeAndRequestedAtAfterOrderByRequestedAtDesc",
+                () -> callLogRepository.findTopByMember_MemberIdAndCallTypeAndRequestedAtAfterOrderByRequestedAtDesc(
+                        "m0100", CallLog.CallType.AUTO, SINCE));
+        invocations.put("CallLogRepository.findHistoryPage[first]",
+                () -> callLogRepository.findHistoryPage("m0100", null, null, null, null, Limit.of(21)));
+        invocations.put("CallLogRepository.findHistoryPage[filtered]",
+                () -> callLogRepository.findHistoryPage("m0100", CallLog.CallType.AUTO, CallLog.CallStatus.FAILED,
+                        null, null, Limit.of(21)));
+        invocations.put("CallLogRepository.findHistoryPage[cursor]",
+                () -> callLogRepository.findHistoryPage("m0100", CallLog.CallType.AUTO, null, CURSOR, 5_000L, Limit.of(21)));
+        invocations.put("CallLogRepository.findLatestUpdatedAt",
+                () -> callLogRepository.findLatestUpdatedAt("m0100", SINCE));
+        invocations.put("CallCampaignRepository.findByStatusOrderByCampaignIdAsc",
+                () -> callCampaignRepository.findByStatusOrderByCampaignIdAsc(CallCampaign.CampaignStatus.RUNNING));
+        invocations.put("CallScheduleRepository.findActiveSchedulesWithMemberAt",
+                () -> callScheduleRepository.findActiveSchedulesWithMemberAt(LocalTime.of(19, 0), LocalTime.of(19, 0, 59)));
+        invocations.put("CallScheduleRepository.findActiveByMemberIds",
+                () -> callScheduleRepository.findActiveByMemberIds(List.of("m0100", "m0101", "m0102")));
+        return invocations;
+    }
+
+    @Test
+    void everyRepositoryQueryHasAPlanCheck() {
+        Set<String> declared = new TreeSet<>();
+        for (Class<?> repository : REPOSITORIES) {
+            assertThat(Repository.class).isAssignableFrom(repository);
+            Arrays.stream(repository.getDeclaredMethods())
+                    .filter(method -> !method.isDefault() && !method.isSynthetic() && !Modifier.isStatic(method.getModifiers()))
+                    .map(Method::getName)
+                    .forEach(name -> declared.add(repository.getSimpleName() + "." + name));
+        }
+
+        Set<String> invoked = new TreeSet<>();
+        invocations().keySet().forEach(key -> invoked.add(key.replaceAll("\\[.*]$", "")));
+        assertThat(invoked).containsAll(declared);
+    }
+
+    @Test
+    void noRepositoryQueryScansAFullTable() throws SQLException {
+        List<String> violations = new ArrayList<>();
+        try (Connection connection = database().connect()) {
+            for (Map.Entry<String, Runnable> entry : invocations().entrySet()) {
+                List<CapturedStatement> statements = capture(entry.getValue());
+                assertThat(statements).as(entry.getKey() + " 실행 SQL").isNotEmpty();
+                for (CapturedStatement captured : statements) {
+                    for (String table : fullScans(connection, captured)) {
+                        violations.add(entry.getKey() + " -> full scan on " + table + ": " + captured.sql());
+                    }
+                }
+            }
+        }
+
+        assertThat(violations).isEmpty();
+    }
+
+    private List<CapturedStatement> capture(Runnable invocation) {
+        synchronized (CAPTURED) {
+            CAPTURED.clear();
+        }
+        invocation.run();
+        synchronized (CAPTURED) {
+            return List.copyOf(CAPTURED);
+        }
+    }
+
+    private static List<String> fullScans(Connection connection, CapturedStatement captured) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + captured.sql())) {
+            captured.bind(explain);
+            try (ResultSet plan = explain.executeQuery()) {
+                while (plan.next()) {
+                    String table = plan.getString("table");
+                    String type = plan.getString("type");
+                    if (table != null && OWN_TABLES.contains(table) && "ALL".equals(type)) {
+                        tables.add(table);
+                    }
+                }
+            }
+        }
+        return tables;
+    }
+
+    private static TestDatabase database() {
+        return migratedDatabase("repository_query_plan");
+    }
+
+    /**
+     * 실행된 SQL과 setXxx(index, value...) 호출. EXPLAIN 문에 같은 호출을 그대로 다시 적용합니다.
+     */
+    private record CapturedStatement(String sql, Map<Integer, Binding> bindings) {
+
+        void bind(PreparedStatement statement) throws SQLException {
+            for (Binding binding : bindings.values()) {
+                try {
+                    binding.method().invoke(statement, binding.args());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                } catch (InvocationTargetException e) {
+                    throw new SQLException("바인딩 재적용 실패: " + binding.method().getName(), e.getCause());
+                }
+            }
+        }
+    }
+
+    private record Binding(Method method, Object[] args) {
+    }
+
+    /**
+     * 애플리케이션 DataSource를 감싸 PreparedStatement의 SQL과 바인딩 값을 기록합니다.
+     */
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return proxy(DataSource.class, dataSource, (method, args, result) ->
+                                result instanceof Connection connection ? capturingConnection(connection) : result);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static Connection capturingConnection(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) ->
+                    method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement
+                            ? capturingStatement(statement, (String) args[0])
+                            : result);
+        }
+
+        private static PreparedStatement capturingStatement(PreparedStatement statement, String sql) {
+            Map<Integer, Binding> bindings = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            bindings.put(index, new Binding(method, args.clone()));
+                        } else if (name.equals("clearParameters")) {
+                            bindings.clear();
+                        } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                            synchronized (CAPTURED) {
+                                CAPTURED.add(new CapturedStatement(sql, new TreeMap<>(bindings)));
+                            }
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, ResultMapper mapper) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> mapper.map(method, args, invoke(target, method, args))));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private interface ResultMapper {
+            Object map(Method method, Object[] args, Object result);
+        }
+    }
+
+    private static void seed(Connection connection) throws SQLException {
+        Random random = new Random(7);
+        LocalDateTime origin = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+        try (PreparedStatement member = connection.prepareStatement(
+                "INSERT INTO member (member_id, phone_number, created_at) VALUES (?, ?, ?)");
+             PreparedStatement keyword = connection.prepareStatement(
+                     "INSERT INTO member_keyword (member_id, keyword) VALUES (?, '[]')");
+             PreparedStatement status = connection.prepareStatement(
+                     "INSERT INTO member_status (member_id, status_tag) VALUES (?, ?)");
+             PreparedStatement schedule = connection.prepareStatement(
+                     "INSERT INTO call_schedule (member_id, start_date, frequency, call_time, is_active) VALUES (?, '2025-01-01', 'DAILY', ?, ?)")) {
+            for (int i = 0; i < MEMBERS; i++) {
+                String memberId = memberId(i);
+                member.setString(1, memberId);
+                member.setString(2, String.format("010-0000-%04d", i));
+                member.setTimestamp(3, Timestamp.valueOf(origin));
+                member.addBatch();
+
+                keyword.setString(1, memberId);
+                keyword.addBatch();
+
+                status.setString(1, memberId);
+                status.setString(2, i % 10 == 0 ? "확인 필요" : i % 4 == 0 ? "주의" : "안전");
+                status.addBatch();
+
+                schedule.setString(1, memberId);
+                schedule.setString(2, String.format("%02d:%02d:00", random.nextInt(24), random.nextInt(60)));
+                schedule.setBoolean(3, random.nextInt(10) != 0);
+                schedule.addBatch();
+            }
+            member.executeBatch();
+            keyword.executeBatch();
+            status.executeBatch();
+            schedule.executeBatch();
+        }
+
+        try (PreparedStatement callLog = connection.prepareStatement(
+                "INSERT INTO call_log (call_sid, member_id, call_type, status, requested_at, call_result_sentiment, simple_summary) "
+                        + "VALUES (?, ?, ?, ?, ?, '잘 지내셨나요?', '긍정')")) {
+            int sequence = 0;
+            for (int i = 0; i < MEMBERS; i++) {
+                for (int call = 0; call < CALLS_PER_MEMBER; call++) {
+                    callLog.setString(1, String.format("CA%07d", sequence++));
+                    callLog.setString(2, memberId(i));
+                    callLog.setString(3, random.nextInt(4) == 0 ? "MANUAL" : "AUTO");
+                    callLog.setString(4, random.nextInt(5) == 0 ? "FAILED" : "COMPLETED");
+                    callLog.setTimestamp(5, Timestamp.valueOf(origin.plusDays(call * 10L).plusMinutes(random.nextInt(600))));
+                    callLog.addBatch();
+                }
+                if (i % 500 == 0) {
+                    callLog.executeBatch();
+                }
+            }
+            callLog.executeBatch();
+        }
+    }
+
+    private static String memberId(int index) {
+        return String.format("m%04d", index);
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.campaign.CampaignResponse;
+import com.example.demo5.dto.campaign.CreateCampaignRequest;
+import com.example.demo5.support.MariaDbTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 캠페인 발신이 허용량만큼만, 진행 중인 캠페인들에 나누어 이루어지는지와 일시정지/재개/취소/완료 처리를 실제 MariaDB에서 확인합니다.
+ * 발신 허용량은 테스트마다 직접 채워 넣어, 경과 시간에 따라 결과가 달라지지 않게 합니다.
+ */
+@DataJpaTest(properties = "campaign.dials-per-second=4")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CallCampaignService.class)
+// 서비스가 직접 트랜잭션을 나누므로 테스트 트랜잭션으로 감싸지 않습니다.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CallCampaignServiceTest extends MariaDbTestSupport {
+
+    @MockitoBean
+    private QuestionGenerationService questionGenerationService;
+    @MockitoBean
+    private TwilioService twilioService;
+
+    @Autowired
+    private CallCampaignService campaignService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> database().url());
+        registry.add("spring.datasource.username", () -> database().username());
+        registry.add("spring.datasource.password", () -> database().password());
+        registry.add("spring.flyway.enabled", () -> "false");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM call_log");
+        jdbcTemplate.update("DELETE FROM call_campaign");
+        jdbcTemplate.update("DELETE FROM member_status");
+        jdbcTemplate.update("DELETE FROM member");
+
+        when(questionGenerationService.generateQuestionFromTopic(anyString())).thenReturn("요즘 산책은 자주 하세요?");
+        when(twilioService.buildCustomWelcomeUrl(anyString(), anyString())).thenReturn("https://example.test/welcome");
+        when(twilioService.formatPhoneNumber(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(twilioService.makeCall(anyString(), anyString(), anyString())).thenReturn("CA-test");
+    }
+
+    @Test
+    void dialsWithinBudgetAndSharesItAcrossRunningCampaigns() {
+        seedMembers("주의", 1, 4);
+        seedMembers("안전", 5, 4);
+        CampaignResponse caution = campaignService.createCampaign(request("주의"));
+        CampaignResponse safe = campaignService.createCampaign(request("안전"));
+
+        // 쉬는 동안 쌓인 허용량은 1초 분량(4건)까지만 인정됩니다.
+        grantDials(100);
+        campaignService.dispatch();
+
+        assertThat(campaignService.getCampaign(caution.getCampaignId()).getDialedCount()).isEqualTo(2);
+        assertThat(campaignService.getCampaign(safe.getCampaignId()).getDialedCount()).isEqualTo(2);
+        verify(twilioService, times(4)).makeCall(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void pausedCampaignIsSkippedUntilResumedAndCancelDropsUndialedCalls() {
+        seedMembers("주의", 1, 4);
+        Long campaignId = campaignService.createCampaign(request("주의")).getCampaignId();
+
+        campaignService.pause(campaignId);
+        grantDials(4);
+        campaignService.dispatch();
+        assertThat(campaignService.getCampaign(campaignId).getDialedCount()).isZero();
+
+        campaignService.resume(campaignId);
+        grantDials(2);
+        campaignService.dispatch();
+        assertThat(campaignService.getCampaign(campaignId).getDialedCount()).isEqualTo(2);
+
+        CampaignResponse cancelled = campaignService.cancel(campaignId);
+        assertThat(cancelled.getStatus()).isEqualTo("CANCELLED");
+        assertThat(cancelled.getCancelledCount()).isEqualTo(2);
+        assertThat(cancelled.getRemainingCount()).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM call_log WHERE campaign_id = ?", Integer.class, campaignId)).isEqualTo(2);
+    }
+
+    @Test
+    void completesOnceEveryTargetIsDialedAndStampsDialTime() {
+        seedMembers("주의", 1, 3);
+        when(twilioService.makeCall(eq("010-0000-0002"), anyString(), anyString())).thenThrow(new IllegalStateException("번호 오류"));
+        CampaignResponse created = campaignService.createCampaign(request("주의"));
+
+        grantDials(4);
+        campaignService.dispatch();
+
+        CampaignResponse finished = campaignService.getCampaign(created.getCampaignId());
+        assertThat(finished.getStatus()).isEqualTo("COMPLETED");
+        assertThat(finished.getDialedCount()).isEqualTo(2);
+        assertThat(finished.getFailedCount()).isEqualTo(1);
+        assertThat(finished.getFinishedAt()).isNotNull();
+        // 발신하거나 실패 처리한 통화는 생성 시각이 아니라 발신 시각을 requested_at으로 가집니다.
+        List<Timestamp> requestedAt = jdbcTemplate.queryForList(
+                "SELECT requested_at FROM call_log WHERE campaign_id = ?", Timestamp.class, created.getCampaignId());
+        assertThat(requestedAt).hasSize(3)
+                .allSatisfy(value -> assertThat(value.toLocalDateTime()).isAfter(created.getCreatedAt()));
+    }
+
+    private void seedMembers(String statusTag, int first, int count) {
+        for (int i = first; i < first + count; i++) {
+            String memberId = String.format("m%04d", i);
+            jdbcTemplate.update("INSERT INTO member (member_id, phone_number) VALUES (?, ?)",
+                    memberId, String.format("010-0000-%04d", i));
+            jdbcTemplate.update("INSERT INTO member_status (member_id, status_tag) VALUES (?, ?)", memberId, statusTag);
+        }
+    }
+
+    private void grantDials(int dials) {
+        ReflectionTestUtils.setField(campaignService, "dialBudget", (double) dials);
+        ReflectionTestUtils.setField(campaignService, "lastRefillNanos", System.nanoTime());
+    }
+
+    private static CreateCampaignRequest request(String statusTag) {
+        CreateCampaignRequest request = new CreateCampaignRequest();
+        request.setTopic("산책");
+        request.setStatusTag(statusTag);
+        return request;
+    }
+
+    private static TestDatabase database() {
+        return migratedDatabase("call_campaign");
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.export.CallLogExportFilter;
+import com.example.demo5.entity.CallLog;
+import com.example.demo5.entity.converter.TranscriptCodec;
+import com.example.demo5.support.MariaDbTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내보내기 결과가 줄마다 올바른 JSON이고, 압축/평문/보관된 원문이 모두 원래 대화로 복원되는지 확인합니다.
+ */
+class CallLogExportServiceTest extends MariaDbTestSupport {
+
+    private static final String TRANSCRIPT = "[{\"speaker\":\"AI\",\"message\":\"안녕하세요\"},{\"speaker\":\"User\",\"message\":\"네, 잘 지내요\"}]";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static TestDatabase database;
+    private static CallLogExportService exportService;
+
+    @BeforeAll
+    static void setUp() {
+        database = migratedDatabase("call_log_export");
+        JdbcTemplate jdbcTemplate = database.jdbcTemplate();
+        LocalDateTime requestedAt = LocalDateTime.of(2025, 11, 10, 9, 0);
+        jdbcTemplate.update("INSERT INTO member (member_id, phone_number) VALUES ('m0001', '010-0000-0001')");
+        // 1: 압축 원문, 2: 버전 헤더 없는 평문 원문, 3: 보관된 원문, 4: 원문 없음
+        jdbcTemplate.update("INSERT INTO call_transcript (transcript_id, content) VALUES (1, ?), (2, ?)",
+                TranscriptCodec.encode(TRANSCRIPT), TRANSCRIPT.getBytes(StandardCharsets.UTF_8));
+        for (long id = 1; id <= 4; id++) {
+            jdbcTemplate.update("INSERT INTO call_log (call_log_id, member_id, call_type, status, requested_at, transcript_id) "
+                            + "VALUES (?, 'm0001', 'AUTO', 'COMPLETED', ?, ?)",
+                    id, requestedAt.plusMinutes(id), id <= 2 ? id : null);
+        }
+        jdbcTemplate.update("INSERT INTO call_transcript_archive (call_log_id, member_id, requested_at, content, archived_at) "
+                + "VALUES (3, 'm0001', ?, ?, NOW(6))", requestedAt.plusMinutes(3), TranscriptCodec.encode(TRANSCRIPT));
+
+        exportService = new CallLogExportService(jdbcTemplate, objectMapper);
+        ReflectionTestUtils.setField(exportService, "fetchSize", 2);
+        ReflectionTestUtils.setField(exportService, "netWriteTimeoutSeconds", 600);
+    }
+
+    @Test
+    void streamsEveryTranscriptFormatAsValidNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = exportService.export(new CallLogExportFilter(
+                LocalDateTime.of(2025, 11, 1, 0, 0), LocalDateTime.of(2025, 12, 1, 0, 0), "m0001", CallLog.CallStatus.COMPLETED), out);
+
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+        JsonNode expected = objectMapper.readTree(TRANSCRIPT);
+
+        assertThat(count).isEqualTo(4);
+        assertThat(rows).extracting(row -> row.get("callLogId").asLong()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(rows.get(0).get("callData")).isEqualTo(expected);
+        assertThat(rows.get(1).get("callData")).isEqualTo(expected);
+        assertThat(rows.get(2).get("callData")).isEqualTo(expected);
+        assertThat(rows.get(3).get("callData").isNull()).isTrue();
+    }
+
+    @Test
+    void restoresSessionNetWriteTimeoutOfPooledConnection() {
+        // 같은 커넥션을 다시 쓰도록 하여 풀로 돌아간 커넥션의 세션 값을 확인합니다.
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                database.url(), database.username(), database.password(), true);
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("SET SESSION net_write_timeout = 45");
+            CallLogExportService service = new CallLogExportService(jdbcTemplate, objectMapper);
+            ReflectionTestUtils.setField(service, "fetchSize", 2);
+            ReflectionTestUtils.setField(service, "netWriteTimeoutSeconds", 600);
+
+            service.export(new CallLogExportFilter(
+                    LocalDateTime.of(2025, 11, 1, 0, 0), LocalDateTime.of(2025, 12, 1, 0, 0), null, null), new ByteArrayOutputStream());
+
+            assertThat(jdbcTemplate.queryForObject("SELECT @@SESSION.net_write_timeout", Integer.class)).isEqualTo(45);
+        } finally {
+            dataSource.destroy();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo5.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DropOldestBufferTest {
+
+    @Test
+    void schedulesDrainOnlyOnceUntilEmptied() {
+        DropOldestBuffer<String> buffer = new DropOldestBuffer<>(4);
+
+        assertThat(buffer.offer("a")).isTrue();
+        assertThat(buffer.offer("b")).isFalse();
+
+        DropOldestBuffer.Drained<String> drained = buffer.drain();
+        assertThat(drained.items()).containsExactly("a", "b");
+        assertThat(drained.dropped()).isZero();
+        // 소비 중에 들어온 항목은 같은 소비 작업이 이어서 가져갑니다.
+        assertThat(buffer.offer("c")).isFalse();
+        assertThat(buffer.drain().items()).containsExactly("c");
+        assertThat(buffer.drain()).isNull();
+
+        assertThat(buffer.offer("d")).isTrue();
+    }
+
+    @Test
+    void dropsOldestWhenFull() {
+        DropOldestBuffer<Integer> buffer = new DropOldestBuffer<>(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.offer(i);
+        }
+
+        DropOldestBuffer.Drained<Integer> drained = buffer.drain();
+        assertThat(drained.items()).containsExactly(3, 4, 5);
+        assertThat(drained.dropped()).isEqualTo(2);
+        assertThat(buffer.drain()).isNull();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo5.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KoreanKeywordExtractorTest {
+
+    private final KoreanKeywordExtractor extractor = new KoreanKeywordExtractor();
+
+    @Test
+    void countsNounsWithoutParticlesOrStopwords() {
+        Map<String, Integer> counts = extractor.termCounts("요즘 무릎이 아파서 병원에 다녀왔어요. 무릎 때문에 산책을 못 했어요.");
+
+        assertThat(counts).containsEntry("무릎", 2).containsKeys("병원", "산책");
+        assertThat(counts).doesNotContainKeys("요즘", "때문", "이", "에");
+    }
+
+    @Test
+    void ranksRareTermsAboveCommonOnes() {
+        Map<String, Integer> counts = extractor.termCounts("식사는 했어요. 손녀가 왔어요. 식사 같이 했어요. 손녀 보니 좋네요.");
+        Map<String, Integer> documentFrequency = Map.of("식사", 90, "손녀", 3);
+
+        List<String> keywords = extractor.topKeywords(counts, term -> documentFrequency.getOrDefault(term, 0), 100, 5);
+
+        assertThat(keywords).startsWith("손녀").contains("식사");
+        assertThat(keywords.indexOf("손녀")).isLessThan(keywords.indexOf("식사"));
+    }
+
+    @Test
+    void limitsKeywordCount() {
+        Map<String, Integer> counts = extractor.termCounts("병원 약국 시장 공원 교회 은행 학교");
+
+        assertThat(extractor.topKeywords(counts, term -> 0, 0, KoreanKeywordExtractor.MAX_KEYWORDS))
+                .containsExactly("병원", "약국", "시장", "공원", "교회");
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo5.service;
+
+import com.example.demo5.config.CacheConfig;
+import com.example.demo5.config.routing.ReadYourWrites;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberCacheEvictorTest {
+
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    private final ReadYourWrites readYourWrites = new ReadYourWrites(5_000);
+    private final MemberCacheEvictor evictor = new MemberCacheEvictor(cacheManager, readYourWrites);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictsImmediatelyOutsideTransaction() {
+        Cache cache = cacheManager.getCache(CacheConfig.MEMBER_STATUS_TAG);
+        cache.put("m1", "주의");
+        cache.put("m2", "안전");
+
+        evictor.evict("m1", CacheConfig.MEMBER_STATUS_TAG);
+
+        assertThat(cache.get("m1")).isNull();
+        assertThat(cache.get("m2")).isNotNull();
+    }
+
+    @Test
+    void defersEvictionUntilCommit() {
+        Cache analysis = cacheManager.getCache(CacheConfig.MEMBER_ANALYSIS);
+        Cache status = cacheManager.getCache(CacheConfig.MEMBER_STATUS_TAG);
+        analysis.put("m1", "old analysis");
+        status.put("m1", "안전");
+
+        TransactionSynchronizationManager.initSynchronization();
+        evictor.evict("m1", CacheConfig.MEMBER_ANALYSIS, CacheConfig.MEMBER_STATUS_TAG);
+        assertThat(analysis.get("m1")).isNotNull();
+        assertThat(readYourWrites.requiresPrimary("m1", 0)).isFalse();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(analysis.get("m1")).isNull();
+        assertThat(status.get("m1")).isNull();
+        // 커밋된 뒤에야 쓰기로 기록되어, 이후 조회가 주 DB를 읽습니다.
+        assertThat(readYourWrites.requiresPrimary("m1", 0)).isTrue();
+        assertThat(readYourWrites.requiresPrimary("m2", 0)).isFalse();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.analysis.AnalysisResponse;
+import com.example.demo5.dto.call.LatestCallStatusResponse;
+import com.example.demo5.dto.member.DashboardSection;
+import com.example.demo5.dto.member.MemberDashboardResponse;
+import com.example.demo5.dto.member.MemberStatusTagResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MemberDashboardServiceTest {
+
+    private final MemberLookup memberLookup = mock(MemberLookup.class);
+    private final MemberService memberService = mock(MemberService.class);
+    private final ConversationSummaryService conversationSummaryService = mock(ConversationSummaryService.class);
+    private final ExecutorService executor = Executors.newFixedThreadPool(5);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void cancelsSectionThatMissesItsDeadline() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(conversationSummaryService.getConversationSummary("m1")).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "늦은 요약";
+        });
+        stubFastSections();
+
+        MemberDashboardResponse response = service(executor).getDashboard("m1");
+
+        assertThat(response.getSummary().getState()).isEqualTo(DashboardSection.State.TIMEOUT);
+        assertThat(response.getAnalysis().getState()).isEqualTo(DashboardSection.State.OK);
+        // 응답한 뒤 LLM 호출 스레드가 계속 돌지 않도록 인터럽트됩니다.
+        assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void reportsFixedMessageInsteadOfExceptionDetail() {
+        when(conversationSummaryService.getConversationSummary("m1")).thenReturn("요약");
+        stubFastSections();
+        when(memberService.getMemberStatusTag("m1")).thenThrow(new IllegalStateException("jdbc:mariadb://db-primary 연결 실패"));
+
+        MemberDashboardResponse response = service(executor).getDashboard("m1");
+
+        assertThat(response.getStatus().getState()).isEqualTo(DashboardSection.State.ERROR);
+        assertThat(response.getStatus().getMessage()).isEqualTo("조회 중 오류가 발생했습니다.");
+        assertThat(response.getSummary().getState()).isEqualTo(DashboardSection.State.OK);
+    }
+
+    @Test
+    void marksSectionsBusyWhenExecutorRejects() {
+        MemberDashboardService service = service(task -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        MemberDashboardResponse response = service.getDashboard("m1");
+
+        assertThat(response.getAnalysis().getState()).isEqualTo(DashboardSection.State.BUSY);
+        assertThat(response.getSummary().getState()).isEqualTo(DashboardSection.State.BUSY);
+        assertThat(response.getCallHistory().getData()).isNull();
+    }
+
+    private void stubFastSections() {
+        when(memberService.getMemberAnalysis("m1")).thenReturn(new AnalysisResponse("산책", "긍정", "좋아요", "산책은 어떠셨어요?"));
+        when(memberService.getMemberStatusTag("m1")).thenReturn(mock(MemberStatusTagResponse.class));
+        when(memberService.getLatestAutoCallStatus("m1")).thenReturn(new LatestCallStatusResponse("완료", "10:20"));
+        when(memberService.getCallHistory("m1")).thenReturn(List.of());
+    }
+
+    private MemberDashboardService service(Executor dashboardExecutor) {
+        MemberDashboardService service = new MemberDashboardService(memberLookup, memberService, conversationSummaryService, dashboardExecutor);
+        ReflectionTestUtils.setField(service, "sectionTimeoutMs", 1_000L);
+        ReflectionTestUtils.setField(service, "summaryTimeoutMs", 200L);
+        return service;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.member.MemberImportResponse;
+import com.example.demo5.dto.member.MemberImportRowResult;
+import com.example.demo5.support.MariaDbTestSupport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실제 MariaDB에 대해 일괄 등록의 중복 처리와 처리량을 확인합니다.
+ */
+class MemberImportServiceTest extends MariaDbTestSupport {
+
+    private static final int BULK_MEMBERS = 100_000;
+
+    private static DataSource dataSource;
+    private static MemberImportService importService;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        dataSource = migratedDatabase("member_import").dataSource();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        importService = importService(new MemberIdGenerator());
+    }
+
+    @Test
+    void reportsDuplicatesAndInvalidRowsPerLine() {
+        jdbcTemplate.update("INSERT INTO member (member_id, phone_number) VALUES ('exist', '010-9999-0001')");
+        String ndjson = """
+                {"phoneNumber":"010-9999-0002"}
+                {"phoneNumber":"010-9999-0001"}
+                {"phoneNumber":"010-9999-0002"}
+                not json
+                {"phoneNumber":""}
+                """;
+
+        MemberImportResponse response = importService.importMembers(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), MemberImportService.Format.NDJSON);
+
+        assertThat(response.getRows()).extracting(MemberImportRowResult::result).containsExactly(
+                MemberImportRowResult.Result.CREATED,
+                MemberImportRowResult.Result.DUPLICATE,
+                MemberImportRowResult.Result.DUPLICATE,
+                MemberImportRowResult.Result.INVALID,
+                MemberImportRowResult.Result.INVALID);
+        assertThat(response.getRows()).extracting(MemberImportRowResult::line).containsExactly(1L, 2L, 3L, 4L, 5L);
+
+        String memberId = response.getRows().get(0).memberId();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT status_tag FROM member_status WHERE member_id = ?", String.class, memberId)).isEqualTo("안전");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM member_keyword WHERE member_id = ?", Integer.class, memberId)).isEqualTo(1);
+    }
+
+    @Test
+    void importsHundredThousandMembersInSeconds() {
+        StringBuilder csv = new StringBuilder("phoneNumber\n");
+        for (int i = 0; i < BULK_MEMBERS; i++) {
+            csv.append(String.format("010-%04d-%04d%n", i / 10_000 + 1000, i % 10_000));
+        }
+
+        Instant start = Instant.now();
+        MemberImportResponse response = importService.importMembers(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), MemberImportService.Format.CSV);
+        Duration elapsed = Duration.between(start, Instant.now());
+
+        assertThat(response.getCreated()).isEqualTo(BULK_MEMBERS);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT member_id) FROM member_status WHERE member_id IN "
+                        + "(SELECT member_id FROM member WHERE phone_number LIKE '010-1%')", Integer.class))
+                .isEqualTo(BULK_MEMBERS);
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(60));
+    }
+
+    @Test
+    void treatsMemberIdsThatDifferOnlyInCaseAsTheSameKey() {
+        // member_id 콜레이션은 대소문자를 구분하지 않으므로 "cAsE1"은 기존 "CASE1"과, "dUpE1"과 "DuPe1"은 서로 같은 키입니다.
+        jdbcTemplate.update("INSERT INTO member (member_id, phone_number) VALUES ('CASE1', '010-7777-0000')");
+        MemberImportService service = importService(new ScriptedIdGenerator("cAsE1", "dUpE1", "DuPe1", "uniq1", "uniq2"));
+        String csv = "010-7777-0001\n010-7777-0002\n010-7777-0003\n";
+
+        MemberImportResponse response = service.importMembers(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), MemberImportService.Format.CSV);
+
+        assertThat(response.getCreated()).isEqualTo(3);
+        assertThat(response.getRows()).extracting(MemberImportRowResult::memberId)
+                .containsExactlyInAnyOrder("dUpE1", "uniq1", "uniq2");
+    }
+
+    private static MemberImportService importService(MemberIdGenerator memberIdGenerator) {
+        MemberImportService service = new MemberImportService(
+                new NamedParameterJdbcTemplate(dataSource),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                memberIdGenerator,
+                new ObjectMapper());
+        ReflectionTestUtils.setField(service, "chunkSize", 1000);
+        return service;
+    }
+
+    /**
+     * 정해 둔 순서대로 ID를 돌려주는 생성기입니다.
+     */
+    private static final class ScriptedIdGenerator extends MemberIdGenerator {
+
+        private final Deque<String> ids;
+
+        ScriptedIdGenerator(String... ids) {
+            this.ids = new ArrayDeque<>(List.of(ids));
+        }
+
+        @Override
+        public String generate() {
+            return ids.removeFirst();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.member.MemberOverviewItemResponse;
+import com.example.demo5.dto.member.MemberOverviewResponse;
+import com.example.demo5.repository.CallScheduleRepository;
+import com.example.demo5.repository.MemberOverviewView;
+import com.example.demo5.repository.MemberRepository;
+import com.example.demo5.repository.MemberStatusRepository;
+import com.example.demo5.repository.StatusTagCountView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MemberOverviewServiceTest {
+
+    private static final LocalDateTime CALLED_AT = LocalDateTime.of(2025, 11, 21, 10, 20);
+
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+    private final MemberStatusRepository memberStatusRepository = mock(MemberStatusRepository.class);
+    private final CallScheduleRepository callScheduleRepository = mock(CallScheduleRepository.class);
+    private MemberOverviewService overviewService;
+
+    @BeforeEach
+    void setUp() {
+        overviewService = new MemberOverviewService(memberRepository, memberStatusRepository, callScheduleRepository);
+        ReflectionTestUtils.setField(overviewService, "hotWindowDays", 90);
+        when(callScheduleRepository.findActiveByMemberIds(anyList())).thenReturn(List.of());
+    }
+
+    @Test
+    void pagesByMemberIdCursorAndCountsTagsOnFirstPageOnly() {
+        // 페이지 크기 2에 3건이 조회되면 다음 페이지가 있고, 커서는 페이지 마지막 회원 ID입니다.
+        when(memberRepository.findOverviewPage(eq(""), isNull(), isNull(), any(), eq(3))).thenReturn(List.of(
+                row("m0001", null), row("m0002", null), row("m0003", null)));
+        when(memberStatusRepository.countByStatusTag()).thenReturn(List.of(count("주의", 1), count("안전", 2)));
+
+        MemberOverviewResponse first = overviewService.getOverview(null, null, null, 2);
+
+        assertThat(first.getItems()).extracting(MemberOverviewItemResponse::getMemberId).containsExactly("m0001", "m0002");
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getNextCursor()).isEqualTo("m0002");
+        assertThat(first.getStatusCounts()).containsExactly(entry("안전", 2L), entry("주의", 1L));
+
+        when(memberRepository.findOverviewPage(eq("m0002"), isNull(), isNull(), any(), eq(3))).thenReturn(List.of(
+                row("m0003", null)));
+
+        MemberOverviewResponse second = overviewService.getOverview(null, null, first.getNextCursor(), 2);
+
+        assertThat(second.getItems()).extracting(MemberOverviewItemResponse::getMemberId).containsExactly("m0003");
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getStatusCounts()).isNull();
+        verify(memberStatusRepository, times(1)).countByStatusTag();
+    }
+
+    @Test
+    void labelsLatestAutoCallLikeTheLatestCallStatusEndpoint() {
+        when(memberRepository.findOverviewPage(eq(""), isNull(), isNull(), any(), eq(51))).thenReturn(List.of(
+                row("m0001", "COMPLETED"), row("m0002", "FAILED"), row("m0003", "QUEUED"), row("m0004", null)));
+
+        List<MemberOverviewItemResponse> items = overviewService.getOverview(null, null, null, null).getItems();
+
+        assertThat(items).extracting(MemberOverviewItemResponse::getLatestAutoCallResult)
+                .containsExactly("완료", "부재중", "진행 중", "기록 없음");
+        assertThat(items).extracting(MemberOverviewItemResponse::isMissedLatestAutoCall)
+                .containsExactly(false, true, false, false);
+    }
+
+    private static MemberOverviewView row(String memberId, String latestAutoCallStatus) {
+        return new OverviewRow(memberId, "010-0000-" + memberId.substring(1), "안전",
+                latestAutoCallStatus, latestAutoCallStatus != null ? CALLED_AT : null);
+    }
+
+    private static StatusTagCountView count(String statusTag, long memberCount) {
+        return new StatusTagCountView() {
+            @Override
+            public String getStatusTag() {
+                return statusTag;
+            }
+
+            @Override
+            public long getMemberCount() {
+                return memberCount;
+            }
+        };
+    }
+
+    private record OverviewRow(String getMemberId, String getPhoneNumber, String getStatusTag,
+                               String getLatestAutoCallStatus, LocalDateTime getLatestAutoCallAt)
+            implements MemberOverviewView {
+    }
+}
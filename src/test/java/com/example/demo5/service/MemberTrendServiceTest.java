@@ -0,0 +1,89 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.trend.MemberTrendResponse;
+import com.example.demo5.dto.trend.TrendGranularity;
+import com.example.demo5.dto.trend.TrendPointResponse;
+import com.example.demo5.entity.CallLog;
+import com.example.demo5.event.CallFinalizedEvent;
+import com.example.demo5.support.MariaDbTestSupport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 통화별 기록이 일간/주간 집계에 한 번씩만 더해지고, 조회가 집계만으로 추이를 돌려주는지 확인합니다.
+ */
+class MemberTrendServiceTest extends MariaDbTestSupport {
+
+    private static MemberTrendService trendService;
+
+    @BeforeAll
+    static void setUp() {
+        DataSource dataSource = migratedDatabase("member_trend").dataSource();
+        trendService = new MemberTrendService(new JdbcTemplate(dataSource),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), mock(MemberLookup.class));
+    }
+
+    @Test
+    void rollsUpCallsByDayAndWeekOnce() {
+        LocalDate monday = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).minusWeeks(1);
+        LocalDateTime first = monday.atTime(9, 0);
+        LocalDateTime second = monday.atTime(18, 0);
+        LocalDateTime third = monday.plusDays(2).atTime(9, 0);
+
+        trendService.record(1L, "m0001", first, "긍정", "안전", "무릎 산책 병원");
+        trendService.record(2L, "m0001", second, "부정", "주의", "무릎 외로움");
+        trendService.record(2L, "m0001", second, "부정", "주의", "무릎 외로움"); // 같은 통화는 한 번만 집계
+        trendService.record(3L, "m0001", third, "중립", "확인 필요", "키워드 없음");
+
+        MemberTrendResponse daily = trendService.getTrends("m0001", TrendGranularity.DAILY, 30);
+        assertThat(daily.points()).extracting(TrendPointResponse::periodStart).containsExactly(monday, monday.plusDays(2));
+        TrendPointResponse firstDay = daily.points().get(0);
+        assertThat(firstDay.callCount()).isEqualTo(2);
+        assertThat(firstDay.positiveCount()).isEqualTo(1);
+        assertThat(firstDay.negativeCount()).isEqualTo(1);
+        assertThat(firstDay.cautionCount()).isEqualTo(1);
+        assertThat(firstDay.lastStatusTag()).isEqualTo("주의");
+        assertThat(firstDay.topKeywords()).startsWith("무릎").hasSize(4);
+        assertThat(daily.points().get(1).topKeywords()).isEmpty();
+
+        MemberTrendResponse weekly = trendService.getTrends("m0001", TrendGranularity.WEEKLY, 30);
+        assertThat(weekly.points()).hasSize(1);
+        TrendPointResponse week = weekly.points().get(0);
+        assertThat(week.periodStart()).isEqualTo(monday);
+        assertThat(week.callCount()).isEqualTo(3);
+        assertThat(week.criticalCount()).isEqualTo(1);
+        assertThat(week.lastStatusTag()).isEqualTo("확인 필요");
+    }
+
+    @Test
+    void ignoresCallsThatDidNotConnect() {
+        LocalDateTime requestedAt = LocalDate.now().minusDays(1).atTime(19, 0);
+
+        // 부재중 시도와 그 재시도는 최근 7일 분석 결과를 그대로 싣고 오지만 집계하지 않습니다.
+        trendService.onCallFinalized(event(10L, requestedAt, CallLog.CallStatus.FAILED));
+        trendService.onCallFinalized(event(11L, requestedAt.plusMinutes(10), CallLog.CallStatus.FAILED));
+        trendService.onCallFinalized(event(12L, requestedAt.plusMinutes(20), CallLog.CallStatus.COMPLETED));
+
+        MemberTrendResponse daily = trendService.getTrends("m0002", TrendGranularity.DAILY, 7);
+        assertThat(daily.points()).hasSize(1);
+        assertThat(daily.points().get(0).callCount()).isEqualTo(1);
+        assertThat(daily.points().get(0).positiveCount()).isEqualTo(1);
+    }
+
+    private static CallFinalizedEvent event(long callLogId, LocalDateTime requestedAt, CallLog.CallStatus status) {
+        return new CallFinalizedEvent(callLogId, "m0002", requestedAt, status, "긍정", "안전", "산책", List.of());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo5.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhraseMatcherTest {
+
+    @Test
+    void findsOverlappingAndNestedPhrases() {
+        Map<String, String> phrases = new LinkedHashMap<>();
+        phrases.put("he", "A");
+        phrases.put("she", "B");
+        phrases.put("his", "C");
+        phrases.put("hers", "D");
+        PhraseMatcher<String> matcher = PhraseMatcher.compile(phrases);
+
+        List<PhraseMatcher.Match<String>> matches = matcher.findAll("ushers");
+
+        assertThat(matches).extracting(PhraseMatcher.Match::phrase).containsExactly("she", "he", "hers");
+        assertThat(matches).extracting(PhraseMatcher.Match::end).containsExactly(4, 4, 6);
+    }
+
+    @Test
+    void ignoresWhitespaceAndCase() {
+        PhraseMatcher<String> matcher = PhraseMatcher.compile(Map.of("음성 사서함", "VOICEMAIL", "ARS", "VOICEMAIL"));
+
+        assertThat(matcher.findAll("지금은 음성사서함으로 연결됩니다")).extracting(PhraseMatcher.Match::phrase)
+                .containsExactly("음성 사서함");
+        assertThat(matcher.findAll("a r s 안내")).extracting(PhraseMatcher.Match::phrase).containsExactly("ARS");
+    }
+
+    @Test
+    void returnsNothingWithoutMatch() {
+        PhraseMatcher<String> matcher = PhraseMatcher.compile(Map.of("죽고 싶", "CRITICAL"));
+
+        assertThat(matcher.findAll("오늘은 기분이 좋아요")).isEmpty();
+        assertThat(PhraseMatcher.<String>compile(Map.of()).findAll("아무 말")).isEmpty();
+    }
+
+    @Test
+    void bundledDictionaryClassifiesUtterances() {
+        RiskPhraseDictionary dictionary = new RiskPhraseDictionary(
+                new DefaultResourceLoader(), "classpath:risk-phrases.txt");
+
+        assertThat(dictionary.match("요즘 너무 죽고싶어요")).extracting(PhraseMatcher.Match::value).contains(RiskPhraseDictionary.Category.CRITICAL);
+        assertThat(dictionary.match("밤에 잠을 못 자요")).extracting(PhraseMatcher.Match::value).contains(RiskPhraseDictionary.Category.CAUTION);
+        assertThat(dictionary.match("지금은 전화를 받을 수 없어 소리샘으로 연결됩니다")).extracting(PhraseMatcher.Match::value).contains(RiskPhraseDictionary.Category.VOICEMAIL);
+        assertThat(dictionary.match("손녀가 와서 즐거웠어요")).isEmpty();
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.ChatMessage;
+import com.example.demo5.dto.analysis.AnalysisResponse;
+import com.example.demo5.entity.CallLog;
+import com.example.demo5.entity.Member;
+import com.example.demo5.event.CallAttemptFailedEvent;
+import com.example.demo5.event.CallFinalizedEvent;
+import com.example.demo5.repository.CallLogRepository;
+import com.example.demo5.service.memory.MemberMemoryService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+class QnaServiceConcurrencyTest {
+
+    private static final int CALLS = 40;
+    private static final int TURNS_PER_CALL = 8;
+    private static final String BASE_URL = "http://localhost";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, CallLog> callLogs = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> analysisCounts = new ConcurrentHashMap<>();
+    private final List<Object> publishedEvents = Collections.synchronizedList(new ArrayList<>());
+
+    private CallLockRegistry callLockRegistry;
+    private LiveCallBroker liveCallBroker;
+    private QnaService qnaService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        TwilioService twilioService = mock(TwilioService.class);
+        when(twilioService.createGatherTwiML(anyString(), anyString())).thenReturn("<Gather/>");
+        when(twilioService.createHangupTwiML(anyString())).thenReturn("<Hangup/>");
+
+        OpenAiService openAiService = mock(OpenAiService.class);
+        when(openAiService.getChatResponse(anyList(), any())).thenAnswer(invocation -> {
+            // LLM 생성 지연을 흉내 내어 상태 콜백과 겹치는 구간을 만듭니다.
+            Thread.sleep(2);
+            return "다음 질문";
+        });
+
+        CallLogRepository callLogRepository = mock(CallLogRepository.class);
+        when(callLogRepository.findByCallSidAndRequestedAtAfter(anyString(), any()))
+                .thenAnswer(invocation -> Optional.ofNullable(callLogs.get(invocation.<String>getArgument(0))));
+        when(callLogRepository.save(any(CallLog.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        KeywordAnalysisService keywordAnalysisService = mock(KeywordAnalysisService.class);
+        when(keywordAnalysisService.performAnalysis(anyString())).thenAnswer(invocation -> {
+            analysisCounts.computeIfAbsent(invocation.getArgument(0), key -> new AtomicInteger()).incrementAndGet();
+            return new AnalysisResponse("키워드", "긍정", "좋아요", "잘 지내셨나요?");
+        });
+
+        MemberStatusAnalysisService memberStatusAnalysisService = mock(MemberStatusAnalysisService.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+        callLockRegistry = new CallLockRegistry();
+        liveCallBroker = spy(new LiveCallBroker(mock(MemberLookup.class), callLogRepository, Runnable::run));
+        qnaService = new QnaService(twilioService, openAiService, callLogRepository, objectMapper,
+                keywordAnalysisService, memberStatusAnalysisService, callLockRegistry, transactionTemplate,
+                publishedEvents::add, new RiskPhraseDictionary(new DefaultResourceLoader(), "classpath:risk-phrases.txt"),
+                liveCallBroker, mock(MemberMemoryService.class));
+
+        for (int i = 0; i < CALLS; i++) {
+            Member member = new Member();
+            member.setMemberId("m" + i);
+            CallLog callLog = CallLog.builder()
+                    .member(member)
+                    .callType(CallLog.CallType.AUTO)
+                    .status(CallLog.CallStatus.QUEUED)
+                    .build();
+            callLog.setCallSid(callSid(i));
+            callLogs.put(callSid(i), callLog);
+        }
+        executor = Executors.newFixedThreadPool(32);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentTurnsAndTerminationEventsAreSerializedPerCall() throws Exception {
+        // 1단계: 모든 통화의 사용자 턴을 동시에 밀어 넣습니다.
+        List<Future<?>> turns = new ArrayList<>();
+        for (int i = 0; i < CALLS; i++) {
+            for (int turn = 0; turn < TURNS_PER_CALL; turn++) {
+                String sid = callSid(i);
+                String speech = "답변 " + turn;
+                turns.add(executor.submit(() -> qnaService.processSurveyResponse(sid, speech, BASE_URL)));
+            }
+        }
+        for (Future<?> future : turns) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        // 2단계: 통화마다 세 가지 종료 경로를 동시에 출발시킵니다.
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<?>> terminations = new ArrayList<>();
+        for (int i = 0; i < CALLS; i++) {
+            String sid = callSid(i);
+            terminations.add(executor.submit(() -> {
+                startGate.await();
+                qnaService.handleCallTermination(sid, "completed");
+                return null;
+            }));
+            terminations.add(executor.submit(() -> {
+                startGate.await();
+                return qnaService.processSurveyResponse(sid, "", BASE_URL);
+            }));
+            terminations.add(executor.submit(() -> {
+                startGate.await();
+                qnaService.finalizeAndSaveCallLog(sid, CallLog.CallStatus.COMPLETED, "사용자 요청");
+                return null;
+            }));
+        }
+        startGate.countDown();
+        for (Future<?> future : terminations) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        for (int i = 0; i < CALLS; i++) {
+            CallLog callLog = callLogs.get(callSid(i));
+            List<ChatMessage> transcript = objectMapper.readValue(callLog.getCallData(), new TypeReference<>() {});
+
+            long userTurns = transcript.stream().filter(m -> "User".equals(m.speaker())).count();
+            long aiTurns = transcript.stream().filter(m -> "AI".equals(m.speaker())).count();
+            long systemMessages = transcript.stream().filter(m -> "System".equals(m.speaker())).count();
+
+            assertThat(userTurns).as("lost user turns for %s", callSid(i)).isEqualTo(TURNS_PER_CALL);
+            assertThat(aiTurns).isEqualTo(TURNS_PER_CALL);
+            assertThat(systemMessages).isEqualTo(1);
+            assertThat(analysisCounts.get("m" + i)).as("double finalization for %s", callSid(i)).hasValue(1);
+        }
+        // 통화마다 마무리 이벤트는 한 번이며, 실패 이벤트는 실패로 마무리된 통화(응답 시간 초과 경로)에만 따라옵니다.
+        assertThat(publishedEvents).filteredOn(CallFinalizedEvent.class::isInstance).hasSize(CALLS);
+        long failedCalls = callLogs.values().stream().filter(callLog -> callLog.getStatus() == CallLog.CallStatus.FAILED).count();
+        assertThat(publishedEvents).filteredOn(CallAttemptFailedEvent.class::isInstance).hasSize((int) failedCalls)
+                .allMatch(event -> "timeout".equals(((CallAttemptFailedEvent) event).outcome()));
+        assertThat(publishedEvents).hasSize(CALLS + (int) failedCalls);
+        assertThat(callLockRegistry.activeLockCount()).isZero();
+    }
+
+    @Test
+    void closingMessageIsPublishedBeforeCallEnds() {
+        qnaService.processTurn(callSid(0), "잘 지냈어요");
+        qnaService.processTurn(callSid(0), "이제 종료할게요");
+
+        InOrder inOrder = inOrder(liveCallBroker);
+        inOrder.verify(liveCallBroker).publishTurn(callSid(0), "User", "이제 종료할게요");
+        inOrder.verify(liveCallBroker).publishTurn(callSid(0), "AI", "요청에 따라 통화를 종료합니다.");
+        inOrder.verify(liveCallBroker).publishEnded(callSid(0), "사용자 요청");
+    }
+
+    @Test
+    void lockOnOneCallDoesNotBlockAnotherCall() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> holder = executor.submit(() -> callLockRegistry.executeWithLock("CA-busy", () -> {
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        Future<?> other = executor.submit(() -> callLockRegistry.executeWithLock("CA-other", () -> executed.add("other")));
+        other.get(5, TimeUnit.SECONDS);
+        assertThat(executed).containsExactly("other");
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertThat(callLockRegistry.activeLockCount()).isZero();
+    }
+
+    private static String callSid(int index) {
+        return "CA" + index;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.triage.TriageItemResponse;
+import com.example.demo5.repository.MemberStatusRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class RiskTriageIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 11, 21, 10, 0);
+
+    private RiskTriageIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RiskTriageIndex(mock(MemberStatusRepository.class));
+    }
+
+    @Test
+    void ordersBySeverityThenRecency() {
+        index.update("m1", "주의", BASE.plusMinutes(30));
+        index.update("m2", "확인 필요", BASE);
+        index.update("m3", "확인 필요", BASE.plusMinutes(10));
+        index.update("m4", "안전", BASE.plusMinutes(40));
+
+        assertThat(index.top(10)).extracting(TriageItemResponse::memberId)
+                .containsExactly("m3", "m2", "m1");
+        assertThat(index.top(2)).extracting(TriageItemResponse::memberId)
+                .containsExactly("m3", "m2");
+    }
+
+    @Test
+    void statusChangeMovesOrRemovesMember() {
+        index.update("m1", "확인 필요", BASE);
+        index.update("m2", "주의", BASE.plusMinutes(5));
+
+        index.update("m2", "확인 필요", BASE.plusMinutes(20));
+        List<TriageItemResponse> escalated = index.top(10);
+        assertThat(escalated).extracting(TriageItemResponse::memberId).containsExactly("m2", "m1");
+        assertThat(escalated.get(0).severity()).isEqualTo(2);
+
+        index.update("m1", "안전", BASE.plusMinutes(30));
+        assertThat(index.top(10)).extracting(TriageItemResponse::memberId).containsExactly("m2");
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo5.service;
+
+import com.example.demo5.dto.ChatMessage;
+import com.example.demo5.dto.search.TranscriptSearchHit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TranscriptSearchIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 11, 21, 10, 0);
+
+    @TempDir
+    Path indexDir;
+
+    private TranscriptSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new TranscriptSearchIndex();
+        ReflectionTestUtils.setField(index, "indexDir", indexDir);
+        index.open();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void findsInflectedUserTurnsRecentFirstWithHighlight() {
+        index.indexCall(1L, "m1", BASE, List.of(
+                new ChatMessage("AI", "무릎은 괜찮으세요?"),
+                new ChatMessage("User", "무릎이 좀 아파서 산책을 못 했어요")));
+        index.indexCall(2L, "m1", BASE.plusDays(1), List.of(
+                new ChatMessage("AI", "오늘 식사는 하셨어요?"),
+                new ChatMessage("User", "네, 밥은 먹었어요"),
+                new ChatMessage("User", "그런데 무릎은 여전히 아프네요")));
+        index.indexCall(3L, "m2", BASE.plusDays(2), List.of(
+                new ChatMessage("User", "무릎 수술을 받았어요")));
+
+        TranscriptSearchIndex.SearchResult result = index.search("m1", "무릎", 10);
+
+        assertThat(result.totalHits()).isEqualTo(2);
+        assertThat(result.hits()).extracting(TranscriptSearchHit::callLogId).containsExactly(2L, 1L);
+        assertThat(result.hits().get(0).turn()).isEqualTo(2);
+        assertThat(result.hits().get(0).snippet()).contains("<em>무릎</em>");
+    }
+
+    @Test
+    void reindexingCallReplacesPreviousTurns() {
+        index.indexCall(1L, "m1", BASE, List.of(new ChatMessage("User", "허리가 아파요")));
+        index.indexCall(1L, "m1", BASE, List.of(new ChatMessage("User", "무릎이 아파요")));
+
+        assertThat(index.search("m1", "허리", 10).totalHits()).isZero();
+        assertThat(index.search("m1", "무릎", 10).totalHits()).isEqualTo(1);
+    }
+
+    @Test
+    void escapesMarkupInSnippets() {
+        index.indexCall(1L, "m1", BASE, List.of(new ChatMessage("User", "<b>무릎</b>이 아파요 & 허리도요")));
+
+        String snippet = index.search("m1", "무릎", 10).hits().get(0).snippet();
+
+        assertThat(snippet).contains("<em>무릎</em>").contains("&amp;").doesNotContain("<b>");
+    }
+
+    @Test
+    void commitPersistsIndexedCallsAcrossReopen() throws Exception {
+        index.indexCall(1L, "m1", BASE, List.of(new ChatMessage("User", "무릎이 아파요")));
+        index.commit();
+        index.close();
+
+        index = new TranscriptSearchIndex();
+        ReflectionTestUtils.setField(index, "indexDir", indexDir);
+        index.open();
+
+        assertThat(index.search("m1", "무릎", 10).totalHits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo5.service.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class BatchJobServiceTest {
+
+    @Test
+    void windowWithinOneDay() {
+        BatchJobService service = service("01:00", "06:00");
+
+        assertThat(service.inWindow(LocalTime.of(0, 59))).isFalse();
+        assertThat(service.inWindow(LocalTime.of(1, 0))).isTrue();
+        assertThat(service.inWindow(LocalTime.of(5, 59))).isTrue();
+        assertThat(service.inWindow(LocalTime.of(6, 0))).isFalse();
+        assertThat(service.inWindow(LocalTime.of(14, 0))).isFalse();
+    }
+
+    @Test
+    void windowAcrossMidnight() {
+        BatchJobService service = service("23:00", "05:00");
+
+        assertThat(service.inWindow(LocalTime.of(22, 59))).isFalse();
+        assertThat(service.inWindow(LocalTime.of(23, 30))).isTrue();
+        assertThat(service.inWindow(LocalTime.of(3, 0))).isTrue();
+        assertThat(service.inWindow(LocalTime.of(5, 0))).isFalse();
+    }
+
+    private static BatchJobService service(String start, String end) {
+        return new BatchJobService(List.of(), mock(BatchJobRunStore.class), mock(ChunkedJobRunner.class), Runnable::run, start, end);
+    }
+}
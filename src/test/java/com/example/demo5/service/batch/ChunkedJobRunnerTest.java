@@ -0,0 +1,131 @@
+package com.example.demo5.service.batch;
+
+import com.example.demo5.support.MariaDbTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 묶음 단위 체크포인트로 멈췄다가 이어서 처리하는지, 실패한 항목을 건너뛰고 세는지 확인합니다.
+ */
+class ChunkedJobRunnerTest extends MariaDbTestSupport {
+
+    private static BatchJobRunStore runStore;
+    private static ChunkedJobRunner runner;
+
+    @BeforeAll
+    static void setUp() {
+        runStore = new BatchJobRunStore(migratedDatabase("chunked_job_runner").jdbcTemplate());
+        runner = new ChunkedJobRunner(runStore, Executors.newFixedThreadPool(4), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void resumesFromCheckpointAfterStop() {
+        FakeJob job = new FakeJob("resume-test", 25, Set.of());
+        BatchJobRun run = runStore.create(job.name(), job.countItems());
+
+        // 첫 묶음이 끝나면 멈춥니다. (실행 창 종료 또는 재시작)
+        AtomicInteger checks = new AtomicInteger();
+        BatchJobRun paused = runner.run(job, run.runId(), () -> checks.getAndIncrement() >= 1);
+
+        assertThat(paused.status()).isEqualTo(BatchJobRun.Status.PAUSED);
+        assertThat(paused.lastKey()).isEqualTo("k010");
+        assertThat(paused.processedCount()).isEqualTo(10);
+        assertThat(paused.startedAt()).isNotNull();
+
+        BatchJobRun completed = runner.run(job, run.runId(), () -> false);
+
+        assertThat(completed.status()).isEqualTo(BatchJobRun.Status.COMPLETED);
+        assertThat(completed.processedCount()).isEqualTo(25);
+        assertThat(completed.remainingCount()).isZero();
+        assertThat(completed.activeMillis()).isGreaterThanOrEqualTo(0);
+        assertThat(completed.finishedAt()).isNotNull();
+        // 각 항목은 한 번씩만 처리됩니다.
+        assertThat(job.processed).hasSize(25);
+        assertThat(job.processCount.get()).isEqualTo(25);
+    }
+
+    @Test
+    void countsFailuresAndKeepsGoing() {
+        FakeJob job = new FakeJob("failure-test", 12, Set.of("k003", "k011"));
+        BatchJobRun run = runStore.create(job.name(), job.countItems());
+
+        BatchJobRun completed = runner.run(job, run.runId(), () -> false);
+
+        assertThat(completed.status()).isEqualTo(BatchJobRun.Status.COMPLETED);
+        assertThat(completed.processedCount()).isEqualTo(10);
+        assertThat(completed.failedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void cancelledRunIsNotOverwrittenWhenRunnerStops() {
+        FakeJob job = new FakeJob("cancel-test", 30, Set.of());
+        BatchJobRun run = runStore.create(job.name(), job.countItems());
+
+        BatchJobRun result = runner.run(job, run.runId(), () -> {
+            runStore.updateStatus(run.runId(), BatchJobRun.Status.CANCELLED);
+            return true;
+        });
+
+        assertThat(result.status()).isEqualTo(BatchJobRun.Status.CANCELLED);
+        assertThat(job.processed).isEmpty();
+    }
+
+    private static final class FakeJob implements ChunkedJob {
+
+        private final String name;
+        private final List<String> keys;
+        private final Set<String> failing;
+        private final Set<String> processed = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger processCount = new AtomicInteger();
+
+        private FakeJob(String name, int size, Set<String> failing) {
+            this.name = name;
+            this.keys = IntStream.rangeClosed(1, size).mapToObj(i -> String.format("k%03d", i)).toList();
+            this.failing = failing;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public int chunkSize() {
+            return 10;
+        }
+
+        @Override
+        public RateBudget rateBudget() {
+            return new RateBudget(6_000_000);
+        }
+
+        @Override
+        public int countItems() {
+            return keys.size();
+        }
+
+        @Override
+        public List<String> nextChunk(String afterKey, int size) {
+            return keys.stream().filter(key -> afterKey == null || key.compareTo(afterKey) > 0).limit(size).toList();
+        }
+
+        @Override
+        public void process(String key) {
+            if (failing.contains(key)) {
+                throw new IllegalStateException("분석 실패: " + key);
+            }
+            processCount.incrementAndGet();
+            processed.add(key);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo5.service.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateBudgetTest {
+
+    private final AtomicLong now = new AtomicLong(0);
+
+    @Test
+    void spacesPermitsEvenly() {
+        RateBudget budget = new RateBudget(60, now::get); // 1초에 한 번
+        long second = TimeUnit.SECONDS.toNanos(1);
+
+        assertThat(budget.reserve()).isZero();
+        assertThat(budget.reserve()).isEqualTo(second);
+        assertThat(budget.reserve()).isEqualTo(2 * second);
+
+        now.addAndGet(2 * second);
+        assertThat(budget.reserve()).isEqualTo(second);
+    }
+
+    @Test
+    void idleTimeDoesNotAccumulateBurst() {
+        RateBudget budget = new RateBudget(60, now::get);
+        budget.reserve();
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(10));
+
+        assertThat(budget.reserve()).isZero();
+        assertThat(budget.reserve()).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void rejectsNonPositiveRate() {
+        assertThatThrownBy(() -> new RateBudget(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
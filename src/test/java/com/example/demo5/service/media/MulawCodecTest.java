@@ -0,0 +1,36 @@
+package com.example.demo5.service.media;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MulawCodecTest {
+
+    @Test
+    void roundTripStaysWithinQuantizationError() {
+        for (int sample = -32000; sample <= 32000; sample += 97) {
+            short decoded = MulawCodec.decode(MulawCodec.encode(sample));
+            // μ-law는 크기에 비례해 양자화하므로 상대 오차가 약 3% 이내입니다.
+            assertThat((double) decoded).isCloseTo(sample, within(Math.abs(sample) * 0.04 + 8));
+        }
+    }
+
+    @Test
+    void convertsStreamedPcmChunksIntoWholeFrames() {
+        OpenAiTextToSpeech.FrameConverter converter = new OpenAiTextToSpeech.FrameConverter();
+        // 24kHz 16비트 PCM 0.1초 = 4,800바이트를 경계가 어긋나게 나누어 넣습니다.
+        byte[] pcm = new byte[4800];
+        List<byte[]> frames = new ArrayList<>();
+        frames.addAll(converter.push(Arrays.copyOfRange(pcm, 0, 1001)));
+        frames.addAll(converter.push(Arrays.copyOfRange(pcm, 1001, 4800)));
+        frames.addAll(converter.flush());
+
+        // 8kHz로 줄이면 800샘플 = 20ms 프레임 5개
+        assertThat(frames).hasSize(5).allMatch(frame -> frame.length == MulawCodec.FRAME_BYTES);
+    }
+}
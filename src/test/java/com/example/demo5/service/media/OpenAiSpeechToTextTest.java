@@ -0,0 +1,92 @@
+package com.example.demo5.service.media;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.audio.transcription.AudioTranscription;
+import org.springframework.ai.audio.transcription.AudioTranscriptionPrompt;
+import org.springframework.ai.audio.transcription.AudioTranscriptionResponse;
+import org.springframework.ai.openai.OpenAiAudioTranscriptionModel;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 앞 발화의 인식이 늦게 끝나도 한 통화의 발화가 말한 순서대로 전달되는지 확인합니다. 인식 API는 목으로 대체합니다.
+ */
+class OpenAiSpeechToTextTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deliversTranscriptsInSpokenOrderEvenWhenEarlierOneIsSlower() throws InterruptedException {
+        OpenAiAudioTranscriptionModel model = mock(OpenAiAudioTranscriptionModel.class);
+        // 긴 첫 발화는 인식이 늦게 끝나고, 짧은 두 번째 발화는 바로 끝납니다.
+        when(model.call(any(AudioTranscriptionPrompt.class))).thenAnswer(invocation -> {
+            long size = invocation.<AudioTranscriptionPrompt>getArgument(0).getInstructions().contentLength();
+            if (size > 25_000) {
+                Thread.sleep(300);
+                return new AudioTranscriptionResponse(new AudioTranscription("첫 번째"));
+            }
+            return new AudioTranscriptionResponse(new AudioTranscription("두 번째"));
+        });
+        OpenAiSpeechToText speechToText = new OpenAiSpeechToText(model, executor);
+        ReflectionTestUtils.setField(speechToText, "vadThreshold", 400.0);
+        ReflectionTestUtils.setField(speechToText, "speechStartMs", 60);
+        ReflectionTestUtils.setField(speechToText, "speechEndMs", 700);
+
+        List<String> transcripts = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(2);
+        SpeechToText.Session session = speechToText.open(new SpeechToText.Listener() {
+            @Override
+            public void onSpeechStarted() {
+            }
+
+            @Override
+            public void onTranscript(String transcript) {
+                transcripts.add(transcript);
+                delivered.countDown();
+            }
+        });
+        stream(session, syntheticUtterance(1500, 900));
+        stream(session, syntheticUtterance(300, 900));
+
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(transcripts).containsExactly("첫 번째", "두 번째");
+    }
+
+    private static void stream(SpeechToText.Session session, byte[] audio) {
+        for (int offset = 0; offset < audio.length; offset += MulawCodec.FRAME_BYTES) {
+            session.accept(Arrays.copyOfRange(audio, offset, offset + MulawCodec.FRAME_BYTES));
+        }
+    }
+
+    // 220Hz 사인파에 660Hz 배음을 섞은 신호 뒤에 무음을 붙인 8kHz μ-law 신호입니다.
+    private static byte[] syntheticUtterance(int speechMs, int trailingSilenceMs) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < speechMs * 8; i++) {
+            double t = i / (double) MulawCodec.SAMPLE_RATE;
+            double sample = 6000 * Math.sin(2 * Math.PI * 220 * t) + 2500 * Math.sin(2 * Math.PI * 660 * t);
+            out.write(MulawCodec.encode((int) sample));
+        }
+        IntStream.range(0, trailingSilenceMs * 8).forEach(i -> out.write(MulawCodec.encode(0)));
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.demo5.service.memory;
+
+import com.example.demo5.dto.ChatMessage;
+import com.example.demo5.service.CallLockRegistry;
+import com.example.demo5.service.OpenAiService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MemberMemoryServiceTest {
+
+    private static final String MEMBER_ID = "M0001";
+    private static final int EPISODE_TOKENS = 30;
+    private static final int RECENT_EPISODES = 3;
+    private static final int RECENT_TOKENS = 100;
+    private static final int LONG_TERM_TOKENS = 80;
+
+    private final Map<String, MemberMemory> saved = new HashMap<>();
+    private final Set<Long> appliedCalls = new HashSet<>();
+    private final AtomicInteger folds = new AtomicInteger();
+    private MemberMemoryStore memoryStore;
+    private OpenAiService openAiService;
+    private MemberMemoryService memoryService;
+
+    @BeforeEach
+    void setUp() {
+        memoryStore = mock(MemberMemoryStore.class);
+        when(memoryStore.find(anyString())).thenAnswer(invocation -> Optional.ofNullable(saved.get(invocation.<String>getArgument(0))));
+        doAnswer(invocation -> {
+            MemberMemory memory = invocation.getArgument(0);
+            saved.put(memory.memberId(), memory);
+            appliedCalls.add(memory.lastCallLogId());
+            return null;
+        }).when(memoryStore).save(any());
+        when(memoryStore.isApplied(anyLong())).thenAnswer(invocation -> appliedCalls.contains(invocation.<Long>getArgument(0)));
+
+        openAiService = mock(OpenAiService.class);
+        when(openAiService.getChatResponse(anyList(), anyString())).thenAnswer(invocation -> {
+            List<ChatMessage> messages = invocation.getArgument(0);
+            String content = messages.get(0).message();
+            if (content.startsWith("[기존 기억]")) {
+                return "장기 요약 " + folds.incrementAndGet();
+            }
+            // 통화 요약: 회원 발화를 그대로 돌려줍니다.
+            return content.lines().filter(line -> line.startsWith("회원: ")).findFirst().orElseThrow().substring(4);
+        });
+
+        memoryService = new MemberMemoryService(memoryStore, openAiService, new CallLockRegistry(),
+                EPISODE_TOKENS, RECENT_EPISODES, RECENT_TOKENS, LONG_TERM_TOKENS);
+    }
+
+    @Test
+    void firstCallBecomesRecentEpisode() {
+        memoryService.remember(MEMBER_ID, 1L, at(1), transcript("손녀가 다음 주에 놀러 온대요"));
+
+        MemberMemory memory = saved.get(MEMBER_ID);
+        assertThat(memory.recentEpisodes()).containsExactly("10-01: 손녀가 다음 주에 놀러 온대요");
+        assertThat(memory.longTermSummary()).isNull();
+        assertThat(memory.episodeCount()).isEqualTo(1);
+        assertThat(memoryService.render(MEMBER_ID)).hasValue("최근 통화:\n- 10-01: 손녀가 다음 주에 놀러 온대요");
+    }
+
+    @Test
+    void oldestEpisodesAreFoldedIntoLongTermSummary() {
+        for (int day = 1; day <= 5; day++) {
+            memoryService.remember(MEMBER_ID, (long) day, at(day), transcript(day + "일에는 산책을 했어요"));
+        }
+
+        MemberMemory memory = saved.get(MEMBER_ID);
+        assertThat(memory.recentEpisodes()).hasSize(RECENT_EPISODES)
+                .first().asString().startsWith("10-03:");
+        assertThat(memory.longTermSummary()).isEqualTo("장기 요약 2");
+        assertThat(memory.episodeCount()).isEqualTo(5);
+        assertThat(memoryService.render(MEMBER_ID).orElseThrow())
+                .startsWith("예전 통화에서 알게 된 내용: 장기 요약 2\n최근 통화:");
+    }
+
+    @Test
+    void memoryStaysWithinTokenBudget() {
+        String longAnswer = "무릎이 아파서 병원에 다녀왔는데 의사 선생님이 당분간 계단을 조심하라고 하셨어요 ".repeat(5);
+        for (int day = 1; day <= 10; day++) {
+            memoryService.remember(MEMBER_ID, (long) day, at(day), transcript(longAnswer));
+        }
+
+        MemberMemory memory = saved.get(MEMBER_ID);
+        memory.recentEpisodes().forEach(episode ->
+                assertThat(TokenEstimator.estimate(episode)).isLessThanOrEqualTo(EPISODE_TOKENS + 3)); // 날짜 접두어
+        assertThat(TokenEstimator.estimate(String.join("\n", memory.recentEpisodes()))).isLessThanOrEqualTo(RECENT_TOKENS);
+        assertThat(TokenEstimator.estimate(memory.longTermSummary())).isLessThanOrEqualTo(LONG_TERM_TOKENS);
+    }
+
+    @Test
+    void failedSummaryLeavesMemoryUntouched() {
+        doReturn(OpenAiService.FALLBACK_RESPONSE).when(openAiService).getChatResponse(anyList(), anyString());
+
+        memoryService.remember(MEMBER_ID, 1L, at(1), transcript("오늘은 좀 피곤하네요"));
+
+        verify(memoryStore, never()).save(any());
+        assertThat(memoryService.render(MEMBER_ID)).isEmpty();
+    }
+
+    @Test
+    void skipsAlreadyRememberedCallsAndCallsWithoutMemberSpeech() {
+        memoryService.remember(MEMBER_ID, 2L, at(2), transcript("김장 준비를 하고 있어요"));
+        memoryService.remember(MEMBER_ID, 2L, at(2), transcript("김장 준비를 하고 있어요"));
+        memoryService.remember(MEMBER_ID, 3L, at(3), List.of(new ChatMessage("AI", "안녕하세요"),
+                new ChatMessage("System", "Call ended. Reason: 응답 시간 초과")));
+
+        MemberMemory memory = saved.get(MEMBER_ID);
+        assertThat(memory.episodeCount()).isEqualTo(1);
+        assertThat(memory.lastCallLogId()).isEqualTo(2L);
+    }
+
+    @Test
+    void remembersCallWithLowerIdThatFinishesLast() {
+        // 캠페인 통화(4번)는 미리 만들어 두고 나중에 걸었고, 그 사이 5번 통화가 먼저 끝났습니다.
+        memoryService.remember(MEMBER_ID, 5L, at(5), transcript("딸이 반찬을 가져다줬어요"));
+        memoryService.remember(MEMBER_ID, 4L, at(6), transcript("복지관 노래 교실에 다녀왔어요"));
+        memoryService.remember(MEMBER_ID, 4L, at(6), transcript("복지관 노래 교실에 다녀왔어요"));
+
+        MemberMemory memory = saved.get(MEMBER_ID);
+        assertThat(memory.episodeCount()).isEqualTo(2);
+        assertThat(memory.recentEpisodes()).containsExactly("10-05: 딸이 반찬을 가져다줬어요", "10-06: 복지관 노래 교실에 다녀왔어요");
+        assertThat(memory.lastCallAt()).isEqualTo(at(6));
+    }
+
+    @Test
+    void tokenEstimatorCountsHangulSyllablesAndTruncatesAtWordBoundary() {
+        assertThat(TokenEstimator.estimate("안녕하세요")).isEqualTo(5);
+        assertThat(TokenEstimator.estimate("hello world")).isEqualTo(3);
+        assertThat(TokenEstimator.truncate("오늘은 날씨가 좋아서 산책을 했어요", 8)).isEqualTo("오늘은 날씨가");
+        assertThat(TokenEstimator.truncate("짧은 문장", 10)).isEqualTo("짧은 문장");
+    }
+
+    private static LocalDateTime at(int day) {
+        return LocalDateTime.of(2026, 10, day, 10, 0);
+    }
+
+    private static List<ChatMessage> transcript(String userSpeech) {
+        return List.of(new ChatMessage("AI", "안녕하세요, 오늘 어떻게 지내셨어요?"),
+                new ChatMessage("User", userSpeech),
+                new ChatMessage("System", "Call ended. Reason: 사용자 요청"));
+    }
+}
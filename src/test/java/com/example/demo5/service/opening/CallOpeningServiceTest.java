@@ -0,0 +1,124 @@
+package com.example.demo5.service.opening;
+
+import com.example.demo5.entity.CallSchedule;
+import com.example.demo5.entity.Member;
+import com.example.demo5.repository.CallScheduleRepository;
+import com.example.demo5.service.OpenAiService;
+import com.example.demo5.service.memory.MemberMemoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CallOpeningServiceTest {
+
+    private final LocalDateTime now = LocalDateTime.now().plusDays(1).withHour(14).withMinute(0).withSecond(0).withNano(0);
+
+    private CallScheduleRepository callScheduleRepository;
+    private CallOpeningStore openingStore;
+    private MemberMemoryService memberMemoryService;
+    private OpenAiService openAiService;
+    private CallOpeningService service;
+
+    @BeforeEach
+    void setUp() {
+        callScheduleRepository = mock(CallScheduleRepository.class);
+        openingStore = mock(CallOpeningStore.class);
+        memberMemoryService = mock(MemberMemoryService.class);
+        openAiService = mock(OpenAiService.class);
+        when(openingStore.findPreparedKeys(any(), any())).thenReturn(Set.of());
+        when(openAiService.getChatResponse(anyList(), anyString())).thenReturn("안녕하세요, 지난번 말씀하신 병원은 다녀오셨어요?");
+        service = new CallOpeningService(callScheduleRepository, openingStore, memberMemoryService, openAiService,
+                Runnable::run, 6, 6_000_000);
+    }
+
+    @Test
+    void preparesCallsWithinLookAheadForMembersWithMemory() {
+        CallSchedule evening = schedule(1L, "M0001", LocalTime.of(19, 0), CallSchedule.Frequency.DAILY);
+        CallSchedule noMemory = schedule(2L, "M0002", LocalTime.of(19, 0), CallSchedule.Frequency.DAILY);
+        when(callScheduleRepository.findActiveSchedulesWithMemberAt(LocalTime.of(14, 0), LocalTime.of(20, 0)))
+                .thenReturn(List.of(evening, noMemory));
+        when(memberMemoryService.render("M0001")).thenReturn(Optional.of("최근 통화:\n- 10-18: 무릎이 아파 병원 예약"));
+        when(memberMemoryService.render("M0002")).thenReturn(Optional.empty());
+
+        int created = service.prepareUpcoming(now);
+
+        assertThat(created).isEqualTo(1);
+        verify(openingStore).save(1L, "M0001", now.toLocalDate().atTime(19, 0), "안녕하세요, 지난번 말씀하신 병원은 다녀오셨어요?");
+        verify(openingStore, never()).save(eq(2L), anyString(), any(), anyString());
+    }
+
+    @Test
+    void skipsCallsThatAreAlreadyPreparedOrNotDueThatDay() {
+        CallSchedule prepared = schedule(1L, "M0001", LocalTime.of(19, 0), CallSchedule.Frequency.DAILY);
+        // 시작일의 요일이 아닌 날에는 주간 스케줄이 걸리지 않습니다.
+        CallSchedule weekly = scheduleStartingOn(3L, "M0003", LocalTime.of(18, 0), CallSchedule.Frequency.WEEKLY,
+                now.toLocalDate().minusDays(1));
+        when(callScheduleRepository.findActiveSchedulesWithMemberAt(any(), any())).thenReturn(List.of(prepared, weekly));
+        when(openingStore.findPreparedKeys(any(), any()))
+                .thenReturn(Set.of(CallOpeningStore.key(1L, now.toLocalDate().atTime(19, 0))));
+        when(memberMemoryService.render(anyString())).thenReturn(Optional.of("기억"));
+
+        assertThat(service.prepareUpcoming(now)).isZero();
+        verify(openAiService, never()).getChatResponse(anyList(), anyString());
+    }
+
+    @Test
+    void lookAheadAcrossMidnightQueriesBothRanges() {
+        LocalDateTime lateEvening = now.withHour(21);
+        CallSchedule morning = schedule(4L, "M0004", LocalTime.of(2, 30), CallSchedule.Frequency.DAILY);
+        when(callScheduleRepository.findActiveSchedulesWithMemberAt(LocalTime.of(21, 0), LocalTime.MAX)).thenReturn(List.of());
+        when(callScheduleRepository.findActiveSchedulesWithMemberAt(LocalTime.MIN, LocalTime.of(3, 0))).thenReturn(List.of(morning));
+
+        List<CallOpeningService.UpcomingCall> calls = service.findUpcomingCalls(lateEvening, lateEvening.plusHours(6));
+
+        assertThat(calls).containsExactly(new CallOpeningService.UpcomingCall(4L, "M0004",
+                lateEvening.toLocalDate().plusDays(1).atTime(2, 30)));
+    }
+
+    @Test
+    void failedGenerationIsNotStored() {
+        CallSchedule evening = schedule(1L, "M0001", LocalTime.of(19, 0), CallSchedule.Frequency.DAILY);
+        when(callScheduleRepository.findActiveSchedulesWithMemberAt(any(), any())).thenReturn(List.of(evening));
+        when(memberMemoryService.render("M0001")).thenReturn(Optional.of("기억"));
+        when(openAiService.getChatResponse(anyList(), anyString())).thenReturn(OpenAiService.FALLBACK_RESPONSE);
+
+        assertThat(service.prepareUpcoming(now)).isZero();
+        verify(openingStore, never()).save(any(Long.class), anyString(), any(), anyString());
+    }
+
+    private CallSchedule schedule(Long scheduleId, String memberId, LocalTime callTime, CallSchedule.Frequency frequency) {
+        return scheduleStartingOn(scheduleId, memberId, callTime, frequency, now.toLocalDate().minusDays(30));
+    }
+
+    private static CallSchedule scheduleStartingOn(Long scheduleId, String memberId, LocalTime callTime,
+                                                   CallSchedule.Frequency frequency, LocalDate startDate) {
+        Member member = new Member();
+        member.setMemberId(memberId);
+        CallSchedule schedule = CallSchedule.builder()
+                .member(member)
+                .startDate(startDate)
+                .frequency(frequency)
+                .callTime(callTime)
+                .isActive(true)
+                .build();
+        ReflectionTestUtils.setField(schedule, "scheduleId", scheduleId);
+        return schedule;
+    }
+}
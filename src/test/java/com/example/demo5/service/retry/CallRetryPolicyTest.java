@@ -0,0 +1,78 @@
+package com.example.demo5.service.retry;
+
+import com.example.demo5.entity.CallLog;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CallRetryPolicyTest {
+
+    private final CallRetryPolicy policy = new CallRetryPolicy(true, 3, 10, 3, 60, "21:00", "08:00", 0,
+            "no-answer, busy, failed, voicemail");
+
+    @Test
+    void backsOffExponentiallyUpToMaxAttempts() {
+        LocalDateTime failedAt = LocalDateTime.of(2026, 10, 19, 10, 0);
+
+        assertThat(policy.nextAttemptAt(CallLog.CallType.AUTO, 1, "no-answer", failedAt)).hasValue(failedAt.plusMinutes(10));
+        assertThat(policy.nextAttemptAt(CallLog.CallType.AUTO, 2, "busy", failedAt)).hasValue(failedAt.plusMinutes(30));
+        assertThat(policy.nextAttemptAt(CallLog.CallType.AUTO, 3, "no-answer", failedAt)).isEmpty();
+    }
+
+    @Test
+    void backoffIsCapped() {
+        CallRetryPolicy manyAttempts = new CallRetryPolicy(true, 10, 10, 3, 60, "21:00", "08:00", 0, "no-answer");
+        LocalDateTime failedAt = LocalDateTime.of(2026, 10, 19, 10, 0);
+
+        assertThat(manyAttempts.nextAttemptAt(CallLog.CallType.AUTO, 5, "no-answer", failedAt)).hasValue(failedAt.plusMinutes(60));
+    }
+
+    @Test
+    void onlyRetriesAutoCallsWithRetryableOutcome() {
+        LocalDateTime failedAt = LocalDateTime.of(2026, 10, 19, 10, 0);
+
+        assertThat(policy.nextAttemptAt(CallLog.CallType.MANUAL, 1, "no-answer", failedAt)).isEmpty();
+        assertThat(policy.nextAttemptAt(CallLog.CallType.CAMPAIGN, 1, "no-answer", failedAt)).isEmpty();
+        assertThat(policy.nextAttemptAt(CallLog.CallType.AUTO, 1, "timeout", failedAt)).isEmpty();
+        assertThat(policy.nextAttemptAt(CallLog.CallType.AUTO, 1, "voicemail", failedAt)).isPresent();
+    }
+
+    @Test
+    void retriesFallingInQuietHoursMoveToTheirEnd() {
+        assertThat(policy.nextAttemptAt(CallLog.CallType.AUTO, 1, "no-answer", LocalDateTime.of(2026, 10, 19, 20, 55)))
+                .hasValue(LocalDateTime.of(2026, 10, 20, 8, 0));
+        assertThat(policy.nextAttemptAt(CallLog.CallType.AUTO, 1, "no-answer", LocalDateTime.of(2026, 10, 20, 6, 0)))
+                .hasValue(LocalDateTime.of(2026, 10, 20, 8, 0));
+        assertThat(policy.nextAttemptAt(CallLog.CallType.AUTO, 1, "no-answer", LocalDateTime.of(2026, 10, 19, 20, 40)))
+                .hasValue(LocalDateTime.of(2026, 10, 19, 20, 50));
+    }
+
+    @Test
+    void retriesDeferredByQuietHoursAreSpreadAfterItsEnd() {
+        CallRetryPolicy spread = new CallRetryPolicy(true, 3, 10, 3, 60, "21:00", "08:00", 60, "no-answer", new Random(7));
+        LocalDateTime quietEnd = LocalDateTime.of(2026, 10, 20, 8, 0);
+
+        Set<LocalDateTime> dueTimes = IntStream.range(0, 100)
+                .mapToObj(i -> spread.nextAttemptAt(CallLog.CallType.AUTO, 1, "no-answer", LocalDateTime.of(2026, 10, 19, 22, 0)).orElseThrow())
+                .collect(Collectors.toSet());
+
+        assertThat(dueTimes).hasSizeGreaterThan(90)
+                .allSatisfy(dueAt -> assertThat(dueAt).isAfterOrEqualTo(quietEnd).isBefore(quietEnd.plusMinutes(60)));
+        // 방해 금지 시간 밖의 재시도는 흩지 않습니다.
+        assertThat(spread.nextAttemptAt(CallLog.CallType.AUTO, 1, "no-answer", LocalDateTime.of(2026, 10, 19, 10, 0)))
+                .hasValue(LocalDateTime.of(2026, 10, 19, 10, 10));
+    }
+
+    @Test
+    void disabledPolicyNeverRetries() {
+        CallRetryPolicy disabled = new CallRetryPolicy(false, 3, 10, 3, 60, "21:00", "08:00", 0, "no-answer");
+
+        assertThat(disabled.nextAttemptAt(CallLog.CallType.AUTO, 1, "no-answer", LocalDateTime.of(2026, 10, 19, 10, 0))).isEmpty();
+    }
+}
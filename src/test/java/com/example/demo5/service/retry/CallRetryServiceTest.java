@@ -0,0 +1,157 @@
+package com.example.demo5.service.retry;
+
+import com.example.demo5.dto.call.CreateCallResponse;
+import com.example.demo5.entity.CallLog;
+import com.example.demo5.event.CallAttemptFailedEvent;
+import com.example.demo5.service.MemberService;
+import com.example.demo5.support.MariaDbTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 재시도 등록, 발신 허용량에 따른 발신, 취소, 서버 재시작 시 복구를 실제 call_retry 테이블에서 확인합니다.
+ * 발신(MemberService)은 목으로 대체하고, 발신 허용량은 테스트마다 직접 채워 넣어 경과 시간에 따라 결과가 달라지지 않게 합니다.
+ */
+class CallRetryServiceTest extends MariaDbTestSupport {
+
+    private static final String BASE_URL = "https://example.test";
+    private static final String MEMBER_ID = "m0001";
+
+    private JdbcTemplate jdbcTemplate;
+    private CallRetryStore retryStore;
+    private MemberService memberService;
+    private CallRetryService retryService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = migratedDatabase("call_retry").jdbcTemplate();
+        jdbcTemplate.update("DELETE FROM call_retry");
+        retryStore = new CallRetryStore(jdbcTemplate);
+        memberService = mock(MemberService.class);
+        retryService = newService();
+    }
+
+    @Test
+    void dialsOverdueRetriesWithinBudgetAndRecordsTheRetryCall() {
+        dialsSucceed();
+        for (long failedCallId = 101; failedCallId <= 103; failedCallId++) {
+            retryService.schedule(failedEvent(failedCallId, LocalDateTime.now().minusHours(1)));
+        }
+        assertThat(retryService.pendingCount()).isEqualTo(3);
+
+        grantDials(2);
+        retryService.advance();
+        assertThat(statusOf(101)).isEqualTo("DIALED");
+        assertThat(statusOf(102)).isEqualTo("DIALED");
+        assertThat(statusOf(103)).isEqualTo("PENDING");
+        assertThat(retryService.pendingCount()).isEqualTo(1);
+
+        grantDials(2);
+        retryService.advance();
+        assertThat(statusOf(103)).isEqualTo("DIALED");
+        assertThat(jdbcTemplate.queryForObject("SELECT retry_call_id FROM call_retry WHERE failed_call_id = 103", Long.class))
+                .isEqualTo(9103L);
+        verify(memberService).initiateRetryCall(eq(MEMBER_ID), eq(103L), eq(2), any(), eq(BASE_URL));
+    }
+
+    @Test
+    void retryThatIsNoLongerNeededIsCancelledAndDialErrorIsFailed() {
+        when(memberService.initiateRetryCall(anyString(), eq(101L), anyInt(), any(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(memberService.initiateRetryCall(anyString(), eq(102L), anyInt(), any(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("번호 오류")));
+        retryService.schedule(failedEvent(101, LocalDateTime.now().minusHours(1)));
+        retryService.schedule(failedEvent(102, LocalDateTime.now().minusHours(1)));
+
+        grantDials(2);
+        retryService.advance();
+
+        assertThat(statusOf(101)).isEqualTo("CANCELLED");
+        assertThat(statusOf(102)).isEqualTo("FAILED");
+    }
+
+    @Test
+    void cancelTakesPendingRetryOutOfTheWheel() {
+        CallRetry retry = retryService.schedule(failedEvent(101, LocalDateTime.now())).orElseThrow();
+        assertThat(retry.dueAt()).isAfter(LocalDateTime.now());
+        assertThat(retryService.pendingCount()).isEqualTo(1);
+
+        assertThat(retryService.cancel(101)).singleElement()
+                .satisfies(response -> assertThat(response.getStatus()).isEqualTo("CANCELLED"));
+        assertThat(retryService.pendingCount()).isZero();
+
+        grantDials(2);
+        retryService.advance();
+        verify(memberService, never()).initiateRetryCall(anyString(), anyLong(), anyInt(), any(), anyString());
+    }
+
+    @Test
+    void startupReloadsPendingRetriesAndFailsInterruptedDials() {
+        dialsSucceed();
+        LocalDateTime now = LocalDateTime.now();
+        retryStore.create(101, 101, MEMBER_ID, 2, "no-answer", now.plusMinutes(30));
+        retryStore.create(102, 102, MEMBER_ID, 2, "busy", now.minusMinutes(5));
+        CallRetry interrupted = retryStore.create(103, 103, MEMBER_ID, 2, "no-answer", now.minusMinutes(10)).orElseThrow();
+        retryStore.transition(interrupted.retryId(), CallRetry.Status.PENDING, CallRetry.Status.DIALING);
+
+        // 서버가 다시 뜬 상황: 휠이 비어 있는 새 서비스가 DB에서 대기 중인 재시도를 읽습니다.
+        CallRetryService restarted = newService();
+        restarted.loadPending();
+        assertThat(statusOf(103)).isEqualTo("FAILED");
+        assertThat(restarted.pendingCount()).isEqualTo(2);
+
+        ReflectionTestUtils.setField(restarted, "dialBudget", 2.0);
+        ReflectionTestUtils.setField(restarted, "lastRefillNanos", System.nanoTime());
+        restarted.advance();
+        assertThat(statusOf(102)).isEqualTo("DIALED");
+        assertThat(statusOf(101)).isEqualTo("PENDING");
+        assertThat(restarted.pendingCount()).isEqualTo(1);
+        verify(memberService, never()).initiateRetryCall(anyString(), eq(103L), anyInt(), any(), anyString());
+    }
+
+    private CallRetryService newService() {
+        // 방해 금지 시간 없이, 10분 뒤부터 재시도합니다.
+        CallRetryPolicy policy = new CallRetryPolicy(true, 3, 10, 3, 180, "00:00", "00:00", 0, "no-answer,busy");
+        return new CallRetryService(retryStore, policy, memberService, new SimpleMeterRegistry(), BASE_URL, 1000, 2);
+    }
+
+    // 재시도로 건 통화의 ID는 처음 통화 ID + 9000입니다.
+    private void dialsSucceed() {
+        when(memberService.initiateRetryCall(anyString(), anyLong(), anyInt(), any(), anyString())).thenAnswer(invocation -> {
+            CreateCallResponse response = mock(CreateCallResponse.class);
+            when(response.getCallLogId()).thenReturn(9000 + invocation.<Long>getArgument(1));
+            return CompletableFuture.completedFuture(Optional.of(response));
+        });
+    }
+
+    private void grantDials(int dials) {
+        ReflectionTestUtils.setField(retryService, "dialBudget", (double) dials);
+        ReflectionTestUtils.setField(retryService, "lastRefillNanos", System.nanoTime());
+    }
+
+    private String statusOf(long failedCallId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM call_retry WHERE failed_call_id = ?", String.class, failedCallId);
+    }
+
+    private static CallAttemptFailedEvent failedEvent(long callLogId, LocalDateTime failedAt) {
+        return new CallAttemptFailedEvent(callLogId, MEMBER_ID, CallLog.CallType.AUTO, 1, null, "no-answer", failedAt);
+    }
+}
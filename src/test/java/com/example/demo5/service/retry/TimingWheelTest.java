@@ -0,0 +1,93 @@
+package com.example.demo5.service.retry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long TICK = 1_000;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void firesEachTaskAtItsTickAcrossLevels() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 8, START);
+        wheel.add("1s", START + 1_000);
+        wheel.add("7s", START + 7_500);
+        wheel.add("20s", START + 20_000);    // 2단계
+        wheel.add("100s", START + 100_000);  // 3단계
+        wheel.add("3600s", START + 3_600_000); // 4단계
+
+        Map<String, Long> firedAt = new HashMap<>();
+        for (long now = START; now <= START + 3_600_000; now += TICK) {
+            long current = now;
+            wheel.advanceTo(now, task -> firedAt.put(task, current));
+        }
+
+        assertThat(firedAt).containsEntry("1s", START + 1_000)
+                .containsEntry("7s", START + 8_000) // 만료 시각보다 일찍 실행하지 않습니다.
+                .containsEntry("20s", START + 20_000)
+                .containsEntry("100s", START + 100_000)
+                .containsEntry("3600s", START + 3_600_000);
+        assertThat(wheel.pendingCount()).isZero();
+        assertThat(wheel.levelCount()).isEqualTo(4);
+    }
+
+    @Test
+    void randomExpirationsFireExactlyOnceAtTheirTick() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, 16, START);
+        Random random = new Random(42);
+        long[] expirations = new long[20_000];
+        for (int i = 0; i < expirations.length; i++) {
+            expirations[i] = START + TICK + (long) (random.nextDouble() * 2 * 24 * 3_600_000L);
+            assertThat(wheel.add(i, expirations[i])).isNotNull();
+        }
+        assertThat(wheel.pendingCount()).isEqualTo(expirations.length);
+
+        Map<Integer, Long> firedAt = new HashMap<>();
+        // 한 번에 여러 틱을 건너뛰어도 틱마다 처리합니다.
+        for (long now = START; now <= START + 2 * 24 * 3_600_000L + 8 * TICK; now += 7 * TICK) {
+            long current = now;
+            wheel.advanceTo(now, task -> {
+                Long previous = firedAt.put(task, current);
+                assertThat(previous).as("fired twice: %s", task).isNull();
+                assertThat(expirations[task]).isLessThanOrEqualTo(current).isGreaterThan(current - 8 * TICK);
+            });
+        }
+        assertThat(firedAt).hasSize(expirations.length);
+        assertThat(wheel.pendingCount()).isZero();
+    }
+
+    @Test
+    void overdueTasksAreNotAdded() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 8, START);
+
+        assertThat(wheel.add("past", START - 5_000)).isNull();
+        assertThat(wheel.add("now", START)).isNull();
+        assertThat(wheel.add("next tick", START + 1)).isNotNull();
+        assertThat(wheel.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledTasksDoNotFire() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 8, START);
+        TimingWheel.Timeout<String> cancelled = wheel.add("cancelled", START + 30_000);
+        wheel.add("kept", START + 30_000);
+
+        assertThat(cancelled.cancel()).isTrue();
+        assertThat(cancelled.cancel()).isFalse();
+        assertThat(wheel.pendingCount()).isEqualTo(1);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(START + 60_000, fired::add);
+
+        assertThat(fired).containsExactly("kept");
+        assertThat(wheel.pendingCount()).isZero();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.demo5.support;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MariaDBContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 실제 MariaDB가 필요한 테스트의 공통 기반입니다. Docker가 없으면 테스트 클래스 전체를 건너뜁니다.
+ * 컨테이너는 테스트 실행 전체에서 하나만 띄우고, 테스트 클래스마다 이름이 다른 데이터베이스를 만들어 마이그레이션을 적용하므로
+ * 다른 테스트가 넣은 데이터의 영향을 받지 않습니다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class MariaDbTestSupport {
+
+    private static final int MARIADB_PORT = 3306;
+    // 테스트마다 데이터베이스를 만들 수 있도록 root로 접속합니다.
+    private static final MariaDBContainer<?> MARIADB = new MariaDBContainer<>(DockerImageName.parse("mariadb:11.4"))
+            .withUsername("root");
+    private static final Map<String, TestDatabase> DATABASES = new ConcurrentHashMap<>();
+
+    /**
+     * name 데이터베이스를 만들고 Flyway 마이그레이션을 적용합니다. 같은 이름으로 다시 부르면 이미 만든 것을 돌려줍니다.
+     */
+    protected static TestDatabase migratedDatabase(String name) {
+        return DATABASES.computeIfAbsent(name, key -> {
+            TestDatabase database = createDatabase(key);
+            Flyway.configure()
+                    .dataSource(database.url(), database.username(), database.password())
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+            return database;
+        });
+    }
+
+    private static synchronized TestDatabase createDatabase(String name) {
+        if (!MARIADB.isRunning()) {
+            // 실행이 끝나면 Testcontainers가 컨테이너를 정리합니다.
+            MARIADB.start();
+        }
+        try (Connection connection = DriverManager.getConnection(MARIADB.getJdbcUrl(), MARIADB.getUsername(), MARIADB.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE `" + name + "`");
+        } catch (SQLException e) {
+            throw new IllegalStateException("테스트 데이터베이스를 만들 수 없습니다: " + name, e);
+        }
+        String url = "jdbc:mariadb://" + MARIADB.getHost() + ":" + MARIADB.getMappedPort(MARIADB_PORT) + "/" + name;
+        return new TestDatabase(url, MARIADB.getUsername(), MARIADB.getPassword());
+    }
+
+    public record TestDatabase(String url, String username, String password) {
+
+        public DataSource dataSource() {
+            return new DriverManagerDataSource(url, username, password);
+        }
+
+        public JdbcTemplate jdbcTemplate() {
+            return new JdbcTemplate(dataSource());
+        }
+
+        public Connection connect() throws SQLException {
+            return DriverManager.getConnection(url, username, password);
+        }
+    }
+}